@@ -0,0 +1,76 @@
+package com.mercedes.contract.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts each task on its own virtual thread, with at most maxConcurrency running at a time
+ * Once the limit is reached further tasks are rejected with TaskRejectedException, like the
+ * platform pool with a full queue, so submitters never wait. Closing waits for running tasks.
+ */
+public class BoundedVirtualThreadExecutor implements Executor, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(BoundedVirtualThreadExecutor.class);
+
+    private final VirtualThreadTaskExecutor threads;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final long terminationTimeoutMillis;
+    private volatile boolean closed;
+
+    public BoundedVirtualThreadExecutor(String threadNamePrefix, int maxConcurrency, long terminationTimeoutMillis) {
+        this.threads = new VirtualThreadTaskExecutor(threadNamePrefix);
+        this.permits = new Semaphore(maxConcurrency);
+        this.maxConcurrency = maxConcurrency;
+        this.terminationTimeoutMillis = terminationTimeoutMillis;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (closed) {
+            throw new TaskRejectedException("Executor is shut down");
+        }
+        if (!permits.tryAcquire()) {
+            throw new TaskRejectedException("All " + maxConcurrency + " slots are in use");
+        }
+        try {
+            threads.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Tasks currently running
+     */
+    public int getActiveCount() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            if (permits.tryAcquire(maxConcurrency, terminationTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                permits.release(maxConcurrency);
+            } else {
+                logger.warn("{} tasks still running after {} ms", getActiveCount(), terminationTimeoutMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.mercedes.contract.config;
+
+import com.mercedes.contract.storage.ContractDocumentStore;
+import com.mercedes.contract.storage.LocalContractDocumentStore;
+import com.mercedes.contract.storage.S3ContractDocumentStore;
+import com.mercedes.contract.storage.TieredContractDocumentStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+
+import java.time.Duration;
+
+/**
+ * Contract document store configuration
+ * The backend is selected once at startup from contract.storage.type (local, s3 or tiered),
+ * matched case-insensitively like S3StorageConfig does
+ */
+@Configuration
+public class DocumentStoreConfig {
+
+    @Value("${contract.storage.local.base-path}")
+    private String localBasePath;
+
+    @Value("${contract.storage.s3.bucket-name:}")
+    private String s3BucketName;
+
+    @Value("${contract.storage.s3.key-prefix:contracts/}")
+    private String s3KeyPrefix;
+
+    @Value("${contract.storage.s3.part-size:8388608}")
+    private int s3PartSize;
+
+    @Value("${contract.storage.s3.upload-concurrency:4}")
+    private int s3UploadConcurrency;
+
+    @Value("${contract.storage.tiered.hot-retention-hours:24}")
+    private long hotRetentionHours;
+
+    @Bean
+    @ConditionalOnExpression("'${contract.storage.type:local}'.toLowerCase() == 'local'")
+    public ContractDocumentStore localContractDocumentStore() {
+        return new LocalContractDocumentStore(localBasePath);
+    }
+
+    @Bean
+    @ConditionalOnExpression("'${contract.storage.type:local}'.toLowerCase() == 's3'")
+    public ContractDocumentStore s3ContractDocumentStore(S3AsyncClient s3AsyncClient) {
+        return objectStore(s3AsyncClient);
+    }
+
+    @Bean
+    @ConditionalOnExpression("'${contract.storage.type:local}'.toLowerCase() == 'tiered'")
+    public ContractDocumentStore tieredContractDocumentStore(S3AsyncClient s3AsyncClient) {
+        return new TieredContractDocumentStore(
+            new LocalContractDocumentStore(localBasePath),
+            objectStore(s3AsyncClient),
+            Duration.ofHours(hotRetentionHours));
+    }
+
+    private S3ContractDocumentStore objectStore(S3AsyncClient s3AsyncClient) {
+        return new S3ContractDocumentStore(s3AsyncClient, s3BucketName, s3KeyPrefix, s3PartSize, s3UploadConcurrency);
+    }
+}
@@ -0,0 +1,46 @@
+package com.mercedes.contract.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Executor configuration for background contract generation
+ * Bounded pool so PDF rendering cannot exhaust memory under bursts;
+ * when the queue is full new submissions are rejected and the contract stays PENDING
+ * until ContractGenerationPipeline's sweeper resubmits it, so request threads never render.
+ * Replaced by VirtualThreadConfig when spring.threads.virtual.enabled=true
+ */
+@Configuration
+public class ExecutorConfig {
+
+    @Value("${contract.generation.executor.core-pool-size:4}")
+    private int corePoolSize;
+
+    @Value("${contract.generation.executor.max-pool-size:8}")
+    private int maxPoolSize;
+
+    @Value("${contract.generation.executor.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Bean(name = "contractGenerationExecutor")
+    @ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "false", matchIfMissing = true)
+    public ThreadPoolTaskExecutor contractGenerationExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("contract-gen-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+
+        // Drain in-flight renders on shutdown so accepted contracts are not left PENDING
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
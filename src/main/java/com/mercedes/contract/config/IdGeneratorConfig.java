@@ -0,0 +1,49 @@
+package com.mercedes.contract.config;
+
+import com.mercedes.contract.id.IdGenerator;
+import com.mercedes.contract.id.RandomUuidGenerator;
+import com.mercedes.contract.id.TimeOrderedIdGenerator;
+import com.mercedes.contract.id.TraceIdGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Locale;
+
+/**
+ * ID generator configuration
+ * contract.ids.trace-id selects how missing X-Trace-Id values are generated (w3c or uuid),
+ * contract.ids.event-id how CONTRACT_CREATED event IDs are generated (uuid7 or uuid)
+ */
+@Configuration
+public class IdGeneratorConfig {
+
+    public static final String TRACE_ID_GENERATOR = "traceIdGenerator";
+    public static final String EVENT_ID_GENERATOR = "eventIdGenerator";
+
+    @Value("${contract.ids.trace-id:w3c}")
+    private String traceIdFormat = "w3c";
+
+    @Value("${contract.ids.event-id:uuid7}")
+    private String eventIdFormat = "uuid7";
+
+    @Bean(TRACE_ID_GENERATOR)
+    public IdGenerator traceIdGenerator() {
+        return switch (traceIdFormat.trim().toLowerCase(Locale.ROOT)) {
+            case "w3c" -> new TraceIdGenerator();
+            case "uuid" -> new RandomUuidGenerator();
+            default -> throw new IllegalArgumentException("Unknown contract.ids.trace-id: " + traceIdFormat
+                                                          + " (expected w3c or uuid)");
+        };
+    }
+
+    @Bean(EVENT_ID_GENERATOR)
+    public IdGenerator eventIdGenerator() {
+        return switch (eventIdFormat.trim().toLowerCase(Locale.ROOT)) {
+            case "uuid7" -> new TimeOrderedIdGenerator();
+            case "uuid" -> new RandomUuidGenerator();
+            default -> throw new IllegalArgumentException("Unknown contract.ids.event-id: " + eventIdFormat
+                                                          + " (expected uuid7 or uuid)");
+        };
+    }
+}
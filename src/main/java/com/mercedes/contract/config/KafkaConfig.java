@@ -1,14 +1,17 @@
 package com.mercedes.contract.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerProducerListener;
 import org.springframework.kafka.core.ProducerFactory;
-import org.springframework.kafka.support.serializer.JsonSerializer;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -16,34 +19,98 @@ import java.util.Map;
 /**
  * Kafka configuration for event publishing
  * Follows externalized configuration principles
+ *
+ * Two producer profiles are available through contract.kafka.producer.profile:
+ * reliable keeps one request in flight and sends immediately; throughput pipelines up to
+ * five requests per connection, lingers to fill larger batches and compresses them. Both
+ * use the idempotent producer, which keeps per-partition ordering with up to five requests
+ * in flight, so the throughput profile does not reorder or duplicate events on retry.
+ * Record values are already encoded by the configured ContractEventSerializer
  */
 @Configuration
 public class KafkaConfig {
 
+    static final String RELIABLE_PROFILE = "reliable";
+    static final String THROUGHPUT_PROFILE = "throughput";
+
+    // Upper bound for which the idempotent producer guarantees ordering
+    private static final int MAX_IDEMPOTENT_IN_FLIGHT = 5;
+
+    private static final int THROUGHPUT_LINGER_MS = 10;
+    private static final int THROUGHPUT_BATCH_SIZE = 64 * 1024;
+    private static final String THROUGHPUT_COMPRESSION = "lz4";
+
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
+    @Value("${contract.kafka.producer.profile:" + RELIABLE_PROFILE + "}")
+    private String producerProfile;
+
+    // Optional overrides of the profile defaults
+    @Value("${contract.kafka.producer.max-in-flight:#{null}}")
+    private Integer maxInFlight;
+
+    @Value("${contract.kafka.producer.linger-ms:#{null}}")
+    private Integer lingerMs;
+
+    @Value("${contract.kafka.producer.batch-size:#{null}}")
+    private Integer batchSize;
+
+    @Value("${contract.kafka.producer.compression-type:#{null}}")
+    private String compressionType;
+
+    // Producer metrics (record-send-rate, batch-size-avg, request-latency-avg, ...) are
+    // bound to this registry and exposed under kafka.producer.* by the actuator
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
     @Bean
-    public ProducerFactory<String, Object> producerFactory() {
+    public ProducerFactory<String, byte[]> producerFactory() {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
-        
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+
         // Additional producer configurations for reliability
         configProps.put(ProducerConfig.ACKS_CONFIG, "all");
         configProps.put(ProducerConfig.RETRIES_CONFIG, 3);
         configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
-        configProps.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 1);
-        
-        // Disable type headers to avoid serialization issues
-        configProps.put(JsonSerializer.ADD_TYPE_INFO_HEADERS, false);
-        
-        return new DefaultKafkaProducerFactory<>(configProps);
+
+        boolean throughput = THROUGHPUT_PROFILE.equalsIgnoreCase(producerProfile);
+        if (!throughput && producerProfile != null && !RELIABLE_PROFILE.equalsIgnoreCase(producerProfile)) {
+            throw new IllegalArgumentException("Unknown contract.kafka.producer.profile: " + producerProfile
+                + " (expected " + RELIABLE_PROFILE + " or " + THROUGHPUT_PROFILE + ")");
+        }
+        int inFlight = maxInFlight != null ? maxInFlight : throughput ? MAX_IDEMPOTENT_IN_FLIGHT : 1;
+        if (inFlight < 1 || inFlight > MAX_IDEMPOTENT_IN_FLIGHT) {
+            throw new IllegalArgumentException("contract.kafka.producer.max-in-flight must be between 1 and "
+                + MAX_IDEMPOTENT_IN_FLIGHT + " for the idempotent producer, was " + inFlight);
+        }
+        configProps.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, inFlight);
+
+        // Unset values keep the Kafka client defaults
+        putIfSet(configProps, ProducerConfig.LINGER_MS_CONFIG, lingerMs, throughput ? THROUGHPUT_LINGER_MS : null);
+        putIfSet(configProps, ProducerConfig.BATCH_SIZE_CONFIG, batchSize, throughput ? THROUGHPUT_BATCH_SIZE : null);
+        putIfSet(configProps, ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType,
+                 throughput ? THROUGHPUT_COMPRESSION : null);
+
+        DefaultKafkaProducerFactory<String, byte[]> factory = new DefaultKafkaProducerFactory<>(configProps);
+        if (meterRegistry != null) {
+            factory.addListener(new MicrometerProducerListener<>(meterRegistry));
+        }
+        return factory;
     }
 
     @Bean
-    public KafkaTemplate<String, Object> kafkaTemplate() {
+    public KafkaTemplate<String, byte[]> kafkaTemplate() {
         return new KafkaTemplate<>(producerFactory());
     }
+
+    private static void putIfSet(Map<String, Object> configProps, String key, Object override, Object profileDefault) {
+        boolean overridden = override != null && !(override instanceof String text && text.isBlank());
+        Object value = overridden ? override : profileDefault;
+        if (value != null) {
+            configProps.put(key, value);
+        }
+    }
 }
@@ -0,0 +1,90 @@
+package com.mercedes.contract.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3AsyncClientBuilder;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * S3 configuration for object storage of contract documents
+ * Only active when contract.storage.type is s3 or tiered; the endpoint can point at any
+ * S3-compatible store (e.g. MinIO) for local development and tests
+ */
+@Configuration
+@ConditionalOnExpression("'${contract.storage.type:local}'.toLowerCase() matches 's3|tiered'")
+public class S3StorageConfig {
+
+    @Value("${contract.storage.s3.region:us-east-1}")
+    private String region;
+
+    @Value("${contract.storage.s3.endpoint:}")
+    private String endpoint;
+
+    @Value("${contract.storage.s3.path-style-access:false}")
+    private boolean pathStyleAccess;
+
+    @Value("${contract.storage.s3.access-key:}")
+    private String accessKey;
+
+    @Value("${contract.storage.s3.secret-key:}")
+    private String secretKey;
+
+    @Value("${contract.storage.s3.max-connections:64}")
+    private int maxConnections;
+
+    @Value("${contract.storage.s3.max-pending-connection-acquires:10000}")
+    private int maxPendingConnectionAcquires;
+
+    @Value("${contract.storage.s3.connection-acquisition-timeout-ms:10000}")
+    private long connectionAcquisitionTimeoutMs;
+
+    @Value("${contract.storage.s3.connection-max-idle-ms:60000}")
+    private long connectionMaxIdleMs;
+
+    /**
+     * Netty connection pool sized for bursty writes: bursts of part uploads queue
+     * for a pooled connection instead of failing, and idle connections are kept warm
+     */
+    @Bean(destroyMethod = "close")
+    public SdkAsyncHttpClient s3HttpClient() {
+        return NettyNioAsyncHttpClient.builder()
+            .maxConcurrency(maxConnections)
+            .maxPendingConnectionAcquires(maxPendingConnectionAcquires)
+            .connectionAcquisitionTimeout(Duration.ofMillis(connectionAcquisitionTimeoutMs))
+            .connectionMaxIdleTime(Duration.ofMillis(connectionMaxIdleMs))
+            .tcpKeepAlive(true)
+            .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public S3AsyncClient s3AsyncClient(SdkAsyncHttpClient s3HttpClient) {
+        S3AsyncClientBuilder builder = S3AsyncClient.builder()
+            .httpClient(s3HttpClient)
+            .region(Region.of(region))
+            .credentialsProvider(credentialsProvider())
+            .forcePathStyle(pathStyleAccess);
+        if (!endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+        return builder.build();
+    }
+
+    private AwsCredentialsProvider credentialsProvider() {
+        if (!accessKey.isBlank() && !secretKey.isBlank()) {
+            return StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey));
+        }
+        return DefaultCredentialsProvider.create();
+    }
+}
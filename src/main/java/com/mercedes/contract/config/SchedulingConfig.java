@@ -0,0 +1,16 @@
+package com.mercedes.contract.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Scheduling configuration for background tasks such as aging documents
+ * out of the hot storage tier, relaying the contract event outbox, flushing
+ * the audit store and sampling dependency health; the pool size is
+ * spring.task.scheduling.pool.size, or each task runs on a virtual thread
+ * when spring.threads.virtual.enabled=true
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,21 +1,24 @@
 package com.mercedes.contract.config;
 
+import com.mercedes.contract.id.IdGenerator;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.UUID;
 
 /**
  * Trace configuration for automatic traceId handling
  * Follows common guidelines - no manual traceId appending in log statements
  * TraceId is automatically captured and logged through MDC
+ * Missing trace IDs come from the traceIdGenerator (W3C trace-id format by default)
  */
 @Component
 @Order(1)
@@ -24,6 +27,13 @@ public class TraceConfig extends OncePerRequestFilter {
     private static final String TRACE_ID_HEADER = "X-Trace-Id";
     private static final String TRACE_ID_MDC_KEY = "traceId";
 
+    private final IdGenerator traceIdGenerator;
+
+    @Autowired
+    public TraceConfig(@Qualifier(IdGeneratorConfig.TRACE_ID_GENERATOR) IdGenerator traceIdGenerator) {
+        this.traceIdGenerator = traceIdGenerator;
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
                                   FilterChain filterChain) throws ServletException, IOException {
@@ -32,7 +42,7 @@ public class TraceConfig extends OncePerRequestFilter {
             // Get or generate trace ID
             String traceId = request.getHeader(TRACE_ID_HEADER);
             if (traceId == null || traceId.trim().isEmpty()) {
-                traceId = UUID.randomUUID().toString();
+                traceId = traceIdGenerator.nextId();
             }
             
             // Set trace ID in MDC for automatic logging
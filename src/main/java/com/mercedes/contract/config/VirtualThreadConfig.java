@@ -0,0 +1,86 @@
+package com.mercedes.contract.config;
+
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.Map;
+
+/**
+ * Virtual-thread execution mode (spring.threads.virtual.enabled=true, Java 21 only)
+ * Spring Boot moves Tomcat request handling and the scheduled tasks (outbox relay, audit flush,
+ * health sampling) onto virtual threads; this adds background contract generation. PostgreSQL
+ * JDBC (42.6+) locks with ReentrantLock and stays on the virtual thread; its concurrency is
+ * bounded by the connection pool. The iText conversion is CPU-bound and takes monitors inside
+ * its font and layout caches, so it runs on contractRenderExecutor, a bounded platform pool,
+ * while the calling virtual thread streams the output to storage.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Value("${contract.generation.executor.max-pool-size:8}")
+    private int maxPoolSize;
+
+    @Value("${contract.generation.executor.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${contract.execution.render-pool-size:0}")
+    private int renderPoolSize;
+
+    // 0 means room for every contract the generation executor can run at once
+    @Value("${contract.execution.render-queue-capacity:0}")
+    private int renderQueueCapacity;
+
+    public VirtualThreadConfig() {
+        // Spring Boot silently stays on platform threads before Java 21; fail instead
+        if (Runtime.version().feature() < 21) {
+            throw new IllegalStateException("spring.threads.virtual.enabled=true requires Java 21 or newer"
+                + " (build with -Pjava21), running on " + Runtime.version());
+        }
+    }
+
+    /**
+     * One virtual thread per contract instead of the platform pool; max-pool-size plus
+     * queue-capacity contracts are processed at once and further submissions are rejected
+     */
+    @Bean(name = "contractGenerationExecutor")
+    public BoundedVirtualThreadExecutor contractGenerationExecutor() {
+        return new BoundedVirtualThreadExecutor("contract-gen-", maxPoolSize + queueCapacity, 30_000);
+    }
+
+    /**
+     * Bounded platform pool for iText conversion, one thread per CPU unless render-pool-size is set
+     * Requests queue here rather than pinning carrier threads; once render-queue-capacity renders are
+     * waiting further ones are rejected. The caller's MDC (traceId) is carried over
+     */
+    @Bean(name = "contractRenderExecutor")
+    public ThreadPoolTaskExecutor contractRenderExecutor() {
+        int poolSize = renderPoolSize > 0 ? renderPoolSize : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(renderQueueCapacity > 0 ? renderQueueCapacity : maxPoolSize + queueCapacity);
+        executor.setThreadNamePrefix("contract-render-");
+        executor.setTaskDecorator(task -> {
+            Map<String, String> mdcContext = MDC.getCopyOfContextMap();
+            return () -> {
+                if (mdcContext != null) {
+                    MDC.setContextMap(mdcContext);
+                }
+                try {
+                    task.run();
+                } finally {
+                    MDC.clear();
+                }
+            };
+        });
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -2,11 +2,16 @@ package com.mercedes.contract.config;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.ResourceHttpMessageConverter;
+import org.springframework.http.converter.ResourceRegionHttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.List;
+
 /**
- * Web configuration for CORS and other web-related settings
+ * Web configuration for CORS, resource converters and other web-related settings
  * Follows common guidelines for CORS configuration
  */
 @Configuration
@@ -46,4 +51,19 @@ public class WebConfig implements WebMvcConfigurer {
             .allowedHeaders(allowedHeaders)
             .allowCredentials(allowCredentials);
     }
+
+    /**
+     * Replace the resource converters with zero-copy variants for PDF downloads
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        for (int i = 0; i < converters.size(); i++) {
+            HttpMessageConverter<?> converter = converters.get(i);
+            if (converter.getClass() == ResourceHttpMessageConverter.class) {
+                converters.set(i, new ZeroCopyResourceHttpMessageConverter());
+            } else if (converter.getClass() == ResourceRegionHttpMessageConverter.class) {
+                converters.set(i, new ZeroCopyResourceRegionHttpMessageConverter());
+            }
+        }
+    }
 }
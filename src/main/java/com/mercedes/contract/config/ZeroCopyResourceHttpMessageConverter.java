@@ -0,0 +1,55 @@
+package com.mercedes.contract.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.ResourceHttpMessageConverter;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+
+/**
+ * Resource converter that hands file-backed resources to Tomcat's sendfile support
+ * No body is written: once the request completes the connector copies the file to the socket
+ * in the kernel. Where the connector offers no sendfile (TLS, other containers, MockMvc)
+ * resources are streamed by the default implementation
+ */
+public class ZeroCopyResourceHttpMessageConverter extends ResourceHttpMessageConverter {
+
+    static final String SENDFILE_SUPPORT_ATTR = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    @Override
+    protected void writeContent(Resource resource, HttpOutputMessage outputMessage) throws IOException {
+        if (!sendfile(resource, 0, resource.contentLength())) {
+            super.writeContent(resource, outputMessage);
+        }
+    }
+
+    /**
+     * Ask the container to send the bytes from start (inclusive) to end (exclusive) of the resource
+     * Returns false, without touching the request, when the resource or the connector does not allow it
+     */
+    static boolean sendfile(Resource resource, long start, long end) throws IOException {
+        if (!resource.isFile()) {
+            return false;
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return false;
+        }
+        HttpServletRequest request = servletAttributes.getRequest();
+        if (!Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTR))) {
+            return false;
+        }
+        // Tomcat only accepts canonical paths here
+        request.setAttribute(SENDFILE_FILENAME_ATTR, resource.getFile().getCanonicalPath());
+        request.setAttribute(SENDFILE_START_ATTR, start);
+        request.setAttribute(SENDFILE_END_ATTR, end);
+        return true;
+    }
+}
@@ -0,0 +1,32 @@
+package com.mercedes.contract.config;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourceRegion;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.ResourceRegionHttpMessageConverter;
+
+import java.io.IOException;
+
+/**
+ * Resource region converter for single Range requests that hands file-backed regions
+ * to Tomcat's sendfile; multipart ranges and connectors without sendfile use the default implementation
+ */
+public class ZeroCopyResourceRegionHttpMessageConverter extends ResourceRegionHttpMessageConverter {
+
+    @Override
+    protected void writeResourceRegion(ResourceRegion region, HttpOutputMessage outputMessage) throws IOException {
+        Resource resource = region.getResource();
+        long resourceLength = resource.contentLength();
+        long start = region.getPosition();
+        long end = Math.min(start + region.getCount() - 1, resourceLength - 1);
+        if (!ZeroCopyResourceHttpMessageConverter.sendfile(resource, start, end + 1)) {
+            super.writeResourceRegion(region, outputMessage);
+            return;
+        }
+
+        HttpHeaders responseHeaders = outputMessage.getHeaders();
+        responseHeaders.add(HttpHeaders.CONTENT_RANGE, "bytes " + start + '-' + end + '/' + resourceLength);
+        responseHeaders.setContentLength(end - start + 1);
+    }
+}
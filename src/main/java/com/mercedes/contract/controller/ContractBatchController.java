@@ -0,0 +1,133 @@
+package com.mercedes.contract.controller;
+
+import com.mercedes.contract.dto.ContractBatchItemResult;
+import com.mercedes.contract.dto.ContractBatchResponse;
+import com.mercedes.contract.dto.ContractRequest;
+import com.mercedes.contract.dto.ErrorResponse;
+import com.mercedes.contract.service.ContractBatchService;
+import com.mercedes.contract.service.ContractImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Contract Batch Controller handling bulk contract generation and NDJSON imports
+ * Separate from ContractController because the custom-method paths /v1/contracts:batch and
+ * /v1/contracts:import cannot be expressed under its /v1/contracts class-level mapping
+ */
+@RestController
+@Tag(name = "Contract Management", description = "APIs for contract generation and retrieval")
+public class ContractBatchController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContractBatchController.class);
+
+    private final ContractBatchService contractBatchService;
+    private final ContractImportService contractImportService;
+
+    @Value("${contract.batch.max-size:200}")
+    private int maxBatchSize;
+
+    @Autowired
+    public ContractBatchController(ContractBatchService contractBatchService,
+                                   ContractImportService contractImportService) {
+        this.contractBatchService = contractBatchService;
+        this.contractImportService = contractImportService;
+    }
+
+    /**
+     * Generate contracts for a batch of purchase requests
+     * POST /v1/contracts:batch endpoint
+     */
+    @PostMapping("/v1/contracts:batch")
+    @Operation(
+        summary = "Generate contracts in bulk",
+        description = "Creates contracts for an array of purchase requests and reports a result per item"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Batch processed; each item is CREATED, EXISTING or FAILED",
+            content = @Content(schema = @Schema(implementation = ContractBatchResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Empty batch or more items than contract.batch.max-size"
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal server error"
+        )
+    })
+    public ResponseEntity<?> generateContracts(
+            @RequestBody List<ContractRequest> requests,
+            @RequestHeader(value = "X-Trace-Id", required = false) String traceId) {
+
+        logger.info("Received batch contract generation request with {} items",
+                   requests != null ? requests.size() : 0);
+
+        if (requests == null || requests.isEmpty() || requests.size() > maxBatchSize) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(
+                "VALIDATION_FAILED",
+                "Invalid request: a batch must contain between 1 and " + maxBatchSize + " contracts",
+                MDC.get("traceId")
+            ));
+        }
+
+        ContractBatchResponse response = contractBatchService.generateContracts(requests);
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Import contracts from a newline-delimited JSON upload
+     * POST /v1/contracts:import endpoint; results are streamed back as NDJSON while the upload is read
+     */
+    @PostMapping(value = "/v1/contracts:import",
+                 consumes = MediaType.APPLICATION_NDJSON_VALUE,
+                 produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+        summary = "Import contracts from NDJSON",
+        description = "Reads one contract request per line and streams back one result line per record"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Per-record results, one ContractBatchItemResult per line",
+            content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                               schema = @Schema(implementation = ContractBatchItemResult.class))
+        )
+    })
+    public void importContracts(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        logger.info("Received NDJSON contract import request");
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        // NDJSON is always UTF-8. Results are written on the request thread, so reading the
+        // upload is paced by contract generation
+        contractImportService.importContracts(
+            new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8), response.getOutputStream());
+    }
+}
@@ -1,9 +1,15 @@
 package com.mercedes.contract.controller;
 
+import com.mercedes.contract.dto.ContractAuditResponse;
+import com.mercedes.contract.dto.ContractDetailsJson;
 import com.mercedes.contract.dto.ContractDetailsResponse;
 import com.mercedes.contract.dto.ContractRequest;
 import com.mercedes.contract.dto.ContractResponse;
+import com.mercedes.contract.dto.ContractStatusResponse;
+import com.mercedes.contract.entity.ContractGenerationStatus;
+import com.mercedes.contract.service.ContractAuditService;
 import com.mercedes.contract.service.ContractService;
+import com.mercedes.contract.storage.ContractDocument;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -18,8 +24,8 @@ import com.fasterxml.jackson.databind.JsonNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -27,9 +33,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.io.BufferedReader;
-import java.io.File;
 import java.io.IOException;
 import java.net.URI;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Contract Controller handling HTTP requests
@@ -43,11 +50,21 @@ public class ContractController {
 
     private static final Logger logger = LoggerFactory.getLogger(ContractController.class);
 
+    // Generated PDFs never change; private because they carry customer data
+    private static final CacheControl PDF_CACHE_CONTROL = CacheControl.maxAge(365, TimeUnit.DAYS)
+        .cachePrivate()
+        .immutable();
+
+    // Details can change on update, so clients revalidate with the ETag instead of refetching
+    private static final CacheControl DETAILS_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
     private final ContractService contractService;
+    private final ContractAuditService contractAuditService;
 
     @Autowired
-    public ContractController(ContractService contractService) {
+    public ContractController(ContractService contractService, ContractAuditService contractAuditService) {
         this.contractService = contractService;
+        this.contractAuditService = contractAuditService;
     }
 
     /**
@@ -134,18 +151,28 @@ public class ContractController {
         description = "Creates a new contract from purchase request data, generates PDF, and publishes event"
     )
     @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Contract already exists for this purchase request; the original contract is returned",
+            content = @Content(schema = @Schema(implementation = ContractResponse.class))
+        ),
         @ApiResponse(
             responseCode = "201",
             description = "Contract created successfully",
             content = @Content(schema = @Schema(implementation = ContractResponse.class))
         ),
+        @ApiResponse(
+            responseCode = "202",
+            description = "Contract accepted for asynchronous generation; poll the Location URL for status",
+            content = @Content(schema = @Schema(implementation = ContractResponse.class))
+        ),
         @ApiResponse(
             responseCode = "400",
             description = "Invalid request data"
         ),
         @ApiResponse(
-            responseCode = "409",
-            description = "Contract already exists for this purchase request"
+            responseCode = "422",
+            description = "Idempotency-Key was already used for a different purchase request"
         ),
         @ApiResponse(
             responseCode = "500",
@@ -155,6 +182,8 @@ public class ContractController {
     public ResponseEntity<ContractResponse> generateContract(
             @Valid @RequestBody ContractRequest request,
             @RequestHeader(value = "X-Trace-Id", required = false) String traceId,
+            @Parameter(description = "Client key identifying retries of the same request")
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             HttpServletRequest httpRequest) {
 
         // Log raw request details for debugging
@@ -192,11 +221,27 @@ public class ContractController {
             logger.warn("DealData is null in received request");
         }
 
-        ContractResponse response = contractService.generateContract(request);
+        ContractResponse response = contractService.generateContract(request, idempotencyKey);
+
+        // Asynchronous generation: point the client at the status resource
+        if (ContractGenerationStatus.PENDING.name().equals(response.getContractStatus())) {
+            URI statusLocation = URI.create("/v1/contracts/" + response.getContractId() + "/status");
+
+            logger.info("Contract generation accepted, contractId: {}", response.getContractId());
+
+            return ResponseEntity.accepted().location(statusLocation).body(response);
+        }
 
         // Create location header for the newly created resource
         URI location = URI.create("/v1/contracts/" + response.getContractId());
 
+        // Retried request: nothing was created, return the original contract
+        if (response.isReplayed()) {
+            logger.info("Contract already existed, returning contractId: {}", response.getContractId());
+
+            return ResponseEntity.ok().location(location).body(response);
+        }
+
         logger.info("Contract generation completed successfully, contractId: {}", 
                    response.getContractId());
 
@@ -217,7 +262,12 @@ public class ContractController {
         @ApiResponse(
             responseCode = "200",
             description = "Contract details retrieved successfully",
-            content = @Content(schema = @Schema(implementation = ContractDetailsResponse.class))
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = ContractDetailsResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "304",
+            description = "Contract details match the ETag sent in If-None-Match"
         ),
         @ApiResponse(
             responseCode = "404",
@@ -228,17 +278,97 @@ public class ContractController {
             description = "Internal server error"
         )
     })
-    public ResponseEntity<ContractDetailsResponse> getContractById(
+    public ResponseEntity<byte[]> getContractById(
             @Parameter(description = "Contract ID", required = true)
             @PathVariable String contractId,
             @RequestHeader(value = "X-Trace-Id", required = false) String traceId) {
 
         logger.info("Received request to retrieve contract details for contractId: {}", contractId);
 
-        ContractDetailsResponse response = contractService.getContractById(contractId);
+        // Cached JSON bytes are written as-is; a matching If-None-Match is answered with 304
+        ContractDetailsJson details = contractService.getContractDetailsJson(contractId);
 
         logger.info("Contract details retrieved successfully for contractId: {}", contractId);
 
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .eTag(details.getETag())
+            .cacheControl(DETAILS_CACHE_CONTROL)
+            .body(details.getBody());
+    }
+
+    /**
+     * Retrieve contract generation status
+     * GET /contracts/{contractId}/status endpoint
+     */
+    @GetMapping("/{contractId}/status")
+    @Operation(
+        summary = "Retrieve contract generation status",
+        description = "Reports PENDING, RENDERED, PUBLISHED or FAILED for a contract accepted for generation"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Contract status retrieved successfully",
+            content = @Content(schema = @Schema(implementation = ContractStatusResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Contract not found"
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal server error"
+        )
+    })
+    public ResponseEntity<ContractStatusResponse> getContractStatus(
+            @Parameter(description = "Contract ID", required = true)
+            @PathVariable String contractId,
+            @RequestHeader(value = "X-Trace-Id", required = false) String traceId) {
+
+        logger.info("Received request to retrieve generation status for contractId: {}", contractId);
+
+        ContractStatusResponse response = contractService.getContractStatus(contractId);
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Retrieve the audit trail of a contract
+     * GET /contracts/{contractId}/audit endpoint
+     */
+    @GetMapping("/{contractId}/audit")
+    @Operation(
+        summary = "Retrieve contract audit trail",
+        description = "Lists the audit events of a contract, newest first. Events are stored in batches "
+            + "and show up within moments of the audited operation"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Audit trail retrieved successfully",
+            content = @Content(schema = @Schema(implementation = ContractAuditResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Contract not found"
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal server error"
+        )
+    })
+    public ResponseEntity<ContractAuditResponse> getContractAudit(
+            @Parameter(description = "Contract ID", required = true)
+            @PathVariable String contractId,
+            @Parameter(description = "Maximum number of events to return (1-1000)")
+            @RequestParam(value = "limit", defaultValue = "100") int limit,
+            @RequestHeader(value = "X-Trace-Id", required = false) String traceId) {
+
+        logger.info("Received request to retrieve audit trail for contractId: {}", contractId);
+
+        ContractAuditResponse response = contractAuditService.getContractAudit(contractId, limit);
+
         return ResponseEntity.ok(response);
     }
 
@@ -250,7 +380,8 @@ public class ContractController {
     @GetMapping("/{contractId}/pdf")
     @Operation(
         summary = "Download contract PDF",
-        description = "Downloads the PDF file for a specific contract"
+        description = "Downloads the PDF file for a specific contract. Supports conditional requests "
+            + "(If-None-Match / If-Modified-Since) and byte ranges for partial downloads"
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -258,10 +389,23 @@ public class ContractController {
             description = "PDF file downloaded successfully",
             content = @Content(mediaType = "application/pdf")
         ),
+        @ApiResponse(
+            responseCode = "206",
+            description = "Requested byte range of the PDF file",
+            content = @Content(mediaType = "application/pdf")
+        ),
+        @ApiResponse(
+            responseCode = "304",
+            description = "PDF not modified since the cached copy"
+        ),
         @ApiResponse(
             responseCode = "404",
             description = "Contract or PDF not found"
         ),
+        @ApiResponse(
+            responseCode = "416",
+            description = "Requested range not satisfiable"
+        ),
         @ApiResponse(
             responseCode = "500",
             description = "Internal server error"
@@ -274,27 +418,36 @@ public class ContractController {
 
         logger.info("Received request to download PDF for contractId: {}", contractId);
 
-        String pdfLocation = contractService.getContractPdfLocation(contractId);
-
-        // Create file resource
-        File pdfFile = new File(pdfLocation);
-        if (!pdfFile.exists()) {
-            logger.error("PDF file not found at location: {}", pdfLocation);
+        // Read through the configured document store (local, S3 or tiered)
+        Optional<ContractDocument> document = contractService.getContractDocument(contractId);
+        if (document.isEmpty()) {
+            logger.error("PDF document not found in store for contractId: {}", contractId);
             return ResponseEntity.notFound().build();
         }
 
-        Resource resource = new FileSystemResource(pdfFile);
+        Resource resource = document.get().getResource();
 
         // Set appropriate headers
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_PDF);
         headers.setContentDispositionFormData("attachment", contractId + ".pdf");
+
+        // Validators and cache headers: contract PDFs are immutable once generated.
+        // Spring MVC answers If-None-Match / If-Modified-Since with 304 and Range with 206
+        // from these headers; file bodies are written zero-copy (see WebConfig)
+        if (document.get().getETag() != null) {
+            headers.setETag(document.get().getETag());
+        }
+        if (document.get().getLastModified() != null) {
+            headers.setLastModified(document.get().getLastModified());
+        }
+        headers.setCacheControl(PDF_CACHE_CONTROL);
         
         // Add CORS headers for file downloads
         headers.add("Access-Control-Allow-Origin", "*");
         headers.add("Access-Control-Allow-Methods", "GET, POST, PUT, DELETE, OPTIONS");
-        headers.add("Access-Control-Allow-Headers", "Content-Type, Authorization, X-Trace-Id");
-        headers.add("Access-Control-Expose-Headers", "Content-Disposition, Content-Type, Content-Length");
+        headers.add("Access-Control-Allow-Headers", "Content-Type, Authorization, X-Trace-Id, If-None-Match, If-Modified-Since, Range");
+        headers.add("Access-Control-Expose-Headers", "Content-Disposition, Content-Type, Content-Length, ETag, Last-Modified, Accept-Ranges, Content-Range");
 
         logger.info("PDF download initiated for contractId: {}", contractId);
 
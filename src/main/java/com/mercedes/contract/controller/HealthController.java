@@ -1,24 +1,34 @@
 package com.mercedes.contract.controller;
 
+import com.mercedes.contract.health.DependencyHealth;
+import com.mercedes.contract.health.DependencyHealthSampler;
+import com.mercedes.contract.health.HealthSnapshot;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import javax.sql.DataSource;
-import java.sql.Connection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
  * Dedicated Health Controller as per common guidelines
  * Implements health endpoints: /health/ready, /health/live, /v1/contract/health
+ * Dependency health comes from the snapshot published by DependencyHealthSampler, so probes do
+ * no I/O; a snapshot older than contract.health.stale-after-ms counts as DOWN. Readiness depends
+ * on the database and the document store; Kafka is reported but not required, because events
+ * wait in the outbox while it is unavailable
  */
 @RestController
 public class HealthController {
 
+    private final DependencyHealthSampler healthSampler;
+
     @Autowired
-    private DataSource dataSource;
+    public HealthController(DependencyHealthSampler healthSampler) {
+        this.healthSampler = healthSampler;
+    }
 
     /**
      * Readiness probe endpoint
@@ -27,30 +37,39 @@ public class HealthController {
     @GetMapping("/health/ready")
     public ResponseEntity<Map<String, Object>> readiness() {
         Map<String, Object> response = new HashMap<>();
-        
-        try {
-            // Check database connectivity
-            try (Connection connection = dataSource.getConnection()) {
-                boolean isValid = connection.isValid(5);
-                if (isValid) {
-                    response.put("status", "UP");
-                    response.put("database", "UP");
-                    response.put("message", "Service is ready");
-                    return ResponseEntity.ok(response);
-                } else {
-                    response.put("status", "DOWN");
-                    response.put("database", "DOWN");
-                    response.put("message", "Database connection invalid");
-                    return ResponseEntity.status(503).body(response);
-                }
+        HealthSnapshot snapshot = healthSampler.snapshot();
+        putDependencyStatus(response, snapshot);
+        response.put("checkedAt", snapshot.getSampledAtMillis());
+
+        if (healthSampler.isStale(snapshot)) {
+            response.put("status", "DOWN");
+            response.put("message", snapshot.isSampled() ? "Health status is stale" : "Health not checked yet");
+            return ResponseEntity.status(503).body(response);
+        }
+
+        DependencyHealth database = snapshot.get(DependencyHealthSampler.DATABASE);
+        if (!database.isUp()) {
+            response.put("status", "DOWN");
+            if (database.getError() == null) {
+                response.put("message", "Database connection invalid");
+            } else {
+                response.put("message", "Database connection failed");
+                response.put("error", database.getError());
             }
-        } catch (Exception e) {
+            return ResponseEntity.status(503).body(response);
+        }
+
+        DependencyHealth storage = snapshot.get(DependencyHealthSampler.STORAGE);
+        if (storage != null && !storage.isUp()) {
             response.put("status", "DOWN");
-            response.put("database", "DOWN");
-            response.put("message", "Database connection failed");
-            response.put("error", e.getMessage());
+            response.put("message", "Document storage unavailable");
+            response.put("error", storage.getError());
             return ResponseEntity.status(503).body(response);
         }
+
+        response.put("status", "UP");
+        response.put("message", "Service is ready");
+        return ResponseEntity.ok(response);
     }
 
     /**
@@ -73,37 +92,69 @@ public class HealthController {
     @GetMapping("/v1/contract/health")
     public ResponseEntity<Map<String, Object>> contractHealth() {
         Map<String, Object> response = new HashMap<>();
-        
-        try {
-            // Check database connectivity
-            try (Connection connection = dataSource.getConnection()) {
-                boolean isValid = connection.isValid(5);
-                
-                response.put("service", "contract-service");
-                response.put("status", isValid ? "UP" : "DOWN");
-                response.put("database", isValid ? "UP" : "DOWN");
-                response.put("capability", "contract");
-                response.put("version", "1.0.0");
-                response.put("timestamp", System.currentTimeMillis());
-                
-                if (isValid) {
-                    response.put("message", "Contract service is healthy");
-                    return ResponseEntity.ok(response);
-                } else {
-                    response.put("message", "Contract service is unhealthy - database issues");
-                    return ResponseEntity.status(503).body(response);
-                }
-            }
-        } catch (Exception e) {
-            response.put("service", "contract-service");
+        HealthSnapshot snapshot = healthSampler.snapshot();
+
+        response.put("service", "contract-service");
+        response.put("capability", "contract");
+        response.put("version", "1.0.0");
+        response.put("timestamp", System.currentTimeMillis());
+        response.put("checkedAt", snapshot.getSampledAtMillis());
+        putDependencyStatus(response, snapshot);
+        response.put("dependencies", dependencyDetails(snapshot));
+
+        DependencyHealth database = snapshot.get(DependencyHealthSampler.DATABASE);
+        if (healthSampler.isStale(snapshot)) {
+            response.put("status", "DOWN");
+            response.put("message", "Contract service health is unknown - health status is stale");
+            return ResponseEntity.status(503).body(response);
+        }
+        if (!database.isUp() && database.getError() != null) {
             response.put("status", "DOWN");
-            response.put("database", "DOWN");
-            response.put("capability", "contract");
             response.put("message", "Contract service is unhealthy");
             response.put("error", "Database connection failed");
             return ResponseEntity.status(503).body(response);
         }
+        if (!database.isUp()) {
+            response.put("status", "DOWN");
+            response.put("message", "Contract service is unhealthy - database issues");
+            return ResponseEntity.status(503).body(response);
+        }
+        DependencyHealth storage = snapshot.get(DependencyHealthSampler.STORAGE);
+        if (storage != null && !storage.isUp()) {
+            response.put("status", "DOWN");
+            response.put("message", "Contract service is unhealthy - storage issues");
+            return ResponseEntity.status(503).body(response);
+        }
+
+        response.put("status", "UP");
+        response.put("message", "Contract service is healthy");
+        return ResponseEntity.ok(response);
     }
 
+    /**
+     * UP or DOWN per checked dependency, DOWN for all of them when the snapshot is stale
+     */
+    private void putDependencyStatus(Map<String, Object> response, HealthSnapshot snapshot) {
+        boolean stale = healthSampler.isStale(snapshot);
+        response.put(DependencyHealthSampler.DATABASE, "DOWN");
+        for (Map.Entry<String, DependencyHealth> dependency : snapshot.getDependencies().entrySet()) {
+            response.put(dependency.getKey(), !stale && dependency.getValue().isUp() ? "UP" : "DOWN");
+        }
+    }
 
+    private static Map<String, Object> dependencyDetails(HealthSnapshot snapshot) {
+        Map<String, Object> details = new LinkedHashMap<>();
+        for (Map.Entry<String, DependencyHealth> dependency : snapshot.getDependencies().entrySet()) {
+            DependencyHealth health = dependency.getValue();
+            Map<String, Object> detail = new LinkedHashMap<>();
+            detail.put("status", health.isUp() ? "UP" : "DOWN");
+            detail.put("latencyMs", health.getLatencyMillis());
+            detail.put("checkedAt", health.getCheckedAtMillis());
+            if (health.getError() != null) {
+                detail.put("error", health.getError());
+            }
+            details.put(dependency.getKey(), detail);
+        }
+        return details;
+    }
 }
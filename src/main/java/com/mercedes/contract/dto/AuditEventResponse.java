@@ -0,0 +1,76 @@
+package com.mercedes.contract.dto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * DTO for one entry of a contract's audit trail
+ * Used in ContractAuditResponse
+ */
+public class AuditEventResponse {
+
+    private String eventType;
+
+    private LocalDateTime timestamp;
+
+    private String status;
+
+    private String traceId;
+
+    private Map<String, Object> details;
+
+    // Default constructor
+    public AuditEventResponse() {
+    }
+
+    // Constructor with all fields
+    public AuditEventResponse(String eventType, LocalDateTime timestamp, String status, String traceId,
+                              Map<String, Object> details) {
+        this.eventType = eventType;
+        this.timestamp = timestamp;
+        this.status = status;
+        this.traceId = traceId;
+        this.details = details;
+    }
+
+    // Explicit getters and setters
+    public String getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public void setTraceId(String traceId) {
+        this.traceId = traceId;
+    }
+
+    public Map<String, Object> getDetails() {
+        return details;
+    }
+
+    public void setDetails(Map<String, Object> details) {
+        this.details = details;
+    }
+}
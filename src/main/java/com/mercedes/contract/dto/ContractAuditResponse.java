@@ -0,0 +1,42 @@
+package com.mercedes.contract.dto;
+
+import java.util.List;
+
+/**
+ * DTO for a contract's audit trail
+ * Used for GET /contracts/{contractId}/audit endpoint
+ */
+public class ContractAuditResponse {
+
+    private String contractId;
+
+    // Newest first
+    private List<AuditEventResponse> events;
+
+    // Default constructor
+    public ContractAuditResponse() {
+    }
+
+    // Constructor with all fields
+    public ContractAuditResponse(String contractId, List<AuditEventResponse> events) {
+        this.contractId = contractId;
+        this.events = events;
+    }
+
+    // Explicit getters and setters
+    public String getContractId() {
+        return contractId;
+    }
+
+    public void setContractId(String contractId) {
+        this.contractId = contractId;
+    }
+
+    public List<AuditEventResponse> getEvents() {
+        return events;
+    }
+
+    public void setEvents(List<AuditEventResponse> events) {
+        this.events = events;
+    }
+}
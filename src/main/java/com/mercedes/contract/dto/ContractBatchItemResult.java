@@ -0,0 +1,121 @@
+package com.mercedes.contract.dto;
+
+/**
+ * DTO for the outcome of one item of a batch contract request
+ * Items are reported in request order; index is the position in the submitted array
+ */
+public class ContractBatchItemResult {
+
+    /**
+     * CREATED: contract generated by this batch
+     * EXISTING: purchase request already had a contract, contractId is the original one
+     * FAILED: nothing was stored for the item, see error
+     */
+    public enum Status {
+        CREATED,
+        EXISTING,
+        FAILED
+    }
+
+    private int index;
+
+    private String purchaseRequestId;
+
+    private Status status;
+
+    private String contractId;
+
+    private String contractUrl;
+
+    private String contractStatus;
+
+    private String error;
+
+    // Default constructor
+    public ContractBatchItemResult() {
+    }
+
+    // Constructor with all fields
+    public ContractBatchItemResult(int index, String purchaseRequestId, Status status, String contractId,
+                                   String contractUrl, String contractStatus, String error) {
+        this.index = index;
+        this.purchaseRequestId = purchaseRequestId;
+        this.status = status;
+        this.contractId = contractId;
+        this.contractUrl = contractUrl;
+        this.contractStatus = contractStatus;
+        this.error = error;
+    }
+
+    public static ContractBatchItemResult failed(int index, String purchaseRequestId, String error) {
+        return new ContractBatchItemResult(index, purchaseRequestId, Status.FAILED, null, null, null, error);
+    }
+
+    // Explicit getters and setters
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getPurchaseRequestId() {
+        return purchaseRequestId;
+    }
+
+    public void setPurchaseRequestId(String purchaseRequestId) {
+        this.purchaseRequestId = purchaseRequestId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public String getContractId() {
+        return contractId;
+    }
+
+    public void setContractId(String contractId) {
+        this.contractId = contractId;
+    }
+
+    public String getContractUrl() {
+        return contractUrl;
+    }
+
+    public void setContractUrl(String contractUrl) {
+        this.contractUrl = contractUrl;
+    }
+
+    public String getContractStatus() {
+        return contractStatus;
+    }
+
+    public void setContractStatus(String contractStatus) {
+        this.contractStatus = contractStatus;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    @Override
+    public String toString() {
+        return "ContractBatchItemResult{" +
+                "index=" + index +
+                ", purchaseRequestId='" + purchaseRequestId + '\'' +
+                ", status=" + status +
+                ", contractId='" + contractId + '\'' +
+                ", error='" + error + '\'' +
+                '}';
+    }
+}
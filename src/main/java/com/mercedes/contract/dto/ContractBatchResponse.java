@@ -0,0 +1,66 @@
+package com.mercedes.contract.dto;
+
+import java.util.List;
+
+/**
+ * DTO for batch contract generation response
+ * Used for POST /v1/contracts:batch; carries one result per submitted item
+ */
+public class ContractBatchResponse {
+
+    private int created;
+
+    private int existing;
+
+    private int failed;
+
+    private List<ContractBatchItemResult> results;
+
+    // Default constructor
+    public ContractBatchResponse() {
+    }
+
+    public ContractBatchResponse(List<ContractBatchItemResult> results) {
+        this.results = results;
+        for (ContractBatchItemResult result : results) {
+            switch (result.getStatus()) {
+                case CREATED -> created++;
+                case EXISTING -> existing++;
+                case FAILED -> failed++;
+            }
+        }
+    }
+
+    // Explicit getters and setters
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getExisting() {
+        return existing;
+    }
+
+    public void setExisting(int existing) {
+        this.existing = existing;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<ContractBatchItemResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<ContractBatchItemResult> results) {
+        this.results = results;
+    }
+}
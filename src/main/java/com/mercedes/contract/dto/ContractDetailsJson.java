@@ -0,0 +1,46 @@
+package com.mercedes.contract.dto;
+
+/**
+ * Pre-serialized contract details response
+ * Holds the JSON bytes of a ContractDetailsResponse together with a strong ETag computed
+ * once from those bytes, so repeated reads are written out without re-serializing
+ */
+public class ContractDetailsJson {
+
+    private final String contractId;
+    private final byte[] body;
+    private final String eTag;
+
+    public ContractDetailsJson(String contractId, byte[] body, String eTag) {
+        this.contractId = contractId;
+        this.body = body;
+        this.eTag = eTag;
+    }
+
+    public String getContractId() {
+        return contractId;
+    }
+
+    /**
+     * Serialized response body, shared between readers and must not be modified
+     */
+    public byte[] getBody() {
+        return body;
+    }
+
+    /**
+     * Quoted strong entity tag for the body
+     */
+    public String getETag() {
+        return eTag;
+    }
+
+    @Override
+    public String toString() {
+        return "ContractDetailsJson{" +
+                "contractId='" + contractId + '\'' +
+                ", bytes=" + body.length +
+                ", eTag='" + eTag + '\'' +
+                '}';
+    }
+}
@@ -1,5 +1,6 @@
 package com.mercedes.contract.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
@@ -23,6 +24,10 @@ public class ContractResponse {
     @NotNull
     private LocalDateTime signedAt;
 
+    // Set when a retried request returned the existing contract instead of creating one
+    @JsonIgnore
+    private boolean replayed;
+
     // Default constructor
     public ContractResponse() {
     }
@@ -67,4 +72,13 @@ public class ContractResponse {
     public void setSignedAt(LocalDateTime signedAt) {
         this.signedAt = signedAt;
     }
+
+    @JsonIgnore
+    public boolean isReplayed() {
+        return replayed;
+    }
+
+    public void setReplayed(boolean replayed) {
+        this.replayed = replayed;
+    }
 }
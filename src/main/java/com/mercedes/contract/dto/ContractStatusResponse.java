@@ -0,0 +1,92 @@
+package com.mercedes.contract.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for contract generation status response
+ * Used for GET /contracts/{contractId}/status endpoint
+ */
+public class ContractStatusResponse {
+
+    @NotBlank
+    private String contractId;
+
+    @NotBlank
+    private String status;
+
+    private String contractUrl;
+
+    private String failureReason;
+
+    @NotNull
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    // Default constructor
+    public ContractStatusResponse() {
+    }
+
+    // Constructor with all fields
+    public ContractStatusResponse(String contractId, String status, String contractUrl,
+                                  String failureReason, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.contractId = contractId;
+        this.status = status;
+        this.contractUrl = contractUrl;
+        this.failureReason = failureReason;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    // Explicit getters and setters
+    public String getContractId() {
+        return contractId;
+    }
+
+    public void setContractId(String contractId) {
+        this.contractId = contractId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getContractUrl() {
+        return contractUrl;
+    }
+
+    public void setContractUrl(String contractUrl) {
+        this.contractUrl = contractUrl;
+    }
+
+    public String getFailureReason() {
+        return failureReason;
+    }
+
+    public void setFailureReason(String failureReason) {
+        this.failureReason = failureReason;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
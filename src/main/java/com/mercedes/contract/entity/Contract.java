@@ -1,11 +1,13 @@
 package com.mercedes.contract.entity;
 
+import com.mercedes.contract.service.ContractDetailsCacheListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
+import org.springframework.data.domain.Persistable;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -14,10 +16,13 @@ import java.util.Map;
 /**
  * Contract entity representing the contract data model
  * Follows JPA conventions with explicit getters/setters
+ * Implements Persistable because the ID is assigned, not generated: without it Spring Data
+ * cannot tell a new contract apart and save() merges, selecting the row before inserting it
  */
 @Entity
 @Table(name = "contracts")
-public class Contract {
+@EntityListeners(ContractDetailsCacheListener.class)
+public class Contract implements Persistable<String> {
 
     @Id
     @Column(name = "contract_id", length = 50)
@@ -54,6 +59,23 @@ public class Contract {
     @Size(max = 500)
     private String pdfStorageLocation;
 
+    @Column(name = "pdf_content_hash", length = 64)
+    @Size(max = 64)
+    private String pdfContentHash;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "generation_status", length = 20, nullable = false)
+    @NotNull
+    private ContractGenerationStatus generationStatus = ContractGenerationStatus.PENDING;
+
+    @Column(name = "failure_reason", length = 500)
+    @Size(max = 500)
+    private String failureReason;
+
+    @Column(name = "idempotency_key", length = 255)
+    @Size(max = 255)
+    private String idempotencyKey;
+
     @Column(name = "created_at", nullable = false)
     @NotNull
     private LocalDateTime createdAt;
@@ -61,6 +83,9 @@ public class Contract {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Transient
+    private boolean newEntity = true;
+
     // Default constructor
     public Contract() {
     }
@@ -83,6 +108,22 @@ public class Contract {
         this.updatedAt = LocalDateTime.now();
     }
 
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
+
+    @Override
+    public String getId() {
+        return contractId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
     // Explicit getters and setters (no Lombok as per guidelines)
     public String getContractId() {
         return contractId;
@@ -140,6 +181,38 @@ public class Contract {
         this.pdfStorageLocation = pdfStorageLocation;
     }
 
+    public String getPdfContentHash() {
+        return pdfContentHash;
+    }
+
+    public void setPdfContentHash(String pdfContentHash) {
+        this.pdfContentHash = pdfContentHash;
+    }
+
+    public ContractGenerationStatus getGenerationStatus() {
+        return generationStatus;
+    }
+
+    public void setGenerationStatus(ContractGenerationStatus generationStatus) {
+        this.generationStatus = generationStatus;
+    }
+
+    public String getFailureReason() {
+        return failureReason;
+    }
+
+    public void setFailureReason(String failureReason) {
+        this.failureReason = failureReason;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
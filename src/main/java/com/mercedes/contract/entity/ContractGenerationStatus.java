@@ -0,0 +1,14 @@
+package com.mercedes.contract.entity;
+
+/**
+ * Lifecycle status of the contract generation pipeline
+ * PENDING → GENERATING → RENDERED → PUBLISHED, or FAILED on any stage error
+ * GENERATING marks a contract claimed by a worker
+ */
+public enum ContractGenerationStatus {
+    PENDING,
+    GENERATING,
+    RENDERED,
+    PUBLISHED,
+    FAILED
+}
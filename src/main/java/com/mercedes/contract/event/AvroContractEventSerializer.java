@@ -0,0 +1,154 @@
+package com.mercedes.contract.event;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DatumReader;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.EncoderFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compact binary format: Avro with the schema from avro/contract-created-event-v1.avsc
+ * Records use the Confluent wire format (magic byte, 4-byte schema id, Avro body), so any
+ * registry-aware consumer can resolve the writer schema. The schema is registered on first use,
+ * which keeps the service starting while the registry is down; the relay retries until it is back
+ */
+@Component
+@ConditionalOnProperty(name = "contract.events.format", havingValue = "avro")
+public class AvroContractEventSerializer implements ContractEventSerializer {
+
+    static final String SCHEMA_RESOURCE = "avro/contract-created-event-v1.avsc";
+    static final String CONTENT_TYPE = "application/vnd.contract-created.v1+avro";
+
+    private static final byte MAGIC_BYTE = 0;
+    private static final int HEADER_LENGTH = 5;
+
+    private final SchemaRegistryClient schemaRegistryClient;
+    private final Schema schema;
+    private final Schema dataSchema;
+    private final GenericDatumWriter<GenericRecord> writer;
+    private final Map<Integer, DatumReader<GenericRecord>> readers = new ConcurrentHashMap<>();
+    private volatile int schemaId = -1;
+
+    @Value("${contract.events.topic}")
+    private String contractEventsTopic;
+
+    // Blank uses Confluent's default TopicNameStrategy subject, <topic>-value
+    @Value("${contract.events.schema-registry.subject:}")
+    private String subject;
+
+    public AvroContractEventSerializer(SchemaRegistryClient schemaRegistryClient) {
+        this.schemaRegistryClient = schemaRegistryClient;
+        this.schema = loadSchema();
+        this.dataSchema = schema.getField("data").schema();
+        this.writer = new GenericDatumWriter<>(schema);
+    }
+
+    @Override
+    public byte[] serialize(ContractCreatedEvent event) {
+        GenericRecord data = new GenericData.Record(dataSchema);
+        data.put("contractId", event.data().contractId());
+        data.put("purchaseRequestId", event.data().purchaseRequestId());
+        data.put("dealId", event.data().dealId());
+        data.put("contractPdfLocation", event.data().contractPdfLocation());
+
+        GenericRecord record = new GenericData.Record(schema);
+        record.put("eventId", event.eventId());
+        record.put("eventType", event.eventType());
+        record.put("eventTimestamp", toMicros(event.eventTimestamp()));
+        record.put("data", data);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+        out.write(MAGIC_BYTE);
+        out.writeBytes(ByteBuffer.allocate(4).putInt(schemaId()).array());
+        try {
+            BinaryEncoder encoder = EncoderFactory.get().directBinaryEncoder(out, null);
+            writer.write(record, encoder);
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalStateException("Failed to serialize " + event.eventType() + " event " + event.eventId(), e);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public ContractCreatedEvent deserialize(byte[] payload) {
+        if (payload.length < HEADER_LENGTH || payload[0] != MAGIC_BYTE) {
+            throw new IllegalArgumentException("Not a schema registry framed Avro record");
+        }
+        int writerSchemaId = ByteBuffer.wrap(payload, 1, 4).getInt();
+        DatumReader<GenericRecord> reader = readers.computeIfAbsent(writerSchemaId, id ->
+            new GenericDatumReader<>(new Schema.Parser().parse(schemaRegistryClient.schemaById(id)), schema));
+        try {
+            BinaryDecoder decoder = DecoderFactory.get().binaryDecoder(payload, HEADER_LENGTH,
+                                                                      payload.length - HEADER_LENGTH, null);
+            GenericRecord record = reader.read(null, decoder);
+            GenericRecord data = (GenericRecord) record.get("data");
+            return new ContractCreatedEvent(string(record.get("eventId")), string(record.get("eventType")),
+                fromMicros((Long) record.get("eventTimestamp")),
+                new ContractCreatedEvent.Data(string(data.get("contractId")), string(data.get("purchaseRequestId")),
+                                              string(data.get("dealId")), string(data.get("contractPdfLocation"))));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read contract event", e);
+        }
+    }
+
+    @Override
+    public String contentType() {
+        return CONTENT_TYPE;
+    }
+
+    Schema schema() {
+        return schema;
+    }
+
+    private int schemaId() {
+        int id = schemaId;
+        if (id < 0) {
+            String registrySubject = subject == null || subject.isBlank() ? contractEventsTopic + "-value" : subject;
+            id = schemaRegistryClient.register(registrySubject, schema.toString());
+            schemaId = id;
+        }
+        return id;
+    }
+
+    private static Schema loadSchema() {
+        try (InputStream in = new ClassPathResource(SCHEMA_RESOURCE).getInputStream()) {
+            return new Schema.Parser().parse(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load event schema " + SCHEMA_RESOURCE, e);
+        }
+    }
+
+    // local-timestamp-micros: wall-clock time without a zone, like the JSON eventTimestamp
+    private static long toMicros(LocalDateTime timestamp) {
+        return timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + timestamp.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                                           (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    private static String string(Object value) {
+        return Objects.toString(value, null);
+    }
+}
@@ -0,0 +1,28 @@
+package com.mercedes.contract.event;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.mercedes.contract.entity.Contract;
+
+import java.time.LocalDateTime;
+
+/**
+ * CONTRACT_CREATED event as published on the contract events topic
+ * Field names and nesting follow the event payload format in the business requirements;
+ * the binary form is described by avro/contract-created-event-v1.avsc
+ */
+public record ContractCreatedEvent(String eventId,
+                                   String eventType,
+                                   @JsonFormat(shape = JsonFormat.Shape.STRING) LocalDateTime eventTimestamp,
+                                   Data data) {
+
+    public static final String TYPE = "CONTRACT_CREATED";
+
+    public record Data(String contractId, String purchaseRequestId, String dealId, String contractPdfLocation) {
+    }
+
+    public static ContractCreatedEvent of(String eventId, LocalDateTime eventTimestamp, Contract contract) {
+        return new ContractCreatedEvent(eventId, TYPE, eventTimestamp,
+            new Data(contract.getContractId(), contract.getPurchaseRequestId(), contract.getDealId(),
+                     contract.getPdfStorageLocation()));
+    }
+}
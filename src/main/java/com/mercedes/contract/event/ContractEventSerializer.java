@@ -0,0 +1,17 @@
+package com.mercedes.contract.event;
+
+/**
+ * Encodes contract events for the Kafka record value
+ * Implementation is selected with contract.events.format=json|avro
+ */
+public interface ContractEventSerializer {
+
+    byte[] serialize(ContractCreatedEvent event);
+
+    ContractCreatedEvent deserialize(byte[] payload);
+
+    /**
+     * Value of the content-type record header, so consumers can tell the formats apart
+     */
+    String contentType();
+}
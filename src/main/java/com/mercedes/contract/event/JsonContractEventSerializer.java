@@ -0,0 +1,52 @@
+package com.mercedes.contract.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Default format: the documented JSON payload, written with a writer resolved once for the record type
+ */
+@Component
+@ConditionalOnProperty(name = "contract.events.format", havingValue = "json", matchIfMissing = true)
+public class JsonContractEventSerializer implements ContractEventSerializer {
+
+    static final String CONTENT_TYPE = "application/json";
+
+    private final ObjectWriter writer;
+    private final ObjectReader reader;
+
+    public JsonContractEventSerializer(ObjectMapper objectMapper) {
+        this.writer = objectMapper.writerFor(ContractCreatedEvent.class);
+        this.reader = objectMapper.readerFor(ContractCreatedEvent.class);
+    }
+
+    @Override
+    public byte[] serialize(ContractCreatedEvent event) {
+        try {
+            return writer.writeValueAsBytes(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize " + event.eventType() + " event " + event.eventId(), e);
+        }
+    }
+
+    @Override
+    public ContractCreatedEvent deserialize(byte[] payload) {
+        try {
+            return reader.readValue(payload);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read contract event", e);
+        }
+    }
+
+    @Override
+    public String contentType() {
+        return CONTENT_TYPE;
+    }
+}
@@ -0,0 +1,105 @@
+package com.mercedes.contract.event;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Minimal client for a Confluent-compatible schema registry
+ * Registers writer schemas and looks schemas up by id; both are cached, since a registered
+ * schema id never changes
+ */
+@Component
+@ConditionalOnProperty(name = "contract.events.format", havingValue = "avro")
+public class SchemaRegistryClient {
+
+    private static final String CONTENT_TYPE = "application/vnd.schemaregistry.v1+json";
+
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    private final Map<String, Integer> registeredIds = new ConcurrentHashMap<>();
+    private final Map<Integer, String> schemasById = new ConcurrentHashMap<>();
+
+    @Value("${contract.events.schema-registry.url}")
+    private String registryUrl;
+
+    @Value("${contract.events.schema-registry.timeout-ms:5000}")
+    private long timeoutMs;
+
+    public SchemaRegistryClient(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    }
+
+    /**
+     * Register the schema under the subject (a no-op if it is already registered) and return its id
+     */
+    public int register(String subject, String schema) {
+        return registeredIds.computeIfAbsent(subject + '\n' + schema, key -> {
+            String body = objectMapper.createObjectNode().put("schema", schema).toString();
+            JsonNode response = call(HttpRequest.newBuilder(uri("/subjects/" + encode(subject) + "/versions"))
+                .header("Content-Type", CONTENT_TYPE)
+                .POST(HttpRequest.BodyPublishers.ofString(body)));
+            int id = response.path("id").asInt(-1);
+            if (id < 0) {
+                throw new IllegalStateException("Schema registry returned no id for subject " + subject);
+            }
+            schemasById.putIfAbsent(id, schema);
+            return id;
+        });
+    }
+
+    /**
+     * Schema text registered under the id
+     */
+    public String schemaById(int id) {
+        return schemasById.computeIfAbsent(id, key -> {
+            JsonNode response = call(HttpRequest.newBuilder(uri("/schemas/ids/" + id)).GET());
+            if (!response.hasNonNull("schema")) {
+                throw new IllegalStateException("Schema registry returned no schema for id " + id);
+            }
+            return response.get("schema").asText();
+        });
+    }
+
+    private JsonNode call(HttpRequest.Builder request) {
+        try {
+            HttpResponse<String> response = httpClient.send(
+                request.header("Accept", CONTENT_TYPE).timeout(Duration.ofMillis(timeoutMs)).build(),
+                HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() / 100 != 2) {
+                throw new IllegalStateException("Schema registry request " + response.request().method() + " "
+                    + response.request().uri().getPath() + " failed with HTTP " + response.statusCode()
+                    + ": " + response.body());
+            }
+            return objectMapper.readTree(response.body());
+        } catch (IOException e) {
+            throw new IllegalStateException("Schema registry at " + registryUrl + " is not reachable", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while calling the schema registry", e);
+        }
+    }
+
+    private URI uri(String path) {
+        String base = registryUrl.endsWith("/") ? registryUrl.substring(0, registryUrl.length() - 1) : registryUrl;
+        return URI.create(base + path);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+}
@@ -54,6 +54,22 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
     }
 
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyReusedException(IdempotencyKeyReusedException ex) {
+        String traceId = MDC.get("traceId");
+        
+        logger.warn("Idempotency-Key reused - purchaseRequestId: {}", 
+                   maskSensitiveData(ex.getPurchaseRequestId()));
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+            "IDEMPOTENCY_KEY_REUSED",
+            "Idempotency-Key was already used for a different request",
+            traceId
+        );
+        
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(errorResponse);
+    }
+
     @ExceptionHandler(PdfGenerationException.class)
     public ResponseEntity<ErrorResponse> handlePdfGenerationException(PdfGenerationException ex) {
         String traceId = MDC.get("traceId");
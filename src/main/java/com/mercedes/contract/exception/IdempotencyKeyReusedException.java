@@ -0,0 +1,19 @@
+package com.mercedes.contract.exception;
+
+/**
+ * Exception thrown when an Idempotency-Key is reused for a different purchase request
+ * Follows standard exception conventions
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    private final String purchaseRequestId;
+
+    public IdempotencyKeyReusedException(String purchaseRequestId, Throwable cause) {
+        super("Idempotency-Key was already used for a different purchase request", cause);
+        this.purchaseRequestId = purchaseRequestId;
+    }
+
+    public String getPurchaseRequestId() {
+        return purchaseRequestId;
+    }
+}
@@ -0,0 +1,37 @@
+package com.mercedes.contract.health;
+
+/**
+ * Result of one health check of a dependency
+ * A dependency is down with an error when the check failed or timed out, and down
+ * without one when it answered but reported itself unusable (e.g. an invalid connection)
+ */
+public final class DependencyHealth {
+
+    private final boolean up;
+    private final String error;
+    private final long latencyMillis;
+    private final long checkedAtMillis;
+
+    public DependencyHealth(boolean up, String error, long latencyMillis, long checkedAtMillis) {
+        this.up = up;
+        this.error = error;
+        this.latencyMillis = latencyMillis;
+        this.checkedAtMillis = checkedAtMillis;
+    }
+
+    public boolean isUp() {
+        return up;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public long getLatencyMillis() {
+        return latencyMillis;
+    }
+
+    public long getCheckedAtMillis() {
+        return checkedAtMillis;
+    }
+}
@@ -0,0 +1,233 @@
+package com.mercedes.contract.health;
+
+import com.mercedes.contract.storage.ContractDocumentStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.DescribeClusterOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Samples the health of the database, the Kafka cluster and the document store in the background
+ * Each run checks all dependencies in parallel on dedicated threads, bounded by
+ * contract.health.check-timeout-ms, and publishes the results as one immutable HealthSnapshot.
+ * Probe endpoints only read the latest snapshot, so they never borrow a pooled connection or wait
+ * on a slow dependency. A check that is still running from an earlier run is not started again but
+ * reported down, so a hanging dependency never ties up more than one thread.
+ * The last latency and state of every check are exposed as contract.health.check.latency and
+ * contract.health.check.up, tagged with the dependency
+ */
+@Component
+public class DependencyHealthSampler {
+
+    private static final Logger logger = LoggerFactory.getLogger(DependencyHealthSampler.class);
+
+    public static final String DATABASE = "database";
+    public static final String KAFKA = "kafka";
+    public static final String STORAGE = "storage";
+
+    private final DataSource dataSource;
+    private final ContractDocumentStore documentStore;
+    private final Map<String, Callable<Boolean>> checks = new LinkedHashMap<>();
+    private final Map<String, Future<Boolean>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicReference<HealthSnapshot> snapshot = new AtomicReference<>(HealthSnapshot.EMPTY);
+    private ExecutorService checkExecutor;
+    private volatile Admin kafkaAdmin;
+
+    @Value("${spring.kafka.bootstrap-servers:}")
+    private String bootstrapServers = "";
+
+    @Value("${contract.health.kafka.enabled:true}")
+    private boolean kafkaCheckEnabled = true;
+
+    @Value("${contract.health.check-timeout-ms:2000}")
+    private long checkTimeoutMs = 2000;
+
+    // Probes report DOWN when the latest snapshot is older than this
+    @Value("${contract.health.stale-after-ms:15000}")
+    private long staleAfterMs = 15000;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    public DependencyHealthSampler(DataSource dataSource,
+                                   @Autowired(required = false) ContractDocumentStore documentStore) {
+        this.dataSource = dataSource;
+        this.documentStore = documentStore;
+    }
+
+    @PostConstruct
+    public void start() {
+        checks.put(DATABASE, this::checkDatabase);
+        if (kafkaCheckEnabled && !bootstrapServers.isBlank()) {
+            checks.put(KAFKA, this::checkKafka);
+        }
+        if (documentStore != null) {
+            checks.put(STORAGE, this::checkStorage);
+        }
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        checkExecutor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "health-check-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        if (meterRegistry != null) {
+            for (String dependency : checks.keySet()) {
+                Gauge.builder("contract.health.check.latency", snapshot,
+                              current -> latencyOf(current.get(), dependency))
+                    .tag("dependency", dependency)
+                    .baseUnit("milliseconds")
+                    .description("Duration of the last health check of the dependency")
+                    .register(meterRegistry);
+                Gauge.builder("contract.health.check.up", snapshot,
+                              current -> upOf(current.get(), dependency))
+                    .tag("dependency", dependency)
+                    .description("1 when the last health check of the dependency succeeded, 0 otherwise")
+                    .register(meterRegistry);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        checkExecutor.shutdownNow();
+        Admin admin = kafkaAdmin;
+        if (admin != null) {
+            admin.close();
+        }
+    }
+
+    /**
+     * Latest published snapshot; never blocks
+     */
+    public HealthSnapshot snapshot() {
+        return snapshot.get();
+    }
+
+    /**
+     * Whether the snapshot is too old to be trusted, e.g. because sampling stopped
+     */
+    public boolean isStale(HealthSnapshot healthSnapshot) {
+        return !healthSnapshot.isSampled()
+            || System.currentTimeMillis() - healthSnapshot.getSampledAtMillis() > staleAfterMs;
+    }
+
+    /**
+     * Check all dependencies and publish the results
+     */
+    @Scheduled(fixedDelayString = "${contract.health.sample-interval-ms:5000}")
+    public void sample() {
+        long started = System.nanoTime();
+        Map<String, Future<Boolean>> running = new LinkedHashMap<>();
+        Map<String, DependencyHealth> results = new LinkedHashMap<>();
+        for (Map.Entry<String, Callable<Boolean>> check : checks.entrySet()) {
+            Future<Boolean> previous = inFlight.get(check.getKey());
+            if (previous != null && !previous.isDone()) {
+                results.put(check.getKey(), down("Previous check still running", started));
+                continue;
+            }
+            Future<Boolean> future = checkExecutor.submit(check.getValue());
+            inFlight.put(check.getKey(), future);
+            running.put(check.getKey(), future);
+        }
+
+        long deadline = started + TimeUnit.MILLISECONDS.toNanos(checkTimeoutMs);
+        for (Map.Entry<String, Future<Boolean>> check : running.entrySet()) {
+            results.put(check.getKey(), await(check.getKey(), check.getValue(), started, deadline));
+        }
+
+        // Keep the configured order of dependencies
+        Map<String, DependencyHealth> ordered = new LinkedHashMap<>();
+        for (String dependency : checks.keySet()) {
+            ordered.put(dependency, results.get(dependency));
+        }
+        snapshot.set(new HealthSnapshot(ordered, System.currentTimeMillis()));
+    }
+
+    private DependencyHealth await(String dependency, Future<Boolean> future, long started, long deadline) {
+        try {
+            boolean up = future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return new DependencyHealth(up, null, elapsedMillis(started), System.currentTimeMillis());
+        } catch (TimeoutException e) {
+            return down("Check timed out after " + checkTimeoutMs + " ms", started);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return down("Interrupted while waiting for the check", started);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            logger.debug("Health check of {} failed", dependency, cause);
+            String error = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+            return down(error, started);
+        }
+    }
+
+    private boolean checkDatabase() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.isValid(Math.max(1, (int) TimeUnit.MILLISECONDS.toSeconds(checkTimeoutMs)));
+        }
+    }
+
+    private boolean checkKafka() throws Exception {
+        Admin admin = kafkaAdmin;
+        if (admin == null) {
+            int timeout = (int) checkTimeoutMs;
+            admin = Admin.create(Map.of(
+                AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers,
+                AdminClientConfig.CLIENT_ID_CONFIG, "contract-service-health",
+                AdminClientConfig.REQUEST_TIMEOUT_MS_CONFIG, timeout,
+                AdminClientConfig.DEFAULT_API_TIMEOUT_MS_CONFIG, timeout));
+            kafkaAdmin = admin;
+        }
+        return !admin.describeCluster(new DescribeClusterOptions().timeoutMs((int) checkTimeoutMs))
+            .nodes().get().isEmpty();
+    }
+
+    private boolean checkStorage() throws Exception {
+        documentStore.checkAvailable();
+        return true;
+    }
+
+    private static DependencyHealth down(String error, long started) {
+        return new DependencyHealth(false, error, elapsedMillis(started), System.currentTimeMillis());
+    }
+
+    private static long elapsedMillis(long started) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+    }
+
+    private static double latencyOf(HealthSnapshot healthSnapshot, String dependency) {
+        DependencyHealth health = healthSnapshot.get(dependency);
+        return health != null ? health.getLatencyMillis() : Double.NaN;
+    }
+
+    private static double upOf(HealthSnapshot healthSnapshot, String dependency) {
+        DependencyHealth health = healthSnapshot.get(dependency);
+        return health != null && health.isUp() ? 1 : 0;
+    }
+}
@@ -0,0 +1,42 @@
+package com.mercedes.contract.health;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable health of all checked dependencies as of one sampling run
+ * Replaced as a whole by DependencyHealthSampler, so readers always see the results of a single run
+ */
+public final class HealthSnapshot {
+
+    // Before the first sampling run
+    static final HealthSnapshot EMPTY = new HealthSnapshot(Map.of(), 0);
+
+    private final Map<String, DependencyHealth> dependencies;
+    private final long sampledAtMillis;
+
+    public HealthSnapshot(Map<String, DependencyHealth> dependencies, long sampledAtMillis) {
+        this.dependencies = Collections.unmodifiableMap(new LinkedHashMap<>(dependencies));
+        this.sampledAtMillis = sampledAtMillis;
+    }
+
+    /**
+     * Health of the dependency, null when it is not checked
+     */
+    public DependencyHealth get(String dependency) {
+        return dependencies.get(dependency);
+    }
+
+    public Map<String, DependencyHealth> getDependencies() {
+        return dependencies;
+    }
+
+    public long getSampledAtMillis() {
+        return sampledAtMillis;
+    }
+
+    public boolean isSampled() {
+        return sampledAtMillis > 0;
+    }
+}
@@ -0,0 +1,14 @@
+package com.mercedes.contract.id;
+
+/**
+ * Source of unique identifiers
+ * Implementations are thread-safe and must not block; the trace and event ID generators
+ * are selected in IdGeneratorConfig
+ */
+public interface IdGenerator {
+
+    /**
+     * Next identifier
+     */
+    String nextId();
+}
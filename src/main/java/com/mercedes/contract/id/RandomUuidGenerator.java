@@ -0,0 +1,16 @@
+package com.mercedes.contract.id;
+
+import java.util.UUID;
+
+/**
+ * Random version 4 UUIDs from UUID.randomUUID()
+ * Kept for deployments whose consumers expect random UUIDs; every call goes through the
+ * shared SecureRandom
+ */
+public class RandomUuidGenerator implements IdGenerator {
+
+    @Override
+    public String nextId() {
+        return UUID.randomUUID().toString();
+    }
+}
@@ -0,0 +1,36 @@
+package com.mercedes.contract.id;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * W3C Trace Context trace IDs: 32 lowercase hex digits, never all zero, so the value can be
+ * used as the trace-id of a traceparent header
+ * Random bits come from ThreadLocalRandom, which keeps its state per thread; trace IDs only
+ * need to be unique, not unpredictable, so the shared SecureRandom behind UUID.randomUUID()
+ * is not needed
+ */
+public class TraceIdGenerator implements IdGenerator {
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    @Override
+    public String nextId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long high = random.nextLong();
+        long low = random.nextLong();
+        if (high == 0 && low == 0) {
+            low = 1;
+        }
+        char[] id = new char[32];
+        appendHex(high, id, 0);
+        appendHex(low, id, 16);
+        return new String(id);
+    }
+
+    private static void appendHex(long value, char[] id, int offset) {
+        for (int i = offset + 15; i >= offset; i--) {
+            id[i] = HEX_DIGITS[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.mercedes.contract.repository;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Row of the audit_events table
+ * Identifiers are stored unmasked so the trail can be queried per contract; fields without a
+ * column of their own (reason, topic, storage location, ...) are kept in details
+ */
+public class AuditEventRecord {
+
+    private final Long id;
+    private final LocalDateTime eventTimestamp;
+    private final String eventType;
+    private final String status;
+    private final String contractId;
+    private final String purchaseRequestId;
+    private final String dealId;
+    private final String traceId;
+    private final Map<String, Object> details;
+
+    // Constructor for a new event to store
+    public AuditEventRecord(LocalDateTime eventTimestamp, String eventType, String status, String contractId,
+                            String purchaseRequestId, String dealId, String traceId, Map<String, Object> details) {
+        this(null, eventTimestamp, eventType, status, contractId, purchaseRequestId, dealId, traceId, details);
+    }
+
+    // Constructor with all fields
+    public AuditEventRecord(Long id, LocalDateTime eventTimestamp, String eventType, String status, String contractId,
+                            String purchaseRequestId, String dealId, String traceId, Map<String, Object> details) {
+        this.id = id;
+        this.eventTimestamp = eventTimestamp;
+        this.eventType = eventType;
+        this.status = status;
+        this.contractId = contractId;
+        this.purchaseRequestId = purchaseRequestId;
+        this.dealId = dealId;
+        this.traceId = traceId;
+        this.details = details;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDateTime getEventTimestamp() {
+        return eventTimestamp;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getContractId() {
+        return contractId;
+    }
+
+    public String getPurchaseRequestId() {
+        return purchaseRequestId;
+    }
+
+    public String getDealId() {
+        return dealId;
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public Map<String, Object> getDetails() {
+        return details;
+    }
+}
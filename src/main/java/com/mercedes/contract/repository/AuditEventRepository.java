@@ -0,0 +1,216 @@
+package com.mercedes.contract.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC access to the audit_events table
+ * Batches are streamed with COPY when the connection is a PostgreSQL one, which skips
+ * per-row statement overhead entirely; other connections fall back to a JDBC batch insert
+ */
+@Repository
+public class AuditEventRepository {
+
+    private static final String COPY_SQL = """
+        COPY audit_events (event_timestamp, event_type, status, contract_id, purchase_request_id, deal_id,
+                           trace_id, details)
+        FROM STDIN (FORMAT csv)
+        """;
+
+    private static final String INSERT_SQL = """
+        INSERT INTO audit_events (event_timestamp, event_type, status, contract_id, purchase_request_id, deal_id,
+                                  trace_id, details)
+        VALUES (:eventTimestamp, :eventType, :status, :contractId, :purchaseRequestId, :dealId,
+                :traceId, CAST(:details AS jsonb))
+        """;
+
+    // Newest first; served by idx_audit_events_contract_id_timestamp on every partition
+    private static final String FIND_BY_CONTRACT_SQL = """
+        SELECT id, event_timestamp, event_type, status, contract_id, purchase_request_id, deal_id, trace_id,
+               CAST(details AS text) AS details
+        FROM audit_events
+        WHERE contract_id = :contractId
+        ORDER BY event_timestamp DESC, id DESC
+        LIMIT :limit
+        """;
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditEventRepository.class);
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final TypeReference<Map<String, Object>> DETAILS_TYPE = new TypeReference<>() { };
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public AuditEventRepository(NamedParameterJdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Store the events with one COPY, or one JDBC batch where COPY is not available
+     */
+    public void insertAll(List<AuditEventRecord> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        Boolean copied = jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<Boolean>) connection -> {
+            if (!connection.isWrapperFor(PGConnection.class)) {
+                return false;
+            }
+            try {
+                connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL, new StringReader(toCsv(events)));
+                return true;
+            } catch (IOException e) {
+                throw new SQLException("COPY into audit_events failed", e);
+            }
+        });
+        if (Boolean.TRUE.equals(copied)) {
+            return;
+        }
+
+        SqlParameterSource[] batch = events.stream()
+            .map(event -> new MapSqlParameterSource()
+                .addValue("eventTimestamp", Timestamp.valueOf(event.getEventTimestamp()))
+                .addValue("eventType", event.getEventType())
+                .addValue("status", event.getStatus())
+                .addValue("contractId", event.getContractId())
+                .addValue("purchaseRequestId", event.getPurchaseRequestId())
+                .addValue("dealId", event.getDealId())
+                .addValue("traceId", event.getTraceId())
+                .addValue("details", toJson(event.getDetails())))
+            .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+    }
+
+    /**
+     * Most recent events of the contract, newest first
+     */
+    public List<AuditEventRecord> findByContractId(String contractId, int limit) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+            .addValue("contractId", contractId)
+            .addValue("limit", limit);
+        return jdbcTemplate.query(FIND_BY_CONTRACT_SQL, parameters, eventMapper());
+    }
+
+    /**
+     * Create the partition holding the month's events unless it already exists
+     */
+    @Transactional
+    public void createMonthlyPartition(YearMonth month) {
+        // Built from a YearMonth only, so nothing user-supplied reaches the DDL
+        String partition = "audit_events_" + month.format(PARTITION_SUFFIX);
+        String from = "'" + month.atDay(1) + "'";
+        String to = "'" + month.plusMonths(1).atDay(1) + "'";
+        JdbcTemplate jdbc = jdbcTemplate.getJdbcTemplate();
+        if (jdbc.queryForObject("SELECT to_regclass('" + partition + "') IS NOT NULL", Boolean.class)) {
+            return;
+        }
+
+        // Rows of the month already in the default partition would make CREATE ... PARTITION OF fail,
+        // so move them into a new table first and attach that as the month's partition
+        jdbc.execute("LOCK TABLE audit_events_default IN ACCESS EXCLUSIVE MODE");
+        String inMonth = " WHERE event_timestamp >= " + from + " AND event_timestamp < " + to;
+        if (!jdbc.queryForObject("SELECT EXISTS (SELECT 1 FROM audit_events_default" + inMonth + ")", Boolean.class)) {
+            jdbc.execute("CREATE TABLE IF NOT EXISTS " + partition
+                + " PARTITION OF audit_events FOR VALUES FROM (" + from + ") TO (" + to + ")");
+            return;
+        }
+        jdbc.execute("CREATE TABLE " + partition + " (LIKE audit_events INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+        int moved = jdbc.update("WITH moved AS (DELETE FROM audit_events_default" + inMonth + " RETURNING *) "
+            + "INSERT INTO " + partition + " SELECT * FROM moved");
+        jdbc.execute("ALTER TABLE audit_events ATTACH PARTITION " + partition
+            + " FOR VALUES FROM (" + from + ") TO (" + to + ")");
+        logger.warn("Moved {} audit events of {} from audit_events_default into {}", moved, month, partition);
+    }
+
+    private RowMapper<AuditEventRecord> eventMapper() {
+        return (rs, rowNum) -> new AuditEventRecord(
+            rs.getLong("id"),
+            rs.getTimestamp("event_timestamp").toLocalDateTime(),
+            rs.getString("event_type"),
+            rs.getString("status"),
+            rs.getString("contract_id"),
+            rs.getString("purchase_request_id"),
+            rs.getString("deal_id"),
+            rs.getString("trace_id"),
+            fromJson(rs.getString("details"))
+        );
+    }
+
+    /**
+     * CSV for COPY: NULL is an unquoted empty field, every value is quoted
+     */
+    private String toCsv(List<AuditEventRecord> events) {
+        StringBuilder csv = new StringBuilder(events.size() * 256);
+        for (AuditEventRecord event : events) {
+            appendCsv(csv, event.getEventTimestamp().toString()).append(',');
+            appendCsv(csv, event.getEventType()).append(',');
+            appendCsv(csv, event.getStatus()).append(',');
+            appendCsv(csv, event.getContractId()).append(',');
+            appendCsv(csv, event.getPurchaseRequestId()).append(',');
+            appendCsv(csv, event.getDealId()).append(',');
+            appendCsv(csv, event.getTraceId()).append(',');
+            appendCsv(csv, toJson(event.getDetails())).append('\n');
+        }
+        return csv.toString();
+    }
+
+    private static StringBuilder appendCsv(StringBuilder csv, String value) {
+        if (value == null) {
+            return csv;
+        }
+        csv.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                csv.append('"');
+            }
+            csv.append(c);
+        }
+        return csv.append('"');
+    }
+
+    private String toJson(Map<String, Object> details) {
+        if (details == null || details.isEmpty()) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(details);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize audit event details", e);
+        }
+    }
+
+    private Map<String, Object> fromJson(String details) {
+        if (details == null) {
+            return Map.of();
+        }
+        try {
+            return objectMapper.readValue(details, DETAILS_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to read audit event details", e);
+        }
+    }
+}
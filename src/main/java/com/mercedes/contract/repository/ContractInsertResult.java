@@ -0,0 +1,64 @@
+package com.mercedes.contract.repository;
+
+import com.mercedes.contract.entity.ContractGenerationStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of an idempotent contract insert
+ * Describes either the freshly inserted row or the contract that already existed
+ * for the same purchase request
+ */
+public class ContractInsertResult {
+
+    private final boolean inserted;
+    private final String contractId;
+    private final String purchaseRequestId;
+    private final String idempotencyKey;
+    private final String pdfStorageLocation;
+    private final ContractGenerationStatus generationStatus;
+    private final LocalDateTime createdAt;
+
+    public ContractInsertResult(boolean inserted, String contractId, String purchaseRequestId, String idempotencyKey,
+                                String pdfStorageLocation, ContractGenerationStatus generationStatus,
+                                LocalDateTime createdAt) {
+        this.inserted = inserted;
+        this.contractId = contractId;
+        this.purchaseRequestId = purchaseRequestId;
+        this.idempotencyKey = idempotencyKey;
+        this.pdfStorageLocation = pdfStorageLocation;
+        this.generationStatus = generationStatus;
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * True when this call inserted the row, false when the purchase request already had a contract
+     */
+    public boolean isInserted() {
+        return inserted;
+    }
+
+    public String getContractId() {
+        return contractId;
+    }
+
+    public String getPurchaseRequestId() {
+        return purchaseRequestId;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public String getPdfStorageLocation() {
+        return pdfStorageLocation;
+    }
+
+    public ContractGenerationStatus getGenerationStatus() {
+        return generationStatus;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
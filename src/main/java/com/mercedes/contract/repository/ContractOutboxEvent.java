@@ -0,0 +1,82 @@
+package com.mercedes.contract.repository;
+
+/**
+ * Row of the contract_outbox table
+ * An event waiting to be relayed to Kafka; id is null until the row is stored
+ */
+public class ContractOutboxEvent {
+
+    private final Long id;
+    private final String eventId;
+    private final String eventType;
+    private final String aggregateId;
+    private final String topic;
+    private final String payload;
+    private final int attempts;
+
+    // Constructor for a new event to enqueue
+    public ContractOutboxEvent(String eventId, String eventType, String aggregateId, String topic, String payload) {
+        this(null, eventId, eventType, aggregateId, topic, payload, 0);
+    }
+
+    // Constructor with all fields
+    public ContractOutboxEvent(Long id, String eventId, String eventType, String aggregateId, String topic,
+                               String payload, int attempts) {
+        this.id = id;
+        this.eventId = eventId;
+        this.eventType = eventType;
+        this.aggregateId = aggregateId;
+        this.topic = topic;
+        this.payload = payload;
+        this.attempts = attempts;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    /**
+     * Contract ID the event belongs to, used as the Kafka record key
+     */
+    public String getAggregateId() {
+        return aggregateId;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    /**
+     * Event payload as JSON
+     */
+    public String getPayload() {
+        return payload;
+    }
+
+    /**
+     * Number of failed send attempts so far
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    @Override
+    public String toString() {
+        return "ContractOutboxEvent{" +
+                "id=" + id +
+                ", eventId='" + eventId + '\'' +
+                ", eventType='" + eventType + '\'' +
+                ", aggregateId='" + aggregateId + '\'' +
+                ", topic='" + topic + '\'' +
+                ", attempts=" + attempts +
+                '}';
+    }
+}
@@ -0,0 +1,157 @@
+package com.mercedes.contract.repository;
+
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC access to the contract_outbox table
+ * Enqueueing runs on the connection of the surrounding transaction, so outbox rows commit
+ * or roll back together with the contract they belong to
+ */
+@Repository
+public class ContractOutboxRepository {
+
+    private static final String INSERT_SQL = """
+        INSERT INTO contract_outbox (event_id, event_type, aggregate_id, topic, payload)
+        VALUES (:eventId, :eventType, :aggregateId, :topic, CAST(:payload AS jsonb))
+        """;
+
+    // SKIP LOCKED lets every relay instance claim a disjoint batch without waiting on the others;
+    // pushing available_at past the lease keeps the rows claimed after the statement commits
+    private static final String CLAIM_NEXT_BATCH_SQL = """
+        UPDATE contract_outbox o
+        SET available_at = CURRENT_TIMESTAMP + :leaseMs * INTERVAL '1 millisecond'
+        FROM (
+            SELECT id
+            FROM contract_outbox
+            WHERE sent_at IS NULL
+              AND dead_lettered_at IS NULL
+              AND available_at <= CURRENT_TIMESTAMP
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+        ) due
+        WHERE o.id = due.id
+        RETURNING o.id, o.event_id, o.event_type, o.aggregate_id, o.topic, CAST(o.payload AS text) AS payload,
+                  o.attempts
+        """;
+
+    private static final String MARK_SENT_SQL = """
+        UPDATE contract_outbox
+        SET sent_at = CURRENT_TIMESTAMP
+        WHERE id IN (:ids)
+        """;
+
+    // Exponential backoff per row: base * 2^attempts, capped; the exponent is clamped so
+    // POWER cannot overflow however often a row fails. The failure reaching maxAttempts
+    // dead-letters the row
+    private static final String MARK_FAILED_SQL = """
+        UPDATE contract_outbox
+        SET attempts = attempts + 1,
+            last_error = :error,
+            available_at = CURRENT_TIMESTAMP
+                + LEAST(:maxBackoffMs, :baseBackoffMs * POWER(2, LEAST(attempts, 20))) * INTERVAL '1 millisecond',
+            dead_lettered_at = CASE WHEN attempts + 1 >= :maxAttempts THEN CURRENT_TIMESTAMP END
+        WHERE id = :id
+        """;
+
+    private static final String DELETE_SENT_BEFORE_SQL = """
+        DELETE FROM contract_outbox
+        WHERE sent_at < CURRENT_TIMESTAMP - :retentionMs * INTERVAL '1 millisecond'
+        """;
+
+    private static final RowMapper<ContractOutboxEvent> EVENT_MAPPER = (rs, rowNum) -> new ContractOutboxEvent(
+        rs.getLong("id"),
+        rs.getString("event_id"),
+        rs.getString("event_type"),
+        rs.getString("aggregate_id"),
+        rs.getString("topic"),
+        rs.getString("payload"),
+        rs.getInt("attempts")
+    );
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public ContractOutboxRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Insert the events with one JDBC batch
+     */
+    public void enqueueAll(List<ContractOutboxEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        SqlParameterSource[] batch = events.stream()
+            .map(event -> new MapSqlParameterSource()
+                .addValue("eventId", event.getEventId())
+                .addValue("eventType", event.getEventType())
+                .addValue("aggregateId", event.getAggregateId())
+                .addValue("topic", event.getTopic())
+                .addValue("payload", event.getPayload()))
+            .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+    }
+
+    /**
+     * Claim up to limit unsent events that are due, oldest first
+     * Claimed events are not due again until the lease has passed, so no row lock needs to be
+     * held while they are sent; events a crashed relay claimed are picked up after the lease
+     */
+    public List<ContractOutboxEvent> claimNextBatch(int limit, Duration lease) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+            .addValue("limit", limit)
+            .addValue("leaseMs", lease.toMillis());
+        List<ContractOutboxEvent> events = new ArrayList<>(jdbcTemplate.query(CLAIM_NEXT_BATCH_SQL, parameters,
+                                                                             EVENT_MAPPER));
+        // RETURNING does not keep the order of the subquery
+        events.sort(Comparator.comparing(ContractOutboxEvent::getId));
+        return events;
+    }
+
+    public void markSent(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(MARK_SENT_SQL, new MapSqlParameterSource("ids", ids));
+    }
+
+    /**
+     * Record a failed send per event and push its next attempt back
+     * Events that have now failed maxAttempts times are dead-lettered and no longer relayed
+     */
+    public void markFailed(Map<Long, String> errorsById, Duration baseBackoff, Duration maxBackoff, int maxAttempts) {
+        if (errorsById.isEmpty()) {
+            return;
+        }
+        SqlParameterSource[] batch = errorsById.entrySet().stream()
+            .map(entry -> new MapSqlParameterSource()
+                .addValue("id", entry.getKey())
+                .addValue("error", entry.getValue())
+                .addValue("baseBackoffMs", baseBackoff.toMillis())
+                .addValue("maxBackoffMs", maxBackoff.toMillis())
+                .addValue("maxAttempts", maxAttempts))
+            .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(MARK_FAILED_SQL, batch);
+    }
+
+    /**
+     * Delete events that were sent longer ago than the retention period
+     * Measured against the database clock, like sent_at itself
+     */
+    public int deleteSentOlderThan(Duration retention) {
+        return jdbcTemplate.update(DELETE_SENT_BEFORE_SQL,
+            new MapSqlParameterSource("retentionMs", retention.toMillis()));
+    }
+}
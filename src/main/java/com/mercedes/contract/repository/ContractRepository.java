@@ -10,10 +10,10 @@ import java.util.Optional;
 
 /**
  * Repository interface for Contract entity
- * Follows Spring Data JPA conventions
+ * Follows Spring Data JPA conventions; native operations live in ContractRepositoryCustom
  */
 @Repository
-public interface ContractRepository extends JpaRepository<Contract, String> {
+public interface ContractRepository extends JpaRepository<Contract, String>, ContractRepositoryCustom {
 
     /**
      * Find contract by purchase request ID
@@ -0,0 +1,52 @@
+package com.mercedes.contract.repository;
+
+import com.mercedes.contract.entity.Contract;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Custom contract persistence operations that need native SQL
+ */
+public interface ContractRepositoryCustom {
+
+    /**
+     * Insert the contract unless its purchase request already has one
+     * Returns the inserted row, or the existing contract for the purchase request, in a single
+     * round-trip. A unique violation on another constraint (deal ID, idempotency key) propagates
+     */
+    ContractInsertResult insertIfAbsent(Contract contract);
+
+    /**
+     * Insert the contracts with one JDBC batch, skipping any that conflict with an existing row
+     * Results are aligned with the input: the inserted row, the existing contract for the
+     * purchase request, or null when the row conflicted on another unique constraint
+     */
+    List<ContractInsertResult> insertAllIfAbsent(List<Contract> contracts);
+
+    /**
+     * Find the existing contracts for the given purchase requests with a single query
+     */
+    List<ContractInsertResult> findExistingByPurchaseRequestIds(Collection<String> purchaseRequestIds);
+
+    /**
+     * Find the contract of the purchase request or, failing that, the one holding the idempotency key
+     * A null key matches nothing; used to answer retries before anything is rendered
+     */
+    Optional<ContractInsertResult> findExisting(String purchaseRequestId, String idempotencyKey);
+
+    /**
+     * Claim PENDING or abandoned GENERATING contracts not touched for staleAfter, oldest first
+     * They are reset to PENDING with a bumped updated_at, so a claimed contract is not returned
+     * again until it has been untouched for staleAfter once more
+     */
+    List<String> claimStalePending(Duration staleAfter, int limit);
+
+    /**
+     * Move the contract from PENDING to GENERATING; false when it is not PENDING (any more),
+     * i.e. another worker claimed it first or it was already generated
+     */
+    boolean claimForGeneration(String contractId);
+}
@@ -0,0 +1,241 @@
+package com.mercedes.contract.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mercedes.contract.entity.Contract;
+import com.mercedes.contract.entity.ContractGenerationStatus;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * JDBC implementation of the custom contract operations
+ * Runs on the connection of the surrounding JPA transaction
+ */
+public class ContractRepositoryCustomImpl implements ContractRepositoryCustom {
+
+    // The CTE inserts the row or, on a purchase request conflict, reads the existing one
+    // in the same statement, replacing the former exists-then-insert pair of round-trips
+    private static final String INSERT_IF_ABSENT_SQL = """
+        WITH inserted AS (
+            INSERT INTO contracts (contract_id, purchase_request_id, deal_id, customer_details, finance_details,
+                                   mass_orders, pdf_storage_location, pdf_content_hash, generation_status,
+                                   idempotency_key, created_at)
+            VALUES (:contractId, :purchaseRequestId, :dealId, CAST(:customerDetails AS jsonb),
+                    CAST(:financeDetails AS jsonb), CAST(:massOrders AS jsonb), :pdfStorageLocation,
+                    :pdfContentHash, :generationStatus, :idempotencyKey, :createdAt)
+            ON CONFLICT (purchase_request_id) DO NOTHING
+            RETURNING contract_id, purchase_request_id, idempotency_key, pdf_storage_location,
+                      generation_status, created_at
+        )
+        SELECT TRUE AS inserted, i.* FROM inserted i
+        UNION ALL
+        SELECT FALSE, c.contract_id, c.purchase_request_id, c.idempotency_key, c.pdf_storage_location,
+               c.generation_status, c.created_at
+        FROM contracts c
+        WHERE c.purchase_request_id = :purchaseRequestId
+          AND NOT EXISTS (SELECT 1 FROM inserted)
+        """;
+
+    // Untargeted ON CONFLICT so a clash on any unique constraint only skips that row
+    // instead of aborting the whole batch
+    private static final String BATCH_INSERT_SQL = """
+        INSERT INTO contracts (contract_id, purchase_request_id, deal_id, customer_details, finance_details,
+                               mass_orders, pdf_storage_location, pdf_content_hash, generation_status,
+                               idempotency_key, created_at)
+        VALUES (:contractId, :purchaseRequestId, :dealId, CAST(:customerDetails AS jsonb),
+                CAST(:financeDetails AS jsonb), CAST(:massOrders AS jsonb), :pdfStorageLocation,
+                :pdfContentHash, :generationStatus, :idempotencyKey, :createdAt)
+        ON CONFLICT DO NOTHING
+        """;
+
+    private static final String SELECT_BY_PURCHASE_REQUESTS_SQL = """
+        SELECT FALSE AS inserted, contract_id, purchase_request_id, idempotency_key, pdf_storage_location,
+               generation_status, created_at
+        FROM contracts
+        WHERE purchase_request_id IN (:purchaseRequestIds)
+        """;
+
+    private static final String SELECT_BY_PURCHASE_REQUEST_SQL = """
+        SELECT FALSE AS inserted, contract_id, purchase_request_id, idempotency_key, pdf_storage_location,
+               generation_status, created_at
+        FROM contracts
+        WHERE purchase_request_id = :purchaseRequestId
+        """;
+
+    // A row for the purchase request wins over another purchase request's row holding the key
+    private static final String SELECT_BY_PURCHASE_REQUEST_OR_KEY_SQL = """
+        SELECT FALSE AS inserted, contract_id, purchase_request_id, idempotency_key, pdf_storage_location,
+               generation_status, created_at
+        FROM contracts
+        WHERE purchase_request_id = :purchaseRequestId OR idempotency_key = :idempotencyKey
+        ORDER BY purchase_request_id = :purchaseRequestId DESC
+        LIMIT 1
+        """;
+
+    // Same lease pattern as the outbox relay: SKIP LOCKED keeps instances from claiming the same
+    // rows, and the bumped updated_at keeps a claimed row out of the next sweeps. A GENERATING row
+    // this old belongs to a stopped worker and goes back to PENDING so it can be claimed again
+    private static final String CLAIM_STALE_PENDING_SQL = """
+        UPDATE contracts c
+        SET generation_status = 'PENDING', updated_at = CURRENT_TIMESTAMP
+        FROM (
+            SELECT contract_id
+            FROM contracts
+            WHERE generation_status IN ('PENDING', 'GENERATING')
+              AND COALESCE(updated_at, created_at) < CURRENT_TIMESTAMP - :staleMs * INTERVAL '1 millisecond'
+            ORDER BY created_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+        ) stale
+        WHERE c.contract_id = stale.contract_id
+        RETURNING c.contract_id
+        """;
+
+    // Checks and changes the status in one statement, so only one worker gets the row
+    private static final String CLAIM_FOR_GENERATION_SQL = """
+        UPDATE contracts
+        SET generation_status = 'GENERATING', updated_at = CURRENT_TIMESTAMP
+        WHERE contract_id = :contractId
+          AND generation_status = 'PENDING'
+        """;
+
+    private static final RowMapper<ContractInsertResult> RESULT_MAPPER = (rs, rowNum) -> {
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        return new ContractInsertResult(
+            rs.getBoolean("inserted"),
+            rs.getString("contract_id"),
+            rs.getString("purchase_request_id"),
+            rs.getString("idempotency_key"),
+            rs.getString("pdf_storage_location"),
+            ContractGenerationStatus.valueOf(rs.getString("generation_status")),
+            createdAt != null ? createdAt.toLocalDateTime() : null
+        );
+    };
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public ContractRepositoryCustomImpl(NamedParameterJdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public ContractInsertResult insertIfAbsent(Contract contract) {
+        MapSqlParameterSource parameters = insertParameters(contract);
+
+        List<ContractInsertResult> results = jdbcTemplate.query(INSERT_IF_ABSENT_SQL, parameters, RESULT_MAPPER);
+        if (!results.isEmpty()) {
+            return results.get(0);
+        }
+
+        // A concurrent insert committed after this statement took its snapshot: ON CONFLICT
+        // waited for it, but the fallback SELECT could not see it yet. A new statement can
+        results = jdbcTemplate.query(SELECT_BY_PURCHASE_REQUEST_SQL, parameters, RESULT_MAPPER);
+        if (results.isEmpty()) {
+            throw new IllegalStateException("Contract for purchase request " + contract.getPurchaseRequestId()
+                + " conflicted on insert but could not be read");
+        }
+        return results.get(0);
+    }
+
+    @Override
+    @Transactional
+    public List<ContractInsertResult> insertAllIfAbsent(List<Contract> contracts) {
+        if (contracts.isEmpty()) {
+            return List.of();
+        }
+
+        SqlParameterSource[] batch = contracts.stream()
+            .map(this::insertParameters)
+            .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(BATCH_INSERT_SQL, batch);
+
+        // The datasource enables reWriteBatchedInserts, so the driver reports no per-row
+        // update counts; the winner for each purchase request is read back with one query instead
+        Map<String, ContractInsertResult> stored = new HashMap<>();
+        for (ContractInsertResult row : findExistingByPurchaseRequestIds(
+                contracts.stream().map(Contract::getPurchaseRequestId).toList())) {
+            stored.put(row.getPurchaseRequestId(), row);
+        }
+
+        List<ContractInsertResult> results = new ArrayList<>(contracts.size());
+        for (Contract contract : contracts) {
+            ContractInsertResult row = stored.get(contract.getPurchaseRequestId());
+            if (row != null && row.getContractId().equals(contract.getContractId())) {
+                row = new ContractInsertResult(true, row.getContractId(), row.getPurchaseRequestId(),
+                    row.getIdempotencyKey(), row.getPdfStorageLocation(), row.getGenerationStatus(),
+                    row.getCreatedAt());
+            }
+            results.add(row);
+        }
+        return results;
+    }
+
+    @Override
+    public List<ContractInsertResult> findExistingByPurchaseRequestIds(Collection<String> purchaseRequestIds) {
+        if (purchaseRequestIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(SELECT_BY_PURCHASE_REQUESTS_SQL,
+            new MapSqlParameterSource("purchaseRequestIds", purchaseRequestIds), RESULT_MAPPER);
+    }
+
+    @Override
+    public Optional<ContractInsertResult> findExisting(String purchaseRequestId, String idempotencyKey) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+            .addValue("purchaseRequestId", purchaseRequestId)
+            .addValue("idempotencyKey", idempotencyKey, Types.VARCHAR);
+        return jdbcTemplate.query(SELECT_BY_PURCHASE_REQUEST_OR_KEY_SQL, parameters, RESULT_MAPPER).stream().findFirst();
+    }
+
+    @Override
+    public List<String> claimStalePending(Duration staleAfter, int limit) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+            .addValue("staleMs", staleAfter.toMillis())
+            .addValue("limit", limit);
+        return jdbcTemplate.queryForList(CLAIM_STALE_PENDING_SQL, parameters, String.class);
+    }
+
+    @Override
+    public boolean claimForGeneration(String contractId) {
+        return jdbcTemplate.update(CLAIM_FOR_GENERATION_SQL, new MapSqlParameterSource("contractId", contractId)) == 1;
+    }
+
+    private MapSqlParameterSource insertParameters(Contract contract) {
+        return new MapSqlParameterSource()
+            .addValue("contractId", contract.getContractId())
+            .addValue("purchaseRequestId", contract.getPurchaseRequestId())
+            .addValue("dealId", contract.getDealId())
+            .addValue("customerDetails", toJson(contract.getCustomerDetails()))
+            .addValue("financeDetails", toJson(contract.getFinanceDetails()))
+            .addValue("massOrders", toJson(contract.getMassOrders()))
+            .addValue("pdfStorageLocation", contract.getPdfStorageLocation())
+            .addValue("pdfContentHash", contract.getPdfContentHash())
+            .addValue("generationStatus", contract.getGenerationStatus().name())
+            .addValue("idempotencyKey", contract.getIdempotencyKey())
+            .addValue("createdAt", Timestamp.valueOf(contract.getCreatedAt()));
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Failed to serialize contract column", e);
+        }
+    }
+}
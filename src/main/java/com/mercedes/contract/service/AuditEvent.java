@@ -0,0 +1,74 @@
+package com.mercedes.contract.service;
+
+import org.slf4j.event.Level;
+
+import java.util.Set;
+
+/**
+ * Mutable audit record slot
+ * Slots are preallocated by AuditRingBuffer and reused; request threads only copy references
+ * into them, and all formatting and masking happens when the line is written
+ */
+final class AuditEvent {
+
+    // Identifiers are masked; event types, topics, operations and reasons are not
+    private static final Set<String> MASKED_FIELDS =
+        Set.of("contractId", "purchaseRequestId", "dealId", "storageLocation", "identifier");
+
+    enum Type {
+        CONTRACT_CREATED(Level.INFO, "SUCCESS", "contractId", "purchaseRequestId", "dealId"),
+        CONTRACT_CREATION_FAILED(Level.ERROR, "FAILURE", "purchaseRequestId", "dealId", "reason"),
+        CONTRACT_RETRIEVED(Level.INFO, "SUCCESS", "contractId"),
+        CONTRACT_RETRIEVAL_FAILED(Level.WARN, "FAILURE", "contractId", "reason"),
+        PDF_GENERATED(Level.INFO, "SUCCESS", "contractId", "storageLocation"),
+        PDF_GENERATION_FAILED(Level.ERROR, "FAILURE", "contractId", "reason"),
+        EVENT_PUBLISHED(Level.INFO, "SUCCESS", "eventType", "contractId", "topic"),
+        EVENT_PUBLISHING_FAILED(Level.ERROR, "FAILURE", "eventType", "contractId", "topic", "reason"),
+        // Also carries attempt and maxAttempts
+        RETRY_ATTEMPT(Level.WARN, "RETRY", "operation", "identifier");
+
+        final Level level;
+        final String status;
+        final String[] fields;
+        final boolean[] masked;
+
+        Type(Level level, String status, String... fields) {
+            this.level = level;
+            this.status = status;
+            this.fields = fields;
+            this.masked = new boolean[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                masked[i] = MASKED_FIELDS.contains(fields[i]);
+            }
+        }
+    }
+
+    static final int MAX_VALUES = 4;
+
+    Type type;
+    long timestampMillis;
+    String traceId;
+    final String[] values = new String[MAX_VALUES];
+    int attempt;
+    int maxAttempts;
+
+    void set(Type type, long timestampMillis, String traceId, String value0, String value1, String value2,
+             String value3, int attempt, int maxAttempts) {
+        this.type = type;
+        this.timestampMillis = timestampMillis;
+        this.traceId = traceId;
+        values[0] = value0;
+        values[1] = value1;
+        values[2] = value2;
+        values[3] = value3;
+        this.attempt = attempt;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Drop references once written, so a slot does not keep request data reachable
+     */
+    void clear() {
+        set(null, 0, null, null, null, null, null, 0, 0);
+    }
+}
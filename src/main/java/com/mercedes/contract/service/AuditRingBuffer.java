@@ -0,0 +1,183 @@
+package com.mercedes.contract.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Bounded multi-producer, single-consumer handoff of preallocated AuditEvent slots
+ * Producers claim a sequence with a CAS, fill the slot and publish it; a dedicated writer
+ * thread handles slots in sequence order. Nothing is allocated per event and producers never
+ * take a lock. When the writer falls behind, BLOCK makes producers wait for a free slot and
+ * DROP discards the event and counts it. An event the handler fails on, even with an Error,
+ * is skipped so the writer keeps going
+ */
+final class AuditRingBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditRingBuffer.class);
+
+    enum OverflowPolicy { BLOCK, DROP }
+
+    // claim() results that are not sequences
+    static final long DROPPED = -1;
+    static final long CLOSED = -2;
+
+    private static final int SPINS_BEFORE_PARK = 200;
+    private static final long WRITER_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long PRODUCER_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final AuditEvent[] slots;
+    // Sequence published into each slot; the writer reads a slot once it holds the expected sequence
+    private final AtomicLongArray published;
+    private final int mask;
+    private final OverflowPolicy overflowPolicy;
+    private final Consumer<AuditEvent> handler;
+    private final Thread writer;
+
+    private final AtomicLong claimed = new AtomicLong(-1);
+    private final LongAdder dropped = new LongAdder();
+    private volatile long consumed = -1;
+    private volatile boolean running = true;
+    private volatile boolean writerParked;
+
+    AuditRingBuffer(int capacity, OverflowPolicy overflowPolicy, Consumer<AuditEvent> handler, String threadName) {
+        if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Audit buffer capacity must be a power of two, was " + capacity);
+        }
+        this.slots = new AuditEvent[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new AuditEvent();
+        }
+        this.published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            published.set(i, -1);
+        }
+        this.mask = capacity - 1;
+        this.overflowPolicy = overflowPolicy;
+        this.handler = handler;
+        this.writer = new Thread(this::drain, threadName);
+        this.writer.setDaemon(true);
+    }
+
+    void start() {
+        writer.start();
+    }
+
+    /**
+     * Claim the next slot; returns its sequence, DROPPED when full under the DROP policy,
+     * or CLOSED once the buffer is shut down
+     */
+    long claim() {
+        while (running) {
+            long current = claimed.get();
+            long next = current + 1;
+            if (next - slots.length > consumed) {
+                if (overflowPolicy == OverflowPolicy.DROP) {
+                    dropped.increment();
+                    return DROPPED;
+                }
+                wakeWriter();
+                LockSupport.parkNanos(PRODUCER_PARK_NANOS);
+            } else if (claimed.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+        return CLOSED;
+    }
+
+    AuditEvent get(long sequence) {
+        return slots[(int) (sequence & mask)];
+    }
+
+    void publish(long sequence) {
+        published.set((int) (sequence & mask), sequence);
+        wakeWriter();
+    }
+
+    long droppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Events claimed but not yet written
+     */
+    long size() {
+        return Math.max(0, claimed.get() - consumed);
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+
+    /**
+     * Stop accepting events and wait for the writer to write everything already claimed
+     */
+    void close(long timeoutMs) throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(timeoutMs);
+        if (writer.isAlive()) {
+            logger.warn("Audit writer did not drain within {} ms, {} events left", timeoutMs, size());
+        }
+    }
+
+    private void wakeWriter() {
+        if (writerParked) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    /**
+     * Should the writer still stop, producers fall back to writing on their own threads (claim()
+     * reports CLOSED) rather than waiting for slots that are never freed
+     */
+    private void drain() {
+        try {
+            writeInOrder();
+        } catch (Throwable t) {
+            running = false;
+            logger.error("Audit writer stopped with {} events unwritten; audit events are now written synchronously",
+                         size(), t);
+        }
+    }
+
+    private void writeInOrder() {
+        long next = consumed + 1;
+        int idle = 0;
+        while (true) {
+            int index = (int) (next & mask);
+            if (published.get(index) == next) {
+                AuditEvent event = slots[index];
+                try {
+                    handler.accept(event);
+                } catch (RuntimeException e) {
+                    logger.warn("Failed to write audit event {}: {}", event.type, e.getMessage());
+                } catch (Error e) {
+                    // Skip the event but keep the writer alive, otherwise BLOCK producers would wait forever
+                    logger.error("Failed to write audit event {}", event.type, e);
+                } finally {
+                    event.clear();
+                }
+                consumed = next++;
+                idle = 0;
+            } else if (!running && claimed.get() < next) {
+                return;
+            } else if (++idle < SPINS_BEFORE_PARK) {
+                Thread.onSpinWait();
+            } else {
+                // Re-check after announcing the park so a concurrent publish either sees the flag or is seen here
+                writerParked = true;
+                if (published.get(index) != next && running) {
+                    LockSupport.parkNanos(WRITER_PARK_NANOS);
+                }
+                writerParked = false;
+            }
+        }
+    }
+}
@@ -1,173 +1,318 @@
 package com.mercedes.contract.service;
 
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.mercedes.contract.service.ContractPipelineMetrics.Outcome;
+import com.mercedes.contract.service.ContractPipelineMetrics.Stage;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
+import java.time.Instant;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.Locale;
 
 /**
  * Dedicated Audit Service for structured logging
  * Separate from business logic as per common guidelines
  * Automatically captures traceId from MDC
+ *
+ * With contract.audit.async the calling thread only records the time, the traceId and the
+ * raw values into a preallocated AuditRingBuffer slot; timestamp formatting, masking and the
+ * actual log call happen on the audit-writer thread, which restores the traceId in its MDC.
+ * Lines are written as key=value text or, with contract.audit.format=json, one JSON object per line,
+ * and every written event is also handed to ContractAuditService for the audit_events table
  */
 @Service
 public class AuditService {
 
     private static final Logger auditLogger = LoggerFactory.getLogger("AUDIT");
-    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+    private static final String TRACE_ID = "traceId";
+    private static final DateTimeFormatter TIMESTAMP_FORMAT =
+        DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+    private static final long CLOSE_TIMEOUT_MS = 5000;
+
+    @Value("${contract.audit.async:false}")
+    private boolean async;
+
+    @Value("${contract.audit.buffer-size:8192}")
+    private int bufferSize = 8192;
+
+    // block or drop
+    @Value("${contract.audit.overflow-policy:block}")
+    private String overflowPolicy = "block";
+
+    // text or json
+    @Value("${contract.audit.format:text}")
+    private String format = "text";
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    // Stores written events in the audit_events table
+    @Autowired(required = false)
+    private ContractAuditService contractAuditService;
+
+    // Caller-side cost of each event, timed as the audit stage
+    private final ContractPipelineMetrics pipelineMetrics;
+
+    private boolean json;
+    private volatile AuditRingBuffer ringBuffer;
+    // Only used by the writer thread
+    private final StringBuilder writerLine = new StringBuilder(256);
+
+    @Autowired
+    public AuditService(ContractPipelineMetrics pipelineMetrics) {
+        this.pipelineMetrics = pipelineMetrics;
+    }
+
+    @PostConstruct
+    public void start() {
+        json = switch (format.trim().toLowerCase(Locale.ROOT)) {
+            case "text" -> false;
+            case "json" -> true;
+            default -> throw new IllegalArgumentException("Unknown contract.audit.format: " + format
+                                                          + " (expected text or json)");
+        };
+        if (!async) {
+            return;
+        }
+        AuditRingBuffer.OverflowPolicy policy = switch (overflowPolicy.trim().toLowerCase(Locale.ROOT)) {
+            case "block" -> AuditRingBuffer.OverflowPolicy.BLOCK;
+            case "drop" -> AuditRingBuffer.OverflowPolicy.DROP;
+            default -> throw new IllegalArgumentException("Unknown contract.audit.overflow-policy: " + overflowPolicy
+                                                          + " (expected block or drop)");
+        };
+        // Round up so slots can be addressed with a mask
+        int capacity = Integer.highestOneBit(Math.max(1, bufferSize - 1)) << 1;
+        AuditRingBuffer buffer = new AuditRingBuffer(capacity, policy, this::writeFromBuffer, "audit-writer");
+        buffer.start();
+        ringBuffer = buffer;
+
+        if (meterRegistry != null) {
+            FunctionCounter.builder("contract.audit.dropped", buffer, AuditRingBuffer::droppedCount)
+                .description("Audit events discarded because the audit buffer was full")
+                .register(meterRegistry);
+            Gauge.builder("contract.audit.buffer.size", buffer, AuditRingBuffer::size)
+                .description("Audit events waiting for the audit writer")
+                .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Write everything already recorded; later events are written on the calling thread
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        AuditRingBuffer buffer = ringBuffer;
+        if (buffer != null) {
+            buffer.close(CLOSE_TIMEOUT_MS);
+        }
+    }
+
+    /**
+     * Number of audit events discarded under the drop overflow policy
+     */
+    public long droppedEvents() {
+        AuditRingBuffer buffer = ringBuffer;
+        return buffer != null ? buffer.droppedCount() : 0;
+    }
 
     /**
      * Log contract creation audit event
      */
     public void logContractCreated(String contractId, String purchaseRequestId, String dealId) {
-        String timestamp = LocalDateTime.now().format(TIMESTAMP_FORMAT);
-        String traceId = MDC.get("traceId");
-        
-        auditLogger.info("CONTRACT_CREATED | timestamp={} | contractId={} | purchaseRequestId={} | dealId={} | traceId={} | status=SUCCESS",
-            timestamp,
-            maskSensitiveData(contractId),
-            maskSensitiveData(purchaseRequestId),
-            maskSensitiveData(dealId),
-            traceId
-        );
+        record(AuditEvent.Type.CONTRACT_CREATED, contractId, purchaseRequestId, dealId, null, 0, 0);
     }
 
     /**
      * Log contract creation failure audit event
      */
     public void logContractCreationFailed(String purchaseRequestId, String dealId, String reason) {
-        String timestamp = LocalDateTime.now().format(TIMESTAMP_FORMAT);
-        String traceId = MDC.get("traceId");
-        
-        auditLogger.error("CONTRACT_CREATION_FAILED | timestamp={} | purchaseRequestId={} | dealId={} | reason={} | traceId={} | status=FAILURE",
-            timestamp,
-            maskSensitiveData(purchaseRequestId),
-            maskSensitiveData(dealId),
-            reason,
-            traceId
-        );
+        record(AuditEvent.Type.CONTRACT_CREATION_FAILED, purchaseRequestId, dealId, reason, null, 0, 0);
     }
 
     /**
      * Log contract retrieval audit event
      */
     public void logContractRetrieved(String contractId) {
-        String timestamp = LocalDateTime.now().format(TIMESTAMP_FORMAT);
-        String traceId = MDC.get("traceId");
-        
-        auditLogger.info("CONTRACT_RETRIEVED | timestamp={} | contractId={} | traceId={} | status=SUCCESS",
-            timestamp,
-            maskSensitiveData(contractId),
-            traceId
-        );
+        record(AuditEvent.Type.CONTRACT_RETRIEVED, contractId, null, null, null, 0, 0);
     }
 
     /**
      * Log contract retrieval failure audit event
      */
     public void logContractRetrievalFailed(String contractId, String reason) {
-        String timestamp = LocalDateTime.now().format(TIMESTAMP_FORMAT);
-        String traceId = MDC.get("traceId");
-        
-        auditLogger.warn("CONTRACT_RETRIEVAL_FAILED | timestamp={} | contractId={} | reason={} | traceId={} | status=FAILURE",
-            timestamp,
-            maskSensitiveData(contractId),
-            reason,
-            traceId
-        );
+        record(AuditEvent.Type.CONTRACT_RETRIEVAL_FAILED, contractId, reason, null, null, 0, 0);
     }
 
     /**
      * Log PDF generation audit event
      */
     public void logPdfGenerated(String contractId, String storageLocation) {
-        String timestamp = LocalDateTime.now().format(TIMESTAMP_FORMAT);
-        String traceId = MDC.get("traceId");
-        
-        auditLogger.info("PDF_GENERATED | timestamp={} | contractId={} | storageLocation={} | traceId={} | status=SUCCESS",
-            timestamp,
-            maskSensitiveData(contractId),
-            maskSensitiveData(storageLocation),
-            traceId
-        );
+        record(AuditEvent.Type.PDF_GENERATED, contractId, storageLocation, null, null, 0, 0);
     }
 
     /**
      * Log PDF generation failure audit event
      */
     public void logPdfGenerationFailed(String contractId, String reason) {
-        String timestamp = LocalDateTime.now().format(TIMESTAMP_FORMAT);
-        String traceId = MDC.get("traceId");
-        
-        auditLogger.error("PDF_GENERATION_FAILED | timestamp={} | contractId={} | reason={} | traceId={} | status=FAILURE",
-            timestamp,
-            maskSensitiveData(contractId),
-            reason,
-            traceId
-        );
+        record(AuditEvent.Type.PDF_GENERATION_FAILED, contractId, reason, null, null, 0, 0);
     }
 
     /**
      * Log event publishing audit event
      */
     public void logEventPublished(String eventType, String contractId, String topic) {
-        String timestamp = LocalDateTime.now().format(TIMESTAMP_FORMAT);
-        String traceId = MDC.get("traceId");
-        
-        auditLogger.info("EVENT_PUBLISHED | timestamp={} | eventType={} | contractId={} | topic={} | traceId={} | status=SUCCESS",
-            timestamp,
-            eventType,
-            maskSensitiveData(contractId),
-            topic,
-            traceId
-        );
+        record(AuditEvent.Type.EVENT_PUBLISHED, eventType, contractId, topic, null, 0, 0);
     }
 
     /**
      * Log event publishing failure audit event
      */
     public void logEventPublishingFailed(String eventType, String contractId, String topic, String reason) {
-        String timestamp = LocalDateTime.now().format(TIMESTAMP_FORMAT);
-        String traceId = MDC.get("traceId");
-        
-        auditLogger.error("EVENT_PUBLISHING_FAILED | timestamp={} | eventType={} | contractId={} | topic={} | reason={} | traceId={} | status=FAILURE",
-            timestamp,
-            eventType,
-            maskSensitiveData(contractId),
-            topic,
-            reason,
-            traceId
-        );
+        record(AuditEvent.Type.EVENT_PUBLISHING_FAILED, eventType, contractId, topic, reason, 0, 0);
     }
 
     /**
      * Log retry attempt audit event
      */
     public void logRetryAttempt(String operation, String identifier, int attemptNumber, int maxAttempts) {
-        String timestamp = LocalDateTime.now().format(TIMESTAMP_FORMAT);
-        String traceId = MDC.get("traceId");
-        
-        auditLogger.warn("RETRY_ATTEMPT | timestamp={} | operation={} | identifier={} | attempt={}/{} | traceId={} | status=RETRY",
-            timestamp,
-            operation,
-            maskSensitiveData(identifier),
-            attemptNumber,
-            maxAttempts,
-            traceId
-        );
+        record(AuditEvent.Type.RETRY_ATTEMPT, operation, identifier, null, null, attemptNumber, maxAttempts);
+    }
+
+    private void record(AuditEvent.Type type, String value0, String value1, String value2, String value3,
+                        int attempt, int maxAttempts) {
+        // The durable store keeps every event, whatever the AUDIT log level
+        if (contractAuditService == null && !auditLogger.isEnabledForLevel(type.level)) {
+            return;
+        }
+        long start = System.nanoTime();
+        long timestamp = System.currentTimeMillis();
+        String traceId = MDC.get(TRACE_ID);
+
+        AuditRingBuffer buffer = ringBuffer;
+        long sequence = buffer != null ? buffer.claim() : AuditRingBuffer.CLOSED;
+        if (sequence >= 0) {
+            buffer.get(sequence).set(type, timestamp, traceId, value0, value1, value2, value3, attempt, maxAttempts);
+            buffer.publish(sequence);
+        } else if (sequence == AuditRingBuffer.CLOSED) {
+            AuditEvent event = new AuditEvent();
+            event.set(type, timestamp, traceId, value0, value1, value2, value3, attempt, maxAttempts);
+            write(event, new StringBuilder(256));
+        }
+        pipelineMetrics.record(Stage.AUDIT, Outcome.SUCCESS, start);
+    }
+
+    private void writeFromBuffer(AuditEvent event) {
+        if (event.traceId != null) {
+            MDC.put(TRACE_ID, event.traceId);
+        } else {
+            MDC.remove(TRACE_ID);
+        }
+        writerLine.setLength(0);
+        write(event, writerLine);
+    }
+
+    private void write(AuditEvent event, StringBuilder line) {
+        if (auditLogger.isEnabledForLevel(event.type.level)) {
+            if (json) {
+                appendJson(event, line);
+            } else {
+                appendText(event, line);
+            }
+            String message = line.toString();
+            switch (event.type.level) {
+                case ERROR -> auditLogger.error(message);
+                case WARN -> auditLogger.warn(message);
+                default -> auditLogger.info(message);
+            }
+        }
+        if (contractAuditService != null) {
+            contractAuditService.record(event);
+        }
+    }
+
+    /**
+     * EVENT | timestamp=... | field=value | ... | traceId=... | status=...
+     */
+    void appendText(AuditEvent event, StringBuilder line) {
+        AuditEvent.Type type = event.type;
+        line.append(type.name()).append(" | timestamp=");
+        TIMESTAMP_FORMAT.formatTo(Instant.ofEpochMilli(event.timestampMillis), line);
+        for (int i = 0; i < type.fields.length; i++) {
+            line.append(" | ").append(type.fields[i]).append('=');
+            if (type.masked[i]) {
+                appendMasked(event.values[i], line);
+            } else {
+                line.append(event.values[i]);
+            }
+        }
+        if (type == AuditEvent.Type.RETRY_ATTEMPT) {
+            line.append(" | attempt=").append(event.attempt).append('/').append(event.maxAttempts);
+        }
+        line.append(" | traceId=").append(event.traceId).append(" | status=").append(type.status);
+    }
+
+    /**
+     * {"event":"...","timestamp":"<ISO-8601 UTC>","field":"value",...,"traceId":...,"status":"..."}
+     */
+    void appendJson(AuditEvent event, StringBuilder line) {
+        AuditEvent.Type type = event.type;
+        line.append("{\"event\":\"").append(type.name()).append("\",\"timestamp\":\"");
+        DateTimeFormatter.ISO_INSTANT.formatTo(Instant.ofEpochMilli(event.timestampMillis), line);
+        line.append('"');
+        for (int i = 0; i < type.fields.length; i++) {
+            line.append(",\"").append(type.fields[i]).append("\":");
+            if (type.masked[i]) {
+                appendMaskedJson(event.values[i], line);
+            } else {
+                appendJsonString(event.values[i], line);
+            }
+        }
+        if (type == AuditEvent.Type.RETRY_ATTEMPT) {
+            line.append(",\"attempt\":").append(event.attempt).append(",\"maxAttempts\":").append(event.maxAttempts);
+        }
+        line.append(",\"traceId\":");
+        appendJsonString(event.traceId, line);
+        line.append(",\"status\":\"").append(type.status).append("\"}");
     }
 
     /**
      * Mask sensitive data for audit logging
      * Follows data privacy guidelines
      */
-    private String maskSensitiveData(String data) {
+    private static void appendMasked(String data, StringBuilder line) {
         if (data == null || data.length() <= 4) {
-            return "****";
+            line.append("****");
+        } else {
+            line.append(data, 0, 4).append("****");
+        }
+    }
+
+    private static void appendMaskedJson(String data, StringBuilder line) {
+        line.append('"');
+        if (data != null && data.length() > 4) {
+            JsonStringEncoder.getInstance().quoteAsString(data.subSequence(0, 4), line);
+        }
+        line.append("****\"");
+    }
+
+    private static void appendJsonString(String value, StringBuilder line) {
+        if (value == null) {
+            line.append("null");
+        } else {
+            line.append('"');
+            JsonStringEncoder.getInstance().quoteAsString(value, line);
+            line.append('"');
         }
-        return data.substring(0, 4) + "****";
     }
 }
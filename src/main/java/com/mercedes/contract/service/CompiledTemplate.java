@@ -0,0 +1,317 @@
+package com.mercedes.contract.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Precompiled contract template
+ * The template source is parsed once into a render plan of static chunks and field slots,
+ * so rendering only resolves field values and appends them to a pre-sized buffer.
+ *
+ * Supported syntax (mustache subset):
+ * {{name}} / {{a.b}}       HTML-escaped field value, resolved through the enclosing sections
+ * {{#name}}...{{/name}}    section: iterates lists, enters maps, renders once for other non-empty values
+ * {{^name}}...{{/name}}    inverted section: renders when the value is missing or empty
+ * {{@index}}               1-based position inside the innermost list section
+ */
+public final class CompiledTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+    private static final String INDEX = "@index";
+    private static final int FIELD_SIZE_ESTIMATE = 16;
+
+    private final List<Node> nodes;
+    private final int staticLength;
+
+    private CompiledTemplate(List<Node> nodes) {
+        this.nodes = nodes;
+        this.staticLength = estimate(nodes);
+    }
+
+    /**
+     * Parse template source into a render plan
+     * Throws IllegalArgumentException for unbalanced or malformed tags
+     */
+    public static CompiledTemplate compile(String source) {
+        Deque<SectionBuilder> open = new ArrayDeque<>();
+        List<Node> root = new ArrayList<>();
+        List<Node> current = root;
+        int position = 0;
+
+        while (position < source.length()) {
+            int tagStart = source.indexOf(OPEN, position);
+            if (tagStart < 0) {
+                current.add(new StaticNode(source.substring(position)));
+                break;
+            }
+            if (tagStart > position) {
+                current.add(new StaticNode(source.substring(position, tagStart)));
+            }
+            int tagEnd = source.indexOf(CLOSE, tagStart + OPEN.length());
+            if (tagEnd < 0) {
+                throw new IllegalArgumentException("Unclosed tag at offset " + tagStart);
+            }
+            String tag = source.substring(tagStart + OPEN.length(), tagEnd).trim();
+            if (tag.isEmpty()) {
+                throw new IllegalArgumentException("Empty tag at offset " + tagStart);
+            }
+
+            char kind = tag.charAt(0);
+            if (kind == '#' || kind == '^') {
+                SectionBuilder section = new SectionBuilder(name(tag.substring(1), tagStart), kind == '^', current);
+                open.push(section);
+                current = section.children;
+            } else if (kind == '/') {
+                String name = String.join(".", name(tag.substring(1), tagStart));
+                if (open.isEmpty() || !open.peek().name.equals(name)) {
+                    throw new IllegalArgumentException("Unexpected closing tag {{/" + name + "}} at offset " + tagStart);
+                }
+                SectionBuilder section = open.pop();
+                current = section.parent;
+                current.add(new SectionNode(section.path, section.inverted, section.children));
+            } else {
+                current.add(new FieldNode(name(tag, tagStart)));
+            }
+            position = tagEnd + CLOSE.length();
+        }
+
+        if (!open.isEmpty()) {
+            throw new IllegalArgumentException("Unclosed section {{#" + open.peek().name + "}}");
+        }
+        return new CompiledTemplate(mergeStatic(root));
+    }
+
+    /**
+     * Render the template against a model of maps, lists and scalar values
+     */
+    public String render(Map<String, Object> model) {
+        StringBuilder out = new StringBuilder(estimateCapacity(model));
+        Deque<Object> scope = new ArrayDeque<>();
+        scope.push(model);
+        renderNodes(nodes, out, scope);
+        return out.toString();
+    }
+
+    /**
+     * Output size estimate: static text plus a per-slot allowance, with list sections
+     * scaled by their item count so large mass orders do not trigger repeated buffer growth
+     */
+    int estimateCapacity(Map<String, Object> model) {
+        int capacity = 0;
+        for (Node node : nodes) {
+            if (node instanceof SectionNode section && !section.inverted
+                    && resolve(section.path, model) instanceof Collection<?> items) {
+                capacity += section.bodyEstimate * items.size();
+            } else {
+                capacity += node.estimate();
+            }
+        }
+        return Math.max(capacity, staticLength);
+    }
+
+    private static void renderNodes(List<Node> nodes, StringBuilder out, Deque<Object> scope) {
+        for (Node node : nodes) {
+            node.render(out, scope);
+        }
+    }
+
+    private static String[] name(String raw, int offset) {
+        String name = raw.trim();
+        if (name.isEmpty()) {
+            throw new IllegalArgumentException("Missing tag name at offset " + offset);
+        }
+        return ".".equals(name) ? new String[] {name} : name.split("\\.");
+    }
+
+    private static List<Node> mergeStatic(List<Node> nodes) {
+        List<Node> merged = new ArrayList<>(nodes.size());
+        for (Node node : nodes) {
+            if (node instanceof StaticNode next && !merged.isEmpty()
+                    && merged.get(merged.size() - 1) instanceof StaticNode previous) {
+                merged.set(merged.size() - 1, new StaticNode(previous.text + next.text));
+            } else {
+                merged.add(node);
+            }
+        }
+        return List.copyOf(merged);
+    }
+
+    private static int estimate(List<Node> nodes) {
+        int total = 0;
+        for (Node node : nodes) {
+            total += node.estimate();
+        }
+        return total;
+    }
+
+    /**
+     * Resolve a dotted path against the innermost scope that defines its first segment
+     */
+    private static Object lookup(String[] path, Deque<Object> scope) {
+        if (path.length == 1 && INDEX.equals(path[0])) {
+            for (Object frame : scope) {
+                if (frame instanceof ListItem item) {
+                    return item.index;
+                }
+            }
+            return null;
+        }
+        if (path.length == 1 && ".".equals(path[0])) {
+            Object top = scope.peek();
+            return top instanceof ListItem item ? item.value : top;
+        }
+        for (Object frame : scope) {
+            Object context = frame instanceof ListItem item ? item.value : frame;
+            if (context instanceof Map<?, ?> map && map.containsKey(path[0])) {
+                return resolve(path, map);
+            }
+        }
+        return null;
+    }
+
+    private static Object resolve(String[] path, Object context) {
+        Object value = context;
+        for (String segment : path) {
+            if (!(value instanceof Map<?, ?> map)) {
+                return null;
+            }
+            value = map.get(segment);
+        }
+        return value;
+    }
+
+    private static boolean isTruthy(Object value) {
+        if (value == null) {
+            return false;
+        }
+        if (value instanceof Boolean bool) {
+            return bool;
+        }
+        if (value instanceof CharSequence text) {
+            return !text.toString().isBlank();
+        }
+        if (value instanceof Collection<?> collection) {
+            return !collection.isEmpty();
+        }
+        if (value instanceof Map<?, ?> map) {
+            return !map.isEmpty();
+        }
+        return true;
+    }
+
+    private static void appendEscaped(StringBuilder out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> out.append("&amp;");
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+
+    private interface Node {
+        void render(StringBuilder out, Deque<Object> scope);
+
+        int estimate();
+    }
+
+    private record StaticNode(String text) implements Node {
+        @Override
+        public void render(StringBuilder out, Deque<Object> scope) {
+            out.append(text);
+        }
+
+        @Override
+        public int estimate() {
+            return text.length();
+        }
+    }
+
+    private record FieldNode(String[] path) implements Node {
+        @Override
+        public void render(StringBuilder out, Deque<Object> scope) {
+            Object value = lookup(path, scope);
+            if (value != null) {
+                appendEscaped(out, String.valueOf(value));
+            }
+        }
+
+        @Override
+        public int estimate() {
+            return FIELD_SIZE_ESTIMATE;
+        }
+    }
+
+    private static final class SectionNode implements Node {
+        private final String[] path;
+        private final boolean inverted;
+        private final List<Node> children;
+        private final int bodyEstimate;
+
+        private SectionNode(String[] path, boolean inverted, List<Node> children) {
+            this.path = path;
+            this.inverted = inverted;
+            this.children = mergeStatic(children);
+            this.bodyEstimate = CompiledTemplate.estimate(this.children);
+        }
+
+        @Override
+        public void render(StringBuilder out, Deque<Object> scope) {
+            Object value = lookup(path, scope);
+            boolean truthy = isTruthy(value);
+            if (inverted) {
+                if (!truthy) {
+                    renderNodes(children, out, scope);
+                }
+                return;
+            }
+            if (!truthy) {
+                return;
+            }
+            if (value instanceof Collection<?> items) {
+                int index = 1;
+                for (Object item : items) {
+                    scope.push(new ListItem(index++, item));
+                    renderNodes(children, out, scope);
+                    scope.pop();
+                }
+            } else {
+                scope.push(value);
+                renderNodes(children, out, scope);
+                scope.pop();
+            }
+        }
+
+        @Override
+        public int estimate() {
+            return bodyEstimate;
+        }
+    }
+
+    private record ListItem(int index, Object value) {
+    }
+
+    private static final class SectionBuilder {
+        private final String[] path;
+        private final String name;
+        private final boolean inverted;
+        private final List<Node> parent;
+        private final List<Node> children = new ArrayList<>();
+
+        private SectionBuilder(String[] path, boolean inverted, List<Node> parent) {
+            this.path = path;
+            this.name = String.join(".", path);
+            this.inverted = inverted;
+            this.parent = parent;
+        }
+    }
+}
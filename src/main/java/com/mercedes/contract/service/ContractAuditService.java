@@ -0,0 +1,258 @@
+package com.mercedes.contract.service;
+
+import com.mercedes.contract.dto.AuditEventResponse;
+import com.mercedes.contract.dto.ContractAuditResponse;
+import com.mercedes.contract.exception.ContractNotFoundException;
+import com.mercedes.contract.repository.AuditEventRecord;
+import com.mercedes.contract.repository.AuditEventRepository;
+import com.mercedes.contract.repository.ContractRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Durable audit trail in the audit_events table
+ * AuditService hands every written audit event to record(), which only converts it and offers it
+ * to a bounded queue; a scheduled flush stores the queued events in batches (COPY on PostgreSQL).
+ * Nothing here runs on request threads when contract.audit.async is on, and a slow or unavailable
+ * database fills the queue instead of backing up into AuditService: events beyond its capacity are
+ * dropped and counted in contract.audit.store.dropped, while the AUDIT log keeps every line.
+ * Identifiers are stored unmasked so the trail can be queried per contract, cut to their column
+ * widths; a batch the table rejects is stored row by row so one bad row cannot block the rest
+ */
+@Service
+public class ContractAuditService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContractAuditService.class);
+
+    static final int MAX_QUERY_LIMIT = 1000;
+
+    // Column widths of audit_events (V6)
+    static final int CONTRACT_ID_LENGTH = 50;
+    static final int PURCHASE_REQUEST_ID_LENGTH = 100;
+    static final int DEAL_ID_LENGTH = 100;
+    static final int TRACE_ID_LENGTH = 64;
+
+    private final AuditEventRepository auditEventRepository;
+    private final ContractRepository contractRepository;
+    private final BlockingQueue<AuditEventRecord> queue;
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private long droppedReported;
+
+    // Batch that failed to store, retried on the next flush; only touched by flush()
+    private List<AuditEventRecord> pending = List.of();
+
+    @Value("${contract.audit.store.enabled:true}")
+    private boolean storeEnabled;
+
+    @Value("${contract.audit.store.batch-size:500}")
+    private int batchSize;
+
+    @Value("${contract.audit.store.months-ahead:2}")
+    private int monthsAhead;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    public ContractAuditService(AuditEventRepository auditEventRepository,
+                                ContractRepository contractRepository,
+                                @Value("${contract.audit.store.queue-capacity:50000}") int queueCapacity) {
+        this.auditEventRepository = auditEventRepository;
+        this.contractRepository = contractRepository;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    public void registerMetrics() {
+        if (meterRegistry != null) {
+            Gauge.builder("contract.audit.store.queue.size", queue, BlockingQueue::size)
+                .description("Audit events waiting to be stored in audit_events")
+                .register(meterRegistry);
+            FunctionCounter.builder("contract.audit.store.dropped", dropped, LongAdder::sum)
+                .description("Audit events not stored because the audit store queue was full")
+                .register(meterRegistry);
+            FunctionCounter.builder("contract.audit.store.rejected", rejected, LongAdder::sum)
+                .description("Audit events skipped because audit_events rejected the row")
+                .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Queue a written audit event for storage; never blocks
+     */
+    void record(AuditEvent event) {
+        if (!storeEnabled) {
+            return;
+        }
+        if (!queue.offer(toRecord(event))) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Store everything queued so far, batch by batch
+     */
+    @Scheduled(fixedDelayString = "${contract.audit.store.flush-interval-ms:200}",
+               initialDelayString = "${contract.audit.store.flush-interval-ms:200}")
+    public void flush() {
+        if (!storeEnabled) {
+            return;
+        }
+        try {
+            while (true) {
+                if (pending.isEmpty()) {
+                    List<AuditEventRecord> batch = new ArrayList<>(Math.min(batchSize, queue.size()));
+                    queue.drainTo(batch, batchSize);
+                    if (batch.isEmpty()) {
+                        break;
+                    }
+                    pending = batch;
+                }
+                try {
+                    auditEventRepository.insertAll(pending);
+                } catch (DataIntegrityViolationException e) {
+                    logger.warn("audit_events rejected a batch of {} events, storing them one by one: {}",
+                                pending.size(), e.getMessage());
+                    insertOneByOne();
+                }
+                pending = List.of();
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Could not store {} audit events, retrying on the next flush: {}",
+                        pending.size(), e.getMessage());
+        }
+
+        long droppedTotal = dropped.sum();
+        if (droppedTotal > droppedReported) {
+            logger.warn("Audit store queue full, {} audit events were not stored", droppedTotal - droppedReported);
+            droppedReported = droppedTotal;
+        }
+    }
+
+    /**
+     * Store the pending batch row by row, skipping rows the table rejects
+     * Any other failure keeps the rows not yet stored pending for the next flush
+     */
+    private void insertOneByOne() {
+        for (int i = 0; i < pending.size(); i++) {
+            AuditEventRecord event = pending.get(i);
+            try {
+                auditEventRepository.insertAll(List.of(event));
+            } catch (DataIntegrityViolationException e) {
+                rejected.increment();
+                logger.error("Skipping {} audit event for contractId {} rejected by audit_events: {}",
+                             event.getEventType(), event.getContractId(), e.getMessage());
+            } catch (DataAccessException e) {
+                pending = new ArrayList<>(pending.subList(i, pending.size()));
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Store what is still queued; AuditService has written its last events by now
+     */
+    @PreDestroy
+    public void stop() {
+        flush();
+    }
+
+    /**
+     * Create the monthly partitions for the current and the next months
+     */
+    @Scheduled(fixedDelayString = "${contract.audit.store.partition-interval-ms:21600000}")
+    public void ensurePartitions() {
+        if (!storeEnabled) {
+            return;
+        }
+        YearMonth month = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            // One month failing must not keep the later ones from being created
+            try {
+                auditEventRepository.createMonthlyPartition(month.plusMonths(i));
+            } catch (DataAccessException e) {
+                logger.error("Could not create the audit_events partition for {}: {}", month.plusMonths(i),
+                             e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Most recent audit events of a contract, newest first
+     * The limit is clamped to 1..MAX_QUERY_LIMIT
+     */
+    public ContractAuditResponse getContractAudit(String contractId, int limit) {
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_QUERY_LIMIT));
+        List<AuditEventRecord> events = auditEventRepository.findByContractId(contractId, boundedLimit);
+        if (events.isEmpty() && !contractRepository.existsById(contractId)) {
+            throw new ContractNotFoundException(contractId);
+        }
+
+        List<AuditEventResponse> responses = new ArrayList<>(events.size());
+        for (AuditEventRecord event : events) {
+            responses.add(new AuditEventResponse(event.getEventType(), event.getEventTimestamp(), event.getStatus(),
+                                                 event.getTraceId(), event.getDetails()));
+        }
+        return new ContractAuditResponse(contractId, responses);
+    }
+
+    /**
+     * Identifiers go to their columns, every other field to details
+     */
+    static AuditEventRecord toRecord(AuditEvent event) {
+        AuditEvent.Type type = event.type;
+        String contractId = null;
+        String purchaseRequestId = null;
+        String dealId = null;
+        Map<String, Object> details = new LinkedHashMap<>();
+        for (int i = 0; i < type.fields.length; i++) {
+            String value = event.values[i];
+            switch (type.fields[i]) {
+                case "contractId" -> contractId = truncate(value, CONTRACT_ID_LENGTH);
+                case "purchaseRequestId" -> purchaseRequestId = truncate(value, PURCHASE_REQUEST_ID_LENGTH);
+                case "dealId" -> dealId = truncate(value, DEAL_ID_LENGTH);
+                default -> {
+                    if (value != null) {
+                        details.put(type.fields[i], value);
+                    }
+                }
+            }
+        }
+        if (type == AuditEvent.Type.RETRY_ATTEMPT) {
+            details.put("attempt", event.attempt);
+            details.put("maxAttempts", event.maxAttempts);
+        }
+        LocalDateTime timestamp = LocalDateTime.ofInstant(Instant.ofEpochMilli(event.timestampMillis),
+                                                          ZoneId.systemDefault());
+        return new AuditEventRecord(timestamp, type.name(), type.status, contractId, purchaseRequestId, dealId,
+                                    truncate(event.traceId, TRACE_ID_LENGTH), details);
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+}
@@ -0,0 +1,347 @@
+package com.mercedes.contract.service;
+
+import com.mercedes.contract.dto.ContractBatchItemResult;
+import com.mercedes.contract.dto.ContractBatchResponse;
+import com.mercedes.contract.dto.ContractRequest;
+import com.mercedes.contract.entity.Contract;
+import com.mercedes.contract.entity.ContractGenerationStatus;
+import com.mercedes.contract.repository.ContractInsertResult;
+import com.mercedes.contract.repository.ContractRepository;
+import com.mercedes.contract.service.ContractPipelineMetrics.Outcome;
+import com.mercedes.contract.service.ContractPipelineMetrics.Stage;
+import com.mercedes.contract.storage.ContractDocumentStore;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Batch contract generation for mass-order submissions
+ * Processes a whole array of purchase requests per call: one lookup for contracts that
+ * already exist, PDFs rendered on the bounded generation pool with a limited number in flight, and one transaction
+ * for the JDBC batch insert together with the outbox rows of all CONTRACT_CREATED events.
+ * Each item gets its own result, so one bad request does not fail the rest of the batch
+ */
+@Service
+public class ContractBatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContractBatchService.class);
+    private static final long REJECTED_RETRY_MS = 10;
+
+    private final ContractRepository contractRepository;
+    private final PdfGenerationService pdfGenerationService;
+    private final EventPublishingService eventPublishingService;
+    private final AuditService auditService;
+    private final ContractDocumentStore contractDocumentStore;
+    private final Validator validator;
+    private final TransactionOperations transactionOperations;
+    private final Executor executor;
+
+    private final ContractPipelineMetrics pipelineMetrics;
+
+    @Value("${contract.batch.render-concurrency:8}")
+    private int renderConcurrency;
+
+    @Value("${contract.batch.render-wait-ms:5000}")
+    private long renderWaitMs;
+
+    @Autowired
+    public ContractBatchService(ContractRepository contractRepository,
+                                PdfGenerationService pdfGenerationService,
+                                EventPublishingService eventPublishingService,
+                                AuditService auditService,
+                                ContractDocumentStore contractDocumentStore,
+                                Validator validator,
+                                TransactionOperations transactionOperations,
+                                @Qualifier("contractGenerationExecutor") Executor executor,
+                                ContractPipelineMetrics pipelineMetrics) {
+        this.contractRepository = contractRepository;
+        this.pdfGenerationService = pdfGenerationService;
+        this.eventPublishingService = eventPublishingService;
+        this.auditService = auditService;
+        this.contractDocumentStore = contractDocumentStore;
+        this.validator = validator;
+        this.transactionOperations = transactionOperations;
+        this.executor = executor;
+        this.pipelineMetrics = pipelineMetrics;
+    }
+
+    /**
+     * Generate contracts for all requests, returning one result per request in order
+     */
+    public ContractBatchResponse generateContracts(List<ContractRequest> requests) {
+        logger.info("Starting batch contract generation for {} requests", requests.size());
+
+        ContractBatchItemResult[] results = new ContractBatchItemResult[requests.size()];
+
+        // Validate each item on its own; repeated purchase requests resolve to the first occurrence
+        Map<String, Integer> firstIndexByPurchaseRequest = new LinkedHashMap<>();
+        Map<Integer, Integer> repeats = new HashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            ContractRequest request = requests.get(i);
+            String violations = validate(request);
+            if (violations != null) {
+                results[i] = fail(i, request, "Invalid request: " + violations);
+                continue;
+            }
+            Integer first = firstIndexByPurchaseRequest.putIfAbsent(request.getPurchaseRequestId(), i);
+            if (first != null) {
+                repeats.put(i, first);
+            }
+        }
+
+        // One query for purchase requests that already have a contract, so retried
+        // batches do not render their PDFs again
+        for (ContractInsertResult existing : findExisting(firstIndexByPurchaseRequest.keySet())) {
+            int index = firstIndexByPurchaseRequest.remove(existing.getPurchaseRequestId());
+            results[index] = existingResult(index, existing);
+        }
+
+        List<Integer> renderedIndexes = new ArrayList<>();
+        List<Contract> rendered = new ArrayList<>();
+        renderAll(requests, firstIndexByPurchaseRequest.values(), results, renderedIndexes, rendered);
+
+        insertAll(requests, results, renderedIndexes, rendered);
+
+        repeats.forEach((index, first) -> results[index] = repeatedResult(index, results[first]));
+
+        ContractBatchResponse response = new ContractBatchResponse(Arrays.asList(results));
+        logger.info("Batch contract generation completed: {} created, {} existing, {} failed",
+                   response.getCreated(), response.getExisting(), response.getFailed());
+        return response;
+    }
+
+    private List<ContractInsertResult> findExisting(Set<String> purchaseRequestIds) {
+        long start = System.nanoTime();
+        try {
+            List<ContractInsertResult> existing = contractRepository.findExistingByPurchaseRequestIds(purchaseRequestIds);
+            pipelineMetrics.record(Stage.EXISTENCE_CHECK, Outcome.SUCCESS, start);
+            return existing;
+        } catch (RuntimeException e) {
+            pipelineMetrics.record(Stage.EXISTENCE_CHECK, Outcome.FAILURE, start);
+            throw e;
+        }
+    }
+
+    private List<ContractInsertResult> insertAllIfAbsent(List<Contract> contracts) {
+        long start = System.nanoTime();
+        try {
+            List<ContractInsertResult> inserted = contractRepository.insertAllIfAbsent(contracts);
+            pipelineMetrics.record(Stage.INSERT, Outcome.SUCCESS, start);
+            return inserted;
+        } catch (RuntimeException e) {
+            pipelineMetrics.record(Stage.INSERT, Outcome.FAILURE, start);
+            throw e;
+        }
+    }
+
+    /**
+     * Render the PDFs in parallel on the generation pool
+     * At most renderConcurrency renders of the batch are in flight; further items wait for the oldest one.
+     * The pool rejects work once it is full, so a rejected item waits for one of the batch's own renders,
+     * or up to renderWaitMs for other work to free the pool, and is failed only after that
+     */
+    private void renderAll(List<ContractRequest> requests, Iterable<Integer> indexes, ContractBatchItemResult[] results,
+                           List<Integer> renderedIndexes, List<Contract> rendered) {
+        Map<String, String> mdcContext = MDC.getCopyOfContextMap();
+        Map<Integer, Contract> contracts = new LinkedHashMap<>();
+        Map<Integer, CompletableFuture<Void>> renders = new LinkedHashMap<>();
+        Deque<CompletableFuture<Void>> inFlight = new ArrayDeque<>();
+        for (int index : indexes) {
+            Contract contract = ContractService.newContract(requests.get(index));
+            CompletableFuture<Void> render = submitRender(() -> {
+                if (mdcContext != null) {
+                    MDC.setContextMap(mdcContext);
+                }
+                try {
+                    contract.setPdfStorageLocation(pdfGenerationService.generatePdf(contract));
+                    contract.setGenerationStatus(ContractGenerationStatus.PUBLISHED);
+                } finally {
+                    MDC.clear();
+                }
+            }, inFlight);
+            if (render == null) {
+                results[index] = fail(index, requests.get(index),
+                                      "Contract generation is at capacity, please retry later");
+                continue;
+            }
+            contracts.put(index, contract);
+            renders.put(index, render);
+        }
+
+        renders.forEach((index, render) -> {
+            try {
+                render.join();
+                renderedIndexes.add(index);
+                rendered.add(contracts.get(index));
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                results[index] = fail(index, requests.get(index), "Failed to generate contract: " + cause.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Submit a render once the batch has a free slot, or return null if the pool stays full for renderWaitMs
+     */
+    private CompletableFuture<Void> submitRender(Runnable render, Deque<CompletableFuture<Void>> inFlight) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(renderWaitMs);
+        while (true) {
+            if (inFlight.size() >= Math.max(1, renderConcurrency)) {
+                awaitOldest(inFlight);
+                continue;
+            }
+            try {
+                CompletableFuture<Void> future = CompletableFuture.runAsync(render, executor);
+                inFlight.addLast(future);
+                return future;
+            } catch (RejectedExecutionException e) {
+                if (!inFlight.isEmpty()) {
+                    awaitOldest(inFlight);
+                } else if (System.nanoTime() - deadline >= 0 || !pause()) {
+                    logger.warn("Generation pool rejected a batch render: {}", e.getMessage());
+                    return null;
+                }
+            }
+        }
+    }
+
+    private static boolean pause() {
+        try {
+            Thread.sleep(REJECTED_RETRY_MS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Wait for the oldest render in flight; its outcome is collected later with the others
+     */
+    private static void awaitOldest(Deque<CompletableFuture<Void>> inFlight) {
+        inFlight.removeFirst().handle((result, failure) -> null).join();
+    }
+
+    /**
+     * Insert the rendered contracts with one JDBC batch and record each outcome
+     * The events of the created contracts are enqueued in the same transaction
+     */
+    private void insertAll(List<ContractRequest> requests, ContractBatchItemResult[] results,
+                           List<Integer> renderedIndexes, List<Contract> rendered) {
+        if (rendered.isEmpty()) {
+            return;
+        }
+
+        List<ContractInsertResult> outcomes;
+        try {
+            outcomes = transactionOperations.execute(status -> {
+                List<ContractInsertResult> inserted = insertAllIfAbsent(rendered);
+                List<Contract> newContracts = new ArrayList<>();
+                for (int i = 0; i < rendered.size(); i++) {
+                    if (inserted.get(i) != null && inserted.get(i).isInserted()) {
+                        newContracts.add(rendered.get(i));
+                    }
+                }
+                eventPublishingService.publishContractCreatedEvents(newContracts);
+                return inserted;
+            });
+        } catch (RuntimeException e) {
+            // The transaction rolled back, so neither the rows nor their events were stored
+            logger.error("Batch insert of {} contracts failed", rendered.size(), e);
+            for (int i = 0; i < rendered.size(); i++) {
+                int index = renderedIndexes.get(i);
+                discardDocument(rendered.get(i).getContractId());
+                results[index] = fail(index, requests.get(index), "Failed to store contract: " + e.getMessage());
+            }
+            return;
+        }
+
+        for (int i = 0; i < rendered.size(); i++) {
+            int index = renderedIndexes.get(i);
+            Contract contract = rendered.get(i);
+            ContractInsertResult outcome = outcomes.get(i);
+            if (outcome != null && outcome.isInserted()) {
+                results[index] = new ContractBatchItemResult(index, contract.getPurchaseRequestId(),
+                    ContractBatchItemResult.Status.CREATED, contract.getContractId(),
+                    contract.getPdfStorageLocation(), "SIGNED", null);
+                auditService.logContractCreated(contract.getContractId(), contract.getPurchaseRequestId(),
+                                                contract.getDealId());
+                continue;
+            }
+
+            // Lost a race with a concurrent request, or clashed with another contract's deal ID
+            discardDocument(contract.getContractId());
+            results[index] = outcome != null
+                ? existingResult(index, outcome)
+                : fail(index, requests.get(index), "Conflicts with an existing contract");
+        }
+    }
+
+    private String validate(ContractRequest request) {
+        if (request == null) {
+            return "request is null";
+        }
+        Set<ConstraintViolation<ContractRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+            .map(ConstraintViolation::getMessage)
+            .sorted()
+            .collect(Collectors.joining(", "));
+    }
+
+    private ContractBatchItemResult fail(int index, ContractRequest request, String error) {
+        String purchaseRequestId = request != null ? request.getPurchaseRequestId() : null;
+        String dealId = request != null ? request.getDealId() : null;
+        auditService.logContractCreationFailed(purchaseRequestId, dealId, error);
+        return ContractBatchItemResult.failed(index, purchaseRequestId, error);
+    }
+
+    private static ContractBatchItemResult existingResult(int index, ContractInsertResult existing) {
+        boolean published = existing.getGenerationStatus() == ContractGenerationStatus.PUBLISHED;
+        return new ContractBatchItemResult(index, existing.getPurchaseRequestId(),
+            ContractBatchItemResult.Status.EXISTING, existing.getContractId(), existing.getPdfStorageLocation(),
+            published ? "SIGNED" : existing.getGenerationStatus().name(), null);
+    }
+
+    private static ContractBatchItemResult repeatedResult(int index, ContractBatchItemResult first) {
+        ContractBatchItemResult.Status status = first.getStatus() == ContractBatchItemResult.Status.FAILED
+            ? ContractBatchItemResult.Status.FAILED
+            : ContractBatchItemResult.Status.EXISTING;
+        return new ContractBatchItemResult(index, first.getPurchaseRequestId(), status, first.getContractId(),
+            first.getContractUrl(), first.getContractStatus(), first.getError());
+    }
+
+    private void discardDocument(String contractId) {
+        try {
+            contractDocumentStore.delete(contractId);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to discard unused PDF for contractId: {}: {}", contractId, e.getMessage());
+        }
+    }
+}
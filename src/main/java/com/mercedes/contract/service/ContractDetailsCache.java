@@ -0,0 +1,126 @@
+package com.mercedes.contract.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mercedes.contract.dto.ContractDetailsJson;
+import com.mercedes.contract.dto.ContractDetailsResponse;
+import com.mercedes.contract.entity.Contract;
+import com.mercedes.contract.entity.ContractGenerationStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of contract details keyed by contract ID
+ * Entries are the serialized JSON response plus its ETag, so a hit costs neither a database
+ * read nor a serialization pass. Backed by Caffeine's W-TinyLFU policy and bounded by the
+ * cached bytes rather than by entry count, since mass orders make sizes vary widely.
+ * Only contracts whose generation has finished are cached, and entries expire after
+ * expire-after-write-seconds, which bounds staleness from updates that bypass the entity listener.
+ * Hit, miss and eviction counts are exported as cache.* metrics tagged cache=contractDetails
+ */
+@Component
+public class ContractDetailsCache {
+
+    static final String CACHE_NAME = "contractDetails";
+
+    private final ObjectWriter detailsWriter;
+    private final Cache<String, ContractDetailsJson> cache;
+
+    public ContractDetailsCache(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                                @Value("${contract.cache.details.max-weight-bytes:67108864}") long maxWeightBytes,
+                                @Value("${contract.cache.details.expire-after-write-seconds:600}") long expireAfterWriteSeconds) {
+        // Shares the application mapper's configuration, so cached bytes match a regular response
+        this.detailsWriter = objectMapper.writerFor(ContractDetailsResponse.class);
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(maxWeightBytes)
+            .weigher((String contractId, ContractDetailsJson details) -> details.getBody().length)
+            .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+            .recordStats()
+            .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("contract.cache.details.weight", cache,
+                c -> c.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L))
+            .description("Serialized bytes held by the contract details cache")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Return the cached details, loading the contract with the given function on a miss
+     * Contracts still PENDING, GENERATING or RENDERED are serialized but not cached, since their PDF location
+     * and status are about to change. Exceptions thrown by the loader propagate and nothing is cached
+     */
+    public ContractDetailsJson get(String contractId, Function<String, Contract> loader) {
+        ContractDetailsJson cached = contractId != null ? cache.getIfPresent(contractId) : null;
+        if (cached != null) {
+            return cached;
+        }
+        Contract contract = loader.apply(contractId);
+        ContractDetailsJson details = serialize(contractId, toResponse(contract));
+        if (contractId != null && isFinished(contract.getGenerationStatus())) {
+            cache.put(contractId, details);
+        }
+        return details;
+    }
+
+    public void invalidate(String contractId) {
+        if (contractId != null) {
+            cache.invalidate(contractId);
+        }
+    }
+
+    long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    void cleanUp() {
+        cache.cleanUp();
+    }
+
+    private static boolean isFinished(ContractGenerationStatus status) {
+        return status == ContractGenerationStatus.PUBLISHED || status == ContractGenerationStatus.FAILED;
+    }
+
+    static ContractDetailsResponse toResponse(Contract contract) {
+        return new ContractDetailsResponse(
+            contract.getContractId(),
+            contract.getPurchaseRequestId(),
+            contract.getDealId(),
+            contract.getCustomerDetails(),
+            contract.getFinanceDetails(),
+            contract.getMassOrders(),
+            contract.getPdfStorageLocation(),
+            contract.getCreatedAt(),
+            contract.getUpdatedAt()
+        );
+    }
+
+    /**
+     * Serialize the response once and derive a strong ETag from the exact bytes sent
+     */
+    private ContractDetailsJson serialize(String contractId, ContractDetailsResponse response) {
+        try {
+            byte[] body = detailsWriter.writeValueAsBytes(response);
+            String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+            return new ContractDetailsJson(contractId, body, "\"" + hash + "\"");
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Failed to serialize details for contractId: " + contractId, e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.mercedes.contract.service;
+
+import com.mercedes.contract.entity.Contract;
+import jakarta.persistence.PreRemove;
+import jakarta.persistence.PreUpdate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA entity listener that evicts cached contract details whenever a contract changes
+ * The entry is dropped when the update is flushed and again after commit, so a reader
+ * that repopulates the cache from the pre-commit row in between cannot leave it stale
+ */
+@Component
+public class ContractDetailsCacheListener {
+
+    private final ContractDetailsCache contractDetailsCache;
+
+    public ContractDetailsCacheListener(ContractDetailsCache contractDetailsCache) {
+        this.contractDetailsCache = contractDetailsCache;
+    }
+
+    @PreUpdate
+    @PreRemove
+    public void onContractChanged(Contract contract) {
+        String contractId = contract.getContractId();
+        contractDetailsCache.invalidate(contractId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    contractDetailsCache.invalidate(contractId);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.mercedes.contract.service;
+
+import com.mercedes.contract.entity.Contract;
+import com.mercedes.contract.entity.ContractGenerationStatus;
+import com.mercedes.contract.repository.ContractRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Background contract generation pipeline
+ * Renders the PDF and publishes the CONTRACT_CREATED event for contracts
+ * that were persisted in PENDING state, tracking progress in generation_status
+ */
+@Service
+public class ContractGenerationPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContractGenerationPipeline.class);
+
+    private static final int MAX_FAILURE_REASON_LENGTH = 500;
+
+    private final ContractRepository contractRepository;
+    private final PdfGenerationService pdfGenerationService;
+    private final EventPublishingService eventPublishingService;
+    private final AuditService auditService;
+    private final TransactionOperations transactionOperations;
+    private final Executor executor;
+
+    @Value("${contract.generation.async:false}")
+    private boolean asyncGenerationEnabled;
+
+    @Value("${contract.generation.sweep.stale-after-ms:300000}")
+    private long staleAfterMs;
+
+    @Value("${contract.generation.sweep.batch-size:50}")
+    private int batchSize;
+
+    @Autowired
+    public ContractGenerationPipeline(ContractRepository contractRepository,
+                                      PdfGenerationService pdfGenerationService,
+                                      EventPublishingService eventPublishingService,
+                                      AuditService auditService,
+                                      TransactionOperations transactionOperations,
+                                      @Qualifier("contractGenerationExecutor") Executor executor) {
+        this.contractRepository = contractRepository;
+        this.pdfGenerationService = pdfGenerationService;
+        this.eventPublishingService = eventPublishingService;
+        this.auditService = auditService;
+        this.transactionOperations = transactionOperations;
+        this.executor = executor;
+    }
+
+    /**
+     * Hand a persisted PENDING contract over to the worker pool
+     * The caller's MDC (traceId) is carried over to the worker thread. Returns false when the pool
+     * is saturated; the contract then stays PENDING until resubmitStalePending claims it
+     */
+    public boolean submit(String contractId) {
+        Map<String, String> mdcContext = MDC.getCopyOfContextMap();
+        try {
+            executor.execute(() -> {
+                if (mdcContext != null) {
+                    MDC.setContextMap(mdcContext);
+                }
+                try {
+                    process(contractId);
+                } finally {
+                    MDC.clear();
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            // Never render on the submitting (request) thread; the sweeper picks the contract up later
+            logger.warn("Generation queue is full, contract {} stays PENDING until it is resubmitted", contractId);
+            return false;
+        }
+    }
+
+    /**
+     * Claim a PENDING contract, then run PDF rendering and event publishing for it
+     */
+    public void process(String contractId) {
+        // Submitted twice, e.g. resubmitted by the sweeper while still queued: only the
+        // worker whose claim moves the row from PENDING to GENERATING renders it
+        if (!contractRepository.claimForGeneration(contractId)) {
+            logger.info("Contract {} is not PENDING any more, skipping generation", contractId);
+            return;
+        }
+        Contract contract = contractRepository.findById(contractId).orElse(null);
+        if (contract == null) {
+            logger.warn("Contract {} disappeared before generation could start", contractId);
+            return;
+        }
+
+        try {
+            String pdfLocation = pdfGenerationService.generatePdf(contract);
+            contract.setPdfStorageLocation(pdfLocation);
+            contract.setGenerationStatus(ContractGenerationStatus.RENDERED);
+            Contract rendered = contractRepository.save(contract);
+            contract = rendered;
+
+            // The outbox event and the PUBLISHED status commit together
+            transactionOperations.executeWithoutResult(status -> {
+                eventPublishingService.publishContractCreatedEvent(rendered);
+                rendered.setGenerationStatus(ContractGenerationStatus.PUBLISHED);
+                contractRepository.save(rendered);
+            });
+
+            auditService.logContractCreated(contractId, contract.getPurchaseRequestId(), contract.getDealId());
+            logger.info("Asynchronous contract generation completed for contractId: {}", contractId);
+
+        } catch (Exception e) {
+            logger.error("Asynchronous contract generation failed for contractId: {}", contractId, e);
+            markFailed(contract, e);
+            auditService.logContractCreationFailed(contract.getPurchaseRequestId(), contract.getDealId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Resubmit contracts left PENDING, e.g. rejected by a saturated pool or accepted by an instance
+     * that stopped before rendering them, and GENERATING contracts whose worker stopped.
+     * Stops at the first rejection; the rest are claimed again later
+     */
+    @Scheduled(fixedDelayString = "${contract.generation.sweep.interval-ms:60000}",
+               initialDelayString = "${contract.generation.sweep.interval-ms:60000}")
+    public void resubmitStalePending() {
+        if (!asyncGenerationEnabled) {
+            return;
+        }
+        try {
+            List<String> contractIds = contractRepository.claimStalePending(Duration.ofMillis(staleAfterMs), batchSize);
+            for (String contractId : contractIds) {
+                if (!submit(contractId)) {
+                    return;
+                }
+            }
+            if (!contractIds.isEmpty()) {
+                logger.info("Resubmitted {} PENDING contracts for generation", contractIds.size());
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Generation sweep could not access the database: {}", e.getMessage());
+        }
+    }
+
+    private void markFailed(Contract contract, Exception cause) {
+        String reason = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+        if (reason.length() > MAX_FAILURE_REASON_LENGTH) {
+            reason = reason.substring(0, MAX_FAILURE_REASON_LENGTH);
+        }
+        contract.setGenerationStatus(ContractGenerationStatus.FAILED);
+        contract.setFailureReason(reason);
+        try {
+            contractRepository.save(contract);
+        } catch (Exception e) {
+            logger.error("Failed to record FAILED status for contractId: {}", contract.getContractId(), e);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.mercedes.contract.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.mercedes.contract.dto.ContractBatchItemResult;
+import com.mercedes.contract.dto.ContractBatchResponse;
+import com.mercedes.contract.dto.ContractRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming NDJSON import of contract requests
+ * Reads one ContractRequest per line, hands fixed-size chunks to ContractBatchService and
+ * writes one result line per record as each chunk completes. Only the current chunk is held
+ * in memory, and the next line is not read until the chunk is stored. ContractBatchService waits
+ * for free render slots on the generation pool, so a busy pool slows down reading the upload.
+ * Once the first results are written the response has started, so a chunk that cannot be
+ * generated is reported as FAILED lines rather than by failing the request
+ */
+@Service
+public class ContractImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContractImportService.class);
+
+    private final ContractBatchService contractBatchService;
+    private final AuditService auditService;
+    private final ObjectReader requestReader;
+    private final ObjectWriter resultWriter;
+
+    @Value("${contract.import.chunk-size:100}")
+    private int chunkSize;
+
+    @Value("${contract.import.max-line-length:1048576}")
+    private int maxLineLength;
+
+    @Autowired
+    public ContractImportService(ContractBatchService contractBatchService, AuditService auditService,
+                                 ObjectMapper objectMapper) {
+        this.contractBatchService = contractBatchService;
+        this.auditService = auditService;
+        this.requestReader = objectMapper.readerFor(ContractRequest.class)
+            .with(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+        this.resultWriter = objectMapper.writerFor(ContractBatchItemResult.class);
+    }
+
+    /**
+     * Import every record of the NDJSON input, writing a result line per record to the output
+     * Blank lines are skipped; index in each result is the record's position among non-blank lines
+     */
+    public void importContracts(Reader input, OutputStream output) throws IOException {
+        logger.info("Starting NDJSON contract import with chunk size {}", chunkSize);
+
+        Reader reader = input instanceof BufferedReader ? input : new BufferedReader(input);
+        List<ImportRecord> chunk = new ArrayList<>(chunkSize);
+        StringBuilder line = new StringBuilder();
+        int index = 0;
+        int created = 0;
+        int existing = 0;
+        int failed = 0;
+
+        LineStatus status;
+        while ((status = readLine(reader, line)) != LineStatus.END) {
+            if (status == LineStatus.OK && line.toString().isBlank()) {
+                continue;
+            }
+            chunk.add(parse(index++, status, line));
+
+            if (chunk.size() >= chunkSize) {
+                ContractBatchResponse response = processChunk(chunk, output);
+                created += response.getCreated();
+                existing += response.getExisting();
+                failed += response.getFailed();
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            ContractBatchResponse response = processChunk(chunk, output);
+            created += response.getCreated();
+            existing += response.getExisting();
+            failed += response.getFailed();
+        }
+
+        logger.info("NDJSON contract import completed: {} records, {} created, {} existing, {} failed",
+                   index, created, existing, failed);
+    }
+
+    private ImportRecord parse(int index, LineStatus status, StringBuilder line) {
+        if (status == LineStatus.TOO_LONG) {
+            return ImportRecord.failed(index, "Invalid request: line exceeds " + maxLineLength + " characters");
+        }
+        try {
+            ContractRequest request = requestReader.readValue(line.toString());
+            return request != null
+                ? new ImportRecord(index, request, null)
+                : ImportRecord.failed(index, "Invalid request: request is null");
+        } catch (JsonProcessingException e) {
+            return ImportRecord.failed(index, "Invalid request: " + e.getOriginalMessage());
+        }
+    }
+
+    /**
+     * Generate the chunk's valid records as one batch and write all its results in input order
+     */
+    private ContractBatchResponse processChunk(List<ImportRecord> chunk, OutputStream output) throws IOException {
+        List<ContractRequest> requests = new ArrayList<>(chunk.size());
+        for (ImportRecord record : chunk) {
+            if (record.request != null) {
+                requests.add(record.request);
+            }
+        }
+        List<ContractBatchItemResult> generated = requests.isEmpty() ? List.of() : generate(requests);
+
+        List<ContractBatchItemResult> results = new ArrayList<>(chunk.size());
+        int next = 0;
+        for (ImportRecord record : chunk) {
+            ContractBatchItemResult result;
+            if (record.request != null) {
+                result = generated.get(next++);
+                result.setIndex(record.index);
+            } else {
+                auditService.logContractCreationFailed(null, null, record.error);
+                result = ContractBatchItemResult.failed(record.index, null, record.error);
+            }
+            results.add(result);
+            output.write(resultWriter.writeValueAsBytes(result));
+            output.write('\n');
+        }
+        // Let the client see progress per chunk rather than only at the end of the upload
+        output.flush();
+        return new ContractBatchResponse(results);
+    }
+
+    private List<ContractBatchItemResult> generate(List<ContractRequest> requests) {
+        try {
+            return contractBatchService.generateContracts(requests).getResults();
+        } catch (RuntimeException e) {
+            logger.error("Failed to generate an import chunk of {} records", requests.size(), e);
+            String error = "Failed to generate contract: " + e.getMessage();
+            List<ContractBatchItemResult> failed = new ArrayList<>(requests.size());
+            for (int i = 0; i < requests.size(); i++) {
+                ContractRequest request = requests.get(i);
+                auditService.logContractCreationFailed(request.getPurchaseRequestId(), request.getDealId(), error);
+                failed.add(ContractBatchItemResult.failed(i, request.getPurchaseRequestId(), error));
+            }
+            return failed;
+        }
+    }
+
+    /**
+     * Read the next line into the buffer without holding more than maxLineLength characters
+     * The rest of an over-long line is consumed and dropped
+     */
+    private LineStatus readLine(Reader input, StringBuilder line) throws IOException {
+        line.setLength(0);
+        boolean tooLong = false;
+        int c;
+        while ((c = input.read()) != -1) {
+            if (c == '\n') {
+                return tooLong ? LineStatus.TOO_LONG : LineStatus.OK;
+            }
+            if (tooLong) {
+                continue;
+            }
+            if (line.length() >= maxLineLength) {
+                tooLong = true;
+                line.setLength(0);
+                continue;
+            }
+            if (c != '\r') {
+                line.append((char) c);
+            }
+        }
+        if (tooLong) {
+            return LineStatus.TOO_LONG;
+        }
+        return line.length() > 0 ? LineStatus.OK : LineStatus.END;
+    }
+
+    private enum LineStatus {
+        OK,
+        TOO_LONG,
+        END
+    }
+
+    private static final class ImportRecord {
+        private final int index;
+        private final ContractRequest request;
+        private final String error;
+
+        private ImportRecord(int index, ContractRequest request, String error) {
+            this.index = index;
+            this.request = request;
+            this.error = error;
+        }
+
+        private static ImportRecord failed(int index, String error) {
+            return new ImportRecord(index, null, error);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.mercedes.contract.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.mercedes.contract.event.ContractCreatedEvent;
+import com.mercedes.contract.event.ContractEventSerializer;
+import com.mercedes.contract.event.JsonContractEventSerializer;
+import com.mercedes.contract.repository.ContractOutboxEvent;
+import com.mercedes.contract.repository.ContractOutboxRepository;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Relays contract events from the contract_outbox table to Kafka
+ * Each batch is claimed with FOR UPDATE SKIP LOCKED and a lease in one short statement, sent
+ * with a single producer flush, and marked sent or failed in a second short transaction, so
+ * no transaction stays open while waiting for the broker and several instances can relay in
+ * parallel without sending the same row twice. Delivery is at-least-once: a crash after the
+ * send but before the marking sends the batch again once the lease has passed, and consumers
+ * deduplicate on eventId. An event that
+ * failed max-attempts times is dead-lettered and left in the table for manual handling.
+ * Stored JSON payloads are encoded with the configured ContractEventSerializer and carry
+ * its content type in the content-type record header
+ */
+@Service
+public class ContractOutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContractOutboxRelay.class);
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    static final String CONTENT_TYPE_HEADER = "content-type";
+
+    private final ContractOutboxRepository outboxRepository;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final ObjectReader payloadReader;
+    private final ContractEventSerializer eventSerializer;
+    private final byte[] contentType;
+    private final boolean sendStoredPayload;
+    private final AuditService auditService;
+    private final TransactionOperations transactionOperations;
+
+    @Value("${contract.outbox.relay.enabled:true}")
+    private boolean relayEnabled;
+
+    @Value("${contract.outbox.relay.batch-size:200}")
+    private int batchSize;
+
+    @Value("${contract.outbox.relay.max-batches-per-run:50}")
+    private int maxBatchesPerRun;
+
+    @Value("${contract.outbox.relay.send-timeout-ms:30000}")
+    private long sendTimeoutMs;
+
+    @Value("${contract.outbox.relay.retry-backoff-ms:1000}")
+    private long retryBackoffMs;
+
+    @Value("${contract.outbox.relay.max-retry-backoff-ms:300000}")
+    private long maxRetryBackoffMs;
+
+    @Value("${contract.outbox.relay.lease-ms:120000}")
+    private long leaseMs;
+
+    @Value("${contract.outbox.relay.max-attempts:20}")
+    private int maxAttempts;
+
+    @Value("${contract.outbox.retention-hours:72}")
+    private long retentionHours;
+
+    @Autowired
+    public ContractOutboxRelay(ContractOutboxRepository outboxRepository,
+                               KafkaTemplate<String, byte[]> kafkaTemplate,
+                               ObjectMapper objectMapper,
+                               ContractEventSerializer eventSerializer,
+                               AuditService auditService,
+                               TransactionOperations transactionOperations) {
+        this.outboxRepository = outboxRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.payloadReader = objectMapper.readerFor(ContractCreatedEvent.class);
+        this.eventSerializer = eventSerializer;
+        this.contentType = eventSerializer.contentType().getBytes(StandardCharsets.UTF_8);
+        this.sendStoredPayload = eventSerializer instanceof JsonContractEventSerializer;
+        this.auditService = auditService;
+        this.transactionOperations = transactionOperations;
+    }
+
+    /**
+     * Drain due events batch by batch until a batch comes back short or the per-run limit is reached
+     */
+    @Scheduled(fixedDelayString = "${contract.outbox.relay.interval-ms:500}",
+               initialDelayString = "${contract.outbox.relay.interval-ms:500}")
+    public void relay() {
+        if (!relayEnabled) {
+            return;
+        }
+        try {
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                if (relayBatch() < batchSize) {
+                    return;
+                }
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Outbox relay could not access the database: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Claim, send and mark one batch of events
+     * Returns the number of events that were claimed
+     */
+    public int relayBatch() {
+        List<ContractOutboxEvent> events = outboxRepository.claimNextBatch(batchSize, Duration.ofMillis(leaseMs));
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        // Hand every record to the producer before waiting on any of them
+        List<CompletableFuture<?>> sends = new ArrayList<>(events.size());
+        for (ContractOutboxEvent event : events) {
+            sends.add(send(event));
+        }
+        kafkaTemplate.flush();
+
+        List<Long> sent = new ArrayList<>(events.size());
+        Map<Long, String> failed = new LinkedHashMap<>();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        for (int i = 0; i < events.size(); i++) {
+            ContractOutboxEvent event = events.get(i);
+            try {
+                sends.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                sent.add(event.getId());
+                auditService.logEventPublished(event.getEventType(), event.getAggregateId(), event.getTopic());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failed.put(event.getId(), "Interrupted while waiting for the broker");
+            } catch (ExecutionException | TimeoutException e) {
+                Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+                String error = describe(cause);
+                logger.error("Failed to relay {} event {} for contractId: {} (attempt {} of {}): {}",
+                            event.getEventType(), event.getEventId(), event.getAggregateId(),
+                            event.getAttempts() + 1, maxAttempts, error);
+                if (event.getAttempts() + 1 >= maxAttempts) {
+                    logger.error("Dead-lettering {} event {} for contractId: {} after {} failed attempts",
+                                event.getEventType(), event.getEventId(), event.getAggregateId(), maxAttempts);
+                }
+                auditService.logEventPublishingFailed(event.getEventType(), event.getAggregateId(),
+                                                     event.getTopic(), error);
+                failed.put(event.getId(), error);
+            }
+        }
+
+        transactionOperations.executeWithoutResult(status -> {
+            outboxRepository.markSent(sent);
+            outboxRepository.markFailed(failed, Duration.ofMillis(retryBackoffMs),
+                                        Duration.ofMillis(maxRetryBackoffMs), maxAttempts);
+        });
+        logger.debug("Relayed outbox batch: {} sent, {} failed", sent.size(), failed.size());
+        return events.size();
+    }
+
+    /**
+     * Delete events that were sent longer ago than the retention period
+     */
+    @Scheduled(fixedDelayString = "${contract.outbox.purge-interval-ms:3600000}",
+               initialDelayString = "${contract.outbox.purge-interval-ms:3600000}")
+    public void purgeSent() {
+        if (!relayEnabled) {
+            return;
+        }
+        try {
+            int deleted = outboxRepository.deleteSentOlderThan(Duration.ofHours(retentionHours));
+            if (deleted > 0) {
+                logger.info("Purged {} sent outbox events older than {} hours", deleted, retentionHours);
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Outbox purge could not access the database: {}", e.getMessage());
+        }
+    }
+
+    private CompletableFuture<?> send(ContractOutboxEvent event) {
+        try {
+            if (!ContractCreatedEvent.TYPE.equals(event.getEventType())) {
+                throw new IllegalArgumentException("Unsupported event type " + event.getEventType());
+            }
+            // The outbox already holds the documented JSON, so only other formats need a conversion
+            byte[] value = sendStoredPayload
+                ? event.getPayload().getBytes(StandardCharsets.UTF_8)
+                : eventSerializer.serialize(payloadReader.readValue(event.getPayload()));
+            ProducerRecord<String, byte[]> record = new ProducerRecord<>(event.getTopic(), event.getAggregateId(), value);
+            record.headers().add(CONTENT_TYPE_HEADER, contentType);
+            return kafkaTemplate.send(record);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static String describe(Throwable cause) {
+        String error = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+}
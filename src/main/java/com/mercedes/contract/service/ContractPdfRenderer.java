@@ -0,0 +1,17 @@
+package com.mercedes.contract.service;
+
+import com.mercedes.contract.entity.Contract;
+
+import java.io.OutputStream;
+
+/**
+ * Renders a contract document as PDF
+ * Implementation is selected with contract.pdf.renderer=html|layout
+ */
+public interface ContractPdfRenderer {
+
+    /**
+     * Write the PDF document for the contract to the output stream
+     */
+    void render(Contract contract, OutputStream outputStream);
+}
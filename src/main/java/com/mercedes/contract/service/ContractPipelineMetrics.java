@@ -0,0 +1,131 @@
+package com.mercedes.contract.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-stage timers and size distributions of the contract generation pipeline
+ * Every meter is tagged with the storage type and the outcome and publishes a percentile
+ * histogram, so SLO dashboards can aggregate quantiles across instances.
+ *
+ * Stages: existence_check (batch lookup of existing purchase requests), insert (the single
+ * insert-or-read statement reports an existing row as outcome=duplicate), html_build,
+ * pdf_convert (render time excluding time blocked in the storage stream; includes html_build
+ * for the html renderer), storage_write, event_send (outbox enqueue) and audit (caller-side
+ * cost of an audit event)
+ */
+@Component
+public class ContractPipelineMetrics {
+
+    static final String STAGE_TIMER = "contract.generation.stage";
+    static final String PDF_SIZE = "contract.pdf.size";
+    static final String MASS_ORDERS = "contract.generation.mass.orders";
+
+    // Meters are not shared with any registry, so recording is a no-op
+    static final ContractPipelineMetrics NOOP = new ContractPipelineMetrics(new CompositeMeterRegistry(), "none");
+
+    public enum Stage {
+        EXISTENCE_CHECK, INSERT, HTML_BUILD, PDF_CONVERT, STORAGE_WRITE, EVENT_SEND, AUDIT;
+
+        final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    public enum Outcome {
+        SUCCESS, DUPLICATE, FAILURE;
+
+        final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Tags storageTags;
+    // Registered on first use, so only stage/outcome pairs that occur are exported
+    private final Timer[][] stageTimers = new Timer[Stage.values().length][Outcome.values().length];
+    private final DistributionSummary[] pdfSizes = new DistributionSummary[Outcome.values().length];
+    private final DistributionSummary[] massOrders = new DistributionSummary[Outcome.values().length];
+
+    public ContractPipelineMetrics(MeterRegistry meterRegistry,
+                                   @Value("${contract.storage.type:local}") String storageType) {
+        this.meterRegistry = meterRegistry;
+        this.storageTags = Tags.of("storage", storageType.trim().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Record a stage that started at startNanos (System.nanoTime) and ends now
+     */
+    public void record(Stage stage, Outcome outcome, long startNanos) {
+        recordNanos(stage, outcome, System.nanoTime() - startNanos);
+    }
+
+    public void recordNanos(Stage stage, Outcome outcome, long nanos) {
+        stageTimer(stage, outcome).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Record the rendered document: bytes written to storage and the number of mass orders
+     */
+    public void recordDocument(Outcome outcome, long pdfBytes, int massOrderCount) {
+        pdfSize(outcome).record(pdfBytes);
+        massOrders(outcome).record(massOrderCount);
+    }
+
+    Timer stageTimer(Stage stage, Outcome outcome) {
+        // Benign race: registration is idempotent and returns the same meter
+        Timer timer = stageTimers[stage.ordinal()][outcome.ordinal()];
+        if (timer == null) {
+            timer = Timer.builder(STAGE_TIMER)
+                .description("Time spent in one stage of contract generation")
+                .tags(storageTags)
+                .tag("stage", stage.tag)
+                .tag("outcome", outcome.tag)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(meterRegistry);
+            stageTimers[stage.ordinal()][outcome.ordinal()] = timer;
+        }
+        return timer;
+    }
+
+    private DistributionSummary pdfSize(Outcome outcome) {
+        DistributionSummary summary = pdfSizes[outcome.ordinal()];
+        if (summary == null) {
+            summary = DistributionSummary.builder(PDF_SIZE)
+                .description("Size of generated contract PDFs")
+                .baseUnit("bytes")
+                .tags(storageTags)
+                .tag("outcome", outcome.tag)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1024.0)
+                .maximumExpectedValue(64.0 * 1024 * 1024)
+                .register(meterRegistry);
+            pdfSizes[outcome.ordinal()] = summary;
+        }
+        return summary;
+    }
+
+    private DistributionSummary massOrders(Outcome outcome) {
+        DistributionSummary summary = massOrders[outcome.ordinal()];
+        if (summary == null) {
+            summary = DistributionSummary.builder(MASS_ORDERS)
+                .description("Number of mass orders per generated contract")
+                .baseUnit("orders")
+                .tags(storageTags)
+                .tag("outcome", outcome.tag)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(10_000.0)
+                .register(meterRegistry);
+            massOrders[outcome.ordinal()] = summary;
+        }
+        return summary;
+    }
+}
@@ -1,22 +1,44 @@
 package com.mercedes.contract.service;
 
+import com.mercedes.contract.dto.ContractDetailsJson;
 import com.mercedes.contract.dto.ContractDetailsResponse;
 import com.mercedes.contract.dto.ContractRequest;
 import com.mercedes.contract.dto.ContractResponse;
+import com.mercedes.contract.dto.ContractStatusResponse;
 import com.mercedes.contract.entity.Contract;
+import com.mercedes.contract.entity.ContractGenerationStatus;
 import com.mercedes.contract.exception.ContractGenerationException;
 import com.mercedes.contract.exception.ContractNotFoundException;
+import com.mercedes.contract.exception.IdempotencyKeyReusedException;
+import com.mercedes.contract.repository.ContractInsertResult;
 import com.mercedes.contract.repository.ContractRepository;
+import com.mercedes.contract.service.ContractPipelineMetrics.Outcome;
+import com.mercedes.contract.service.ContractPipelineMetrics.Stage;
+import com.mercedes.contract.storage.ContractDocument;
+import com.mercedes.contract.storage.ContractDocumentStore;
+import org.postgresql.util.PSQLException;
+import org.postgresql.util.ServerErrorMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.Map;
-import java.util.UUID;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Contract Service containing pure business logic
@@ -28,21 +50,39 @@ import java.util.UUID;
 public class ContractService {
 
     private static final Logger logger = LoggerFactory.getLogger(ContractService.class);
+    private static final String IDEMPOTENCY_KEY_CONSTRAINT = "uk_contracts_idempotency_key";
+    private static final String UNIQUE_VIOLATION = "23505";
+    private static final HexFormat CONTRACT_ID_HEX = HexFormat.of().withUpperCase();
 
     private final ContractRepository contractRepository;
     private final PdfGenerationService pdfGenerationService;
     private final EventPublishingService eventPublishingService;
     private final AuditService auditService;
+    private final ContractGenerationPipeline contractGenerationPipeline;
+    private final ContractDocumentStore contractDocumentStore;
+    private final ContractDetailsCache contractDetailsCache;
+    private final ContractPipelineMetrics pipelineMetrics;
+
+    @Value("${contract.generation.async:false}")
+    private boolean asyncGenerationEnabled;
 
     @Autowired
     public ContractService(ContractRepository contractRepository,
                           PdfGenerationService pdfGenerationService,
                           EventPublishingService eventPublishingService,
-                          AuditService auditService) {
+                          AuditService auditService,
+                          ContractGenerationPipeline contractGenerationPipeline,
+                          ContractDocumentStore contractDocumentStore,
+                          ContractDetailsCache contractDetailsCache,
+                          ContractPipelineMetrics pipelineMetrics) {
         this.contractRepository = contractRepository;
         this.pdfGenerationService = pdfGenerationService;
         this.eventPublishingService = eventPublishingService;
         this.auditService = auditService;
+        this.contractGenerationPipeline = contractGenerationPipeline;
+        this.contractDocumentStore = contractDocumentStore;
+        this.contractDetailsCache = contractDetailsCache;
+        this.pipelineMetrics = pipelineMetrics;
     }
 
     /**
@@ -50,45 +90,81 @@ public class ContractService {
      * Implements FR-01: Generate a New Contract via API
      */
     public ContractResponse generateContract(ContractRequest request) {
+        return generateContract(request, null);
+    }
+
+    /**
+     * Generate a new contract, or return the existing one for a retried request
+     * Creation is idempotent on the purchase request ID; the optional Idempotency-Key is
+     * stored with the contract and may not be reused for another purchase request
+     */
+    public ContractResponse generateContract(ContractRequest request, String idempotencyKey) {
         logger.info("Starting contract generation for purchaseRequestId: {}", 
                    request.getPurchaseRequestId());
 
         try {
-            // Check if contract already exists for this purchase request
-            if (contractRepository.existsByPurchaseRequestId(request.getPurchaseRequestId())) {
-                throw new ContractGenerationException(
-                    request.getPurchaseRequestId(),
-                    "Contract already exists for this purchase request"
+            // Create contract entity with a unique contract ID
+            Contract contract = newContract(request);
+            String contractId = contract.getContractId();
+            contract.setIdempotencyKey(idempotencyKey);
+
+            // Async mode: insert the PENDING row; rendering and publishing continue on the
+            // worker pool once the row is committed
+            if (asyncGenerationEnabled) {
+                ContractInsertResult result = insertIfAbsent(contract);
+                if (!result.isInserted()) {
+                    return existingContractResponse(result);
+                }
+                logger.info("Contract saved to database with ID: {}", contractId);
+                submitAfterCommit(contractId);
+                logger.info("Contract generation accepted for asynchronous processing, contractId: {}", contractId);
+                return new ContractResponse(
+                    contractId,
+                    null,
+                    ContractGenerationStatus.PENDING.name(),
+                    null
                 );
             }
 
-            // Generate unique contract ID
-            String contractId = generateContractId();
-
-            // Use the customer details directly from the request
-            Map<String, Object> customerDetails = request.getDealData().getCustomer();
-
-            // Create contract entity
-            Contract contract = new Contract(
-                contractId,
-                request.getPurchaseRequestId(),
-                request.getDealId(),
-                customerDetails,
-                request.getDealData().getCustomerFinanceDetails(),
-                request.getDealData().getMassOrders()
-            );
+            // Answer a retried request from the stored row before rendering anything;
+            // insertIfAbsent below only settles first attempts racing each other
+            Optional<ContractInsertResult> existing = findExisting(request.getPurchaseRequestId(), idempotencyKey);
+            if (existing.isPresent()) {
+                if (!request.getPurchaseRequestId().equals(existing.get().getPurchaseRequestId())) {
+                    throw new IdempotencyKeyReusedException(request.getPurchaseRequestId(), null);
+                }
+                return existingContractResponse(existing.get());
+            }
 
-            // Save contract to database
-            Contract savedContract = contractRepository.save(contract);
-            logger.info("Contract saved to database with ID: {}", contractId);
+            // Generate PDF document; the storage key derives from the contract ID alone,
+            // so the row does not have to exist before rendering
+            String pdfLocation = pdfGenerationService.generatePdf(contract);
+            contract.setPdfStorageLocation(pdfLocation);
+            contract.setGenerationStatus(ContractGenerationStatus.PUBLISHED);
 
-            // Generate PDF document
-            String pdfLocation = pdfGenerationService.generatePdf(savedContract);
-            savedContract.setPdfStorageLocation(pdfLocation);
-            contractRepository.save(savedContract);
+            // Single insert of the final row; a retry that lost the race gets the existing
+            // contract back and discards its own rendering. Publishing only after the insert
+            // keeps duplicates from emitting events; the event goes to the outbox in this
+            // transaction and reaches Kafka through ContractOutboxRelay after the commit
+            ContractInsertResult result;
+            try {
+                result = insertIfAbsent(contract);
+                if (result.isInserted()) {
+                    logger.info("Contract saved to database with ID: {}", contractId);
 
-            // Publish CONTRACT_CREATED event
-            eventPublishingService.publishContractCreatedEvent(savedContract);
+                    // Publish CONTRACT_CREATED event
+                    eventPublishingService.publishContractCreatedEvent(contract);
+                }
+            } catch (RuntimeException e) {
+                // No row will reference the uploaded PDF: the insert failed, or the failed
+                // publish rolls it back
+                discardDocument(contractId);
+                throw e;
+            }
+            if (!result.isInserted()) {
+                discardDocument(contractId);
+                return existingContractResponse(result);
+            }
 
             // Audit logging
             auditService.logContractCreated(contractId, request.getPurchaseRequestId(), request.getDealId());
@@ -110,7 +186,7 @@ public class ContractService {
                 e.getMessage()
             );
             
-            if (e instanceof ContractGenerationException) {
+            if (e instanceof ContractGenerationException || e instanceof IdempotencyKeyReusedException) {
                 throw e;
             }
             
@@ -122,6 +198,84 @@ public class ContractService {
         }
     }
 
+    /**
+     * Look up the contract a retried request refers to; a hit is timed as outcome=duplicate
+     */
+    private Optional<ContractInsertResult> findExisting(String purchaseRequestId, String idempotencyKey) {
+        long start = System.nanoTime();
+        try {
+            Optional<ContractInsertResult> existing = contractRepository.findExisting(purchaseRequestId, idempotencyKey);
+            pipelineMetrics.record(Stage.EXISTENCE_CHECK, existing.isPresent() ? Outcome.DUPLICATE : Outcome.SUCCESS,
+                                   start);
+            return existing;
+        } catch (RuntimeException e) {
+            pipelineMetrics.record(Stage.EXISTENCE_CHECK, Outcome.FAILURE, start);
+            throw e;
+        }
+    }
+
+    /**
+     * Insert the contract or read the existing one for its purchase request
+     * The statement doubles as the existence check, so an existing row is timed as outcome=duplicate
+     */
+    private ContractInsertResult insertIfAbsent(Contract contract) {
+        long start = System.nanoTime();
+        ContractInsertResult result;
+        try {
+            result = contractRepository.insertIfAbsent(contract);
+        } catch (RuntimeException e) {
+            pipelineMetrics.record(Stage.INSERT, Outcome.FAILURE, start);
+            if (e instanceof DataIntegrityViolationException && contract.getIdempotencyKey() != null
+                    && isIdempotencyKeyViolation(e)) {
+                throw new IdempotencyKeyReusedException(contract.getPurchaseRequestId(), e);
+            }
+            throw e;
+        }
+        pipelineMetrics.record(Stage.INSERT, result.isInserted() ? Outcome.SUCCESS : Outcome.DUPLICATE, start);
+        return result;
+    }
+
+    /**
+     * Whether the failure is a unique violation of the idempotency key constraint
+     * Read from the server error, not the message text, which is localised by lc_messages
+     */
+    static boolean isIdempotencyKeyViolation(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof PSQLException psqlException) {
+                ServerErrorMessage serverError = psqlException.getServerErrorMessage();
+                return UNIQUE_VIOLATION.equals(psqlException.getSQLState()) && serverError != null
+                    && IDEMPOTENCY_KEY_CONSTRAINT.equals(serverError.getConstraint());
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Response for a retried request: the original contract ID and its current state
+     */
+    private ContractResponse existingContractResponse(ContractInsertResult existing) {
+        logger.info("Contract already exists for purchaseRequestId: {}, returning contractId: {}",
+                   existing.getPurchaseRequestId(), existing.getContractId());
+
+        boolean published = existing.getGenerationStatus() == ContractGenerationStatus.PUBLISHED;
+        ContractResponse response = new ContractResponse(
+            existing.getContractId(),
+            existing.getPdfStorageLocation(),
+            published ? "SIGNED" : existing.getGenerationStatus().name(),
+            published ? existing.getCreatedAt() : null
+        );
+        response.setReplayed(true);
+        return response;
+    }
+
+    private void discardDocument(String contractId) {
+        try {
+            contractDocumentStore.delete(contractId);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to discard unused PDF for contractId: {}: {}", contractId, e.getMessage());
+        }
+    }
+
     /**
      * Retrieve contract details by ID
      * Implements FR-02: Retrieve Contract Details
@@ -131,22 +285,38 @@ public class ContractService {
         logger.info("Retrieving contract details for contractId: {}", contractId);
 
         try {
-            Contract contract = contractRepository.findById(contractId)
-                .orElseThrow(() -> new ContractNotFoundException(contractId));
+            ContractDetailsResponse response = ContractDetailsCache.toResponse(findContract(contractId));
 
             auditService.logContractRetrieved(contractId);
 
-            return new ContractDetailsResponse(
-                contract.getContractId(),
-                contract.getPurchaseRequestId(),
-                contract.getDealId(),
-                contract.getCustomerDetails(),
-                contract.getFinanceDetails(),
-                contract.getMassOrders(),
-                contract.getPdfStorageLocation(),
-                contract.getCreatedAt(),
-                contract.getUpdatedAt()
-            );
+            return response;
+
+        } catch (ContractNotFoundException e) {
+            auditService.logContractRetrievalFailed(contractId, "Contract not found");
+            throw e;
+        } catch (Exception e) {
+            auditService.logContractRetrievalFailed(contractId, e.getMessage());
+            throw new RuntimeException("Failed to retrieve contract: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Retrieve contract details as pre-serialized JSON with its ETag
+     * Used by GET /contracts/{contractId}; served from the details cache, so only misses
+     * hit the database, the JSONB mapping and serialization. Runs outside a transaction so
+     * a cache hit takes no connection; on a miss findById reads in the repository's own
+     * read-only transaction
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ContractDetailsJson getContractDetailsJson(String contractId) {
+        logger.info("Retrieving contract details for contractId: {}", contractId);
+
+        try {
+            ContractDetailsJson details = contractDetailsCache.get(contractId, this::findContract);
+
+            auditService.logContractRetrieved(contractId);
+
+            return details;
 
         } catch (ContractNotFoundException e) {
             auditService.logContractRetrievalFailed(contractId, "Contract not found");
@@ -157,6 +327,11 @@ public class ContractService {
         }
     }
 
+    private Contract findContract(String contractId) {
+        return contractRepository.findById(contractId)
+            .orElseThrow(() -> new ContractNotFoundException(contractId));
+    }
+
     /**
      * Get contract PDF file path
      * Implements FR-03: Retrieve Contract PDF
@@ -175,11 +350,94 @@ public class ContractService {
         return contract.getPdfStorageLocation();
     }
 
+    /**
+     * Get contract PDF document from the configured document store
+     * Returns empty when the contract has a PDF location but the store no longer holds the document
+     */
+    @Transactional(readOnly = true)
+    public Optional<ContractDocument> getContractDocument(String contractId) {
+        logger.info("Retrieving PDF document for contractId: {}", contractId);
+
+        Contract contract = contractRepository.findById(contractId)
+            .orElseThrow(() -> new ContractNotFoundException(contractId));
+
+        if (contract.getPdfStorageLocation() == null) {
+            throw new ContractNotFoundException(contractId, "PDF not found for contract");
+        }
+
+        try {
+            // Contracts are immutable once generated, so the last row update dates the document
+            LocalDateTime generatedAt = contract.getUpdatedAt() != null ? contract.getUpdatedAt() : contract.getCreatedAt();
+            Instant lastModified = generatedAt != null ? generatedAt.atZone(ZoneId.systemDefault()).toInstant() : null;
+            return contractDocumentStore.findDocument(contractId)
+                .map(resource -> new ContractDocument(resource, contract.getPdfContentHash(), lastModified));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read PDF for contractId: " + contractId, e);
+        }
+    }
+
+    /**
+     * Get contract generation status
+     * Used to poll contracts accepted in asynchronous mode
+     */
+    @Transactional(readOnly = true)
+    public ContractStatusResponse getContractStatus(String contractId) {
+        logger.info("Retrieving generation status for contractId: {}", contractId);
+
+        Contract contract = contractRepository.findById(contractId)
+            .orElseThrow(() -> new ContractNotFoundException(contractId));
+
+        return new ContractStatusResponse(
+            contract.getContractId(),
+            contract.getGenerationStatus().name(),
+            contract.getPdfStorageLocation(),
+            contract.getFailureReason(),
+            contract.getCreatedAt(),
+            contract.getUpdatedAt()
+        );
+    }
+
+    /**
+     * Submit contract to the generation pipeline once the insert is committed,
+     * so workers never observe an uncommitted row
+     */
+    private void submitAfterCommit(String contractId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    contractGenerationPipeline.submit(contractId);
+                }
+            });
+        } else {
+            contractGenerationPipeline.submit(contractId);
+        }
+    }
+
+    /**
+     * Build a new contract entity from the request under a fresh contract ID
+     * Shared with batch generation so both paths store the same shape
+     */
+    static Contract newContract(ContractRequest request) {
+        // Use the customer details directly from the request
+        Map<String, Object> customerDetails = request.getDealData().getCustomer();
+
+        return new Contract(
+            generateContractId(),
+            request.getPurchaseRequestId(),
+            request.getDealId(),
+            customerDetails,
+            request.getDealData().getCustomerFinanceDetails(),
+            request.getDealData().getMassOrders()
+        );
+    }
+
     /**
      * Generate unique contract ID in format CONTRACT-XXXXXXXX
+     * Same 32 random bits as before, from ThreadLocalRandom instead of the shared SecureRandom;
+     * a collision still fails on the primary key
      */
-    private String generateContractId() {
-        String uuid = UUID.randomUUID().toString().replace("-", "").toUpperCase();
-        return "CONTRACT-" + uuid.substring(0, 8);
+    private static String generateContractId() {
+        return "CONTRACT-" + CONTRACT_ID_HEX.toHexDigits(ThreadLocalRandom.current().nextInt());
     }
 }
@@ -0,0 +1,130 @@
+package com.mercedes.contract.service;
+
+import com.mercedes.contract.entity.Contract;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Contract template engine
+ * Compiles the configured contract template once at startup and renders contracts
+ * against the compiled plan; file-based templates are recompiled when they change
+ */
+@Service
+public class ContractTemplateEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContractTemplateEngine.class);
+    private static final DateTimeFormatter GENERATED_AT_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final ResourceLoader resourceLoader;
+    private final String templatePath;
+    private final long reloadCheckIntervalMs;
+
+    private volatile CompiledTemplate compiledTemplate;
+    private volatile long templateLastModified;
+    private volatile long nextReloadCheck;
+
+    @Autowired
+    public ContractTemplateEngine(ResourceLoader resourceLoader,
+                                  @Value("${contract.pdf.template-path}") String templatePath,
+                                  @Value("${contract.pdf.template-reload-interval-ms:2000}") long reloadCheckIntervalMs) {
+        this.resourceLoader = resourceLoader;
+        this.templatePath = templatePath;
+        this.reloadCheckIntervalMs = reloadCheckIntervalMs;
+    }
+
+    /**
+     * Compile the template at startup; a broken template fails fast
+     */
+    @PostConstruct
+    public void init() {
+        try {
+            load();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to load contract template from " + templatePath, e);
+        }
+    }
+
+    /**
+     * Render contract HTML from the compiled template
+     */
+    public String render(Contract contract) {
+        reloadIfModified();
+        return compiledTemplate.render(buildModel(contract));
+    }
+
+    /**
+     * Template model: contract fields plus the JSONB maps as nested sections
+     */
+    Map<String, Object> buildModel(Contract contract) {
+        List<Map<String, Object>> massOrders = contract.getMassOrders();
+
+        Map<String, Object> model = new HashMap<>();
+        model.put("contractId", contract.getContractId());
+        model.put("purchaseRequestId", contract.getPurchaseRequestId());
+        model.put("dealId", contract.getDealId());
+        model.put("generatedAt", LocalDateTime.now().format(GENERATED_AT_FORMAT));
+        model.put("customer", contract.getCustomerDetails());
+        model.put("finance", contract.getFinanceDetails());
+        model.put("massOrders", massOrders);
+        model.put("hasMassOrders", massOrders != null && !massOrders.isEmpty());
+        model.put("massOrderCount", massOrders != null ? massOrders.size() : 0);
+        return model;
+    }
+
+    /**
+     * Recompile when the template file has changed, checked at most once per interval
+     * Classpath templates packaged in the jar cannot change and are never rechecked
+     */
+    private void reloadIfModified() {
+        long now = System.currentTimeMillis();
+        if (reloadCheckIntervalMs <= 0 || now < nextReloadCheck) {
+            return;
+        }
+        nextReloadCheck = now + reloadCheckIntervalMs;
+
+        try {
+            Resource resource = resourceLoader.getResource(templatePath);
+            if (!resource.isFile()) {
+                nextReloadCheck = Long.MAX_VALUE;
+                return;
+            }
+            if (resource.lastModified() != templateLastModified) {
+                synchronized (this) {
+                    if (resource.lastModified() != templateLastModified) {
+                        load();
+                    }
+                }
+            }
+        } catch (Exception e) {
+            // Keep rendering with the last good template until the file is fixed
+            logger.error("Failed to reload contract template from {}: {}", templatePath, e.getMessage());
+        }
+    }
+
+    private void load() throws IOException {
+        Resource resource = resourceLoader.getResource(templatePath);
+        long lastModified = resource.isFile() ? resource.lastModified() : 0L;
+        String source;
+        try (InputStream in = resource.getInputStream()) {
+            source = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        compiledTemplate = CompiledTemplate.compile(source);
+        templateLastModified = lastModified;
+        logger.info("Compiled contract template from {}", templatePath);
+    }
+}
@@ -1,93 +1,122 @@
 package com.mercedes.contract.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.mercedes.contract.config.IdGeneratorConfig;
 import com.mercedes.contract.entity.Contract;
+import com.mercedes.contract.event.ContractCreatedEvent;
+import com.mercedes.contract.id.IdGenerator;
+import com.mercedes.contract.repository.ContractOutboxEvent;
+import com.mercedes.contract.repository.ContractOutboxRepository;
+import com.mercedes.contract.service.ContractPipelineMetrics.Outcome;
+import com.mercedes.contract.service.ContractPipelineMetrics.Stage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.UUID;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Event Publishing Service for Kafka events
  * Implements FR-04: Publish Contract Creation Event
+ *
+ * Events are written to the contract_outbox table in the caller's transaction, so they
+ * commit together with the contract; ContractOutboxRelay sends them to Kafka afterwards.
+ * The outbox always holds the JSON form; the wire format is chosen by the relay.
+ * Event IDs come from the eventIdGenerator (time-ordered UUIDs by default); the enqueue
+ * is timed as the event_send stage
  */
 @Service
 public class EventPublishingService {
 
     private static final Logger logger = LoggerFactory.getLogger(EventPublishingService.class);
 
+    private static final String CONTRACT_CREATED = ContractCreatedEvent.TYPE;
+
     @Value("${contract.events.topic}")
     private String contractEventsTopic;
 
     @Value("${event.publishing.enabled:true}")
     private boolean eventPublishingEnabled;
 
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ContractOutboxRepository outboxRepository;
+    private final ObjectWriter eventWriter;
     private final AuditService auditService;
+    private final IdGenerator eventIdGenerator;
+
+    private final ContractPipelineMetrics pipelineMetrics;
 
     @Autowired
-    public EventPublishingService(KafkaTemplate<String, Object> kafkaTemplate, AuditService auditService) {
-        this.kafkaTemplate = kafkaTemplate;
+    public EventPublishingService(ContractOutboxRepository outboxRepository, ObjectMapper objectMapper,
+                                  AuditService auditService,
+                                  @Qualifier(IdGeneratorConfig.EVENT_ID_GENERATOR) IdGenerator eventIdGenerator,
+                                  ContractPipelineMetrics pipelineMetrics) {
+        this.outboxRepository = outboxRepository;
+        this.eventWriter = objectMapper.writerFor(ContractCreatedEvent.class);
         this.auditService = auditService;
+        this.eventIdGenerator = eventIdGenerator;
+        this.pipelineMetrics = pipelineMetrics;
     }
 
     /**
      * Publish CONTRACT_CREATED event to Kafka
      * Follows the event payload format specified in business requirements
      */
+    @Transactional(propagation = Propagation.MANDATORY)
     public void publishContractCreatedEvent(Contract contract) {
         logger.info("Publishing CONTRACT_CREATED event for contractId: {}", contract.getContractId());
+        publishContractCreatedEvents(List.of(contract));
+    }
 
+    /**
+     * Publish CONTRACT_CREATED events for a batch of contracts
+     * All events are enqueued with one JDBC batch
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishContractCreatedEvents(List<Contract> contracts) {
         // Skip event publishing if disabled (e.g., in tests)
         if (!eventPublishingEnabled) {
-            logger.info("Event publishing is disabled, skipping CONTRACT_CREATED event for contractId: {}",
-                       contract.getContractId());
+            logger.info("Event publishing is disabled, skipping {} CONTRACT_CREATED events", contracts.size());
             return;
         }
 
-        try {
-            // Create event payload as per business requirements
-            Map<String, Object> eventPayload = new HashMap<>();
-            eventPayload.put("eventId", UUID.randomUUID().toString());
-            eventPayload.put("eventType", "CONTRACT_CREATED");
-            eventPayload.put("eventTimestamp", LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
-            
-            Map<String, Object> eventData = new HashMap<>();
-            eventData.put("contractId", contract.getContractId());
-            eventData.put("purchaseRequestId", contract.getPurchaseRequestId());
-            eventData.put("dealId", contract.getDealId());
-            eventData.put("contractPdfLocation", contract.getPdfStorageLocation());
-            
-            eventPayload.put("data", eventData);
-
-            // Send event to Kafka topic
-            kafkaTemplate.send(contractEventsTopic, contract.getContractId(), eventPayload)
-                .whenComplete((result, ex) -> {
-                    if (ex == null) {
-                        logger.info("CONTRACT_CREATED event published successfully for contractId: {}", 
-                                   contract.getContractId());
-                        auditService.logEventPublished("CONTRACT_CREATED", contract.getContractId(), contractEventsTopic);
-                    } else {
-                        logger.error("Failed to publish CONTRACT_CREATED event for contractId: {}", 
-                                    contract.getContractId(), ex);
-                        auditService.logEventPublishingFailed("CONTRACT_CREATED", contract.getContractId(), 
-                                                             contractEventsTopic, ex.getMessage());
-                    }
-                });
+        long start = System.nanoTime();
+        List<ContractOutboxEvent> events = new ArrayList<>(contracts.size());
+        for (Contract contract : contracts) {
+            events.add(toOutboxEvent(contract));
+        }
 
-        } catch (Exception e) {
-            logger.error("Error publishing CONTRACT_CREATED event for contractId: {}", 
-                        contract.getContractId(), e);
-            auditService.logEventPublishingFailed("CONTRACT_CREATED", contract.getContractId(), 
-                                                 contractEventsTopic, e.getMessage());
+        try {
+            outboxRepository.enqueueAll(events);
+        } catch (RuntimeException e) {
+            pipelineMetrics.record(Stage.EVENT_SEND, Outcome.FAILURE, start);
+            logger.error("Error enqueueing {} CONTRACT_CREATED events", events.size(), e);
+            for (ContractOutboxEvent event : events) {
+                auditService.logEventPublishingFailed(CONTRACT_CREATED, event.getAggregateId(),
+                                                     contractEventsTopic, e.getMessage());
+            }
             throw new RuntimeException("Failed to publish contract created event", e);
         }
+        pipelineMetrics.record(Stage.EVENT_SEND, Outcome.SUCCESS, start);
+        logger.debug("Enqueued {} CONTRACT_CREATED events", events.size());
+    }
+
+    private ContractOutboxEvent toOutboxEvent(Contract contract) {
+        ContractCreatedEvent event = ContractCreatedEvent.of(eventIdGenerator.nextId(), LocalDateTime.now(), contract);
+        try {
+            return new ContractOutboxEvent(event.eventId(), CONTRACT_CREATED, contract.getContractId(),
+                                           contractEventsTopic, eventWriter.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize CONTRACT_CREATED event for contractId: "
+                                            + contract.getContractId(), e);
+        }
     }
 }
@@ -0,0 +1,51 @@
+package com.mercedes.contract.service;
+
+import com.mercedes.contract.entity.Contract;
+import com.mercedes.contract.service.ContractPipelineMetrics.Outcome;
+import com.mercedes.contract.service.ContractPipelineMetrics.Stage;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.OutputStream;
+
+/**
+ * Default renderer: contract template → HTML → iText html2pdf conversion
+ */
+@Component
+@ConditionalOnProperty(name = "contract.pdf.renderer", havingValue = "html", matchIfMissing = true)
+public class HtmlContractPdfRenderer implements ContractPdfRenderer {
+
+    private final ContractTemplateEngine contractTemplateEngine;
+    private final PdfConverterContext pdfConverterContext;
+
+    private final ContractPipelineMetrics pipelineMetrics;
+
+    public HtmlContractPdfRenderer(ContractTemplateEngine contractTemplateEngine,
+                                   PdfConverterContext pdfConverterContext,
+                                   ContractPipelineMetrics pipelineMetrics) {
+        this.contractTemplateEngine = contractTemplateEngine;
+        this.pdfConverterContext = pdfConverterContext;
+        this.pipelineMetrics = pipelineMetrics;
+    }
+
+    @Override
+    public void render(Contract contract, OutputStream outputStream) {
+        long start = System.nanoTime();
+        String htmlContent;
+        try {
+            htmlContent = generateHtmlContent(contract);
+        } catch (RuntimeException e) {
+            pipelineMetrics.record(Stage.HTML_BUILD, Outcome.FAILURE, start);
+            throw e;
+        }
+        pipelineMetrics.record(Stage.HTML_BUILD, Outcome.SUCCESS, start);
+        pdfConverterContext.convert(htmlContent, outputStream);
+    }
+
+    /**
+     * Generate HTML content from contract data using the compiled contract template
+     */
+    String generateHtmlContent(Contract contract) {
+        return contractTemplateEngine.render(contract);
+    }
+}
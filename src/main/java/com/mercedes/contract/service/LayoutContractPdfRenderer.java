@@ -0,0 +1,201 @@
+package com.mercedes.contract.service;
+
+import com.itextpdf.kernel.colors.ColorConstants;
+import com.itextpdf.kernel.colors.DeviceRgb;
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.borders.SolidBorder;
+import com.itextpdf.layout.element.Cell;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Table;
+import com.itextpdf.layout.element.Text;
+import com.itextpdf.layout.properties.TextAlignment;
+import com.itextpdf.layout.properties.UnitValue;
+import com.itextpdf.styledxmlparser.resolver.font.BasicFontProvider;
+import com.mercedes.contract.entity.Contract;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Direct layout renderer: builds the contract with iText's layout API, skipping
+ * HTML parsing, CSS resolution and tag-worker processing entirely.
+ * Produces the same sections as the contract template; mass order rows are streamed
+ * through a large table that is flushed in chunks, so memory stays flat for big orders
+ */
+@Component
+@ConditionalOnProperty(name = "contract.pdf.renderer", havingValue = "layout")
+public class LayoutContractPdfRenderer implements ContractPdfRenderer {
+
+    private static final DateTimeFormatter GENERATED_AT_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final DeviceRgb HEADING_COLOR = new DeviceRgb(0x66, 0x66, 0x66);
+    private static final DeviceRgb TITLE_COLOR = new DeviceRgb(0x33, 0x33, 0x33);
+    private static final DeviceRgb TABLE_HEADER_COLOR = new DeviceRgb(0xEE, 0xEE, 0xEE);
+    private static final float PAGE_MARGIN = 30f;
+    private static final int TABLE_FLUSH_ROWS = 50;
+
+    private static final String[][] CUSTOMER_FIELDS = {
+        {"Customer Name", "customerName"},
+        {"Customer Company", "customerCompany"},
+        {"Customer Type", "customerType"},
+        {"Email", "customerEmail"},
+        {"Phone", "customerPhone"},
+        {"Address", "customerAddress"},
+        {"Tax ID", "customerTaxId"}
+    };
+
+    private static final String[][] FINANCE_FIELDS = {
+        {"Finance Type", "type"},
+        {"Provider", "provider"},
+        {"Approval Status", "approvalStatus"},
+        {"Reference Number", "referenceNumber"},
+        {"Terms (Months)", "termsInMonths"},
+        {"Interest Rate", "interestRate"}
+    };
+
+    private static final String[] ORDER_COLUMNS = {"#", "Order ID", "Vehicle", "Configuration", "Qty", "Price"};
+    private static final float[] ORDER_COLUMN_WIDTHS = {5, 20, 25, 30, 8, 12};
+
+    private final PdfConverterContext pdfConverterContext;
+
+    public LayoutContractPdfRenderer(PdfConverterContext pdfConverterContext) {
+        this.pdfConverterContext = pdfConverterContext;
+    }
+
+    @Override
+    public void render(Contract contract, OutputStream outputStream) {
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(outputStream));
+        try (Document document = new Document(pdfDocument, PageSize.A4, true)) {
+            document.setMargins(PAGE_MARGIN, PAGE_MARGIN, PAGE_MARGIN, PAGE_MARGIN);
+            document.setFontProvider(new BasicFontProvider(pdfConverterContext.getFontSet(), "Helvetica"));
+            document.setFontFamily("Helvetica", "NotoSans");
+
+            addHeader(document, contract);
+
+            addHeading(document, "Customer Information");
+            addFields(document, contract.getCustomerDetails(), CUSTOMER_FIELDS);
+
+            addHeading(document, "Finance Details");
+            addFields(document, contract.getFinanceDetails(), FINANCE_FIELDS);
+
+            addHeading(document, "Vehicle Orders");
+            addMassOrders(document, contract.getMassOrders());
+
+            addHeading(document, "Contract Terms");
+            document.add(new Paragraph("This contract represents the agreement between the customer and "
+                + "Mercedes-Benz for the purchase of the specified vehicles."));
+            document.add(new Paragraph("Deal ID: " + nullToEmpty(contract.getDealId())));
+            document.add(new Paragraph("Purchase Request ID: " + nullToEmpty(contract.getPurchaseRequestId())));
+        }
+    }
+
+    private void addHeader(Document document, Contract contract) {
+        document.add(new Paragraph("VEHICLE PURCHASE CONTRACT")
+            .setBold()
+            .setFontSize(20)
+            .setFontColor(TITLE_COLOR)
+            .setTextAlignment(TextAlignment.CENTER));
+        document.add(new Paragraph("Contract ID: " + nullToEmpty(contract.getContractId()))
+            .setTextAlignment(TextAlignment.CENTER));
+        document.add(new Paragraph("Generated: " + LocalDateTime.now().format(GENERATED_AT_FORMAT))
+            .setTextAlignment(TextAlignment.CENTER)
+            .setMarginBottom(20));
+    }
+
+    private void addHeading(Document document, String title) {
+        document.add(new Paragraph(title)
+            .setBold()
+            .setFontSize(15)
+            .setFontColor(HEADING_COLOR)
+            .setMarginTop(15));
+    }
+
+    private void addFields(Document document, Map<String, Object> values, String[][] fields) {
+        if (values == null) {
+            return;
+        }
+        for (String[] field : fields) {
+            String value = asText(values.get(field[1]));
+            if (!value.isBlank()) {
+                document.add(new Paragraph()
+                    .add(new Text(field[0] + ": ").setBold())
+                    .add(new Text(value))
+                    .setMarginBottom(2));
+            }
+        }
+    }
+
+    private void addMassOrders(Document document, List<Map<String, Object>> massOrders) {
+        if (massOrders == null || massOrders.isEmpty()) {
+            return;
+        }
+        document.add(new Paragraph("Number of mass orders: " + massOrders.size()));
+
+        Table table = new Table(UnitValue.createPercentArray(ORDER_COLUMN_WIDTHS), true)
+            .useAllAvailableWidth()
+            .setFontSize(8);
+        for (String column : ORDER_COLUMNS) {
+            table.addHeaderCell(new Cell().add(new Paragraph(column).setBold()).setBackgroundColor(TABLE_HEADER_COLOR));
+        }
+        document.add(table);
+
+        int row = 0;
+        for (Map<String, Object> order : massOrders) {
+            row++;
+            Map<String, Object> vehicle = asMap(order != null ? order.get("vehicleConfiguration") : null);
+            Map<String, Object> price = asMap(order != null ? order.get("priceBreakdown") : null);
+
+            addCell(table, String.valueOf(row));
+            addCell(table, order != null ? asText(order.get("massOrderId")) : "");
+            addCell(table, join(vehicle, "brand", "model", "modelCode", "variant"));
+            addCell(table, join(vehicle, "bodyType", "fuelType", "transmission", "color", "interior"));
+            addCell(table, order != null ? asText(order.get("quantity")) : "");
+            addCell(table, price != null && price.get("finalPrice") != null
+                ? asText(price.get("finalPrice"))
+                : price != null ? asText(price.get("totalMsrp")) : "");
+
+            if (row % TABLE_FLUSH_ROWS == 0) {
+                table.flush();
+            }
+        }
+        table.complete();
+    }
+
+    private void addCell(Table table, String value) {
+        table.addCell(new Cell().add(new Paragraph(value)).setBorder(new SolidBorder(ColorConstants.GRAY, 0.5f)));
+    }
+
+    private String join(Map<String, Object> values, String... keys) {
+        StringJoiner joiner = new StringJoiner(" ");
+        if (values != null) {
+            for (String key : keys) {
+                String value = asText(values.get(key));
+                if (!value.isBlank()) {
+                    joiner.add(value);
+                }
+            }
+        }
+        return joiner.toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> asMap(Object value) {
+        return value instanceof Map<?, ?> ? (Map<String, Object>) value : null;
+    }
+
+    private String asText(Object value) {
+        return value != null ? String.valueOf(value) : "";
+    }
+
+    private String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+}
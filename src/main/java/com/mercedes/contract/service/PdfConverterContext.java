@@ -0,0 +1,110 @@
+package com.mercedes.contract.service;
+
+import com.itextpdf.html2pdf.ConverterProperties;
+import com.itextpdf.html2pdf.HtmlConverter;
+import com.itextpdf.html2pdf.attach.impl.DefaultTagWorkerFactory;
+import com.itextpdf.html2pdf.css.apply.impl.DefaultCssApplierFactory;
+import com.itextpdf.html2pdf.resolver.font.DefaultFontProvider;
+import com.itextpdf.layout.font.FontProvider;
+import com.itextpdf.layout.font.FontSet;
+import com.itextpdf.styledxmlparser.resolver.font.BasicFontProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Shared, pre-warmed iText converter context
+ * Fonts are discovered and parsed once into a shared FontSet; each conversion only
+ * gets a lightweight FontProvider over that set, because PdfFont instances are bound
+ * to a single PdfDocument and must not be shared between concurrent renders
+ */
+@Component
+public class PdfConverterContext {
+
+    private static final Logger logger = LoggerFactory.getLogger(PdfConverterContext.class);
+
+    static final String RENDER_TIMER = "contract.pdf.convert";
+    private static final String DEFAULT_FONT_FAMILY = "Times";
+    private static final String WARM_UP_HTML =
+        "<html><head><meta charset='UTF-8'><style>body { font-family: Arial, sans-serif; }</style></head>"
+        + "<body><h1>Warm-up</h1><p><b>Bold</b> <i>Italic</i> äöüß éñ</p></body></html>";
+
+    private final FontSet fontSet;
+    private final ConverterProperties baseProperties;
+    private final Timer coldRenderTimer;
+    private final Timer steadyRenderTimer;
+    private final AtomicBoolean warm = new AtomicBoolean(false);
+
+    @Value("${contract.pdf.converter.warm-up:true}")
+    private boolean warmUpEnabled = true;
+
+    public PdfConverterContext(MeterRegistry meterRegistry,
+                               @Value("${contract.pdf.converter.system-fonts:false}") boolean includeSystemFonts) {
+        long start = System.nanoTime();
+        this.fontSet = new DefaultFontProvider(true, true, includeSystemFonts).getFontSet();
+        logger.info("Loaded {} fonts for PDF conversion in {} ms",
+                   fontSet.size(), (System.nanoTime() - start) / 1_000_000);
+
+        this.baseProperties = new ConverterProperties()
+            .setCharset(StandardCharsets.UTF_8.name())
+            .setCssApplierFactory(DefaultCssApplierFactory.getInstance())
+            .setTagWorkerFactory(DefaultTagWorkerFactory.getInstance());
+
+        this.coldRenderTimer = Timer.builder(RENDER_TIMER)
+            .description("HTML to PDF conversion time")
+            .tag("phase", "cold")
+            .register(meterRegistry);
+        this.steadyRenderTimer = Timer.builder(RENDER_TIMER)
+            .description("HTML to PDF conversion time")
+            .tag("phase", "steady")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    /**
+     * Render a throw-away document at startup so class loading, font program parsing
+     * and CSS default resolution are paid before the first contract request
+     */
+    @PostConstruct
+    public void warmUp() {
+        if (!warmUpEnabled) {
+            return;
+        }
+        try {
+            convert(WARM_UP_HTML, OutputStream.nullOutputStream());
+            logger.info("PDF converter warm-up completed");
+        } catch (Exception e) {
+            // Warm-up is an optimisation only; the first real render will pay the cost instead
+            logger.warn("PDF converter warm-up failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Convert HTML to PDF using the shared font set and CSS/tag factories
+     */
+    public void convert(String htmlContent, OutputStream outputStream) {
+        boolean cold = warm.compareAndSet(false, true);
+        Timer timer = cold ? coldRenderTimer : steadyRenderTimer;
+        timer.record(() -> HtmlConverter.convertToPdf(htmlContent, outputStream, newConverterProperties()));
+    }
+
+    /**
+     * Per-document properties: shared configuration plus a fresh provider over the shared font set
+     */
+    ConverterProperties newConverterProperties() {
+        FontProvider fontProvider = new BasicFontProvider(fontSet, DEFAULT_FONT_FAMILY);
+        return new ConverterProperties(baseProperties).setFontProvider(fontProvider);
+    }
+
+    FontSet getFontSet() {
+        return fontSet;
+    }
+}
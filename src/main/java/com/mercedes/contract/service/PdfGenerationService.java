@@ -1,71 +1,98 @@
 package com.mercedes.contract.service;
 
-import com.itextpdf.html2pdf.HtmlConverter;
 import com.mercedes.contract.entity.Contract;
 import com.mercedes.contract.exception.PdfGenerationException;
+import com.mercedes.contract.service.ContractPipelineMetrics.Outcome;
+import com.mercedes.contract.service.ContractPipelineMetrics.Stage;
+import com.mercedes.contract.storage.ContractDocumentStore;
+import com.mercedes.contract.storage.DocumentUpload;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayOutputStream;
-import java.io.FileOutputStream;
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.List;
-import java.util.Map;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 /**
  * PDF Generation Service for creating contract documents
- * Handles both local and S3 storage based on configuration
+ * Documents are written through the configured ContractDocumentStore (local, S3 or tiered)
+ * The renderer streams straight into the storage upload, so the PDF is never held in memory;
+ * time blocked in the upload stream is reported as storage_write, the rest as pdf_convert
  */
 @Service
 public class PdfGenerationService {
 
     private static final Logger logger = LoggerFactory.getLogger(PdfGenerationService.class);
+    private static final String CONTENT_HASH_ALGORITHM = "SHA-256";
+    // Coalesces the renderer's small writes before they reach the timed storage stream
+    private static final int RENDER_BUFFER_SIZE = 8192;
+    // At most 1 MiB of a document waits between the render pool and the upload
+    private static final int PIPE_CHUNK_SIZE = 64 * 1024;
+    private static final int PIPE_CHUNKS = 16;
 
-    @Value("${contract.storage.type}")
-    private String storageType;
-
-    @Value("${contract.storage.local.base-path}")
-    private String localBasePath;
+    private final AuditService auditService;
+    private final ContractPdfRenderer contractPdfRenderer;
+    private final ContractDocumentStore documentStore;
 
-    @Value("${contract.storage.s3.bucket-name:}")
-    private String s3BucketName;
+    private final ContractPipelineMetrics pipelineMetrics;
 
-    private final AuditService auditService;
+    // Bounded platform pool for iText work, only present in virtual-thread mode
+    @Autowired(required = false)
+    @Qualifier("contractRenderExecutor")
+    private Executor renderExecutor;
 
-    public PdfGenerationService(AuditService auditService) {
+    public PdfGenerationService(AuditService auditService, ContractPdfRenderer contractPdfRenderer,
+                                ContractDocumentStore documentStore, ContractPipelineMetrics pipelineMetrics) {
         this.auditService = auditService;
+        this.contractPdfRenderer = contractPdfRenderer;
+        this.documentStore = documentStore;
+        this.pipelineMetrics = pipelineMetrics;
     }
 
     /**
      * Generate PDF document for contract
-     * Returns storage location (file path or S3 URI)
+     * Returns storage location (file path or S3 URI) and records the content hash on the contract.
+     * With a render executor (virtual-thread mode) only the rendering runs there; the upload is
+     * written on the calling thread from a bounded RenderPipe, so pool threads never block on storage
      */
     public String generatePdf(Contract contract) {
         logger.info("Generating PDF for contractId: {}", contract.getContractId());
 
+        long start = System.nanoTime();
+        long renderNanos = -1;
+        TimedOutputStream storageStream = null;
         try {
-            // Generate HTML content from contract data
-            String htmlContent = generateHtmlContent(contract);
-
-            // Convert HTML to PDF
-            ByteArrayOutputStream pdfOutputStream = new ByteArrayOutputStream();
-            HtmlConverter.convertToPdf(htmlContent, pdfOutputStream);
-            byte[] pdfBytes = pdfOutputStream.toByteArray();
-
-            // Store PDF based on configuration
+            // Render PDF with the configured renderer (HTML conversion or direct layout)
+            // straight into the document store, hashing the bytes on the way through
             String storageLocation;
-            if ("s3".equalsIgnoreCase(storageType)) {
-                storageLocation = storeToS3(contract.getContractId(), pdfBytes);
-            } else {
-                storageLocation = storeToLocal(contract.getContractId(), pdfBytes);
+            MessageDigest digest = MessageDigest.getInstance(CONTENT_HASH_ALGORITHM);
+            try (DocumentUpload upload = documentStore.beginUpload(contract.getContractId())) {
+                if (renderExecutor == null) {
+                    storageStream = new TimedOutputStream(upload.getOutputStream(), System.nanoTime() - start);
+                    render(contract, storageStream, digest);
+                    renderNanos = System.nanoTime() - start;
+                } else {
+                    // Time blocked on a full pipe is time spent waiting for the upload
+                    RenderPipe pipe = new RenderPipe(PIPE_CHUNKS, PIPE_CHUNK_SIZE);
+                    storageStream = new TimedOutputStream(pipe.sink(), System.nanoTime() - start);
+                    renderNanos = renderOnExecutor(contract, pipe, storageStream, upload.getOutputStream(),
+                                                   digest, start);
+                }
+                storageLocation = upload.complete();
             }
+            contract.setPdfContentHash(HexFormat.of().formatHex(digest.digest()));
+            recordRender(contract, storageStream, renderNanos, System.nanoTime() - start, Outcome.SUCCESS);
 
             auditService.logPdfGenerated(contract.getContractId(), storageLocation);
             logger.info("PDF generated successfully for contractId: {}, location: {}", 
@@ -74,144 +101,116 @@ public class PdfGenerationService {
             return storageLocation;
 
         } catch (Exception e) {
+            recordRender(contract, storageStream, renderNanos, System.nanoTime() - start, Outcome.FAILURE);
             auditService.logPdfGenerationFailed(contract.getContractId(), e.getMessage());
             throw new PdfGenerationException(contract.getContractId(), 
                 "Failed to generate PDF: " + e.getMessage(), e);
         }
     }
 
+    private void render(Contract contract, OutputStream storageStream, MessageDigest digest) throws IOException {
+        OutputStream out = new DigestOutputStream(new BufferedOutputStream(storageStream, RENDER_BUFFER_SIZE), digest);
+        contractPdfRenderer.render(contract, out);
+        out.flush();
+    }
+
     /**
-     * Generate HTML content from contract data
+     * Render on the render executor into the pipe while this thread copies the pipe into the upload
+     * Returns the nanos from start until rendering finished; the render task has ended on every path
      */
-    private String generateHtmlContent(Contract contract) {
-        StringBuilder html = new StringBuilder();
-        
-        html.append("<!DOCTYPE html>");
-        html.append("<html><head>");
-        html.append("<meta charset='UTF-8'>");
-        html.append("<title>Contract ").append(contract.getContractId()).append("</title>");
-        html.append("<style>");
-        html.append("body { font-family: Arial, sans-serif; margin: 40px; }");
-        html.append("h1 { color: #333; border-bottom: 2px solid #333; }");
-        html.append("h2 { color: #666; margin-top: 30px; }");
-        html.append(".contract-header { text-align: center; margin-bottom: 40px; }");
-        html.append(".section { margin-bottom: 30px; }");
-        html.append(".field { margin-bottom: 10px; }");
-        html.append(".label { font-weight: bold; display: inline-block; width: 200px; }");
-        html.append("</style>");
-        html.append("</head><body>");
-
-        // Contract Header
-        html.append("<div class='contract-header'>");
-        html.append("<h1>VEHICLE PURCHASE CONTRACT</h1>");
-        html.append("<p>Contract ID: ").append(contract.getContractId()).append("</p>");
-        html.append("<p>Generated: ").append(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"))).append("</p>");
-        html.append("</div>");
-
-        // Customer Information
-        html.append("<div class='section'>");
-        html.append("<h2>Customer Information</h2>");
-        Map<String, Object> customer = contract.getCustomerDetails();
-        if (customer != null) {
-            addField(html, "Customer Name", (String) customer.get("customerName"));
-            addField(html, "Customer Company", (String) customer.get("customerCompany"));
-            addField(html, "Customer Type", (String) customer.get("customerType"));
-            addField(html, "Email", (String) customer.get("customerEmail"));
-            addField(html, "Phone", (String) customer.get("customerPhone"));
-            addField(html, "Address", (String) customer.get("customerAddress"));
-            addField(html, "Tax ID", (String) customer.get("customerTaxId"));
-        }
-        html.append("</div>");
-
-        // Finance Information
-        html.append("<div class='section'>");
-        html.append("<h2>Finance Details</h2>");
-        Map<String, Object> finance = contract.getFinanceDetails();
-        if (finance != null) {
-            addField(html, "Finance Type", (String) finance.get("type"));
-            addField(html, "Provider", (String) finance.get("provider"));
-            addField(html, "Approval Status", (String) finance.get("approvalStatus"));
-            addField(html, "Reference Number", (String) finance.get("referenceNumber"));
-            addField(html, "Terms (Months)", String.valueOf(finance.get("termsInMonths")));
-            addField(html, "Interest Rate", String.valueOf(finance.get("interestRate")));
+    private long renderOnExecutor(Contract contract, RenderPipe pipe, TimedOutputStream pipeStream,
+                                  OutputStream uploadStream, MessageDigest digest, long start) throws IOException {
+        CompletableFuture<Long> rendered = CompletableFuture.supplyAsync(() -> {
+            try (pipeStream) {
+                render(contract, pipeStream, digest);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return System.nanoTime() - start;
+        }, renderExecutor);
+
+        try {
+            pipe.transferTo(uploadStream);
+        } catch (IOException | RuntimeException e) {
+            // The aborted pipe makes the render task fail fast; let it end before the upload is closed
+            rendered.exceptionally(failure -> -1L).join();
+            throw e;
         }
-        html.append("</div>");
-
-        // Vehicle Information
-        html.append("<div class='section'>");
-        html.append("<h2>Vehicle Orders</h2>");
-        List<Map<String, Object>> massOrders = contract.getMassOrders();
-        if (massOrders != null && !massOrders.isEmpty()) {
-            // This would be expanded based on the actual structure of massOrders
-            html.append("<p>Vehicle configuration and pricing details as specified in the order.</p>");
-            html.append("<p>Number of mass orders: ").append(massOrders.size()).append("</p>");
+        try {
+            return rendered.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
         }
-        html.append("</div>");
-
-        // Contract Terms
-        html.append("<div class='section'>");
-        html.append("<h2>Contract Terms</h2>");
-        html.append("<p>This contract represents the agreement between the customer and Mercedes-Benz for the purchase of the specified vehicles.</p>");
-        html.append("<p>Deal ID: ").append(contract.getDealId()).append("</p>");
-        html.append("<p>Purchase Request ID: ").append(contract.getPurchaseRequestId()).append("</p>");
-        html.append("</div>");
-
-        html.append("</body></html>");
-        
-        return html.toString();
     }
 
     /**
-     * Add field to HTML content
+     * Split the elapsed time into pdf_convert and storage_write and record the document sizes
+     * renderNanos is negative when rendering did not finish; a failure is then charged to
+     * the storage stream if a write into it failed and to the renderer otherwise
      */
-    private void addField(StringBuilder html, String label, String value) {
-        if (value != null && !value.trim().isEmpty()) {
-            html.append("<div class='field'>");
-            html.append("<span class='label'>").append(label).append(":</span>");
-            html.append("<span>").append(value).append("</span>");
-            html.append("</div>");
+    private void recordRender(Contract contract, TimedOutputStream storageStream, long renderNanos, long totalNanos,
+                              Outcome outcome) {
+        long storageNanos = storageStream != null ? storageStream.nanos : totalNanos;
+        boolean storageFailed = storageStream == null || storageStream.failed;
+        if (renderNanos >= 0) {
+            pipelineMetrics.recordNanos(Stage.PDF_CONVERT, Outcome.SUCCESS, renderNanos - storageNanos);
+            pipelineMetrics.recordNanos(Stage.STORAGE_WRITE, outcome, storageNanos + totalNanos - renderNanos);
+        } else if (storageFailed) {
+            pipelineMetrics.recordNanos(Stage.STORAGE_WRITE, Outcome.FAILURE, storageNanos);
+        } else {
+            pipelineMetrics.recordNanos(Stage.PDF_CONVERT, Outcome.FAILURE, totalNanos - storageNanos);
         }
+        int massOrderCount = contract.getMassOrders() != null ? contract.getMassOrders().size() : 0;
+        pipelineMetrics.recordDocument(outcome, storageStream != null ? storageStream.bytes : 0, massOrderCount);
     }
 
     /**
-     * Store PDF to local file system
+     * Counts the bytes and the time spent inside the wrapped storage stream
      */
-    private String storeToLocal(String contractId, byte[] pdfBytes) throws IOException {
-        // Create directory if it doesn't exist
-        Path basePath = Paths.get(localBasePath);
-        if (!Files.exists(basePath)) {
-            Files.createDirectories(basePath);
-        }
+    private static final class TimedOutputStream extends FilterOutputStream {
 
-        // Generate filename
-        String filename = contractId.toLowerCase() + ".pdf";
-        Path filePath = basePath.resolve(filename);
+        private long nanos;
+        private long bytes;
+        private boolean failed;
 
-        // Write PDF to file
-        try (FileOutputStream fos = new FileOutputStream(filePath.toFile())) {
-            fos.write(pdfBytes);
+        TimedOutputStream(OutputStream out, long initialNanos) {
+            super(out);
+            this.nanos = initialNanos;
         }
 
-        return filePath.toString();
-    }
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
 
-    /**
-     * Store PDF to S3 (placeholder implementation)
-     * In a real implementation, this would use AWS SDK
-     */
-    private String storeToS3(String contractId, byte[] pdfBytes) {
-        // Placeholder for S3 implementation
-        // In real implementation, use AWS SDK to upload to S3
-        String s3Key = "contracts/" + contractId.toLowerCase() + ".pdf";
-        String s3Uri = "s3://" + s3BucketName + "/" + s3Key;
-        
-        logger.info("S3 storage not implemented - would store to: {}", s3Uri);
-        
-        // For now, fall back to local storage
-        try {
-            return storeToLocal(contractId, pdfBytes);
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to store PDF", e);
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            long start = System.nanoTime();
+            try {
+                out.write(b, off, len);
+                bytes += len;
+            } catch (IOException | RuntimeException e) {
+                failed = true;
+                throw e;
+            } finally {
+                nanos += System.nanoTime() - start;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            long start = System.nanoTime();
+            try {
+                out.flush();
+            } catch (IOException | RuntimeException e) {
+                failed = true;
+                throw e;
+            } finally {
+                nanos += System.nanoTime() - start;
+            }
         }
     }
 }
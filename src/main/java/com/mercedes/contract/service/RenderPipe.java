@@ -0,0 +1,118 @@
+package com.mercedes.contract.service;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded hand-off of rendered bytes from the render thread to the thread that uploads them
+ * Lets iText run on the platform render pool while the storage upload stays on the calling
+ * (virtual) thread, holding at most capacity chunks in memory. Unlike PipedInputStream it waits
+ * on a lock-based queue rather than a monitor, so a waiting virtual thread does not pin its carrier
+ */
+final class RenderPipe {
+
+    private static final byte[] END = new byte[0];
+    private static final long ABORT_CHECK_MS = 100;
+
+    private final BlockingQueue<byte[]> chunks;
+    private final int chunkSize;
+    private volatile boolean aborted;
+
+    RenderPipe(int capacity, int chunkSize) {
+        this.chunks = new ArrayBlockingQueue<>(capacity);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Stream for the render thread; closing it marks the end of the document, also after a failure
+     */
+    OutputStream sink() {
+        return new ChunkOutputStream();
+    }
+
+    /**
+     * Copy chunks into out until the render side closes its sink
+     * If copying fails the pipe is aborted, so the render side fails instead of waiting for space
+     */
+    void transferTo(OutputStream out) throws IOException {
+        try {
+            byte[] chunk;
+            while ((chunk = chunks.take()) != END) {
+                out.write(chunk);
+            }
+        } catch (InterruptedException e) {
+            abort();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for rendered bytes");
+        } catch (IOException | RuntimeException e) {
+            abort();
+            throw e;
+        }
+    }
+
+    private void abort() {
+        aborted = true;
+        chunks.clear();
+    }
+
+    private void put(byte[] chunk) throws IOException {
+        try {
+            while (!chunks.offer(chunk, ABORT_CHECK_MS, TimeUnit.MILLISECONDS)) {
+                if (aborted) {
+                    throw new IOException("Upload of the rendered document was aborted");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while handing over rendered bytes");
+        }
+    }
+
+    private final class ChunkOutputStream extends OutputStream {
+
+        private byte[] buffer = new byte[chunkSize];
+        private int count;
+        private boolean closed;
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (aborted) {
+                throw new IOException("Upload of the rendered document was aborted");
+            }
+            while (len > 0) {
+                int n = Math.min(len, buffer.length - count);
+                System.arraycopy(b, off, buffer, count, n);
+                count += n;
+                off += n;
+                len -= n;
+                if (count == buffer.length) {
+                    put(buffer);
+                    buffer = new byte[chunkSize];
+                    count = 0;
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (count > 0) {
+                put(Arrays.copyOf(buffer, count));
+            }
+            put(END);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.mercedes.contract.storage;
+
+import org.springframework.core.io.Resource;
+
+import java.time.Instant;
+
+/**
+ * Stored contract PDF together with the validators used for conditional downloads
+ */
+public class ContractDocument {
+
+    private final Resource resource;
+    private final String contentHash;
+    private final Instant lastModified;
+
+    public ContractDocument(Resource resource, String contentHash, Instant lastModified) {
+        this.resource = resource;
+        this.contentHash = contentHash;
+        this.lastModified = lastModified;
+    }
+
+    public Resource getResource() {
+        return resource;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Strong ETag derived from the content hash recorded at generation time, null when unknown
+     */
+    public String getETag() {
+        return contentHash != null ? "\"" + contentHash + "\"" : null;
+    }
+}
@@ -0,0 +1,35 @@
+package com.mercedes.contract.storage;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Storage for generated contract documents
+ * Documents are addressed by contract ID, so callers never depend on where a backend
+ * keeps them. Writes are streamed: backends hand out an upload that the PDF renderer
+ * writes into directly, so documents are never buffered whole in memory
+ */
+public interface ContractDocumentStore {
+
+    /**
+     * Start a streaming upload for the contract's PDF document
+     */
+    DocumentUpload beginUpload(String contractId) throws IOException;
+
+    /**
+     * Find the contract's PDF document, empty when the store does not hold it
+     */
+    Optional<Resource> findDocument(String contractId) throws IOException;
+
+    /**
+     * Delete the contract's PDF document, returns false when it did not exist
+     */
+    boolean delete(String contractId) throws IOException;
+
+    /**
+     * Check that the backend can currently be reached and written to; used by the health sampler
+     */
+    void checkAvailable() throws IOException;
+}
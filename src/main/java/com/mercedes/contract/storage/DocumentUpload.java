@@ -0,0 +1,34 @@
+package com.mercedes.contract.storage;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * In-progress streaming write of a single contract document
+ * The renderer writes straight into getOutputStream(); nothing becomes visible
+ * at the final location until complete() succeeds. Closing an upload that was
+ * not completed aborts it and discards any partial data.
+ */
+public interface DocumentUpload extends AutoCloseable {
+
+    /**
+     * Stream to write the document into
+     * Closing this stream only flushes it; the upload stays open until complete() or abort()
+     */
+    OutputStream getOutputStream();
+
+    /**
+     * Publish the written document and return its storage location
+     */
+    String complete() throws IOException;
+
+    /**
+     * Discard the upload and any partially written data
+     */
+    void abort();
+
+    @Override
+    default void close() {
+        abort();
+    }
+}
@@ -0,0 +1,179 @@
+package com.mercedes.contract.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Local file system storage
+ * Documents are streamed into a temp file next to the target and atomically
+ * renamed on completion, so readers never observe a partially written PDF
+ */
+public class LocalContractDocumentStore implements ContractDocumentStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalContractDocumentStore.class);
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String EXTENSION = ".pdf";
+
+    private final Path basePath;
+
+    public LocalContractDocumentStore(String localBasePath) {
+        this.basePath = Paths.get(localBasePath);
+    }
+
+    @Override
+    public DocumentUpload beginUpload(String contractId) throws IOException {
+        Files.createDirectories(basePath);
+        Path target = resolve(contractId);
+        Path tempFile = Files.createTempFile(basePath, target.getFileName().toString() + ".", ".tmp");
+        return new LocalDocumentUpload(target, tempFile);
+    }
+
+    @Override
+    public Optional<Resource> findDocument(String contractId) {
+        Path path = resolve(contractId);
+        return Files.isRegularFile(path) ? Optional.of(new FileSystemResource(path)) : Optional.empty();
+    }
+
+    @Override
+    public boolean delete(String contractId) throws IOException {
+        return Files.deleteIfExists(resolve(contractId));
+    }
+
+    @Override
+    public void checkAvailable() throws IOException {
+        Files.createDirectories(basePath);
+        if (!Files.isWritable(basePath)) {
+            throw new IOException("Storage directory is not writable: " + basePath);
+        }
+    }
+
+    /**
+     * Final location of the contract's PDF document
+     */
+    public Path resolve(String contractId) {
+        return basePath.resolve(contractId.toLowerCase() + EXTENSION);
+    }
+
+    /**
+     * Contract IDs of documents last written before the cutoff
+     */
+    public List<String> findContractIdsModifiedBefore(Instant cutoff) throws IOException {
+        if (!Files.isDirectory(basePath)) {
+            return List.of();
+        }
+        FileTime cutoffTime = FileTime.from(cutoff);
+        List<String> contractIds = new ArrayList<>();
+        try (Stream<Path> files = Files.list(basePath)) {
+            for (Path path : (Iterable<Path>) files::iterator) {
+                String filename = path.getFileName().toString();
+                if (filename.endsWith(EXTENSION) && Files.isRegularFile(path)
+                        && Files.getLastModifiedTime(path).compareTo(cutoffTime) < 0) {
+                    contractIds.add(filename.substring(0, filename.length() - EXTENSION.length()).toUpperCase(Locale.ROOT));
+                }
+            }
+        }
+        return contractIds;
+    }
+
+    private static final class LocalDocumentUpload implements DocumentUpload {
+
+        private final Path target;
+        private final Path tempFile;
+        private final FileChannel channel;
+        private final OutputStream outputStream;
+        private boolean finished;
+
+        private LocalDocumentUpload(Path target, Path tempFile) throws IOException {
+            this.target = target;
+            this.tempFile = tempFile;
+            this.channel = FileChannel.open(tempFile, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            this.outputStream = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+        }
+
+        @Override
+        public OutputStream getOutputStream() {
+            // Renderers close their stream when the document ends; keep the channel open until complete()
+            return new FilterOutputStream(outputStream) {
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                }
+
+                @Override
+                public void close() throws IOException {
+                    out.flush();
+                }
+            };
+        }
+
+        @Override
+        public String complete() throws IOException {
+            if (finished) {
+                throw new IllegalStateException("Upload already finished for " + target);
+            }
+            finished = true;
+            try {
+                outputStream.flush();
+                channel.force(true);
+                channel.close();
+                moveIntoPlace();
+                return target.toString();
+            } catch (IOException e) {
+                deleteTempFile();
+                throw e;
+            }
+        }
+
+        @Override
+        public void abort() {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close aborted upload {}: {}", tempFile, e.getMessage());
+            }
+            deleteTempFile();
+        }
+
+        private void moveIntoPlace() throws IOException {
+            try {
+                Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+
+        private void deleteTempFile() {
+            try {
+                Files.deleteIfExists(tempFile);
+            } catch (IOException e) {
+                logger.warn("Failed to delete temp file {}: {}", tempFile, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,364 @@
+package com.mercedes.contract.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * S3-compatible object storage
+ * Documents that fit in a single part are stored with one PUT; larger documents are
+ * sent as a multipart upload whose parts are uploaded in parallel while rendering
+ * continues. At most upload-concurrency parts are in flight, so heap per render is
+ * bounded by (upload-concurrency + 1) * part-size regardless of document size.
+ *
+ * Every PUT and part upload carries a Content-MD5 that the store validates before accepting
+ * the bytes. Returned ETags are not compared with those digests: under SSE-KMS and SSE-C
+ * they are not the MD5 of the content.
+ */
+public class S3ContractDocumentStore implements ContractDocumentStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(S3ContractDocumentStore.class);
+    private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+    private static final String CONTENT_TYPE = "application/pdf";
+
+    private final S3AsyncClient s3AsyncClient;
+    private final String bucketName;
+    private final String keyPrefix;
+    private final int partSize;
+    private final int uploadConcurrency;
+
+    public S3ContractDocumentStore(S3AsyncClient s3AsyncClient, String bucketName, String keyPrefix,
+                                   int partSize, int uploadConcurrency) {
+        this.s3AsyncClient = s3AsyncClient;
+        this.bucketName = bucketName;
+        this.keyPrefix = keyPrefix;
+        this.partSize = partSize;
+        this.uploadConcurrency = uploadConcurrency;
+    }
+
+    @Override
+    public DocumentUpload beginUpload(String contractId) {
+        return new S3DocumentUpload(objectKey(contractId));
+    }
+
+    @Override
+    public Optional<Resource> findDocument(String contractId) throws IOException {
+        String key = objectKey(contractId);
+        try {
+            HeadObjectResponse head = s3AsyncClient.headObject(request -> request.bucket(bucketName).key(key)).get();
+            return Optional.of(new S3DocumentResource(key, head));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for object storage", e);
+        } catch (ExecutionException e) {
+            if (isNotFound(e.getCause())) {
+                return Optional.empty();
+            }
+            throw new IOException("Object storage request failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    @Override
+    public boolean delete(String contractId) throws IOException {
+        if (findDocument(contractId).isEmpty()) {
+            return false;
+        }
+        await(s3AsyncClient.deleteObject(request -> request.bucket(bucketName).key(objectKey(contractId))));
+        return true;
+    }
+
+    @Override
+    public void checkAvailable() throws IOException {
+        await(s3AsyncClient.headBucket(request -> request.bucket(bucketName)));
+    }
+
+    /**
+     * Object key of the contract's PDF document
+     */
+    public String objectKey(String contractId) {
+        return keyPrefix + contractId.toLowerCase() + ".pdf";
+    }
+
+    public String getBucketName() {
+        return bucketName;
+    }
+
+    private final class S3DocumentUpload implements DocumentUpload {
+
+        private final String key;
+        private final Semaphore inFlightParts = new Semaphore(uploadConcurrency);
+        private final List<CompletableFuture<CompletedPart>> partFutures = new ArrayList<>();
+        private final OutputStream outputStream = new PartOutputStream();
+
+        private byte[] buffer = new byte[Math.min(INITIAL_BUFFER_SIZE, partSize)];
+        private int count;
+        private String uploadId;
+        private boolean finished;
+
+        private S3DocumentUpload(String key) {
+            this.key = key;
+        }
+
+        @Override
+        public OutputStream getOutputStream() {
+            return outputStream;
+        }
+
+        @Override
+        public String complete() throws IOException {
+            if (finished) {
+                throw new IllegalStateException("Upload already finished for " + key);
+            }
+            finished = true;
+            try {
+                if (uploadId == null) {
+                    putSingleObject();
+                } else {
+                    completeMultipart();
+                }
+                return "s3://" + bucketName + "/" + key;
+            } catch (IOException | RuntimeException e) {
+                abortMultipart();
+                throw e;
+            }
+        }
+
+        @Override
+        public void abort() {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            abortMultipart();
+        }
+
+        private void write(byte[] bytes, int offset, int length) throws IOException {
+            if (finished) {
+                throw new IOException("Upload already finished for " + key);
+            }
+            while (length > 0) {
+                if (count == buffer.length) {
+                    if (buffer.length < partSize) {
+                        buffer = Arrays.copyOf(buffer, Math.min(buffer.length * 2, partSize));
+                    } else {
+                        flushPart();
+                    }
+                }
+                int chunk = Math.min(length, buffer.length - count);
+                System.arraycopy(bytes, offset, buffer, count, chunk);
+                count += chunk;
+                offset += chunk;
+                length -= chunk;
+            }
+        }
+
+        private void putSingleObject() throws IOException {
+            byte[] digest = md5(buffer, count);
+            await(s3AsyncClient.putObject(request -> request
+                    .bucket(bucketName)
+                    .key(key)
+                    .contentType(CONTENT_TYPE)
+                    .contentLength((long) count)
+                    .contentMD5(Base64.getEncoder().encodeToString(digest)),
+                body(buffer, count)));
+        }
+
+        /**
+         * Upload the full buffer as the next part without waiting for it; the buffer is handed
+         * to the request and a fresh one is allocated once a slot frees up
+         */
+        private void flushPart() throws IOException {
+            if (uploadId == null) {
+                CreateMultipartUploadResponse response = await(s3AsyncClient.createMultipartUpload(request -> request
+                    .bucket(bucketName)
+                    .key(key)
+                    .contentType(CONTENT_TYPE)));
+                uploadId = response.uploadId();
+                logger.debug("Started multipart upload {} for {}", uploadId, key);
+            }
+            try {
+                inFlightParts.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for part upload slot", e);
+            }
+
+            int partNumber = partFutures.size() + 1;
+            byte[] partBytes = buffer;
+            int partLength = count;
+            byte[] digest = md5(partBytes, partLength);
+
+            CompletableFuture<CompletedPart> future = s3AsyncClient.uploadPart(request -> request
+                    .bucket(bucketName)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .partNumber(partNumber)
+                    .contentLength((long) partLength)
+                    .contentMD5(Base64.getEncoder().encodeToString(digest)),
+                body(partBytes, partLength))
+                .thenApply(response -> CompletedPart.builder().partNumber(partNumber).eTag(response.eTag()).build())
+                .whenComplete((part, error) -> inFlightParts.release());
+            partFutures.add(future);
+
+            buffer = new byte[partSize];
+            count = 0;
+        }
+
+        private void completeMultipart() throws IOException {
+            if (count > 0) {
+                flushPart();
+            }
+            List<CompletedPart> parts = new ArrayList<>(partFutures.size());
+            for (CompletableFuture<CompletedPart> future : partFutures) {
+                parts.add(await(future));
+            }
+            parts.sort(Comparator.comparing(CompletedPart::partNumber));
+
+            await(s3AsyncClient.completeMultipartUpload(request -> request
+                .bucket(bucketName)
+                .key(key)
+                .uploadId(uploadId)
+                .multipartUpload(upload -> upload.parts(parts))));
+            logger.debug("Completed multipart upload {} for {} with {} parts", uploadId, key, parts.size());
+        }
+
+        private void abortMultipart() {
+            if (uploadId == null) {
+                return;
+            }
+            for (CompletableFuture<CompletedPart> future : partFutures) {
+                future.cancel(true);
+            }
+            try {
+                await(s3AsyncClient.abortMultipartUpload(request -> request
+                    .bucket(bucketName)
+                    .key(key)
+                    .uploadId(uploadId)));
+            } catch (Exception e) {
+                logger.warn("Failed to abort multipart upload {} for {}: {}", uploadId, key, e.getMessage());
+            }
+        }
+
+        private final class PartOutputStream extends OutputStream {
+            @Override
+            public void write(int b) throws IOException {
+                S3DocumentUpload.this.write(new byte[] {(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                S3DocumentUpload.this.write(b, off, len);
+            }
+
+            @Override
+            public void close() {
+                // Renderers close their stream when the document ends; the upload is finished by complete()
+            }
+        }
+    }
+
+    /**
+     * Object metadata is captured by the HEAD in findDocument; the body is streamed on demand
+     */
+    private final class S3DocumentResource extends AbstractResource {
+
+        private final String key;
+        private final HeadObjectResponse head;
+
+        private S3DocumentResource(String key, HeadObjectResponse head) {
+            this.key = key;
+            this.head = head;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return await(s3AsyncClient.getObject(request -> request.bucket(bucketName).key(key),
+                AsyncResponseTransformer.toBlockingInputStream()));
+        }
+
+        @Override
+        public long contentLength() {
+            return head.contentLength() != null ? head.contentLength() : -1L;
+        }
+
+        @Override
+        public long lastModified() {
+            return head.lastModified() != null ? head.lastModified().toEpochMilli() : 0L;
+        }
+
+        @Override
+        public boolean exists() {
+            return true;
+        }
+
+        @Override
+        public String getFilename() {
+            return key.substring(key.lastIndexOf('/') + 1);
+        }
+
+        @Override
+        public String getDescription() {
+            return "S3 object [s3://" + bucketName + "/" + key + "]";
+        }
+    }
+
+    private static boolean isNotFound(Throwable error) {
+        return error instanceof NoSuchKeyException
+            || error instanceof S3Exception s3Exception && s3Exception.statusCode() == 404;
+    }
+
+    private static AsyncRequestBody body(byte[] bytes, int length) {
+        return AsyncRequestBody.fromRemainingByteBufferUnsafe(ByteBuffer.wrap(bytes, 0, length));
+    }
+
+    private static byte[] md5(byte[] bytes, int length) {
+        try {
+            MessageDigest md5 = MessageDigest.getInstance("MD5");
+            md5.update(bytes, 0, length);
+            return md5.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 not available", e);
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for object storage", e);
+        } catch (ExecutionException | CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof CompletionException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            throw new IOException("Object storage request failed: " + cause.getMessage(), cause);
+        }
+    }
+}
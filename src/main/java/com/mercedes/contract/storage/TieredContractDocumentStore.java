@@ -0,0 +1,199 @@
+package com.mercedes.contract.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Tiered storage: new documents are written through to the cold tier (object storage),
+ * which is the system of record and whose location is published, while a copy is kept
+ * on the hot tier (fast local disk) as a read cache. Reads check the hot tier first, so
+ * recently generated contracts are served from this pod's disk; other pods, or this one
+ * after a restart, read the same document from the cold tier. Hot copies are dropped
+ * once they are older than the hot retention.
+ */
+public class TieredContractDocumentStore implements ContractDocumentStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(TieredContractDocumentStore.class);
+
+    private final LocalContractDocumentStore hotTier;
+    private final ContractDocumentStore coldTier;
+    private final Duration hotRetention;
+
+    public TieredContractDocumentStore(LocalContractDocumentStore hotTier, ContractDocumentStore coldTier,
+                                       Duration hotRetention) {
+        this.hotTier = hotTier;
+        this.coldTier = coldTier;
+        this.hotRetention = hotRetention;
+    }
+
+    @Override
+    public DocumentUpload beginUpload(String contractId) throws IOException {
+        DocumentUpload cold = coldTier.beginUpload(contractId);
+        DocumentUpload hot;
+        try {
+            hot = hotTier.beginUpload(contractId);
+        } catch (IOException e) {
+            logger.warn("Hot tier unavailable for contractId: {}, writing to cold tier only: {}",
+                        contractId, e.getMessage());
+            return cold;
+        }
+        return new WriteThroughUpload(contractId, cold, hot);
+    }
+
+    @Override
+    public Optional<Resource> findDocument(String contractId) throws IOException {
+        Optional<Resource> hot = hotTier.findDocument(contractId);
+        return hot.isPresent() ? hot : coldTier.findDocument(contractId);
+    }
+
+    @Override
+    public boolean delete(String contractId) throws IOException {
+        boolean deletedHot = hotTier.delete(contractId);
+        boolean deletedCold = coldTier.delete(contractId);
+        return deletedHot || deletedCold;
+    }
+
+    @Override
+    public void checkAvailable() throws IOException {
+        hotTier.checkAvailable();
+        coldTier.checkAvailable();
+    }
+
+    /**
+     * Drop hot copies past the retention
+     * Copies the cold tier does not hold yet, such as documents written before uploads went
+     * through to it, are uploaded first; the hot copy is only removed once the cold tier has
+     * it, so a failed upload leaves the document readable and it is retried on the next run
+     */
+    @Scheduled(fixedDelayString = "${contract.storage.tiered.aging-interval-ms:600000}",
+               initialDelayString = "${contract.storage.tiered.aging-interval-ms:600000}")
+    public int ageOutHotDocuments() {
+        List<String> contractIds;
+        try {
+            contractIds = hotTier.findContractIdsModifiedBefore(Instant.now().minus(hotRetention));
+        } catch (IOException e) {
+            logger.error("Failed to list hot tier documents: {}", e.getMessage());
+            return 0;
+        }
+
+        int moved = 0;
+        for (String contractId : contractIds) {
+            try {
+                moveToColdTier(contractId);
+                moved++;
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Failed to move contractId: {} to cold tier: {}", contractId, e.getMessage());
+            }
+        }
+        if (moved > 0) {
+            logger.info("Moved {} contract documents to cold tier", moved);
+        }
+        return moved;
+    }
+
+    private void moveToColdTier(String contractId) throws IOException {
+        if (coldTier.findDocument(contractId).isEmpty()) {
+            try (DocumentUpload upload = coldTier.beginUpload(contractId);
+                 InputStream in = Files.newInputStream(hotTier.resolve(contractId))) {
+                in.transferTo(upload.getOutputStream());
+                upload.complete();
+            }
+            logger.debug("Moved contractId: {} to cold tier", contractId);
+        }
+        hotTier.delete(contractId);
+    }
+
+    /**
+     * Streams the document to both tiers; the cold upload decides the outcome
+     * A failing hot copy is dropped and only costs this pod its cached copy
+     */
+    private static final class WriteThroughUpload implements DocumentUpload {
+
+        private final String contractId;
+        private final DocumentUpload cold;
+        private final OutputStream coldOut;
+        private DocumentUpload hot;
+        private OutputStream hotOut;
+        private final OutputStream outputStream = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[] {(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                coldOut.write(b, off, len);
+                if (hot != null) {
+                    try {
+                        hotOut.write(b, off, len);
+                    } catch (IOException e) {
+                        dropHotCopy(e);
+                    }
+                }
+            }
+
+            @Override
+            public void flush() throws IOException {
+                coldOut.flush();
+            }
+        };
+
+        private WriteThroughUpload(String contractId, DocumentUpload cold, DocumentUpload hot) {
+            this.contractId = contractId;
+            this.cold = cold;
+            this.coldOut = cold.getOutputStream();
+            this.hot = hot;
+            this.hotOut = hot.getOutputStream();
+        }
+
+        @Override
+        public OutputStream getOutputStream() {
+            return outputStream;
+        }
+
+        @Override
+        public String complete() throws IOException {
+            String location;
+            try {
+                location = cold.complete();
+            } catch (IOException | RuntimeException e) {
+                abort();
+                throw e;
+            }
+            if (hot != null) {
+                try {
+                    hot.complete();
+                } catch (IOException | RuntimeException e) {
+                    dropHotCopy(e);
+                }
+            }
+            return location;
+        }
+
+        @Override
+        public void abort() {
+            cold.abort();
+            if (hot != null) {
+                hot.abort();
+            }
+        }
+
+        private void dropHotCopy(Exception e) {
+            logger.warn("Failed to cache contractId: {} on the hot tier: {}", contractId, e.getMessage());
+            hot.abort();
+            hot = null;
+            hotOut = null;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+-- Track asynchronous contract generation progress
+-- Existing rows were generated synchronously and are therefore fully published
+
+ALTER TABLE contracts ADD COLUMN generation_status VARCHAR(20) NOT NULL DEFAULT 'PUBLISHED';
+ALTER TABLE contracts ADD COLUMN failure_reason VARCHAR(500);
+
+ALTER TABLE contracts ADD CONSTRAINT chk_contracts_generation_status
+    CHECK (generation_status IN ('PENDING', 'RENDERED', 'PUBLISHED', 'FAILED'));
+
+COMMENT ON COLUMN contracts.generation_status IS 'Generation pipeline status: PENDING, RENDERED, PUBLISHED or FAILED';
+COMMENT ON COLUMN contracts.failure_reason IS 'Reason for the last generation failure, if any';
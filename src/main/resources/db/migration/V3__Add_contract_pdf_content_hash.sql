@@ -0,0 +1,6 @@
+-- SHA-256 of the generated PDF, used as the strong ETag for downloads
+-- Rows generated before this migration have no hash and are served without an ETag
+
+ALTER TABLE contracts ADD COLUMN pdf_content_hash VARCHAR(64);
+
+COMMENT ON COLUMN contracts.pdf_content_hash IS 'Hex SHA-256 of the generated PDF document';
@@ -0,0 +1,8 @@
+-- Idempotency-Key sent by the client on POST /v1/contracts
+-- Replays with the same key return the original contract; reusing a key for another purchase request is rejected
+
+ALTER TABLE contracts ADD COLUMN idempotency_key VARCHAR(255);
+
+ALTER TABLE contracts ADD CONSTRAINT uk_contracts_idempotency_key UNIQUE (idempotency_key);
+
+COMMENT ON COLUMN contracts.idempotency_key IS 'Client Idempotency-Key of the creating request, if any';
@@ -0,0 +1,33 @@
+-- Transactional outbox for contract events
+-- Rows are written in the same transaction as the contract and relayed to Kafka afterwards,
+-- so an event is never lost when the broker is unavailable and never sent for a rolled-back contract
+
+CREATE TABLE contract_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    event_id VARCHAR(36) NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    aggregate_id VARCHAR(50) NOT NULL,
+    topic VARCHAR(255) NOT NULL,
+    payload JSONB NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    available_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error VARCHAR(500),
+    sent_at TIMESTAMP
+);
+
+ALTER TABLE contract_outbox ADD CONSTRAINT uk_contract_outbox_event_id UNIQUE (event_id);
+
+-- The relay only scans unsent rows; sent rows wait for the retention purge
+CREATE INDEX idx_contract_outbox_unsent ON contract_outbox(id) WHERE sent_at IS NULL;
+CREATE INDEX idx_contract_outbox_sent_at ON contract_outbox(sent_at) WHERE sent_at IS NOT NULL;
+
+COMMENT ON TABLE contract_outbox IS 'Contract events waiting to be relayed to Kafka';
+COMMENT ON COLUMN contract_outbox.event_id IS 'Event identifier carried in the payload, used by consumers to deduplicate';
+COMMENT ON COLUMN contract_outbox.aggregate_id IS 'Contract ID, used as the Kafka record key';
+COMMENT ON COLUMN contract_outbox.topic IS 'Kafka topic the event is sent to';
+COMMENT ON COLUMN contract_outbox.payload IS 'Event payload as sent to Kafka';
+COMMENT ON COLUMN contract_outbox.available_at IS 'Earliest time of the next send attempt; pushed back after a failed send';
+COMMENT ON COLUMN contract_outbox.attempts IS 'Number of failed send attempts';
+COMMENT ON COLUMN contract_outbox.last_error IS 'Error of the last failed send attempt';
+COMMENT ON COLUMN contract_outbox.sent_at IS 'Timestamp when the broker acknowledged the event; NULL while pending';
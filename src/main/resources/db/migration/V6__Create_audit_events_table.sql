@@ -0,0 +1,43 @@
+-- Durable audit trail, written in batches by the audit pipeline
+-- Range-partitioned by month so old months can be detached or dropped without a bulk DELETE;
+-- ContractAuditService creates upcoming partitions ahead of time, the default partition only
+-- catches rows if that ever falls behind
+
+CREATE TABLE audit_events (
+    id BIGSERIAL,
+    event_timestamp TIMESTAMP NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    contract_id VARCHAR(50),
+    purchase_request_id VARCHAR(100),
+    deal_id VARCHAR(100),
+    trace_id VARCHAR(64),
+    details JSONB,
+    PRIMARY KEY (id, event_timestamp)
+) PARTITION BY RANGE (event_timestamp);
+
+-- Serves GET /v1/contracts/{id}/audit; created on every partition
+CREATE INDEX idx_audit_events_contract_id_timestamp ON audit_events(contract_id, event_timestamp);
+
+CREATE TABLE audit_events_default PARTITION OF audit_events DEFAULT;
+
+-- Partitions for the current and the next two months
+DO $$
+DECLARE
+    month_start DATE;
+BEGIN
+    FOR i IN 0..2 LOOP
+        month_start := (date_trunc('month', CURRENT_DATE) + make_interval(months => i))::DATE;
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF audit_events FOR VALUES FROM (%L) TO (%L)',
+                       'audit_events_' || to_char(month_start, 'YYYY_MM'),
+                       month_start, (month_start + INTERVAL '1 month')::DATE);
+    END LOOP;
+END $$;
+
+COMMENT ON TABLE audit_events IS 'Audit trail of contract operations, partitioned by month of event_timestamp';
+COMMENT ON COLUMN audit_events.event_timestamp IS 'Time the audited operation happened, in the service time zone';
+COMMENT ON COLUMN audit_events.event_type IS 'Audit event, e.g. CONTRACT_CREATED or PDF_GENERATION_FAILED';
+COMMENT ON COLUMN audit_events.status IS 'SUCCESS, FAILURE or RETRY';
+COMMENT ON COLUMN audit_events.contract_id IS 'Contract the event belongs to; NULL for failures before a contract existed';
+COMMENT ON COLUMN audit_events.trace_id IS 'Trace ID of the request that caused the event';
+COMMENT ON COLUMN audit_events.details IS 'Remaining event fields such as reason, topic or storage location';
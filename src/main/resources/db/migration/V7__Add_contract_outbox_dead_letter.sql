@@ -0,0 +1,12 @@
+-- Dead-letter state for outbox events the relay gave up on
+-- Once an event has failed max-attempts times it is set aside instead of being retried forever;
+-- it stays in the table (the retention purge only removes sent events) until handled by hand
+
+ALTER TABLE contract_outbox ADD COLUMN dead_lettered_at TIMESTAMP;
+
+-- The relay only scans events that are neither sent nor dead-lettered
+DROP INDEX idx_contract_outbox_unsent;
+CREATE INDEX idx_contract_outbox_unsent ON contract_outbox(id) WHERE sent_at IS NULL AND dead_lettered_at IS NULL;
+CREATE INDEX idx_contract_outbox_dead_lettered_at ON contract_outbox(dead_lettered_at) WHERE dead_lettered_at IS NOT NULL;
+
+COMMENT ON COLUMN contract_outbox.dead_lettered_at IS 'Timestamp when the relay stopped retrying the event; NULL while it is still retried';
@@ -0,0 +1,4 @@
+-- Lets the generation sweeper find contracts left PENDING without scanning the table
+-- Only PENDING rows are indexed, so the index stays as small as the generation backlog
+
+CREATE INDEX idx_contracts_pending ON contracts(created_at) WHERE generation_status = 'PENDING';
@@ -0,0 +1,13 @@
+-- Workers claim a PENDING contract by moving it to GENERATING in one conditional UPDATE,
+-- so a contract submitted twice (still queued when the sweeper resubmits it, or picked up
+-- on two instances) is rendered once. The sweeper index also covers GENERATING rows, so
+-- claims left behind by a stopped worker are found and handed out again
+
+ALTER TABLE contracts DROP CONSTRAINT chk_contracts_generation_status;
+ALTER TABLE contracts ADD CONSTRAINT chk_contracts_generation_status
+    CHECK (generation_status IN ('PENDING', 'GENERATING', 'RENDERED', 'PUBLISHED', 'FAILED'));
+
+COMMENT ON COLUMN contracts.generation_status IS 'Generation pipeline status: PENDING, GENERATING, RENDERED, PUBLISHED or FAILED';
+
+DROP INDEX idx_contracts_pending;
+CREATE INDEX idx_contracts_pending ON contracts(created_at) WHERE generation_status IN ('PENDING', 'GENERATING');
@@ -0,0 +1,98 @@
+package com.mercedes.contract.benchmark;
+
+import com.mercedes.contract.entity.Contract;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Contract data shaped like test-contract-request.json with a chosen number of mass orders
+ * Shared by the benchmark suites so every suite measures the same payloads
+ */
+public final class ContractFixtures {
+
+    private static final String[] MODELS = {"C-Class", "E-Class", "GLC", "EQE"};
+    private static final String[] COLORS = {"Obsidian Black Metallic", "Polar White", "Selenite Grey", "Sodalite Blue"};
+
+    private ContractFixtures() {
+    }
+
+    public static Map<String, Object> customer() {
+        Map<String, Object> customer = new LinkedHashMap<>();
+        customer.put("customerAddress", "Leopoldstraße 45, 80802 München, Germany");
+        customer.put("customerType", "HOTEL_FLEET");
+        customer.put("customerPhone", "+49-89-123-4567");
+        customer.put("customerEmail", "fleet@hilton.de");
+        customer.put("preferredCurrency", "EUR");
+        customer.put("customerId", "CUST-2025-TEST");
+        customer.put("customerCompany", "Hilton Hotels Deutschland");
+        customer.put("customerName", "Hilton Hotels Deutschland GmbH");
+        customer.put("customerTaxId", "DE987654321");
+        return customer;
+    }
+
+    public static Map<String, Object> financeDetails() {
+        Map<String, Object> finance = new LinkedHashMap<>();
+        finance.put("type", "Lease");
+        finance.put("provider", "Mercedes-Benz Financial");
+        finance.put("approvalStatus", "Approved");
+        finance.put("referenceNumber", "REF-TEST-12345");
+        finance.put("termsInMonths", 36);
+        finance.put("interestRate", 0.045);
+        finance.put("downPaymentRequired", false);
+        return finance;
+    }
+
+    public static List<Map<String, Object>> massOrders(int count) {
+        List<Map<String, Object>> massOrders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> priceBreakdown = new LinkedHashMap<>();
+            int baseMsrp = 50_000 + (i % 20) * 1_000;
+            priceBreakdown.put("baseMsrp", baseMsrp);
+            priceBreakdown.put("optionsMsrp", 4_300);
+            priceBreakdown.put("totalMsrp", baseMsrp + 4_300);
+
+            Map<String, Object> vehicle = new LinkedHashMap<>();
+            vehicle.put("model", MODELS[i % MODELS.length]);
+            vehicle.put("variant", "V" + (300 + i % 5 * 50));
+            vehicle.put("color", COLORS[i % COLORS.length]);
+            vehicle.put("interior", "Black Leather");
+
+            Map<String, Object> massOrder = new LinkedHashMap<>();
+            massOrder.put("quantity", 1 + i % 3);
+            massOrder.put("massOrderId", String.format("MO-%04d", i + 1));
+            massOrder.put("priceBreakdown", priceBreakdown);
+            massOrder.put("vehicleConfiguration", vehicle);
+            massOrders.add(massOrder);
+        }
+        return massOrders;
+    }
+
+    /**
+     * Request body for POST /contracts; purchase request and deal IDs are derived from the suffix
+     */
+    public static Map<String, Object> contractRequest(String suffix, int massOrderCount) {
+        Map<String, Object> dealData = new LinkedHashMap<>();
+        dealData.put("dealId", "DEAL-" + suffix);
+        dealData.put("customer", customer());
+        dealData.put("customerFinanceDetails", financeDetails());
+        dealData.put("retailerInfo", Map.of("name", "Mercedes-Benz Downtown", "retailerId", "RTL-001"));
+        dealData.put("massOrders", massOrders(massOrderCount));
+
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("purchaseRequestId", "PR-" + suffix);
+        request.put("dealId", "DEAL-" + suffix);
+        request.put("dealData", dealData);
+        return request;
+    }
+
+    public static Contract contract(int massOrderCount) {
+        Contract contract = new Contract("CONTRACT-BE7C4A01", "PR-BENCH-" + massOrderCount, "DEAL-BENCH-" + massOrderCount,
+                                         customer(), financeDetails(), massOrders(massOrderCount));
+        contract.setCreatedAt(LocalDateTime.of(2025, 1, 15, 10, 30));
+        return contract;
+    }
+}
@@ -0,0 +1,70 @@
+package com.mercedes.contract.benchmark;
+
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * Shared launcher for the JMH *BenchmarkTest suites
+ * Every run is written in JMH's JSON format to benchmark.result-dir (target/jmh-results by
+ * default), one file per suite and variant, so results can be archived per release and compared
+ * with tools that read JMH JSON. Run all suites with: mvn -Pbenchmarks test
+ */
+public final class JmhBenchmarks {
+
+    public static final String RESULT_DIR_PROPERTY = "benchmark.result-dir";
+
+    private JmhBenchmarks() {
+    }
+
+    /**
+     * Run all @Benchmark methods of the suite class
+     * The variant (e.g. "4-threads") distinguishes result files of repeated runs; may be null
+     */
+    public static Collection<RunResult> run(Class<?> suite, String variant,
+                                            UnaryOperator<ChainedOptionsBuilder> options)
+            throws RunnerException, IOException {
+        Path resultDir = Path.of(System.getProperty(RESULT_DIR_PROPERTY, "target/jmh-results"));
+        Files.createDirectories(resultDir);
+        String name = variant != null ? suite.getSimpleName() + "-" + variant : suite.getSimpleName();
+        Path resultFile = resultDir.resolve(name + ".json");
+
+        ChainedOptionsBuilder builder = new OptionsBuilder()
+            .include(suite.getName() + "\\.")
+            .resultFormat(ResultFormatType.JSON)
+            .result(resultFile.toString());
+        Collection<RunResult> results = new Runner(options.apply(builder).build()).run();
+
+        print(name, results);
+        System.out.printf("JMH results written to %s%n", resultFile.toAbsolutePath());
+        return results;
+    }
+
+    public static Collection<RunResult> run(Class<?> suite) throws RunnerException, IOException {
+        return run(suite, null, UnaryOperator.identity());
+    }
+
+    private static void print(String name, Collection<RunResult> results) {
+        System.out.printf("%s:%n", name);
+        for (RunResult result : results) {
+            String benchmark = result.getParams().getBenchmark();
+            String params = result.getParams().getParamsKeys().stream()
+                .map(key -> key + "=" + result.getParams().getParam(key))
+                .collect(Collectors.joining(",", "(", ")"));
+            System.out.printf("  %-40s %14.3f +- %10.3f %s%n",
+                benchmark.substring(benchmark.lastIndexOf('.') + 1) + (params.equals("()") ? "" : params),
+                result.getPrimaryResult().getScore(), result.getPrimaryResult().getScoreError(),
+                result.getPrimaryResult().getScoreUnit());
+        }
+    }
+}
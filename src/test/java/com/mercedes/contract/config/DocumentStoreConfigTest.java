@@ -0,0 +1,44 @@
+package com.mercedes.contract.config;
+
+import com.mercedes.contract.storage.ContractDocumentStore;
+import com.mercedes.contract.storage.LocalContractDocumentStore;
+import com.mercedes.contract.storage.S3ContractDocumentStore;
+import com.mercedes.contract.storage.TieredContractDocumentStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for DocumentStoreConfig
+ * Tests that contract.storage.type selects exactly one backend, whatever its case
+ */
+@DisplayName("DocumentStoreConfig Tests")
+class DocumentStoreConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+        .withUserConfiguration(DocumentStoreConfig.class)
+        .withBean(S3AsyncClient.class, () -> mock(S3AsyncClient.class))
+        .withPropertyValues("contract.storage.local.base-path=target/document-store-config-test");
+
+    @Test
+    @DisplayName("Should default to the local store")
+    void shouldDefaultToLocalStore() {
+        contextRunner.run(context ->
+            assertInstanceOf(LocalContractDocumentStore.class, context.getBean(ContractDocumentStore.class)));
+    }
+
+    @Test
+    @DisplayName("Should match the storage type case-insensitively")
+    void shouldMatchStorageTypeCaseInsensitively() {
+        contextRunner.withPropertyValues("contract.storage.type=LOCAL").run(context ->
+            assertInstanceOf(LocalContractDocumentStore.class, context.getBean(ContractDocumentStore.class)));
+        contextRunner.withPropertyValues("contract.storage.type=S3").run(context ->
+            assertInstanceOf(S3ContractDocumentStore.class, context.getBean(ContractDocumentStore.class)));
+        contextRunner.withPropertyValues("contract.storage.type=Tiered").run(context ->
+            assertInstanceOf(TieredContractDocumentStore.class, context.getBean(ContractDocumentStore.class)));
+    }
+}
@@ -1,11 +1,14 @@
 package com.mercedes.contract.config;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerProducerListener;
 import org.springframework.kafka.core.ProducerFactory;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 
@@ -35,7 +38,7 @@ class KafkaConfigTest {
     @Test
     @DisplayName("Should create producer factory with correct configuration")
     void shouldCreateProducerFactoryWithCorrectConfiguration() {
-        ProducerFactory<String, Object> producerFactory = kafkaConfig.producerFactory();
+        ProducerFactory<String, byte[]> producerFactory = kafkaConfig.producerFactory();
         
         assertNotNull(producerFactory);
         
@@ -47,13 +50,13 @@ class KafkaConfigTest {
         
         // Verify serializers
         assertEquals(StringSerializer.class, configProps.get(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG));
-        assertEquals(JsonSerializer.class, configProps.get(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG));
+        assertEquals(ByteArraySerializer.class, configProps.get(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG));
     }
 
     @Test
     @DisplayName("Should configure producer for reliability")
     void shouldConfigureProducerForReliability() {
-        ProducerFactory<String, Object> producerFactory = kafkaConfig.producerFactory();
+        ProducerFactory<String, byte[]> producerFactory = kafkaConfig.producerFactory();
         Map<String, Object> configProps = producerFactory.getConfigurationProperties();
         
         // Verify reliability configurations
@@ -64,13 +67,14 @@ class KafkaConfigTest {
     }
 
     @Test
-    @DisplayName("Should disable type headers in JSON serializer")
-    void shouldDisableTypeHeadersInJsonSerializer() {
-        ProducerFactory<String, Object> producerFactory = kafkaConfig.producerFactory();
+    @DisplayName("Should send pre-encoded event bytes without JSON type headers")
+    void shouldSendPreEncodedEventBytesWithoutTypeHeaders() {
+        ProducerFactory<String, byte[]> producerFactory = kafkaConfig.producerFactory();
         Map<String, Object> configProps = producerFactory.getConfigurationProperties();
-        
-        // Verify type headers are disabled
-        assertEquals(false, configProps.get(JsonSerializer.ADD_TYPE_INFO_HEADERS));
+
+        // Events are encoded by the ContractEventSerializer, not by the producer
+        assertEquals(ByteArraySerializer.class, configProps.get(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG));
+        assertFalse(configProps.containsKey(JsonSerializer.ADD_TYPE_INFO_HEADERS));
     }
 
     @Test
@@ -79,7 +83,7 @@ class KafkaConfigTest {
         // Test with different bootstrap servers
         setPrivateField(kafkaConfig, "bootstrapServers", "kafka1:9092,kafka2:9092,kafka3:9092");
         
-        ProducerFactory<String, Object> producerFactory = kafkaConfig.producerFactory();
+        ProducerFactory<String, byte[]> producerFactory = kafkaConfig.producerFactory();
         Map<String, Object> configProps = producerFactory.getConfigurationProperties();
         
         assertEquals("kafka1:9092,kafka2:9092,kafka3:9092", 
@@ -102,7 +106,7 @@ class KafkaConfigTest {
     void shouldHandleEmptyBootstrapServers() {
         setPrivateField(kafkaConfig, "bootstrapServers", "");
         
-        ProducerFactory<String, Object> producerFactory = kafkaConfig.producerFactory();
+        ProducerFactory<String, byte[]> producerFactory = kafkaConfig.producerFactory();
         Map<String, Object> configProps = producerFactory.getConfigurationProperties();
         
         assertEquals("", configProps.get(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG));
@@ -113,7 +117,7 @@ class KafkaConfigTest {
     @Test
     @DisplayName("Should create KafkaTemplate with producer factory")
     void shouldCreateKafkaTemplateWithProducerFactory() {
-        KafkaTemplate<String, Object> kafkaTemplate = kafkaConfig.kafkaTemplate();
+        KafkaTemplate<String, byte[]> kafkaTemplate = kafkaConfig.kafkaTemplate();
         
         assertNotNull(kafkaTemplate);
         assertNotNull(kafkaTemplate.getProducerFactory());
@@ -122,8 +126,8 @@ class KafkaConfigTest {
     @Test
     @DisplayName("Should create KafkaTemplate with same configuration as producer factory")
     void shouldCreateKafkaTemplateWithSameConfigurationAsProducerFactory() {
-        ProducerFactory<String, Object> producerFactory = kafkaConfig.producerFactory();
-        KafkaTemplate<String, Object> kafkaTemplate = kafkaConfig.kafkaTemplate();
+        ProducerFactory<String, byte[]> producerFactory = kafkaConfig.producerFactory();
+        KafkaTemplate<String, byte[]> kafkaTemplate = kafkaConfig.kafkaTemplate();
         
         // Both should have the same configuration
         Map<String, Object> producerConfig = producerFactory.getConfigurationProperties();
@@ -140,8 +144,8 @@ class KafkaConfigTest {
     @Test
     @DisplayName("Should create new KafkaTemplate instance on each call")
     void shouldCreateNewKafkaTemplateInstanceOnEachCall() {
-        KafkaTemplate<String, Object> template1 = kafkaConfig.kafkaTemplate();
-        KafkaTemplate<String, Object> template2 = kafkaConfig.kafkaTemplate();
+        KafkaTemplate<String, byte[]> template1 = kafkaConfig.kafkaTemplate();
+        KafkaTemplate<String, byte[]> template2 = kafkaConfig.kafkaTemplate();
         
         assertNotNull(template1);
         assertNotNull(template2);
@@ -155,8 +159,8 @@ class KafkaConfigTest {
     @DisplayName("Should create complete Kafka configuration chain")
     void shouldCreateCompleteKafkaConfigurationChain() {
         // Test the complete chain: Config -> ProducerFactory -> KafkaTemplate
-        ProducerFactory<String, Object> producerFactory = kafkaConfig.producerFactory();
-        KafkaTemplate<String, Object> kafkaTemplate = kafkaConfig.kafkaTemplate();
+        ProducerFactory<String, byte[]> producerFactory = kafkaConfig.producerFactory();
+        KafkaTemplate<String, byte[]> kafkaTemplate = kafkaConfig.kafkaTemplate();
         
         assertNotNull(producerFactory);
         assertNotNull(kafkaTemplate);
@@ -171,10 +175,10 @@ class KafkaConfigTest {
     @DisplayName("Should maintain configuration consistency across multiple calls")
     void shouldMaintainConfigurationConsistencyAcrossMultipleCalls() {
         // Create multiple instances
-        ProducerFactory<String, Object> factory1 = kafkaConfig.producerFactory();
-        ProducerFactory<String, Object> factory2 = kafkaConfig.producerFactory();
-        KafkaTemplate<String, Object> template1 = kafkaConfig.kafkaTemplate();
-        KafkaTemplate<String, Object> template2 = kafkaConfig.kafkaTemplate();
+        ProducerFactory<String, byte[]> factory1 = kafkaConfig.producerFactory();
+        ProducerFactory<String, byte[]> factory2 = kafkaConfig.producerFactory();
+        KafkaTemplate<String, byte[]> template1 = kafkaConfig.kafkaTemplate();
+        KafkaTemplate<String, byte[]> template2 = kafkaConfig.kafkaTemplate();
         
         // All should have the same configuration
         Map<String, Object> config1 = factory1.getConfigurationProperties();
@@ -197,7 +201,7 @@ class KafkaConfigTest {
     void shouldHandleSpecialCharactersInBootstrapServers() {
         setPrivateField(kafkaConfig, "bootstrapServers", "kafka-cluster.example.com:9092");
         
-        ProducerFactory<String, Object> producerFactory = kafkaConfig.producerFactory();
+        ProducerFactory<String, byte[]> producerFactory = kafkaConfig.producerFactory();
         Map<String, Object> configProps = producerFactory.getConfigurationProperties();
         
         assertEquals("kafka-cluster.example.com:9092", 
@@ -209,7 +213,7 @@ class KafkaConfigTest {
     void shouldHandleIpv6AddressesInBootstrapServers() {
         setPrivateField(kafkaConfig, "bootstrapServers", "[::1]:9092");
         
-        ProducerFactory<String, Object> producerFactory = kafkaConfig.producerFactory();
+        ProducerFactory<String, byte[]> producerFactory = kafkaConfig.producerFactory();
         Map<String, Object> configProps = producerFactory.getConfigurationProperties();
         
         assertEquals("[::1]:9092", configProps.get(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG));
@@ -218,7 +222,7 @@ class KafkaConfigTest {
     @Test
     @DisplayName("Should verify all required configuration properties are set")
     void shouldVerifyAllRequiredConfigurationPropertiesAreSet() {
-        ProducerFactory<String, Object> producerFactory = kafkaConfig.producerFactory();
+        ProducerFactory<String, byte[]> producerFactory = kafkaConfig.producerFactory();
         Map<String, Object> configProps = producerFactory.getConfigurationProperties();
         
         // Verify all required properties are present
@@ -229,7 +233,91 @@ class KafkaConfigTest {
         assertTrue(configProps.containsKey(ProducerConfig.RETRIES_CONFIG));
         assertTrue(configProps.containsKey(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG));
         assertTrue(configProps.containsKey(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION));
-        assertTrue(configProps.containsKey(JsonSerializer.ADD_TYPE_INFO_HEADERS));
+    }
+
+    // ========== Producer Profile Tests ==========
+
+    @Test
+    @DisplayName("Should pipeline, linger, batch and compress with the throughput profile")
+    void shouldApplyThroughputProfile() {
+        setPrivateField(kafkaConfig, "producerProfile", "throughput");
+
+        Map<String, Object> configProps = kafkaConfig.producerFactory().getConfigurationProperties();
+
+        assertEquals(true, configProps.get(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG));
+        assertEquals("all", configProps.get(ProducerConfig.ACKS_CONFIG));
+        assertEquals(5, configProps.get(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION));
+        assertEquals(10, configProps.get(ProducerConfig.LINGER_MS_CONFIG));
+        assertEquals(65536, configProps.get(ProducerConfig.BATCH_SIZE_CONFIG));
+        assertEquals("lz4", configProps.get(ProducerConfig.COMPRESSION_TYPE_CONFIG));
+    }
+
+    @Test
+    @DisplayName("Should keep client defaults for linger, batch and compression with the reliable profile")
+    void shouldKeepClientDefaultsWithReliableProfile() {
+        setPrivateField(kafkaConfig, "producerProfile", "reliable");
+
+        Map<String, Object> configProps = kafkaConfig.producerFactory().getConfigurationProperties();
+
+        assertEquals(1, configProps.get(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION));
+        assertFalse(configProps.containsKey(ProducerConfig.LINGER_MS_CONFIG));
+        assertFalse(configProps.containsKey(ProducerConfig.BATCH_SIZE_CONFIG));
+        assertFalse(configProps.containsKey(ProducerConfig.COMPRESSION_TYPE_CONFIG));
+    }
+
+    @Test
+    @DisplayName("Should let explicit settings override the profile defaults")
+    void shouldApplyExplicitOverrides() {
+        setPrivateField(kafkaConfig, "producerProfile", "throughput");
+        setPrivateField(kafkaConfig, "maxInFlight", 3);
+        setPrivateField(kafkaConfig, "lingerMs", 25);
+        setPrivateField(kafkaConfig, "compressionType", "zstd");
+        setPrivateField(kafkaConfig, "batchSize", null);
+
+        Map<String, Object> configProps = kafkaConfig.producerFactory().getConfigurationProperties();
+
+        assertEquals(3, configProps.get(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION));
+        assertEquals(25, configProps.get(ProducerConfig.LINGER_MS_CONFIG));
+        assertEquals(65536, configProps.get(ProducerConfig.BATCH_SIZE_CONFIG));
+        assertEquals("zstd", configProps.get(ProducerConfig.COMPRESSION_TYPE_CONFIG));
+    }
+
+    @Test
+    @DisplayName("Should treat a blank compression override as unset")
+    void shouldTreatBlankOverrideAsUnset() {
+        setPrivateField(kafkaConfig, "producerProfile", "throughput");
+        setPrivateField(kafkaConfig, "compressionType", "");
+
+        Map<String, Object> configProps = kafkaConfig.producerFactory().getConfigurationProperties();
+
+        assertEquals("lz4", configProps.get(ProducerConfig.COMPRESSION_TYPE_CONFIG));
+    }
+
+    @Test
+    @DisplayName("Should reject more in-flight requests than the idempotent producer can keep ordered")
+    void shouldRejectTooManyInFlightRequests() {
+        setPrivateField(kafkaConfig, "maxInFlight", 6);
+
+        assertThrows(IllegalArgumentException.class, () -> kafkaConfig.producerFactory());
+    }
+
+    @Test
+    @DisplayName("Should reject unknown producer profiles")
+    void shouldRejectUnknownProfile() {
+        setPrivateField(kafkaConfig, "producerProfile", "fastest");
+
+        assertThrows(IllegalArgumentException.class, () -> kafkaConfig.producerFactory());
+    }
+
+    @Test
+    @DisplayName("Should bind producer metrics when a meter registry is available")
+    void shouldBindProducerMetricsToMeterRegistry() {
+        assertTrue(kafkaConfig.producerFactory().getListeners().isEmpty());
+
+        setPrivateField(kafkaConfig, "meterRegistry", new SimpleMeterRegistry());
+
+        assertTrue(kafkaConfig.producerFactory().getListeners().stream()
+            .anyMatch(listener -> listener instanceof MicrometerProducerListener));
     }
 
     // ========== Helper Methods ==========
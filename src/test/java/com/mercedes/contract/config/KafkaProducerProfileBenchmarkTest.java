@@ -0,0 +1,138 @@
+package com.mercedes.contract.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mercedes.contract.event.ContractCreatedEvent;
+import com.mercedes.contract.event.ContractEventSerializer;
+import com.mercedes.contract.event.JsonContractEventSerializer;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.lang.reflect.Field;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Producer profile benchmark against an embedded KRaft broker
+ * Sends CONTRACT_CREATED-sized events the way the outbox relay does (all records, then one
+ * flush) and prints throughput and producer metrics per profile.
+ *
+ * Skipped by default; run with:
+ *   mvn test -Dtest=KafkaProducerProfileBenchmarkTest -Dbenchmark=true [-Dbenchmark.records=50000]
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Kafka producer profile benchmark")
+class KafkaProducerProfileBenchmarkTest {
+
+    private static final String TOPIC = "contract-events-benchmark";
+    private static final int RECORDS = Integer.getInteger("benchmark.records", 50_000);
+    private static final int WARM_UP_RECORDS = 5_000;
+    private static final int CONTRACT_KEYS = 1_000;
+
+    private static final ContractEventSerializer SERIALIZER =
+        new JsonContractEventSerializer(new ObjectMapper().findAndRegisterModules());
+
+    private static EmbeddedKafkaBroker broker;
+
+    @BeforeAll
+    static void startBroker() {
+        broker = new EmbeddedKafkaKraftBroker(1, 3, TOPIC);
+        broker.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void stopBroker() {
+        broker.destroy();
+    }
+
+    @Test
+    @DisplayName("Compare reliable and throughput producer profiles")
+    void compareProducerProfiles() throws Exception {
+        List<String> rows = new ArrayList<>();
+        rows.add(String.format("%-22s %12s %16s %15s %20s %17s", "profile", "records/s",
+            "record-send-rate", "batch-size-avg", "request-latency-avg", "compression-rate"));
+
+        double reliable = run("reliable", null, rows);
+        double throughput = run("throughput", null, rows);
+        run("throughput", "zstd", rows);
+
+        rows.forEach(System.out::println);
+        System.out.printf("throughput/reliable speed-up: %.1fx%n", throughput / reliable);
+        assertTrue(reliable > 0 && throughput > 0);
+    }
+
+    private double run(String profile, String compressionType, List<String> rows) throws Exception {
+        KafkaConfig config = new KafkaConfig();
+        setField(config, "bootstrapServers", broker.getBrokersAsString());
+        setField(config, "producerProfile", profile);
+        setField(config, "compressionType", compressionType);
+
+        DefaultKafkaProducerFactory<String, byte[]> factory =
+            (DefaultKafkaProducerFactory<String, byte[]>) config.producerFactory();
+        KafkaTemplate<String, byte[]> template = new KafkaTemplate<>(factory);
+        try {
+            sendAll(template, WARM_UP_RECORDS);
+
+            long start = System.nanoTime();
+            sendAll(template, RECORDS);
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            double recordsPerSecond = RECORDS / seconds;
+
+            Map<MetricName, ? extends Metric> metrics = template.metrics();
+            String label = compressionType != null ? profile + " (" + compressionType + ")" : profile;
+            rows.add(String.format("%-22s %12.0f %16.0f %15.0f %17.2f ms %17.2f", label, recordsPerSecond,
+                metric(metrics, "record-send-rate"), metric(metrics, "batch-size-avg"),
+                metric(metrics, "request-latency-avg"), metric(metrics, "compression-rate-avg")));
+            return recordsPerSecond;
+        } finally {
+            factory.destroy();
+        }
+    }
+
+    private static void sendAll(KafkaTemplate<String, byte[]> template, int records) throws Exception {
+        List<CompletableFuture<?>> sends = new ArrayList<>(records);
+        for (int i = 0; i < records; i++) {
+            String contractId = String.format("CONTRACT-%08X", i % CONTRACT_KEYS);
+            sends.add(template.send(TOPIC, contractId, event(contractId)));
+        }
+        template.flush();
+        CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).get(2, TimeUnit.MINUTES);
+    }
+
+    private static byte[] event(String contractId) {
+        return SERIALIZER.serialize(new ContractCreatedEvent(UUID.randomUUID().toString(), ContractCreatedEvent.TYPE,
+            LocalDateTime.now(), new ContractCreatedEvent.Data(contractId, "PR-" + contractId, "DEAL-" + contractId,
+                                                               "contracts/" + contractId.toLowerCase() + ".pdf")));
+    }
+
+    private static double metric(Map<MetricName, ? extends Metric> metrics, String name) {
+        return metrics.entrySet().stream()
+            .filter(entry -> entry.getKey().group().equals("producer-metrics") && entry.getKey().name().equals(name))
+            .map(entry -> entry.getValue().metricValue())
+            .filter(Double.class::isInstance)
+            .mapToDouble(Double.class::cast)
+            .findFirst()
+            .orElse(Double.NaN);
+    }
+
+    private static void setField(Object target, String fieldName, Object value) throws Exception {
+        Field field = target.getClass().getDeclaredField(fieldName);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+}
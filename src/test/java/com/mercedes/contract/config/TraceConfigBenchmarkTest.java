@@ -0,0 +1,85 @@
+package com.mercedes.contract.config;
+
+import com.mercedes.contract.benchmark.JmhBenchmarks;
+import com.mercedes.contract.id.RandomUuidGenerator;
+import com.mercedes.contract.id.TraceIdGenerator;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JMH benchmark of the trace filter
+ * Measures one pass through TraceConfig per request: a generated trace ID with the w3c and the
+ * uuid generator, and a propagated X-Trace-Id header, including MDC and response header handling.
+ *
+ * Skipped by default; run with:
+ *   mvn test -Dtest=TraceConfigBenchmarkTest -Dbenchmark=true
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@DisplayName("Trace filter benchmark")
+public class TraceConfigBenchmarkTest {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private final TraceConfig w3cFilter = new TraceConfig(new TraceIdGenerator());
+    private final TraceConfig uuidFilter = new TraceConfig(new RandomUuidGenerator());
+    private final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/v1/contracts");
+    private final MockHttpServletRequest tracedRequest = new MockHttpServletRequest("POST", "/v1/contracts");
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    public TraceConfigBenchmarkTest() {
+        tracedRequest.addHeader("X-Trace-Id", "4bf92f3577b34da6a3ce929d0e0e4736");
+    }
+
+    @Benchmark
+    public Object generatedW3cTraceId() throws ServletException, IOException {
+        w3cFilter.doFilter(request, response, NO_OP_CHAIN);
+        return response.getHeader("X-Trace-Id");
+    }
+
+    @Benchmark
+    public Object generatedUuidTraceId() throws ServletException, IOException {
+        uuidFilter.doFilter(request, response, NO_OP_CHAIN);
+        return response.getHeader("X-Trace-Id");
+    }
+
+    @Benchmark
+    public Object propagatedTraceId() throws ServletException, IOException {
+        w3cFilter.doFilter(tracedRequest, response, NO_OP_CHAIN);
+        return response.getHeader("X-Trace-Id");
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @DisplayName("Measure trace ID handling per request")
+    void measureTraceFilter() throws Exception {
+        Collection<RunResult> results = JmhBenchmarks.run(TraceConfigBenchmarkTest.class);
+
+        assertEquals(3, results.size());
+    }
+}
@@ -1,5 +1,7 @@
 package com.mercedes.contract.config;
 
+import com.mercedes.contract.id.RandomUuidGenerator;
+import com.mercedes.contract.id.TraceIdGenerator;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -11,6 +13,7 @@ import org.slf4j.MDC;
 
 import java.io.IOException;
 import java.util.UUID;
+import java.util.regex.Pattern;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -21,6 +24,9 @@ import static org.junit.jupiter.api.Assertions.*;
  */
 class TraceConfigTest {
 
+    // W3C Trace Context trace-id
+    private static final Pattern W3C_TRACE_ID = Pattern.compile("[0-9a-f]{32}");
+
     private TraceConfig traceConfig;
     private MockHttpServletRequest request;
     private MockHttpServletResponse response;
@@ -28,7 +34,7 @@ class TraceConfigTest {
 
     @BeforeEach
     void setUp() {
-        traceConfig = new TraceConfig();
+        traceConfig = new TraceConfig(new TraceIdGenerator());
         request = new MockHttpServletRequest();
         response = new MockHttpServletResponse();
         filterChain = new MockFilterChain();
@@ -64,8 +70,8 @@ class TraceConfigTest {
         assertNotNull(responseTraceId);
         assertFalse(responseTraceId.isEmpty());
         
-        // Verify it's a valid UUID format
-        assertDoesNotThrow(() -> UUID.fromString(responseTraceId));
+        // Verify it's a valid W3C trace-id
+        assertTrue(W3C_TRACE_ID.matcher(responseTraceId).matches());
         
         // Verify filter chain was called
         assertTrue(filterChain.wasDoFilterCalled());
@@ -83,8 +89,8 @@ class TraceConfigTest {
         assertNotNull(responseTraceId);
         assertFalse(responseTraceId.isEmpty());
         
-        // Verify it's a valid UUID format
-        assertDoesNotThrow(() -> UUID.fromString(responseTraceId));
+        // Verify it's a valid W3C trace-id
+        assertTrue(W3C_TRACE_ID.matcher(responseTraceId).matches());
     }
 
     @Test
@@ -99,8 +105,8 @@ class TraceConfigTest {
         assertNotNull(responseTraceId);
         assertFalse(responseTraceId.trim().isEmpty());
         
-        // Verify it's a valid UUID format
-        assertDoesNotThrow(() -> UUID.fromString(responseTraceId));
+        // Verify it's a valid W3C trace-id
+        assertTrue(W3C_TRACE_ID.matcher(responseTraceId).matches());
     }
 
     @Test
@@ -234,9 +240,9 @@ class TraceConfigTest {
         assertNotNull(traceId2);
         assertNotEquals(traceId1, traceId2);
         
-        // Verify both are valid UUIDs
-        assertDoesNotThrow(() -> UUID.fromString(traceId1));
-        assertDoesNotThrow(() -> UUID.fromString(traceId2));
+        // Verify both are valid W3C trace-ids
+        assertTrue(W3C_TRACE_ID.matcher(traceId1).matches());
+        assertTrue(W3C_TRACE_ID.matcher(traceId2).matches());
     }
 
     @Test
@@ -286,6 +292,17 @@ class TraceConfigTest {
         });
     }
 
+    @Test
+    @DisplayName("Should generate UUID trace IDs with the uuid generator")
+    void shouldGenerateUuidTraceIdsWithUuidGenerator() throws ServletException, IOException {
+        traceConfig = new TraceConfig(new RandomUuidGenerator());
+
+        traceConfig.doFilterInternal(request, response, filterChain);
+
+        String responseTraceId = response.getHeader("X-Trace-Id");
+        assertDoesNotThrow(() -> UUID.fromString(responseTraceId));
+    }
+
     // ========== Mock Servlet Objects ==========
 
     private static class MockHttpServletRequest implements HttpServletRequest {
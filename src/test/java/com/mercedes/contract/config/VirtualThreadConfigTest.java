@@ -0,0 +1,69 @@
+package com.mercedes.contract.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for VirtualThreadConfig and BoundedVirtualThreadExecutor
+ * Tests the Java version guard and the concurrency bound of the virtual-thread executor
+ */
+@DisplayName("VirtualThreadConfig Tests")
+class VirtualThreadConfigTest {
+
+    @Test
+    @EnabledForJreRange(max = JRE.JAVA_20)
+    @DisplayName("Should refuse virtual-thread mode before Java 21")
+    void shouldRefuseVirtualThreadModeBeforeJava21() {
+        IllegalStateException exception = assertThrows(IllegalStateException.class, VirtualThreadConfig::new);
+
+        assertTrue(exception.getMessage().contains("requires Java 21"));
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    @DisplayName("Should run tasks on virtual threads, at most the configured number at a time")
+    void shouldBoundConcurrentVirtualThreads() throws Exception {
+        BoundedVirtualThreadExecutor executor = new BoundedVirtualThreadExecutor("contract-gen-", 2, 5_000);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(2);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicBoolean allVirtual = new AtomicBoolean(true);
+        Runnable task = () -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            allVirtual.compareAndSet(true, Thread.currentThread().getName().startsWith("contract-gen-"));
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+        };
+
+        executor.execute(task);
+        executor.execute(task);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertThrows(TaskRejectedException.class, () -> executor.execute(task),
+                     "Third submission should be rejected rather than wait for a free slot");
+        assertEquals(2, executor.getActiveCount());
+
+        release.countDown();
+        executor.close();
+
+        assertEquals(2, maxRunning.get());
+        assertEquals(0, executor.getActiveCount());
+        assertTrue(allVirtual.get());
+        assertThrows(TaskRejectedException.class, () -> executor.execute(task));
+    }
+}
@@ -3,6 +3,10 @@ package com.mercedes.contract.config;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.ResourceHttpMessageConverter;
+import org.springframework.http.converter.ResourceRegionHttpMessageConverter;
+import org.springframework.http.converter.StringHttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.CorsRegistration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 
@@ -39,6 +43,24 @@ class WebConfigTest {
         setPrivateField(webConfig, "allowCredentials", true);
     }
 
+    // ========== Unit Tests for extendMessageConverters() method ==========
+
+    @Test
+    @DisplayName("Should replace resource converters with zero-copy variants")
+    void shouldReplaceResourceConvertersWithZeroCopyVariants() {
+        List<HttpMessageConverter<?>> converters = new ArrayList<>(List.of(
+            new StringHttpMessageConverter(),
+            new ResourceHttpMessageConverter(),
+            new ResourceRegionHttpMessageConverter()));
+
+        webConfig.extendMessageConverters(converters);
+
+        assertEquals(3, converters.size());
+        assertInstanceOf(StringHttpMessageConverter.class, converters.get(0));
+        assertInstanceOf(ZeroCopyResourceHttpMessageConverter.class, converters.get(1));
+        assertInstanceOf(ZeroCopyResourceRegionHttpMessageConverter.class, converters.get(2));
+    }
+
     // ========== Unit Tests for addCorsMappings() method ==========
 
     @Test
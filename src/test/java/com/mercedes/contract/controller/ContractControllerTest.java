@@ -1,26 +1,38 @@
 package com.mercedes.contract.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mercedes.contract.dto.AuditEventResponse;
+import com.mercedes.contract.dto.ContractAuditResponse;
+import com.mercedes.contract.dto.ContractDetailsJson;
 import com.mercedes.contract.dto.ContractDetailsResponse;
 import com.mercedes.contract.dto.ContractRequest;
 import com.mercedes.contract.dto.ContractResponse;
+import com.mercedes.contract.dto.ContractStatusResponse;
 import com.mercedes.contract.exception.ContractGenerationException;
 import com.mercedes.contract.exception.ContractNotFoundException;
+import com.mercedes.contract.exception.IdempotencyKeyReusedException;
+import com.mercedes.contract.service.ContractAuditService;
 import com.mercedes.contract.service.ContractService;
+import com.mercedes.contract.storage.ContractDocument;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
 import java.io.File;
 import java.io.IOException;
 import java.net.URI;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.List;
 import java.util.Arrays;
+import java.util.Optional;
 import jakarta.servlet.http.HttpServletRequest;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
@@ -35,17 +47,22 @@ import static org.mockito.Mockito.*;
  */
 class ContractControllerTest {
 
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().findAndRegisterModules();
+
     private ContractController contractController;
     private MockContractService mockContractService;
 
     @Mock
     private HttpServletRequest mockRequest;
 
+    @Mock
+    private ContractAuditService mockContractAuditService;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
         mockContractService = new MockContractService();
-        contractController = new ContractController(mockContractService);
+        contractController = new ContractController(mockContractService, mockContractAuditService);
 
         // Setup mock HttpServletRequest
         when(mockRequest.getContentType()).thenReturn("application/json");
@@ -59,7 +76,7 @@ class ContractControllerTest {
     void shouldGenerateContractSuccessfully() {
         ContractRequest request = createValidContractRequest();
         
-        ResponseEntity<ContractResponse> response = contractController.generateContract(request, "trace-123", mockRequest);
+        ResponseEntity<ContractResponse> response = contractController.generateContract(request, "trace-123", null, mockRequest);
         
         assertNotNull(response);
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
@@ -73,12 +90,26 @@ class ContractControllerTest {
         assertEquals("/v1/contracts/CONTRACT-12345", location.toString());
     }
 
+    @Test
+    @DisplayName("Should return 202 with status location for asynchronous generation")
+    void shouldReturnAcceptedWithStatusLocationForAsynchronousGeneration() {
+        ContractRequest request = createValidContractRequest();
+        request.setPurchaseRequestId("ASYNC_PR");
+
+        ResponseEntity<ContractResponse> response = contractController.generateContract(request, "trace-123", null, mockRequest);
+
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("PENDING", response.getBody().getContractStatus());
+        assertEquals("/v1/contracts/CONTRACT-12345/status", response.getHeaders().getLocation().toString());
+    }
+
     @Test
     @DisplayName("Should handle valid request with trace ID")
     void shouldHandleValidRequestWithTraceId() {
         ContractRequest request = createValidContractRequest();
         
-        ResponseEntity<ContractResponse> response = contractController.generateContract(request, "custom-trace-id", mockRequest);
+        ResponseEntity<ContractResponse> response = contractController.generateContract(request, "custom-trace-id", null, mockRequest);
         
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
         assertNotNull(response.getBody());
@@ -89,7 +120,7 @@ class ContractControllerTest {
     void shouldHandleValidRequestWithoutTraceId() {
         ContractRequest request = createValidContractRequest();
         
-        ResponseEntity<ContractResponse> response = contractController.generateContract(request, null, mockRequest);
+        ResponseEntity<ContractResponse> response = contractController.generateContract(request, null, null, mockRequest);
         
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
         assertNotNull(response.getBody());
@@ -102,7 +133,30 @@ class ContractControllerTest {
         request.setPurchaseRequestId("DUPLICATE_PR");
         
         assertThrows(ContractGenerationException.class, () -> {
-            contractController.generateContract(request, "trace-123", mockRequest);
+            contractController.generateContract(request, "trace-123", null, mockRequest);
+        });
+    }
+
+    @Test
+    @DisplayName("Should return 200 with the original contract for a retried request")
+    void shouldReturnOkWithOriginalContractForRetriedRequest() {
+        ContractRequest request = createValidContractRequest();
+        request.setPurchaseRequestId("REPLAYED_PR");
+
+        ResponseEntity<ContractResponse> response = contractController.generateContract(request, "trace-123", "key-1", mockRequest);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("CONTRACT-ORIGINAL", response.getBody().getContractId());
+        assertEquals("/v1/contracts/CONTRACT-ORIGINAL", response.getHeaders().getLocation().toString());
+    }
+
+    @Test
+    @DisplayName("Should propagate IdempotencyKeyReusedException")
+    void shouldPropagateIdempotencyKeyReusedException() {
+        ContractRequest request = createValidContractRequest();
+
+        assertThrows(IdempotencyKeyReusedException.class, () -> {
+            contractController.generateContract(request, "trace-123", "REUSED_KEY", mockRequest);
         });
     }
 
@@ -110,16 +164,27 @@ class ContractControllerTest {
 
     @Test
     @DisplayName("Should retrieve contract details successfully")
-    void shouldRetrieveContractDetailsSuccessfully() {
+    void shouldRetrieveContractDetailsSuccessfully() throws IOException {
         String contractId = "CONTRACT-12345";
         
-        ResponseEntity<ContractDetailsResponse> response = contractController.getContractById(contractId, "trace-123");
+        ResponseEntity<byte[]> response = contractController.getContractById(contractId, "trace-123");
         
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertEquals(contractId, response.getBody().getContractId());
-        assertEquals("PR-12345", response.getBody().getPurchaseRequestId());
+        ContractDetailsResponse details = OBJECT_MAPPER.readValue(response.getBody(), ContractDetailsResponse.class);
+        assertEquals(contractId, details.getContractId());
+        assertEquals("PR-12345", details.getPurchaseRequestId());
+    }
+
+    @Test
+    @DisplayName("Should return contract details with JSON content type and ETag")
+    void shouldReturnContractDetailsWithContentTypeAndETag() {
+        ResponseEntity<byte[]> response = contractController.getContractById("CONTRACT-12345", "trace-123");
+
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals("\"details-etag\"", response.getHeaders().getETag());
+        assertEquals("no-cache, private", response.getHeaders().getCacheControl());
     }
 
     @Test
@@ -127,7 +192,7 @@ class ContractControllerTest {
     void shouldHandleContractRetrievalWithTraceId() {
         String contractId = "CONTRACT-12345";
         
-        ResponseEntity<ContractDetailsResponse> response = contractController.getContractById(contractId, "custom-trace");
+        ResponseEntity<byte[]> response = contractController.getContractById(contractId, "custom-trace");
         
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
@@ -138,7 +203,7 @@ class ContractControllerTest {
     void shouldHandleContractRetrievalWithoutTraceId() {
         String contractId = "CONTRACT-12345";
         
-        ResponseEntity<ContractDetailsResponse> response = contractController.getContractById(contractId, null);
+        ResponseEntity<byte[]> response = contractController.getContractById(contractId, null);
         
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
@@ -154,6 +219,54 @@ class ContractControllerTest {
         });
     }
 
+    // ========== Unit Tests for getContractStatus endpoint ==========
+
+    @Test
+    @DisplayName("Should retrieve contract status successfully")
+    void shouldRetrieveContractStatusSuccessfully() {
+        ResponseEntity<ContractStatusResponse> response = contractController.getContractStatus("CONTRACT-12345", "trace-123");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("CONTRACT-12345", response.getBody().getContractId());
+        assertEquals("RENDERED", response.getBody().getStatus());
+    }
+
+    @Test
+    @DisplayName("Should propagate ContractNotFoundException for status")
+    void shouldPropagateContractNotFoundExceptionForStatus() {
+        assertThrows(ContractNotFoundException.class, () -> {
+            contractController.getContractStatus("NON_EXISTENT", "trace-123");
+        });
+    }
+
+    // ========== Unit Tests for getContractAudit endpoint ==========
+
+    @Test
+    @DisplayName("Should return contract audit trail")
+    void shouldReturnContractAuditTrail() {
+        ContractAuditResponse audit = new ContractAuditResponse("CONTRACT-12345", List.of(
+            new AuditEventResponse("CONTRACT_CREATED", LocalDateTime.now(), "SUCCESS", "trace-123", Map.of())));
+        when(mockContractAuditService.getContractAudit("CONTRACT-12345", 100)).thenReturn(audit);
+
+        ResponseEntity<ContractAuditResponse> response =
+            contractController.getContractAudit("CONTRACT-12345", 100, "trace-123");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(audit, response.getBody());
+    }
+
+    @Test
+    @DisplayName("Should propagate ContractNotFoundException for audit trail")
+    void shouldPropagateContractNotFoundExceptionForAudit() {
+        when(mockContractAuditService.getContractAudit("NON_EXISTENT", 100))
+            .thenThrow(new ContractNotFoundException("NON_EXISTENT"));
+
+        assertThrows(ContractNotFoundException.class, () -> {
+            contractController.getContractAudit("NON_EXISTENT", 100, "trace-123");
+        });
+    }
+
     // ========== Unit Tests for downloadContractPdf endpoint ==========
 
     @Test
@@ -176,6 +289,9 @@ class ContractControllerTest {
         assertEquals("application/pdf", response.getHeaders().getContentType().toString());
         assertTrue(response.getHeaders().getContentDisposition().toString().contains("attachment"));
         assertTrue(response.getHeaders().getContentDisposition().toString().contains(contractId + ".pdf"));
+        assertEquals("\"abc123\"", response.getHeaders().getETag());
+        assertEquals(Instant.parse("2026-10-01T10:00:00Z").toEpochMilli(), response.getHeaders().getLastModified());
+        assertEquals("max-age=31536000, private, immutable", response.getHeaders().getCacheControl());
     }
 
     @Test
@@ -267,7 +383,7 @@ class ContractControllerTest {
         private String pdfLocation = "/mock/path/contract.pdf";
         
         public MockContractService() {
-            super(null, null, null, null);
+            super(null, null, null, null, null, null, null, null);
         }
         
         public void setPdfLocation(String location) {
@@ -275,10 +391,25 @@ class ContractControllerTest {
         }
         
         @Override
-        public ContractResponse generateContract(ContractRequest request) {
+        public ContractResponse generateContract(ContractRequest request, String idempotencyKey) {
             if ("DUPLICATE_PR".equals(request.getPurchaseRequestId())) {
                 throw new ContractGenerationException(request.getPurchaseRequestId(), "Contract already exists");
             }
+
+            if ("REUSED_KEY".equals(idempotencyKey)) {
+                throw new IdempotencyKeyReusedException(request.getPurchaseRequestId(), null);
+            }
+
+            if ("REPLAYED_PR".equals(request.getPurchaseRequestId())) {
+                ContractResponse existing = new ContractResponse("CONTRACT-ORIGINAL",
+                    "http://example.com/contracts/CONTRACT-ORIGINAL.pdf", "SIGNED", LocalDateTime.now());
+                existing.setReplayed(true);
+                return existing;
+            }
+
+            if ("ASYNC_PR".equals(request.getPurchaseRequestId())) {
+                return new ContractResponse("CONTRACT-12345", null, "PENDING", null);
+            }
             
             return new ContractResponse(
                 "CONTRACT-12345",
@@ -304,7 +435,26 @@ class ContractControllerTest {
             response.setCreatedAt(LocalDateTime.now());
             return response;
         }
+
+        @Override
+        public ContractDetailsJson getContractDetailsJson(String contractId) {
+            try {
+                return new ContractDetailsJson(contractId,
+                    OBJECT_MAPPER.writeValueAsBytes(getContractById(contractId)), "\"details-etag\"");
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
         
+        @Override
+        public ContractStatusResponse getContractStatus(String contractId) {
+            if ("NON_EXISTENT".equals(contractId)) {
+                throw new ContractNotFoundException(contractId);
+            }
+            return new ContractStatusResponse(contractId, "RENDERED", pdfLocation, null,
+                                              LocalDateTime.now(), LocalDateTime.now());
+        }
+
         @Override
         public String getContractPdfLocation(String contractId) {
             if ("NON_EXISTENT".equals(contractId)) {
@@ -312,6 +462,14 @@ class ContractControllerTest {
             }
             return pdfLocation;
         }
+
+        @Override
+        public Optional<ContractDocument> getContractDocument(String contractId) {
+            Resource document = new FileSystemResource(getContractPdfLocation(contractId));
+            return document.exists()
+                ? Optional.of(new ContractDocument(document, "abc123", Instant.parse("2026-10-01T10:00:00Z")))
+                : Optional.empty();
+        }
         
         private Map<String, Object> createMockCustomerDetails() {
             Map<String, Object> customer = new HashMap<>();
@@ -0,0 +1,154 @@
+package com.mercedes.contract.controller;
+
+import com.mercedes.contract.config.ZeroCopyResourceHttpMessageConverter;
+import com.mercedes.contract.config.ZeroCopyResourceRegionHttpMessageConverter;
+import com.mercedes.contract.service.ContractAuditService;
+import com.mercedes.contract.service.ContractService;
+import com.mercedes.contract.storage.ContractDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Optional;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * HTTP-level tests for the contract PDF download
+ * Covers conditional requests, byte ranges and cache headers through the MVC stack
+ * with the zero-copy resource converters, both streamed and handed to the container's sendfile
+ */
+@DisplayName("Contract PDF download Tests")
+class ContractPdfDownloadTest {
+
+    private static final String CONTRACT_ID = "CONTRACT-ABC12345";
+    private static final String PDF_URL = "/v1/contracts/" + CONTRACT_ID + "/pdf";
+    private static final String CONTENT = "%PDF-1.7 contract body %%EOF";
+    private static final String ETAG = "\"9f86d081884c7d659a2feaa0c55ad015\"";
+    private static final Instant GENERATED_AT = Instant.parse("2026-10-01T10:00:00Z");
+
+    @TempDir
+    Path tempDir;
+
+    private Path pdf;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        pdf = Files.writeString(tempDir.resolve("contract-abc12345.pdf"), CONTENT, StandardCharsets.US_ASCII);
+        ContractService contractService = mock(ContractService.class);
+        when(contractService.getContractDocument(CONTRACT_ID)).thenReturn(Optional.of(
+            new ContractDocument(new FileSystemResource(pdf), ETAG.replace("\"", ""), GENERATED_AT)));
+
+        mockMvc = MockMvcBuilders.standaloneSetup(new ContractController(contractService, mock(ContractAuditService.class)))
+            .setMessageConverters(
+                new ZeroCopyResourceHttpMessageConverter(),
+                new ZeroCopyResourceRegionHttpMessageConverter(),
+                new MappingJackson2HttpMessageConverter())
+            .build();
+    }
+
+    @Test
+    @DisplayName("Should serve full PDF with validators and long-lived cache headers")
+    void shouldServeFullPdfWithValidators() throws Exception {
+        mockMvc.perform(get(PDF_URL))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+            .andExpect(header().string(HttpHeaders.LAST_MODIFIED, httpDate(GENERATED_AT)))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, private, immutable"))
+            .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+            .andExpect(content().bytes(CONTENT.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    @Test
+    @DisplayName("Should return 304 when If-None-Match matches the ETag")
+    void shouldReturnNotModifiedForMatchingETag() throws Exception {
+        mockMvc.perform(get(PDF_URL).header(HttpHeaders.IF_NONE_MATCH, ETAG))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+            .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    @DisplayName("Should return 200 when If-None-Match does not match")
+    void shouldServePdfForStaleETag() throws Exception {
+        mockMvc.perform(get(PDF_URL).header(HttpHeaders.IF_NONE_MATCH, "\"stale\""))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should return 304 when not modified since the given date")
+    void shouldReturnNotModifiedForIfModifiedSince() throws Exception {
+        mockMvc.perform(get(PDF_URL).header(HttpHeaders.IF_MODIFIED_SINCE, httpDate(GENERATED_AT.plusSeconds(60))))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("Should serve requested byte range with 206")
+    void shouldServeByteRange() throws Exception {
+        mockMvc.perform(get(PDF_URL).header(HttpHeaders.RANGE, "bytes=9-16"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 9-16/" + CONTENT.length()))
+            .andExpect(content().bytes(CONTENT.substring(9, 17).getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    @Test
+    @DisplayName("Should serve open-ended suffix range")
+    void shouldServeSuffixRange() throws Exception {
+        mockMvc.perform(get(PDF_URL).header(HttpHeaders.RANGE, "bytes=-5"))
+            .andExpect(status().isPartialContent())
+            .andExpect(content().bytes("%%EOF".getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    @Test
+    @DisplayName("Should return 416 for unsatisfiable range")
+    void shouldRejectUnsatisfiableRange() throws Exception {
+        mockMvc.perform(get(PDF_URL).header(HttpHeaders.RANGE, "bytes=1000-2000"))
+            .andExpect(status().isRequestedRangeNotSatisfiable())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */" + CONTENT.length()));
+    }
+
+    @Test
+    @DisplayName("Should hand the whole PDF to sendfile instead of writing it when the connector supports it")
+    void shouldUseSendfileWhenSupported() throws Exception {
+        mockMvc.perform(get(PDF_URL).requestAttr("org.apache.tomcat.sendfile.support", true))
+            .andExpect(status().isOk())
+            .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, CONTENT.length()))
+            .andExpect(request().attribute("org.apache.tomcat.sendfile.filename", pdf.toFile().getCanonicalPath()))
+            .andExpect(request().attribute("org.apache.tomcat.sendfile.start", 0L))
+            .andExpect(request().attribute("org.apache.tomcat.sendfile.end", (long) CONTENT.length()))
+            .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    @DisplayName("Should hand a single byte range to sendfile with its Content-Range")
+    void shouldUseSendfileForByteRange() throws Exception {
+        mockMvc.perform(get(PDF_URL).header(HttpHeaders.RANGE, "bytes=9-16")
+                .requestAttr("org.apache.tomcat.sendfile.support", true))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 9-16/" + CONTENT.length()))
+            .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 8))
+            .andExpect(request().attribute("org.apache.tomcat.sendfile.start", 9L))
+            .andExpect(request().attribute("org.apache.tomcat.sendfile.end", 17L))
+            .andExpect(content().bytes(new byte[0]));
+    }
+
+    private static String httpDate(Instant instant) {
+        return DateTimeFormatter.ofPattern("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.US).format(instant.atZone(ZoneOffset.UTC));
+    }
+}
@@ -1,5 +1,7 @@
 package com.mercedes.contract.controller;
 
+import com.mercedes.contract.health.DependencyHealthSampler;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -16,26 +18,25 @@ import static org.junit.jupiter.api.Assertions.*;
 /**
  * Unit tests for HealthController
  * Tests health check endpoints with various database states
- * No Spring context - pure unit tests with mock DataSource
+ * No Spring context - pure unit tests with mock DataSource, sampled explicitly before each probe
  */
 class HealthControllerTest {
 
     private HealthController healthController;
+    private DependencyHealthSampler healthSampler;
     private MockDataSource mockDataSource;
 
     @BeforeEach
     void setUp() {
-        healthController = new HealthController();
         mockDataSource = new MockDataSource();
-        
-        // Use reflection to set the private DataSource field
-        try {
-            var field = HealthController.class.getDeclaredField("dataSource");
-            field.setAccessible(true);
-            field.set(healthController, mockDataSource);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to inject mock DataSource", e);
-        }
+        healthSampler = new DependencyHealthSampler(mockDataSource, null);
+        healthSampler.start();
+        healthController = new HealthController(healthSampler);
+    }
+
+    @AfterEach
+    void tearDown() {
+        healthSampler.stop();
     }
 
     // ========== Unit Tests for /health/ready endpoint ==========
@@ -45,6 +46,8 @@ class HealthControllerTest {
     void shouldReturnUpStatusWhenDatabaseIsHealthy() {
         mockDataSource.setHealthy(true);
         
+        healthSampler.sample();
+        
         ResponseEntity<Map<String, Object>> response = healthController.readiness();
         
         assertNotNull(response);
@@ -62,6 +65,8 @@ class HealthControllerTest {
     void shouldReturnDownStatusWhenDatabaseConnectionIsInvalid() {
         mockDataSource.setHealthy(false);
         
+        healthSampler.sample();
+        
         ResponseEntity<Map<String, Object>> response = healthController.readiness();
         
         assertNotNull(response);
@@ -79,6 +84,8 @@ class HealthControllerTest {
     void shouldReturnDownStatusWhenDatabaseConnectionThrowsException() {
         mockDataSource.setThrowException(true);
         
+        healthSampler.sample();
+        
         ResponseEntity<Map<String, Object>> response = healthController.readiness();
         
         assertNotNull(response);
@@ -136,6 +143,8 @@ class HealthControllerTest {
     void shouldReturnHealthyContractServiceStatusWhenDatabaseIsUp() {
         mockDataSource.setHealthy(true);
         
+        healthSampler.sample();
+        
         ResponseEntity<Map<String, Object>> response = healthController.contractHealth();
         
         assertNotNull(response);
@@ -157,6 +166,8 @@ class HealthControllerTest {
     void shouldReturnUnhealthyContractServiceStatusWhenDatabaseIsInvalid() {
         mockDataSource.setHealthy(false);
         
+        healthSampler.sample();
+        
         ResponseEntity<Map<String, Object>> response = healthController.contractHealth();
         
         assertNotNull(response);
@@ -177,6 +188,8 @@ class HealthControllerTest {
     void shouldReturnUnhealthyContractServiceStatusWhenDatabaseThrowsException() {
         mockDataSource.setThrowException(true);
         
+        healthSampler.sample();
+        
         ResponseEntity<Map<String, Object>> response = healthController.contractHealth();
         
         assertNotNull(response);
@@ -197,6 +210,8 @@ class HealthControllerTest {
     void shouldIncludeAllRequiredFieldsInContractHealthResponse() {
         mockDataSource.setHealthy(true);
         
+        healthSampler.sample();
+        
         ResponseEntity<Map<String, Object>> response = healthController.contractHealth();
         
         Map<String, Object> body = response.getBody();
@@ -218,11 +233,77 @@ class HealthControllerTest {
         assertTrue(body.get("timestamp") instanceof Long);
     }
 
+    // ========== Unit Tests for snapshot handling ==========
+
+    @Test
+    @DisplayName("Should answer probes from the snapshot without borrowing connections")
+    void shouldAnswerProbesWithoutBorrowingConnections() {
+        healthSampler.sample();
+        int borrowedBySampler = mockDataSource.getConnectionsBorrowed();
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(HttpStatus.OK, healthController.readiness().getStatusCode());
+            assertEquals(HttpStatus.OK, healthController.contractHealth().getStatusCode());
+        }
+
+        assertEquals(1, borrowedBySampler);
+        assertEquals(borrowedBySampler, mockDataSource.getConnectionsBorrowed());
+    }
+
+    @Test
+    @DisplayName("Should report DOWN before the first health check")
+    void shouldReportDownBeforeFirstHealthCheck() {
+        ResponseEntity<Map<String, Object>> response = healthController.readiness();
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("DOWN", response.getBody().get("status"));
+        assertEquals("DOWN", response.getBody().get("database"));
+        assertEquals("Health not checked yet", response.getBody().get("message"));
+        assertEquals(0, mockDataSource.getConnectionsBorrowed());
+    }
+
+    @Test
+    @DisplayName("Should report DOWN when the snapshot is stale")
+    void shouldReportDownWhenSnapshotIsStale() throws Exception {
+        healthSampler.sample();
+        var field = DependencyHealthSampler.class.getDeclaredField("staleAfterMs");
+        field.setAccessible(true);
+        field.set(healthSampler, -1L);
+
+        ResponseEntity<Map<String, Object>> readiness = healthController.readiness();
+        ResponseEntity<Map<String, Object>> contractHealth = healthController.contractHealth();
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, readiness.getStatusCode());
+        assertEquals("Health status is stale", readiness.getBody().get("message"));
+        assertEquals("DOWN", readiness.getBody().get("database"));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, contractHealth.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Should include per-dependency latency in contract health")
+    @SuppressWarnings("unchecked")
+    void shouldIncludeDependencyLatencyInContractHealth() {
+        healthSampler.sample();
+
+        Map<String, Object> body = healthController.contractHealth().getBody();
+
+        Map<String, Object> dependencies = (Map<String, Object>) body.get("dependencies");
+        Map<String, Object> database = (Map<String, Object>) dependencies.get("database");
+        assertEquals("UP", database.get("status"));
+        assertTrue(database.get("latencyMs") instanceof Long);
+        assertFalse(dependencies.containsKey("kafka"));
+    }
+
     // ========== Mock DataSource Implementation ==========
 
     private static class MockDataSource implements DataSource {
         private boolean healthy = true;
         private boolean throwException = false;
+        private int connectionsBorrowed;
+        
+        public int getConnectionsBorrowed() {
+            return connectionsBorrowed;
+        }
         
         public void setHealthy(boolean healthy) {
             this.healthy = healthy;
@@ -234,6 +315,7 @@ class HealthControllerTest {
         
         @Override
         public Connection getConnection() throws SQLException {
+            connectionsBorrowed++;
             if (throwException) {
                 throw new SQLException("Mock database connection failed");
             }
@@ -0,0 +1,113 @@
+package com.mercedes.contract.dto;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.mercedes.contract.benchmark.ContractFixtures;
+import com.mercedes.contract.benchmark.JmhBenchmarks;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JMH benchmark of the JSON mapping on the contract request and read paths
+ * requestDeserialization reads a POST /contracts body into ContractRequest; jsonbToDetailsResponse
+ * maps the three JSONB column values into Maps (as the Hibernate JSON mapping does) and builds the
+ * ContractDetailsResponse; detailsResponseSerialization writes it the way ContractDetailsCache does.
+ *
+ * Skipped by default; run with:
+ *   mvn test -Dtest=ContractJsonMappingBenchmarkTest -Dbenchmark=true
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@DisplayName("Contract JSON mapping benchmark")
+public class ContractJsonMappingBenchmarkTest {
+
+    private static final TypeReference<Map<String, Object>> MAP = new TypeReference<>() { };
+    private static final TypeReference<List<Map<String, Object>>> LIST_OF_MAPS = new TypeReference<>() { };
+
+    @Param({"1", "10", "100", "1000"})
+    public int massOrders;
+
+    private ObjectReader requestReader;
+    private ObjectReader mapReader;
+    private ObjectReader listReader;
+    private ObjectWriter detailsWriter;
+
+    private byte[] requestBody;
+    private String customerColumn;
+    private String financeColumn;
+    private String massOrdersColumn;
+    private ContractDetailsResponse detailsResponse;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        requestReader = objectMapper.readerFor(ContractRequest.class);
+        mapReader = objectMapper.readerFor(MAP);
+        listReader = objectMapper.readerFor(LIST_OF_MAPS);
+        detailsWriter = objectMapper.writerFor(ContractDetailsResponse.class);
+
+        requestBody = objectMapper.writeValueAsBytes(ContractFixtures.contractRequest("BENCH", massOrders));
+        customerColumn = objectMapper.writeValueAsString(ContractFixtures.customer());
+        financeColumn = objectMapper.writeValueAsString(ContractFixtures.financeDetails());
+        massOrdersColumn = objectMapper.writeValueAsString(ContractFixtures.massOrders(massOrders));
+        detailsResponse = jsonbToDetailsResponse();
+    }
+
+    @Benchmark
+    public ContractRequest requestDeserialization() throws IOException {
+        return requestReader.readValue(requestBody);
+    }
+
+    @Benchmark
+    public ContractDetailsResponse jsonbToDetailsResponse() throws IOException {
+        Map<String, Object> customer = mapReader.readValue(customerColumn);
+        Map<String, Object> finance = mapReader.readValue(financeColumn);
+        List<Map<String, Object>> orders = listReader.readValue(massOrdersColumn);
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 15, 10, 30);
+        return new ContractDetailsResponse("CONTRACT-BE7C4A01", "PR-BENCH", "DEAL-BENCH", customer, finance, orders,
+                                           "/tmp/contracts/CONTRACT-BE7C4A01.pdf", createdAt, createdAt);
+    }
+
+    @Benchmark
+    public byte[] detailsResponseSerialization() throws IOException {
+        return detailsWriter.writeValueAsBytes(detailsResponse);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @DisplayName("Measure request deserialization and details response mapping by mass order count")
+    void measureJsonMapping() throws Exception {
+        Collection<RunResult> results = JmhBenchmarks.run(ContractJsonMappingBenchmarkTest.class);
+
+        assertEquals(12, results.size());
+    }
+}
@@ -0,0 +1,176 @@
+package com.mercedes.contract.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaCompatibility;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AvroContractEventSerializer against a local schema registry stand-in
+ * Tests the wire format, round trips, schema registration and reading older writer schemas
+ */
+@DisplayName("AvroContractEventSerializer Tests")
+class AvroContractEventSerializerTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().findAndRegisterModules();
+
+    private LocalSchemaRegistryStandIn registry;
+    private AvroContractEventSerializer serializer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        registry = new LocalSchemaRegistryStandIn();
+        serializer = new AvroContractEventSerializer(client(registry));
+        setField(serializer, "contractEventsTopic", "contract-events");
+        setField(serializer, "subject", "");
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.close();
+    }
+
+    @Test
+    @DisplayName("Should round-trip an event through the binary format")
+    void shouldRoundTripEvent() {
+        ContractCreatedEvent event = event();
+
+        assertEquals(event, serializer.deserialize(serializer.serialize(event)));
+    }
+
+    @Test
+    @DisplayName("Should frame records with the magic byte and the registered schema id")
+    void shouldFrameRecordsWithRegisteredSchemaId() {
+        byte[] payload = serializer.serialize(event());
+
+        assertEquals(0, payload[0]);
+        int schemaId = ByteBuffer.wrap(payload, 1, 4).getInt();
+        assertEquals(registry.subjects().get("contract-events-value"), schemaId);
+    }
+
+    @Test
+    @DisplayName("Should register the schema once and reuse the id")
+    void shouldRegisterSchemaOnce() {
+        serializer.serialize(event());
+        int requests = registry.requests();
+
+        for (int i = 0; i < 10; i++) {
+            serializer.serialize(event());
+        }
+
+        assertEquals(1, requests);
+        assertEquals(requests, registry.requests());
+    }
+
+    @Test
+    @DisplayName("Should be at least 40% smaller than the JSON payload")
+    void shouldBeSmallerThanJson() {
+        ContractCreatedEvent event = event();
+        int json = new JsonContractEventSerializer(OBJECT_MAPPER).serialize(event).length;
+        int avro = serializer.serialize(event).length;
+
+        assertTrue(avro < json * 0.6, "avro " + avro + " bytes, json " + json + " bytes");
+    }
+
+    @Test
+    @DisplayName("Should keep a missing PDF location as null")
+    void shouldKeepMissingPdfLocationAsNull() {
+        ContractCreatedEvent event = new ContractCreatedEvent("event-1", ContractCreatedEvent.TYPE,
+            LocalDateTime.of(2024, 10, 15, 9, 30),
+            new ContractCreatedEvent.Data("CONTRACT-0000ABCD", "PR-001", "DEAL-001", null));
+
+        assertNull(serializer.deserialize(serializer.serialize(event)).data().contractPdfLocation());
+    }
+
+    @Test
+    @DisplayName("Should fail while the registry is down and recover once it is back")
+    void shouldRecoverWhenRegistryComesBack() {
+        registry.unavailable(true);
+        assertThrows(IllegalStateException.class, () -> serializer.serialize(event()));
+
+        registry.unavailable(false);
+        assertNotNull(serializer.serialize(event()));
+    }
+
+    @Test
+    @DisplayName("Should read records written with an older schema that lacked the PDF location")
+    void shouldReadRecordsWrittenWithOlderSchema() throws Exception {
+        Schema older = new Schema.Parser().parse("""
+            {"type": "record", "name": "ContractCreatedEvent", "namespace": "com.mercedes.contract.event",
+             "fields": [
+               {"name": "eventId", "type": "string"},
+               {"name": "eventType", "type": "string"},
+               {"name": "eventTimestamp", "type": {"type": "long", "logicalType": "local-timestamp-micros"}},
+               {"name": "data", "type": {"type": "record", "name": "ContractCreatedData", "fields": [
+                 {"name": "contractId", "type": "string"},
+                 {"name": "purchaseRequestId", "type": "string"},
+                 {"name": "dealId", "type": "string"}]}}]}
+            """);
+        int olderId = registry.register("contract-events-value", older.toString());
+
+        GenericRecord data = new GenericData.Record(older.getField("data").schema());
+        data.put("contractId", "CONTRACT-0000ABCD");
+        data.put("purchaseRequestId", "PR-001");
+        data.put("dealId", "DEAL-001");
+        GenericRecord record = new GenericData.Record(older);
+        record.put("eventId", "event-1");
+        record.put("eventType", ContractCreatedEvent.TYPE);
+        record.put("eventTimestamp", 1_728_984_600_000_000L);
+        record.put("data", data);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(0);
+        out.writeBytes(ByteBuffer.allocate(4).putInt(olderId).array());
+        BinaryEncoder encoder = EncoderFactory.get().directBinaryEncoder(out, null);
+        new GenericDatumWriter<GenericRecord>(older).write(record, encoder);
+
+        ContractCreatedEvent event = serializer.deserialize(out.toByteArray());
+
+        assertEquals("CONTRACT-0000ABCD", event.data().contractId());
+        assertEquals(LocalDateTime.of(2024, 10, 15, 9, 30), event.eventTimestamp());
+        assertNull(event.data().contractPdfLocation());
+        assertEquals(SchemaCompatibility.SchemaCompatibilityType.COMPATIBLE,
+                     SchemaCompatibility.checkReaderWriterCompatibility(serializer.schema(), older).getType());
+    }
+
+    @Test
+    @DisplayName("Should reject payloads without the registry framing")
+    void shouldRejectUnframedPayloads() {
+        assertThrows(IllegalArgumentException.class, () -> serializer.deserialize("{}".getBytes()));
+    }
+
+    static ContractCreatedEvent event() {
+        return new ContractCreatedEvent("0b8e4f6a-3c1d-4e2f-9a7b-5c6d7e8f9a0b", ContractCreatedEvent.TYPE,
+            LocalDateTime.of(2024, 10, 15, 9, 30, 0, 123_456_000),
+            new ContractCreatedEvent.Data("CONTRACT-0000ABCD", "PR-2024-000123", "DEAL-2024-000456",
+                                          "contracts/contract-0000abcd.pdf"));
+    }
+
+    static SchemaRegistryClient client(LocalSchemaRegistryStandIn registry) throws Exception {
+        SchemaRegistryClient client = new SchemaRegistryClient(OBJECT_MAPPER);
+        setField(client, "registryUrl", registry.url());
+        setField(client, "timeoutMs", 5000L);
+        return client;
+    }
+
+    private static void setField(Object target, String name, Object value) throws Exception {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+}
@@ -0,0 +1,114 @@
+package com.mercedes.contract.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Contract event serialization benchmark
+ * Compares payload size, throughput and allocation per event for the previous nested-map
+ * JSON payload, the typed event with a pre-built ObjectWriter, and the Avro binary format.
+ *
+ * Skipped by default; run with:
+ *   mvn test -Dtest=ContractEventSerializationBenchmarkTest -Dbenchmark=true [-Dbenchmark.events=1000000]
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Contract event serialization benchmark")
+class ContractEventSerializationBenchmarkTest {
+
+    private static final int EVENTS = Integer.getInteger("benchmark.events", 1_000_000);
+    private static final int WARM_UP_EVENTS = 200_000;
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    @DisplayName("Compare JSON and Avro event serialization")
+    void compareSerializers() throws Exception {
+        List<ContractCreatedEvent> events = new ArrayList<>(1_000);
+        for (int i = 0; i < 1_000; i++) {
+            String contractId = String.format("CONTRACT-%08X", i);
+            events.add(new ContractCreatedEvent(UUID.randomUUID().toString(), ContractCreatedEvent.TYPE,
+                LocalDateTime.now(), new ContractCreatedEvent.Data(contractId, "PR-2024-" + i, "DEAL-2024-" + i,
+                                                                   "contracts/" + contractId.toLowerCase() + ".pdf")));
+        }
+
+        try (LocalSchemaRegistryStandIn registry = new LocalSchemaRegistryStandIn()) {
+            AvroContractEventSerializer avro =
+                new AvroContractEventSerializer(AvroContractEventSerializerTest.client(registry));
+            Field topic = AvroContractEventSerializer.class.getDeclaredField("contractEventsTopic");
+            topic.setAccessible(true);
+            topic.set(avro, "contract-events");
+            JsonContractEventSerializer json = new JsonContractEventSerializer(OBJECT_MAPPER);
+
+            List<String> rows = new ArrayList<>();
+            rows.add(String.format("%-22s %14s %12s %16s", "format", "bytes/event", "events/s", "alloc B/event"));
+            double mapThroughput = run("json (nested maps)", events, ContractEventSerializationBenchmarkTest::legacyMap, rows);
+            double jsonThroughput = run("json (ObjectWriter)", events, json::serialize, rows);
+            double avroThroughput = run("avro", events, avro::serialize, rows);
+
+            rows.forEach(System.out::println);
+            System.out.printf("ObjectWriter/nested maps: %.1fx, avro/nested maps: %.1fx%n",
+                              jsonThroughput / mapThroughput, avroThroughput / mapThroughput);
+            assertTrue(avro.serialize(events.get(0)).length < json.serialize(events.get(0)).length);
+        }
+    }
+
+    private static double run(String label, List<ContractCreatedEvent> events,
+                              Function<ContractCreatedEvent, byte[]> serializer, List<String> rows) {
+        long sink = 0;
+        for (int i = 0; i < WARM_UP_EVENTS; i++) {
+            sink += serializer.apply(events.get(i % events.size())).length;
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long bytes = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < EVENTS; i++) {
+            bytes += serializer.apply(events.get(i % events.size())).length;
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        double eventsPerSecond = EVENTS / seconds;
+        rows.add(String.format("%-22s %14.1f %12.0f %16.0f", label, (double) bytes / EVENTS, eventsPerSecond,
+                               (double) allocated / EVENTS));
+        assertTrue(sink > 0);
+        return eventsPerSecond;
+    }
+
+    // How events were built and written before the typed record
+    private static byte[] legacyMap(ContractCreatedEvent event) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("eventId", event.eventId());
+        payload.put("eventType", event.eventType());
+        payload.put("eventTimestamp", event.eventTimestamp().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("contractId", event.data().contractId());
+        data.put("purchaseRequestId", event.data().purchaseRequestId());
+        data.put("dealId", event.data().dealId());
+        data.put("contractPdfLocation", event.data().contractPdfLocation());
+        payload.put("data", data);
+
+        try {
+            return OBJECT_MAPPER.writeValueAsBytes(payload);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.mercedes.contract.event;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JsonContractEventSerializer
+ * Tests that the typed event keeps the documented JSON payload format
+ */
+@DisplayName("JsonContractEventSerializer Tests")
+class JsonContractEventSerializerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final JsonContractEventSerializer serializer = new JsonContractEventSerializer(objectMapper);
+
+    @Test
+    @DisplayName("Should write the documented payload format")
+    void shouldWriteDocumentedPayloadFormat() throws Exception {
+        JsonNode payload = objectMapper.readTree(serializer.serialize(AvroContractEventSerializerTest.event()));
+
+        assertEquals(List.of("eventId", "eventType", "eventTimestamp", "data"), fieldNames(payload));
+        assertEquals(List.of("contractId", "purchaseRequestId", "dealId", "contractPdfLocation"),
+                     fieldNames(payload.get("data")));
+        assertEquals("CONTRACT_CREATED", payload.get("eventType").asText());
+        assertEquals("2024-10-15T09:30:00.123456", payload.get("eventTimestamp").asText());
+        assertEquals("contracts/contract-0000abcd.pdf", payload.get("data").get("contractPdfLocation").asText());
+    }
+
+    @Test
+    @DisplayName("Should round-trip an event")
+    void shouldRoundTripEvent() {
+        ContractCreatedEvent event = AvroContractEventSerializerTest.event();
+
+        assertEquals(event, serializer.deserialize(serializer.serialize(event)));
+        assertEquals("application/json", serializer.contentType());
+    }
+
+    private static List<String> fieldNames(JsonNode node) {
+        List<String> names = new ArrayList<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+}
@@ -0,0 +1,122 @@
+package com.mercedes.contract.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Minimal in-process stand-in for a Confluent-compatible schema registry in tests
+ * Supports registering a schema under a subject and looking it up by id; like the real
+ * registry, the same schema text gets the same id under every subject
+ */
+class LocalSchemaRegistryStandIn implements AutoCloseable {
+
+    private static final Pattern REGISTER = Pattern.compile("/subjects/([^/]+)/versions");
+    private static final Pattern LOOKUP = Pattern.compile("/schemas/ids/(\\d+)");
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final HttpServer server;
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final Map<Integer, String> schemas = new ConcurrentHashMap<>();
+    private final Map<String, Integer> subjects = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger(1);
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile boolean unavailable;
+
+    LocalSchemaRegistryStandIn() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(Executors.newFixedThreadPool(4));
+        server.start();
+    }
+
+    String url() {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort()).toString();
+    }
+
+    /**
+     * Register a schema directly, e.g. an older version written by a previous release
+     */
+    int register(String subject, String schema) {
+        int id = ids.computeIfAbsent(schema, key -> nextId.getAndIncrement());
+        schemas.put(id, schema);
+        subjects.put(subject, id);
+        return id;
+    }
+
+    Map<String, Integer> subjects() {
+        return subjects;
+    }
+
+    int requests() {
+        return requests.get();
+    }
+
+    void unavailable(boolean unavailable) {
+        this.unavailable = unavailable;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            requests.incrementAndGet();
+            String path = exchange.getRequestURI().getRawPath();
+            Matcher register = REGISTER.matcher(path);
+            Matcher lookup = LOOKUP.matcher(path);
+
+            if (unavailable) {
+                respond(exchange, 503, error(50003, "Service unavailable"));
+            } else if ("POST".equals(exchange.getRequestMethod()) && register.matches()) {
+                String schema;
+                try (InputStream in = exchange.getRequestBody()) {
+                    schema = OBJECT_MAPPER.readTree(in).path("schema").asText(null);
+                }
+                if (schema == null) {
+                    respond(exchange, 422, error(42201, "Missing schema"));
+                    return;
+                }
+                int id = register(URLDecoder.decode(register.group(1), StandardCharsets.UTF_8), schema);
+                respond(exchange, 200, "{\"id\":" + id + "}");
+            } else if ("GET".equals(exchange.getRequestMethod()) && lookup.matches()
+                       && schemas.containsKey(Integer.parseInt(lookup.group(1)))) {
+                String schema = schemas.get(Integer.parseInt(lookup.group(1)));
+                respond(exchange, 200, OBJECT_MAPPER.createObjectNode().put("schema", schema).toString());
+            } else {
+                respond(exchange, 404, error(40403, "Schema not found"));
+            }
+        } catch (RuntimeException e) {
+            respond(exchange, 500, error(50001, String.valueOf(e.getMessage())));
+        }
+    }
+
+    private static String error(int code, String message) {
+        return OBJECT_MAPPER.createObjectNode().put("error_code", code).put("message", message).toString();
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/vnd.schemaregistry.v1+json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
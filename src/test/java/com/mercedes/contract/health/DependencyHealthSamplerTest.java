@@ -0,0 +1,128 @@
+package com.mercedes.contract.health;
+
+import com.mercedes.contract.storage.ContractDocumentStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DependencyHealthSampler
+ * Tests snapshot publishing, check timeouts, skipping of hanging checks and the latency gauges
+ */
+@DisplayName("DependencyHealthSampler Tests")
+class DependencyHealthSamplerTest {
+
+    private DataSource dataSource;
+    private Connection connection;
+    private ContractDocumentStore documentStore;
+    private SimpleMeterRegistry meterRegistry;
+    private DependencyHealthSampler sampler;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = mock(DataSource.class);
+        connection = mock(Connection.class);
+        documentStore = mock(ContractDocumentStore.class);
+        meterRegistry = new SimpleMeterRegistry();
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.isValid(anyInt())).thenReturn(true);
+
+        sampler = new DependencyHealthSampler(dataSource, documentStore);
+        setField("checkTimeoutMs", 200L);
+        setField("meterRegistry", meterRegistry);
+        sampler.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        sampler.stop();
+    }
+
+    @Test
+    @DisplayName("Should publish the health of every dependency in one snapshot")
+    void shouldPublishSnapshot() {
+        assertFalse(sampler.snapshot().isSampled());
+        assertTrue(sampler.isStale(sampler.snapshot()));
+
+        sampler.sample();
+
+        HealthSnapshot snapshot = sampler.snapshot();
+        assertTrue(snapshot.isSampled());
+        assertFalse(sampler.isStale(snapshot));
+        assertEquals(List.of("database", "storage"), List.copyOf(snapshot.getDependencies().keySet()));
+        assertTrue(snapshot.get("database").isUp());
+        assertTrue(snapshot.get("storage").isUp());
+    }
+
+    @Test
+    @DisplayName("Should report failing checks with their error")
+    void shouldReportFailingChecks() throws Exception {
+        when(connection.isValid(anyInt())).thenReturn(false);
+        doThrow(new IOException("bucket not found")).when(documentStore).checkAvailable();
+
+        sampler.sample();
+
+        DependencyHealth database = sampler.snapshot().get("database");
+        assertFalse(database.isUp());
+        assertNull(database.getError());
+        DependencyHealth storage = sampler.snapshot().get("storage");
+        assertFalse(storage.isUp());
+        assertEquals("bucket not found", storage.getError());
+    }
+
+    @Test
+    @DisplayName("Should time out a hanging check and not start it again while it hangs")
+    void shouldTimeOutHangingCheck() throws Exception {
+        when(dataSource.getConnection()).thenAnswer(invocation -> {
+            release.await();
+            return connection;
+        });
+
+        long started = System.nanoTime();
+        sampler.sample();
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        assertTrue(elapsedMillis < 2_000, "sampling took " + elapsedMillis + " ms");
+        assertEquals("Check timed out after 200 ms", sampler.snapshot().get("database").getError());
+        assertTrue(sampler.snapshot().get("storage").isUp());
+
+        sampler.sample();
+
+        assertEquals("Previous check still running", sampler.snapshot().get("database").getError());
+        verify(dataSource, times(1)).getConnection();
+    }
+
+    @Test
+    @DisplayName("Should expose check latency and state as gauges per dependency")
+    void shouldExposeGauges() throws Exception {
+        doThrow(new IOException("disk full")).when(documentStore).checkAvailable();
+
+        sampler.sample();
+
+        assertEquals(1.0, meterRegistry.get("contract.health.check.up").tag("dependency", "database").gauge().value());
+        assertEquals(0.0, meterRegistry.get("contract.health.check.up").tag("dependency", "storage").gauge().value());
+        double latency = meterRegistry.get("contract.health.check.latency").tag("dependency", "database")
+            .gauge().value();
+        assertTrue(latency >= 0 && latency < 2_000);
+    }
+
+    private void setField(String name, Object value) throws Exception {
+        var field = DependencyHealthSampler.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(sampler, value);
+    }
+}
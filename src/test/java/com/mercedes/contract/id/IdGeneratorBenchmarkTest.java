@@ -0,0 +1,70 @@
+package com.mercedes.contract.id;
+
+import com.mercedes.contract.benchmark.JmhBenchmarks;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JMH benchmark of the ID generators
+ * Measures the average cost of one ID with a single thread and with as many threads as
+ * there are processors (at least four), where UUID.randomUUID() contends on its shared SecureRandom.
+ *
+ * Skipped by default; run with:
+ *   mvn test -Dtest=IdGeneratorBenchmarkTest -Dbenchmark=true
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@DisplayName("ID generator benchmark")
+public class IdGeneratorBenchmarkTest {
+
+    private final IdGenerator randomUuid = new RandomUuidGenerator();
+    private final IdGenerator traceId = new TraceIdGenerator();
+    private final IdGenerator timeOrdered = new TimeOrderedIdGenerator();
+
+    @Benchmark
+    public String randomUuid() {
+        return randomUuid.nextId();
+    }
+
+    @Benchmark
+    public String traceId() {
+        return traceId.nextId();
+    }
+
+    @Benchmark
+    public String timeOrdered() {
+        return timeOrdered.nextId();
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @DisplayName("Compare ID generators single-threaded and multi-threaded")
+    void compareIdGenerators() throws Exception {
+        int processors = Runtime.getRuntime().availableProcessors();
+        for (int threads : new int[] {1, Math.max(4, processors)}) {
+            Collection<RunResult> results = JmhBenchmarks.run(IdGeneratorBenchmarkTest.class, threads + "-threads",
+                                                              options -> options.threads(threads));
+            assertEquals(3, results.size());
+        }
+    }
+}
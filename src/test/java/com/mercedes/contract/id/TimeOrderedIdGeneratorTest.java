@@ -0,0 +1,61 @@
+package com.mercedes.contract.id;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TimeOrderedIdGenerator
+ * Tests the UUIDv7 layout, time ordering and uniqueness across threads
+ */
+@DisplayName("TimeOrderedIdGenerator Tests")
+class TimeOrderedIdGeneratorTest {
+
+    private final TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator();
+
+    @Test
+    @DisplayName("Should generate version 7 UUIDs with the RFC variant")
+    void shouldGenerateVersion7Uuids() {
+        UUID id = UUID.fromString(generator.nextId());
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+    }
+
+    @Test
+    @DisplayName("Should carry the creation time in the leading 48 bits")
+    void shouldCarryCreationTime() {
+        long before = System.currentTimeMillis();
+        UUID id = generator.nextUuid();
+        long after = System.currentTimeMillis();
+
+        long timestamp = id.getMostSignificantBits() >>> 16;
+        assertTrue(timestamp >= before && timestamp <= after);
+    }
+
+    @Test
+    @DisplayName("Should sort IDs of later milliseconds after earlier ones")
+    void shouldSortByCreationTime() throws InterruptedException {
+        String earlier = generator.nextId();
+        Thread.sleep(2);
+        String later = generator.nextId();
+
+        // The string form sorts like the timestamp, so indexes on the text column stay ordered
+        assertTrue(earlier.compareTo(later) < 0);
+    }
+
+    @Test
+    @DisplayName("Should generate unique IDs across threads")
+    void shouldGenerateUniqueIdsAcrossThreads() {
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        IntStream.range(0, 100_000).parallel().forEach(i -> ids.add(generator.nextId()));
+
+        assertEquals(100_000, ids.size());
+    }
+}
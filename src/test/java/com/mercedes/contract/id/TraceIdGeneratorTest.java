@@ -0,0 +1,59 @@
+package com.mercedes.contract.id;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TraceIdGenerator
+ * Tests the W3C trace-id format and uniqueness across threads
+ */
+@DisplayName("TraceIdGenerator Tests")
+class TraceIdGeneratorTest {
+
+    private static final Pattern W3C_TRACE_ID = Pattern.compile("[0-9a-f]{32}");
+    private static final String INVALID_TRACE_ID = "00000000000000000000000000000000";
+
+    private final TraceIdGenerator generator = new TraceIdGenerator();
+
+    @Test
+    @DisplayName("Should generate 32 lowercase hex digits that are never all zero")
+    void shouldGenerateW3cTraceIds() {
+        for (int i = 0; i < 10_000; i++) {
+            String traceId = generator.nextId();
+            assertTrue(W3C_TRACE_ID.matcher(traceId).matches(), traceId);
+            assertNotEquals(INVALID_TRACE_ID, traceId);
+        }
+    }
+
+    @Test
+    @DisplayName("Should generate unique trace IDs across threads")
+    void shouldGenerateUniqueTraceIdsAcrossThreads() {
+        Set<String> traceIds = ConcurrentHashMap.newKeySet();
+        IntStream.range(0, 100_000).parallel().forEach(i -> traceIds.add(generator.nextId()));
+
+        assertEquals(100_000, traceIds.size());
+    }
+
+    @Test
+    @DisplayName("Should use both halves of the trace ID")
+    void shouldUseBothHalves() {
+        Set<String> highHalves = new HashSet<>();
+        Set<String> lowHalves = new HashSet<>();
+        for (int i = 0; i < 1_000; i++) {
+            String traceId = generator.nextId();
+            highHalves.add(traceId.substring(0, 16));
+            lowHalves.add(traceId.substring(16));
+        }
+
+        assertEquals(1_000, highHalves.size());
+        assertEquals(1_000, lowHalves.size());
+    }
+}
@@ -0,0 +1,195 @@
+package com.mercedes.contract.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * End-to-end load test of the contract endpoints
+ * Boots the service against embedded PostgreSQL and Kafka (see LoadTestEnvironment), then
+ * replays test-contract-request.json-shaped traffic with a random number of mass orders at each
+ * arrival rate in turn and writes throughput, latency percentiles, error rates per endpoint and
+ * in-flight concurrency to target/load-results/&lt;label&gt;-&lt;timestamp&gt;.json.
+ * A step is sustainable when every endpoint stays within loadtest.slo.p99-ms and
+ * loadtest.slo.error-rate; by default the ladder stops after the first step that is not.
+ *
+ * loadtest.execution-modes=platform,virtual runs the ladder once per thread mode, each against a
+ * fresh service, and prints the highest sustainable rate and concurrency of both (virtual needs
+ * a Java 21 build, see the java21 profile).
+ *
+ * Skipped by default; run with:
+ *   mvn -Pload-test test [-Dloadtest.rates=5,10,20] [-Dloadtest.duration-seconds=30]
+ *     [-Dloadtest.warmup-seconds=10] [-Dloadtest.mix=create=1,details=2,pdf=1]
+ *     [-Dloadtest.mass-orders=1-20] [-Dloadtest.arrival=poisson|uniform] [-Dloadtest.max-in-flight=512]
+ *     [-Dloadtest.slo.p99-ms=2000] [-Dloadtest.slo.error-rate=0.01] [-Dloadtest.stop-at-saturation=true]
+ *     [-Dloadtest.execution-modes=platform,virtual]
+ *     [-Dloadtest.postgres=embedded|container] [-Dloadtest.kafka=embedded|container] [-Dloadtest.label=...]
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+@DisplayName("Contract service load test")
+class ContractServiceLoadTest {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final String VIRTUAL_THREADS_PROPERTY = "spring.threads.virtual.enabled";
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+        .enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final double[] rates = Arrays.stream(System.getProperty("loadtest.rates", "5,10,20").split(","))
+        .map(String::trim).mapToDouble(Double::parseDouble).toArray();
+    private final Duration duration = Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 30));
+    private final Duration warmUp = Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 10));
+    private final String arrival = System.getProperty("loadtest.arrival", "poisson");
+    private final double sloP99Ms = Double.parseDouble(System.getProperty("loadtest.slo.p99-ms", "2000"));
+    private final double sloErrorRate = Double.parseDouble(System.getProperty("loadtest.slo.error-rate", "0.01"));
+    private final boolean stopAtSaturation =
+        Boolean.parseBoolean(System.getProperty("loadtest.stop-at-saturation", "true"));
+
+    @Test
+    @DisplayName("Measure endpoint latency and errors at each arrival rate")
+    void measureEndpointsUnderOpenLoad() throws Exception {
+        String label = System.getProperty("loadtest.label", "contract-service");
+        String modes = System.getProperty("loadtest.execution-modes", "");
+
+        List<LoadReport> reports = new ArrayList<>();
+        if (modes.isBlank()) {
+            reports.add(run(label, Map.of()));
+        } else {
+            for (String mode : modes.split(",")) {
+                boolean virtual = switch (mode.trim()) {
+                    case "platform" -> false;
+                    case "virtual" -> true;
+                    default -> throw new IllegalArgumentException("Unknown execution mode: " + mode);
+                };
+                reports.add(run(label + "-" + mode.trim(), Map.of(VIRTUAL_THREADS_PROPERTY, Boolean.toString(virtual))));
+            }
+        }
+
+        System.out.printf(Locale.ROOT, "%nMax sustainable load (p99 <= %.0f ms, error rate <= %.2f%%)%n",
+            sloP99Ms, sloErrorRate * 100);
+        for (LoadReport report : reports) {
+            LoadReport.StepReport max = report.maxSustainable();
+            System.out.printf(Locale.ROOT, "%-36s %s%n", report.label(), max == null ? "none of the steps"
+                : String.format(Locale.ROOT, "%.1f req/s, %.1f in flight on average, %d at peak",
+                                max.achievedRatePerSecond(), max.meanInFlight(), max.peakInFlight()));
+        }
+        assertTrue(reports.stream().allMatch(report -> !report.steps().isEmpty()));
+        assertTrue(reports.stream().flatMap(report -> report.steps().stream()).allMatch(step -> step.arrivals() > 0),
+                   "Every step should send requests");
+    }
+
+    private LoadReport run(String label, Map<String, String> appProperties) throws Exception {
+        String[] massOrders = System.getProperty("loadtest.mass-orders", "1-20").split("-");
+        LocalDateTime startedAt = LocalDateTime.now();
+
+        try (LoadTestEnvironment environment = new LoadTestEnvironment(appProperties)) {
+            ExecutorService clientExecutor = Executors.newCachedThreadPool();
+            try {
+                HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .executor(clientExecutor)
+                    .build();
+                OpenModelLoadGenerator.Settings settings = new OpenModelLoadGenerator.Settings(
+                    environment.contractsUri(),
+                    parseMix(System.getProperty("loadtest.mix", "create=1,details=2,pdf=1")),
+                    Integer.parseInt(massOrders[0].trim()),
+                    Integer.parseInt(massOrders[massOrders.length - 1].trim()),
+                    !"uniform".equals(arrival),
+                    Integer.getInteger("loadtest.max-in-flight", 512),
+                    Duration.ofSeconds(Long.getLong("loadtest.request-timeout-seconds", 30)),
+                    Long.getLong("loadtest.seed", System.nanoTime()));
+                OpenModelLoadGenerator generator = new OpenModelLoadGenerator(httpClient, objectMapper, settings);
+
+                List<LoadReport.StepReport> steps = new ArrayList<>();
+                LoadReport.StepReport maxSustainable = null;
+                System.out.printf("%n%s%n", label);
+                for (double rate : rates) {
+                    LoadReport.StepReport step = generator.runStep(rate, warmUp, duration);
+                    steps.add(step);
+                    boolean sustainable = step.meets(sloP99Ms, sloErrorRate);
+                    print(step, sustainable);
+                    if (sustainable) {
+                        maxSustainable = step;
+                    } else if (stopAtSaturation) {
+                        break;
+                    }
+                }
+
+                Map<String, Object> configuration = new LinkedHashMap<>(environment.description());
+                configuration.put("arrival", arrival);
+                configuration.put("mix", settings.mix());
+                configuration.put("massOrders", settings.minMassOrders() + "-" + settings.maxMassOrders());
+                configuration.put("warmUpSeconds", warmUp.toSeconds());
+                configuration.put("maxInFlight", settings.maxInFlight());
+                configuration.put("sloP99Ms", sloP99Ms);
+                configuration.put("sloErrorRate", sloErrorRate);
+                configuration.put("seed", settings.seed());
+                configuration.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+                configuration.put("javaVersion", System.getProperty("java.version"));
+                System.getProperties().stringPropertyNames().stream()
+                    .filter(name -> name.startsWith(LoadTestEnvironment.APP_PROPERTY_PREFIX))
+                    .sorted()
+                    .forEach(name -> configuration.put(name, System.getProperty(name)));
+                appProperties.forEach((name, value) -> configuration.put(LoadTestEnvironment.APP_PROPERTY_PREFIX + name, value));
+
+                LoadReport report = new LoadReport(label, startedAt.toString(), configuration, steps, maxSustainable);
+                Path file = write(report, label + "-" + startedAt.format(FILE_TIMESTAMP) + ".json");
+                System.out.println("Load report: " + file.toAbsolutePath());
+                return report;
+            } finally {
+                clientExecutor.shutdownNow();
+            }
+        }
+    }
+
+    private static Map<OpenModelLoadGenerator.Endpoint, Integer> parseMix(String mix) {
+        Map<OpenModelLoadGenerator.Endpoint, Integer> weights = new EnumMap<>(OpenModelLoadGenerator.Endpoint.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.split("=");
+            weights.put(OpenModelLoadGenerator.Endpoint.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)),
+                        Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    private Path write(LoadReport report, String fileName) throws Exception {
+        Path directory = Path.of(System.getProperty("loadtest.result-dir", "target/load-results"));
+        Files.createDirectories(directory);
+        Path file = directory.resolve(fileName);
+        objectMapper.writeValue(file.toFile(), report);
+        return file;
+    }
+
+    private static void print(LoadReport.StepReport step, boolean sustainable) {
+        System.out.printf(Locale.ROOT, "%n%.1f req/s target, %.1f req/s achieved, %d arrivals, "
+                + "%.1f in flight on average, %d at peak%s%n",
+            step.targetRatePerSecond(), step.achievedRatePerSecond(), step.arrivals(),
+            step.meanInFlight(), step.peakInFlight(), sustainable ? "" : " - NOT SUSTAINABLE");
+        System.out.printf(Locale.ROOT, "%-36s %8s %8s %10s %9s %9s %9s %9s%n",
+            "endpoint", "requests", "errors", "ok/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        step.endpoints().forEach((endpoint, stats) -> System.out.printf(Locale.ROOT,
+            "%-36s %8d %8d %10.1f %9.1f %9.1f %9.1f %9.1f%n", endpoint, stats.requests(), stats.errors(),
+            stats.throughputPerSecond(), stats.p50Ms(), stats.p99Ms(), stats.p999Ms(), stats.maxMs()));
+    }
+}
@@ -0,0 +1,77 @@
+package com.mercedes.contract.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and outcome counts of one endpoint during one load step
+ * Latency is measured from the scheduled arrival time, not from the moment the request was
+ * sent, so a saturated client or server shows up as latency instead of as fewer requests
+ */
+final class EndpointStats {
+
+    static final String DROPPED = "dropped";
+    static final String IO_ERROR = "io-error";
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final Histogram latencyMicros = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+    private final LongAdder errors = new LongAdder();
+
+    void recordResponse(int status, long latencyNanos, boolean success) {
+        latencyMicros.recordValue(Math.min(MAX_LATENCY_MICROS, Math.max(1, latencyNanos / 1_000)));
+        count(Integer.toString(status));
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    void recordFailure(String outcome, long latencyNanos) {
+        if (latencyNanos >= 0) {
+            latencyMicros.recordValue(Math.min(MAX_LATENCY_MICROS, Math.max(1, latencyNanos / 1_000)));
+        }
+        count(outcome);
+        errors.increment();
+    }
+
+    private void count(String outcome) {
+        outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+    }
+
+    long requests() {
+        return outcomes.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    LoadReport.EndpointReport toReport(double durationSeconds) {
+        long requests = requests();
+        long errorCount = errors.sum();
+        Map<String, Long> outcomeCounts = new TreeMap<>();
+        outcomes.forEach((outcome, count) -> outcomeCounts.put(outcome, count.sum()));
+        Histogram latency = latencyMicros.copy();
+        boolean empty = latency.getTotalCount() == 0;
+        return new LoadReport.EndpointReport(
+            requests,
+            errorCount,
+            requests > 0 ? (double) errorCount / requests : 0,
+            (requests - errorCount) / durationSeconds,
+            empty ? 0 : latency.getMean() / 1_000,
+            percentileMillis(latency, 50),
+            percentileMillis(latency, 90),
+            percentileMillis(latency, 99),
+            percentileMillis(latency, 99.9),
+            empty ? 0 : latency.getMaxValue() / 1_000.0,
+            outcomeCounts
+        );
+    }
+
+    private static double percentileMillis(Histogram latency, double percentile) {
+        return latency.getTotalCount() == 0 ? 0 : latency.getValueAtPercentile(percentile) / 1_000.0;
+    }
+}
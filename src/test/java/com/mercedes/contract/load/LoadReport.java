@@ -0,0 +1,33 @@
+package com.mercedes.contract.load;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Machine-readable result of a load test run, written as JSON
+ * One step per target arrival rate; latencies are in milliseconds, throughput in successful
+ * responses per second. maxSustainable is the highest step that met the latency and error
+ * objectives, or null if none did
+ */
+record LoadReport(String label, String startedAt, Map<String, Object> configuration, List<StepReport> steps,
+                  StepReport maxSustainable) {
+
+    /**
+     * meanInFlight is the average number of outstanding requests (Little's law), peakInFlight
+     * the highest number outstanding at once
+     */
+    record StepReport(double targetRatePerSecond, double durationSeconds, long arrivals,
+                      double achievedRatePerSecond, double meanInFlight, int peakInFlight,
+                      Map<String, EndpointReport> endpoints) {
+
+        boolean meets(double maxP99Ms, double maxErrorRate) {
+            return endpoints.values().stream()
+                .allMatch(endpoint -> endpoint.p99Ms() <= maxP99Ms && endpoint.errorRate() <= maxErrorRate);
+        }
+    }
+
+    record EndpointReport(long requests, long errors, double errorRate, double throughputPerSecond,
+                          double meanMs, double p50Ms, double p90Ms, double p99Ms, double p999Ms, double maxMs,
+                          Map<String, Long> outcomes) {
+    }
+}
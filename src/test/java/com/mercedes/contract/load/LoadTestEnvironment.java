@@ -0,0 +1,153 @@
+package com.mercedes.contract.load;
+
+import com.mercedes.contract.ContractServiceApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+import org.testcontainers.containers.KafkaContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The contract service booted on a random port against real PostgreSQL and Kafka
+ * Dependencies are embedded by default (PostgreSQL binaries and a KRaft broker in this JVM, no
+ * Docker needed); loadtest.postgres=container and loadtest.kafka=container use Testcontainers
+ * instead. System properties prefixed with loadtest.app. are passed to the application, e.g.
+ * -Dloadtest.app.contract.generation.async=true; appProperties are applied last.
+ */
+final class LoadTestEnvironment implements AutoCloseable {
+
+    static final String APP_PROPERTY_PREFIX = "loadtest.app.";
+
+    private static final String EVENTS_TOPIC = "contract-events";
+
+    private final Deque<AutoCloseable> resources = new ArrayDeque<>();
+    private final Map<String, String> description = new LinkedHashMap<>();
+    private final URI contractsUri;
+
+    LoadTestEnvironment(Map<String, String> appProperties) throws Exception {
+        try {
+            Map<String, String> properties = new LinkedHashMap<>();
+            startPostgres(System.getProperty("loadtest.postgres", "embedded"), properties);
+            startKafka(System.getProperty("loadtest.kafka", "embedded"), properties);
+
+            Path storage = Files.createTempDirectory("contract-load-");
+            resources.push(() -> deleteRecursively(storage));
+            properties.put("server.port", "0");
+            properties.put("contract.storage.type", "local");
+            properties.put("contract.storage.local.base-path", storage.toString());
+            System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith(APP_PROPERTY_PREFIX))
+                .forEach(name -> properties.put(name.substring(APP_PROPERTY_PREFIX.length()),
+                                                System.getProperty(name)));
+            properties.putAll(appProperties);
+
+            // Command-line arguments, so they take precedence over application.yml
+            String[] args = properties.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(ContractServiceApplication.class)
+                .run(args);
+            resources.push(context);
+
+            Environment environment = context.getEnvironment();
+            this.contractsUri = URI.create("http://localhost:" + environment.getProperty("local.server.port")
+                + environment.getProperty("server.servlet.context-path", "") + "/v1/contracts");
+        } catch (Exception | Error e) {
+            close();
+            throw e;
+        }
+    }
+
+    private void startPostgres(String mode, Map<String, String> properties) throws IOException {
+        description.put("postgres", mode);
+        switch (mode) {
+            case "embedded" -> {
+                EmbeddedPostgres postgres = EmbeddedPostgres.start();
+                resources.push(postgres);
+                properties.put("spring.datasource.url", postgres.getJdbcUrl("postgres", "postgres"));
+                properties.put("spring.datasource.username", "postgres");
+                properties.put("spring.datasource.password", "postgres");
+            }
+            case "container" -> {
+                PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:15-alpine"));
+                postgres.start();
+                resources.push(postgres);
+                properties.put("spring.datasource.url", postgres.getJdbcUrl());
+                properties.put("spring.datasource.username", postgres.getUsername());
+                properties.put("spring.datasource.password", postgres.getPassword());
+            }
+            default -> throw new IllegalArgumentException("Unknown loadtest.postgres mode: " + mode);
+        }
+    }
+
+    private void startKafka(String mode, Map<String, String> properties) {
+        description.put("kafka", mode);
+        switch (mode) {
+            case "embedded" -> {
+                EmbeddedKafkaBroker broker = new EmbeddedKafkaKraftBroker(1, 3, EVENTS_TOPIC);
+                broker.afterPropertiesSet();
+                resources.push(broker::destroy);
+                properties.put("spring.kafka.bootstrap-servers", broker.getBrokersAsString());
+            }
+            case "container" -> {
+                KafkaContainer kafka = new KafkaContainer(DockerImageName.parse("confluentinc/cp-kafka:7.5.0"));
+                kafka.start();
+                resources.push(kafka);
+                properties.put("spring.kafka.bootstrap-servers", kafka.getBootstrapServers());
+            }
+            default -> throw new IllegalArgumentException("Unknown loadtest.kafka mode: " + mode);
+        }
+        properties.put("contract.events.topic", EVENTS_TOPIC);
+    }
+
+    URI contractsUri() {
+        return contractsUri;
+    }
+
+    /**
+     * Which stand-ins were used, for the report
+     */
+    Map<String, String> description() {
+        return description;
+    }
+
+    @Override
+    public void close() throws Exception {
+        Exception failure = null;
+        while (!resources.isEmpty()) {
+            try {
+                resources.pop().close();
+            } catch (Exception e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static void deleteRecursively(Path root) throws IOException {
+        try (var paths = Files.walk(root)) {
+            for (Path path : paths.sorted((a, b) -> b.compareTo(a)).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.mercedes.contract.load;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mercedes.contract.benchmark.ContractFixtures;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator for the contract endpoints
+ * Requests arrive on a fixed schedule (Poisson or evenly spaced) that never waits for earlier
+ * responses, the way independent clients reach the service, so a slow server cannot throttle
+ * its own load. Each arrival picks an endpoint from the configured mix; reads go to contracts
+ * created earlier in the run. Arrivals beyond maxInFlight outstanding requests are counted as
+ * dropped errors instead of queueing in the client.
+ */
+final class OpenModelLoadGenerator {
+
+    enum Endpoint {
+        CREATE("POST /v1/contracts"),
+        DETAILS("GET /v1/contracts/{contractId}"),
+        PDF("GET /v1/contracts/{contractId}/pdf");
+
+        final String label;
+
+        Endpoint(String label) {
+            this.label = label;
+        }
+    }
+
+    record Settings(URI contractsUri, Map<Endpoint, Integer> mix, int minMassOrders, int maxMassOrders,
+                    boolean poissonArrivals, int maxInFlight, Duration requestTimeout, long seed) {
+    }
+
+    static final String TIMEOUT = "timeout";
+
+    private static final String SUFFIX_PLACEHOLDER = "__LOAD_SUFFIX__";
+    private static final int CREATED_ID_RING_SIZE = 4096;
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final Settings settings;
+    private final Endpoint[] mixTable;
+    private final String runId = Long.toString(System.currentTimeMillis(), 36).toUpperCase();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicReferenceArray<String> createdIds = new AtomicReferenceArray<>(CREATED_ID_RING_SIZE);
+    private final AtomicLong createdCount = new AtomicLong();
+    private final Map<Integer, String> bodyTemplates = new ConcurrentHashMap<>();
+    // Only used by the arrival thread
+    private final SplittableRandom random;
+
+    OpenModelLoadGenerator(HttpClient httpClient, ObjectMapper objectMapper, Settings settings) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.settings = settings;
+        this.random = new SplittableRandom(settings.seed());
+
+        List<Endpoint> table = new ArrayList<>();
+        settings.mix().forEach((endpoint, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                table.add(endpoint);
+            }
+        });
+        if (table.isEmpty()) {
+            throw new IllegalArgumentException("Load mix has no endpoint with a positive weight");
+        }
+        this.mixTable = table.toArray(Endpoint[]::new);
+    }
+
+    /**
+     * Run one load step at the given arrival rate
+     * Arrivals during the warm-up are sent but not recorded; the step ends once every recorded
+     * request has completed or timed out
+     */
+    LoadReport.StepReport runStep(double ratePerSecond, Duration warmUp, Duration duration)
+            throws InterruptedException {
+        Step step = new Step(settings.maxInFlight());
+
+        double meanInterArrivalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long start = System.nanoTime();
+        long measureFrom = start + warmUp.toNanos();
+        long end = measureFrom + duration.toNanos();
+        long arrivals = 0;
+        double next = start;
+        while (next < end) {
+            long scheduled = (long) next;
+            sleepUntil(scheduled);
+            boolean measured = scheduled >= measureFrom;
+            if (measured && arrivals == 0) {
+                // Peak concurrency counts from the first measured arrival, not from the warm-up
+                step.peakInFlight.set(step.inFlightNow.get());
+            }
+            send(scheduled, step, measured);
+            if (measured) {
+                arrivals++;
+            }
+            next += settings.poissonArrivals()
+                ? -Math.log(1 - random.nextDouble()) * meanInterArrivalNanos
+                : meanInterArrivalNanos;
+        }
+        awaitCompletion(step.permits);
+
+        double seconds = duration.toNanos() / 1e9;
+        Map<String, LoadReport.EndpointReport> endpoints = new LinkedHashMap<>();
+        step.stats.forEach((endpoint, endpointStats) -> {
+            if (endpointStats.requests() > 0) {
+                endpoints.put(endpoint.label, endpointStats.toReport(seconds));
+            }
+        });
+        // Little's law: time spent in flight by measured requests over the measured period
+        double meanInFlight = step.latencyNanos.sum() / (double) duration.toNanos();
+        return new LoadReport.StepReport(ratePerSecond, seconds, arrivals, arrivals / seconds,
+                                         meanInFlight, step.peakInFlight.get(), endpoints);
+    }
+
+    private void send(long scheduled, Step step, boolean measured) {
+        Endpoint endpoint = mixTable[random.nextInt(mixTable.length)];
+        String contractId = endpoint == Endpoint.CREATE ? null : randomCreatedId();
+        if (contractId == null) {
+            endpoint = Endpoint.CREATE;
+        }
+        EndpointStats endpointStats = measured ? step.stats.get(endpoint) : null;
+
+        if (!step.permits.tryAcquire()) {
+            if (endpointStats != null) {
+                endpointStats.recordFailure(EndpointStats.DROPPED, -1);
+            }
+            return;
+        }
+        step.peakInFlight.accumulateAndGet(step.inFlightNow.incrementAndGet(), Math::max);
+
+        Endpoint sent = endpoint;
+        HttpRequest request = request(endpoint, contractId);
+        HttpResponse.BodyHandler<String> bodyHandler = endpoint == Endpoint.CREATE
+            ? HttpResponse.BodyHandlers.ofString()
+            : HttpResponse.BodyHandlers.replacing(null);
+        httpClient.sendAsync(request, bodyHandler).whenComplete((response, error) -> {
+            try {
+                long latency = System.nanoTime() - scheduled;
+                if (endpointStats != null) {
+                    step.latencyNanos.add(latency);
+                }
+                if (error != null) {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error;
+                    if (endpointStats != null) {
+                        endpointStats.recordFailure(cause instanceof HttpTimeoutException
+                            ? TIMEOUT : EndpointStats.IO_ERROR, latency);
+                    }
+                    return;
+                }
+                int status = response.statusCode();
+                boolean success = sent == Endpoint.CREATE ? status >= 200 && status <= 202 : status == 200;
+                if (sent == Endpoint.CREATE && success) {
+                    rememberCreated(response.body());
+                }
+                if (endpointStats != null) {
+                    endpointStats.recordResponse(status, latency, success);
+                }
+            } finally {
+                step.inFlightNow.decrementAndGet();
+                step.permits.release();
+            }
+        });
+    }
+
+    private HttpRequest request(Endpoint endpoint, String contractId) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder().timeout(settings.requestTimeout());
+        return switch (endpoint) {
+            case CREATE -> builder.uri(settings.contractsUri())
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(nextRequestBody()))
+                .build();
+            case DETAILS -> builder.uri(URI.create(settings.contractsUri() + "/" + contractId)).GET().build();
+            case PDF -> builder.uri(URI.create(settings.contractsUri() + "/" + contractId + "/pdf")).GET().build();
+        };
+    }
+
+    /**
+     * Request body with a random number of mass orders and a purchase request unique to this run
+     * Bodies are serialized once per mass order count and only the IDs are substituted per request
+     */
+    private String nextRequestBody() {
+        int massOrders = settings.minMassOrders()
+            + random.nextInt(settings.maxMassOrders() - settings.minMassOrders() + 1);
+        String template = bodyTemplates.computeIfAbsent(massOrders, count -> {
+            try {
+                return objectMapper.writeValueAsString(ContractFixtures.contractRequest(SUFFIX_PLACEHOLDER, count));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        return template.replace(SUFFIX_PLACEHOLDER, "LOAD-" + runId + "-" + sequence.incrementAndGet());
+    }
+
+    private void rememberCreated(String body) {
+        try {
+            JsonNode contractId = objectMapper.readTree(body).get("contractId");
+            if (contractId != null) {
+                long index = createdCount.getAndIncrement();
+                createdIds.set((int) (index % CREATED_ID_RING_SIZE), contractId.asText());
+            }
+        } catch (JsonProcessingException e) {
+            // Not a contract response; reads simply have one contract fewer to choose from
+        }
+    }
+
+    private String randomCreatedId() {
+        long created = Math.min(createdCount.get(), CREATED_ID_RING_SIZE);
+        return created == 0 ? null : createdIds.get(random.nextInt((int) created));
+    }
+
+    private static void sleepUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    /**
+     * Per-step counters shared between the arrival thread and the response callbacks
+     */
+    private static final class Step {
+
+        final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+        final Semaphore permits;
+        final AtomicInteger inFlightNow = new AtomicInteger();
+        final AtomicInteger peakInFlight = new AtomicInteger();
+        final LongAdder latencyNanos = new LongAdder();
+
+        Step(int maxInFlight) {
+            this.permits = new Semaphore(maxInFlight);
+            for (Endpoint endpoint : Endpoint.values()) {
+                stats.put(endpoint, new EndpointStats());
+            }
+        }
+    }
+
+    private void awaitCompletion(Semaphore inFlight) throws InterruptedException {
+        long timeoutMillis = settings.requestTimeout().toMillis() + TimeUnit.SECONDS.toMillis(5);
+        if (inFlight.tryAcquire(settings.maxInFlight(), timeoutMillis, TimeUnit.MILLISECONDS)) {
+            inFlight.release(settings.maxInFlight());
+        }
+    }
+}
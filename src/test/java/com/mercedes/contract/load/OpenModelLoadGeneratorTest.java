@@ -0,0 +1,123 @@
+package com.mercedes.contract.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for OpenModelLoadGenerator against a stub HTTP server
+ */
+@DisplayName("Open-model load generator")
+class OpenModelLoadGeneratorTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final CopyOnWriteArrayList<String> requestedPaths = new CopyOnWriteArrayList<>();
+    private final AtomicInteger created = new AtomicInteger();
+    private volatile long responseDelayMillis;
+    private HttpServer server;
+
+    @AfterEach
+    void stopServer() {
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    @DisplayName("Should send the configured mix and read back created contracts")
+    void shouldSendMixAndReadCreatedContracts() throws Exception {
+        URI contractsUri = startServer();
+        OpenModelLoadGenerator generator = generator(contractsUri, 64,
+            Map.of(OpenModelLoadGenerator.Endpoint.CREATE, 1, OpenModelLoadGenerator.Endpoint.DETAILS, 1,
+                   OpenModelLoadGenerator.Endpoint.PDF, 1));
+
+        LoadReport.StepReport step = generator.runStep(200, Duration.ofMillis(200), Duration.ofSeconds(1));
+
+        assertTrue(step.arrivals() > 100, "Expected about 200 arrivals but got " + step.arrivals());
+        LoadReport.EndpointReport create = step.endpoints().get("POST /v1/contracts");
+        LoadReport.EndpointReport details = step.endpoints().get("GET /v1/contracts/{contractId}");
+        LoadReport.EndpointReport pdf = step.endpoints().get("GET /v1/contracts/{contractId}/pdf");
+        assertNotNull(create);
+        assertNotNull(details);
+        assertNotNull(pdf);
+        assertEquals(step.arrivals(), create.requests() + details.requests() + pdf.requests());
+        assertEquals(0, create.errors() + details.errors() + pdf.errors());
+        assertEquals(create.requests(), create.outcomes().get("201"));
+        assertTrue(create.p50Ms() > 0 && create.p50Ms() <= create.p99Ms() && create.p99Ms() <= create.maxMs());
+        assertTrue(step.meanInFlight() > 0);
+        assertTrue(step.peakInFlight() >= 1 && step.peakInFlight() <= 64);
+        assertTrue(step.meets(10_000, 0));
+        assertTrue(requestedPaths.stream().anyMatch(path -> path.matches(".*/v1/contracts/CONTRACT-\\d+/pdf")));
+    }
+
+    @Test
+    @DisplayName("Should count arrivals beyond max in flight as dropped")
+    void shouldDropArrivalsBeyondMaxInFlight() throws Exception {
+        responseDelayMillis = 300;
+        URI contractsUri = startServer();
+        OpenModelLoadGenerator generator = generator(contractsUri, 1,
+            Map.of(OpenModelLoadGenerator.Endpoint.CREATE, 1));
+
+        LoadReport.StepReport step = generator.runStep(50, Duration.ZERO, Duration.ofSeconds(1));
+
+        LoadReport.EndpointReport create = step.endpoints().get("POST /v1/contracts");
+        assertTrue(create.outcomes().getOrDefault(EndpointStats.DROPPED, 0L) > 0);
+        assertEquals(create.outcomes().get(EndpointStats.DROPPED), create.errors());
+        assertTrue(create.errorRate() > 0.5);
+        assertEquals(1, step.peakInFlight());
+        assertFalse(step.meets(10_000, 0.01));
+    }
+
+    private OpenModelLoadGenerator generator(URI contractsUri, int maxInFlight,
+                                             Map<OpenModelLoadGenerator.Endpoint, Integer> mix) {
+        HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        return new OpenModelLoadGenerator(httpClient, objectMapper, new OpenModelLoadGenerator.Settings(
+            contractsUri, mix, 1, 5, true, maxInFlight, Duration.ofSeconds(5), 42L));
+    }
+
+    private URI startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/api/contract/v1/contracts", this::handle);
+        server.start();
+        return URI.create("http://localhost:" + server.getAddress().getPort() + "/api/contract/v1/contracts");
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requestedPaths.add(exchange.getRequestURI().getPath());
+        exchange.getRequestBody().readAllBytes();
+        try {
+            Thread.sleep(responseDelayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] body;
+        int status;
+        if ("POST".equals(exchange.getRequestMethod())) {
+            status = 201;
+            body = ("{\"contractId\":\"CONTRACT-" + created.incrementAndGet() + "\"}").getBytes(StandardCharsets.UTF_8);
+        } else {
+            status = 200;
+            body = "ok".getBytes(StandardCharsets.UTF_8);
+        }
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+}
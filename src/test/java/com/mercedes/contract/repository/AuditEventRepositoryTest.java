@@ -0,0 +1,111 @@
+package com.mercedes.contract.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for AuditEventRepository against embedded PostgreSQL with the V6 schema
+ * Covers COPY inserts and creating a monthly partition whose rows already went to the default partition
+ */
+@DisplayName("AuditEventRepository Tests")
+class AuditEventRepositoryTest {
+
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbc;
+    private static AuditEventRepository repository;
+    private static TransactionTemplate transaction;
+
+    @BeforeAll
+    static void startPostgres() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        DataSource dataSource = postgres.getPostgresDatabase();
+        jdbc = new JdbcTemplate(dataSource);
+        repository = new AuditEventRepository(new NamedParameterJdbcTemplate(jdbc), new ObjectMapper());
+        // createMonthlyPartition relies on the caller's transaction, as @Transactional provides in the service
+        transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @AfterAll
+    static void stopPostgres() throws Exception {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void createSchema() throws Exception {
+        jdbc.execute("DROP TABLE IF EXISTS audit_events CASCADE");
+        jdbc.execute(Files.readString(Path.of("src/main/resources/db/migration/V6__Create_audit_events_table.sql")));
+    }
+
+    @Test
+    @DisplayName("Should store a batch with COPY and read it back per contract")
+    void shouldInsertAndFindEvents() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        repository.insertAll(List.of(
+            new AuditEventRecord(now, "CONTRACT_CREATED", "SUCCESS", "CONTRACT-1", "PR-1", "DEAL-1", "trace-1", Map.of()),
+            new AuditEventRecord(now.plusSeconds(1), "PDF_GENERATED", "SUCCESS", "CONTRACT-1", null, null, null,
+                                 Map.of("storageLocation", "a.pdf, \"quoted\""))));
+
+        List<AuditEventRecord> events = repository.findByContractId("CONTRACT-1", 10);
+
+        assertEquals(List.of("PDF_GENERATED", "CONTRACT_CREATED"), events.stream().map(AuditEventRecord::getEventType).toList());
+        assertEquals("a.pdf, \"quoted\"", events.get(0).getDetails().get("storageLocation"));
+        assertEquals("DEAL-1", events.get(1).getDealId());
+    }
+
+    @Test
+    @DisplayName("Should move rows out of the default partition when creating their month's partition")
+    void shouldMoveDefaultPartitionRowsIntoNewPartition() {
+        YearMonth month = YearMonth.now().plusMonths(6);
+        LocalDateTime inMonth = month.atDay(15).atStartOfDay();
+        repository.insertAll(List.of(
+            new AuditEventRecord(inMonth, "CONTRACT_CREATED", "SUCCESS", "CONTRACT-1", null, null, null, Map.of()),
+            new AuditEventRecord(inMonth.plusMonths(1), "CONTRACT_CREATED", "SUCCESS", "CONTRACT-2", null, null, null,
+                                 Map.of())));
+        assertEquals(2, count("audit_events_default"));
+
+        transaction.executeWithoutResult(status -> repository.createMonthlyPartition(month));
+        transaction.executeWithoutResult(status -> repository.createMonthlyPartition(month));
+
+        String partition = "audit_events_" + month.toString().replace('-', '_');
+        assertEquals(1, count(partition));
+        assertEquals(1, count("audit_events_default"));
+        assertEquals(1, repository.findByContractId("CONTRACT-1", 10).size());
+        repository.insertAll(List.of(
+            new AuditEventRecord(inMonth.plusDays(1), "PDF_GENERATED", "SUCCESS", "CONTRACT-1", null, null, null,
+                                 Map.of())));
+        assertEquals(2, count(partition));
+    }
+
+    @Test
+    @DisplayName("Should create an empty partition for a month without rows")
+    void shouldCreateEmptyPartition() {
+        YearMonth month = YearMonth.now().plusMonths(7);
+
+        transaction.executeWithoutResult(status -> repository.createMonthlyPartition(month));
+
+        assertEquals(0, count("audit_events_" + month.toString().replace('-', '_')));
+    }
+
+    private static int count(String table) {
+        return jdbc.queryForObject("SELECT count(*) FROM " + table, Integer.class);
+    }
+}
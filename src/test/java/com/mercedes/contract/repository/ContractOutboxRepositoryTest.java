@@ -0,0 +1,130 @@
+package com.mercedes.contract.repository;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ContractOutboxRepository against embedded PostgreSQL with the Flyway schema
+ * Covers claiming with a lease, backoff, dead-lettering and which rows the relay picks up
+ */
+@DisplayName("ContractOutboxRepository Tests")
+class ContractOutboxRepositoryTest {
+
+    private static final Duration BASE_BACKOFF = Duration.ofSeconds(1);
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(5);
+    private static final Duration LEASE = Duration.ofMinutes(2);
+
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbc;
+    private static ContractOutboxRepository repository;
+
+    @BeforeAll
+    static void startPostgres() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        DataSource dataSource = postgres.getPostgresDatabase();
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        jdbc = new JdbcTemplate(dataSource);
+        repository = new ContractOutboxRepository(new NamedParameterJdbcTemplate(jdbc));
+    }
+
+    @AfterAll
+    static void stopPostgres() throws Exception {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void clearOutbox() {
+        jdbc.execute("TRUNCATE contract_outbox");
+    }
+
+    @Test
+    @DisplayName("Should claim due rows oldest first and not hand them out again until the lease has passed")
+    void shouldClaimRowsWithLease() {
+        long first = enqueue("event-1");
+        long second = enqueue("event-2");
+        enqueue("event-3");
+
+        List<ContractOutboxEvent> claimed = repository.claimNextBatch(2, LEASE);
+
+        assertEquals(List.of(first, second), claimed.stream().map(ContractOutboxEvent::getId).toList());
+        assertEquals("{\"eventId\": \"event-1\"}", claimed.get(0).getPayload());
+        assertEquals(List.of("event-3"), repository.claimNextBatch(10, LEASE).stream()
+            .map(ContractOutboxEvent::getEventId).toList());
+        assertTrue(repository.claimNextBatch(10, LEASE).isEmpty());
+
+        jdbc.update("UPDATE contract_outbox SET available_at = CURRENT_TIMESTAMP - INTERVAL '1 second' WHERE id = ?",
+                    first);
+        assertEquals(List.of(first), repository.claimNextBatch(10, LEASE).stream()
+            .map(ContractOutboxEvent::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Should not hand out rows that were marked sent")
+    void shouldNotClaimSentRows() {
+        long id = enqueue("event-1");
+        repository.claimNextBatch(10, Duration.ZERO);
+
+        repository.markSent(List.of(id));
+
+        assertTrue(repository.claimNextBatch(10, LEASE).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should cap the backoff without overflowing for rows that failed very often")
+    void shouldCapBackoffForManyAttempts() {
+        long id = enqueue("event-1");
+        jdbc.update("UPDATE contract_outbox SET attempts = 5000 WHERE id = ?", id);
+
+        repository.markFailed(Map.of(id, "broker unavailable"), BASE_BACKOFF, MAX_BACKOFF, 10_000);
+
+        double delaySeconds = jdbc.queryForObject(
+            "SELECT EXTRACT(EPOCH FROM available_at - CURRENT_TIMESTAMP) FROM contract_outbox WHERE id = ?",
+            Double.class, id);
+        assertTrue(delaySeconds > 290 && delaySeconds <= 300, "Backoff should be capped, was " + delaySeconds);
+        assertNull(jdbc.queryForObject("SELECT dead_lettered_at FROM contract_outbox WHERE id = ?", Object.class, id));
+    }
+
+    @Test
+    @DisplayName("Should dead-letter a row on its last allowed failure and stop relaying it")
+    void shouldDeadLetterAfterMaxAttempts() {
+        long id = enqueue("event-1");
+        jdbc.update("UPDATE contract_outbox SET attempts = 2 WHERE id = ?", id);
+
+        repository.markFailed(Map.of(id, "broker unavailable"), Duration.ZERO, Duration.ZERO, 3);
+
+        assertNotNull(jdbc.queryForObject("SELECT dead_lettered_at FROM contract_outbox WHERE id = ?", Object.class, id));
+        assertTrue(repository.claimNextBatch(10, LEASE).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should keep retrying a row below the attempt limit once its backoff elapsed")
+    void shouldRetryBelowMaxAttempts() {
+        long id = enqueue("event-1");
+
+        repository.markFailed(Map.of(id, "broker unavailable"), Duration.ZERO, Duration.ZERO, 3);
+
+        List<ContractOutboxEvent> due = repository.claimNextBatch(10, LEASE);
+        assertEquals(1, due.size());
+        assertEquals(1, due.get(0).getAttempts());
+    }
+
+    private static long enqueue(String eventId) {
+        repository.enqueueAll(List.of(new ContractOutboxEvent(eventId, "CONTRACT_CREATED", "CONTRACT-AAAA0001",
+                                                              "contract-events", "{\"eventId\":\"" + eventId + "\"}")));
+        return jdbc.queryForObject("SELECT id FROM contract_outbox WHERE event_id = ?", Long.class, eventId);
+    }
+}
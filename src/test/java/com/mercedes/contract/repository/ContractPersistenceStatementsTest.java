@@ -0,0 +1,90 @@
+package com.mercedes.contract.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mercedes.contract.entity.Contract;
+import com.mercedes.contract.entity.ContractGenerationStatus;
+import com.mercedes.contract.service.ContractDetailsCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Statement-count tests for the status updates of the generation pipeline against an in-memory H2 database
+ * Contracts are created with ContractRepositoryCustomImpl.insertIfAbsent, covered in ContractRepositoryCustomImplTest
+ */
+@DataJpaTest(properties = {
+    "spring.flyway.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@DisplayName("Contract persistence statement count Tests")
+class ContractPersistenceStatementsTest {
+
+    @TestConfiguration
+    static class CacheConfig {
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper().findAndRegisterModules();
+        }
+
+        @Bean
+        ContractDetailsCache contractDetailsCache(ObjectMapper objectMapper) {
+            return new ContractDetailsCache(objectMapper, new SimpleMeterRegistry(), 1024 * 1024, 600);
+        }
+    }
+
+    @Autowired
+    private ContractRepository contractRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Loaded contracts are not new, so the pipeline's status saves are one select and one update")
+    void loadedContractsAreNotNew() {
+        contractRepository.save(newContract("CONTRACT-AAAA0003"));
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        Contract loaded = contractRepository.findById("CONTRACT-AAAA0003").orElseThrow();
+        assertFalse(loaded.isNew());
+
+        loaded.setGenerationStatus(ContractGenerationStatus.FAILED);
+        contractRepository.save(loaded);
+        entityManager.flush();
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityInsertCount());
+        assertEquals(1, statistics.getEntityUpdateCount());
+    }
+
+    private Contract newContract(String contractId) {
+        return new Contract(contractId, "PR-" + contractId, "DEAL-" + contractId,
+            Map.of("customerName", "Hilton Hotels Deutschland GmbH"), Map.of("type", "Lease"),
+            List.of(Map.of("massOrderId", "MO-1")));
+    }
+}
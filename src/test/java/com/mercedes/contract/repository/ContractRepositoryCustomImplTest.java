@@ -0,0 +1,267 @@
+package com.mercedes.contract.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mercedes.contract.entity.Contract;
+import com.mercedes.contract.entity.ContractGenerationStatus;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.postgresql.util.PSQLException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for the insert statements of ContractRepositoryCustomImpl against embedded PostgreSQL
+ * The schema comes from the Flyway migrations, so the ON CONFLICT clauses run against the real constraints
+ */
+@DisplayName("ContractRepositoryCustomImpl Tests")
+class ContractRepositoryCustomImplTest {
+
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbc;
+    private static ContractRepositoryCustomImpl repository;
+    private static TransactionTemplate transaction;
+
+    @BeforeAll
+    static void startPostgres() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        // Same driver setting as application.yml, so the batch insert runs as a rewritten multi-row INSERT
+        DataSource dataSource = postgres.getDatabase("postgres", "postgres", Map.of("reWriteBatchedInserts", "true"));
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        jdbc = new JdbcTemplate(dataSource);
+        repository = new ContractRepositoryCustomImpl(new NamedParameterJdbcTemplate(jdbc), new ObjectMapper());
+        transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @AfterAll
+    static void stopPostgres() throws Exception {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void clearContracts() {
+        jdbc.execute("TRUNCATE contracts");
+    }
+
+    @Test
+    @DisplayName("Should insert a new contract and report it as inserted")
+    void shouldInsertNewContract() {
+        ContractInsertResult result = repository.insertIfAbsent(contract("CONTRACT-0000000A", "PR-1", "DEAL-1", "key-1"));
+
+        assertTrue(result.isInserted());
+        assertEquals("CONTRACT-0000000A", result.getContractId());
+        assertEquals("PR-1", result.getPurchaseRequestId());
+        assertEquals("key-1", result.getIdempotencyKey());
+        assertEquals(ContractGenerationStatus.PENDING, result.getGenerationStatus());
+        assertNotNull(result.getCreatedAt());
+        assertEquals(1, countContracts());
+    }
+
+    @Test
+    @DisplayName("Should return the original row for a purchase request that already has a contract")
+    void shouldReturnOriginalRowForDuplicatePurchaseRequest() {
+        repository.insertIfAbsent(contract("CONTRACT-0000000A", "PR-1", "DEAL-1", "key-1"));
+
+        ContractInsertResult result = repository.insertIfAbsent(contract("CONTRACT-0000000B", "PR-1", "DEAL-2", "key-1"));
+
+        assertFalse(result.isInserted());
+        assertEquals("CONTRACT-0000000A", result.getContractId());
+        assertEquals(1, countContracts());
+    }
+
+    @Test
+    @DisplayName("Should create a contract or return the existing one in a single statement")
+    void shouldUseOneStatementPerCall() {
+        NamedParameterJdbcTemplate template = spy(new NamedParameterJdbcTemplate(jdbc));
+        ContractRepositoryCustomImpl counted = new ContractRepositoryCustomImpl(template, new ObjectMapper());
+
+        assertTrue(counted.insertIfAbsent(contract("CONTRACT-0000000A", "PR-1", "DEAL-1", "key-1")).isInserted());
+        assertFalse(counted.insertIfAbsent(contract("CONTRACT-0000000B", "PR-1", "DEAL-2", "key-1")).isInserted());
+
+        verify(template, times(2)).query(anyString(), any(SqlParameterSource.class), ArgumentMatchers.<RowMapper<?>>any());
+        verify(template, never()).update(anyString(), any(SqlParameterSource.class));
+        assertEquals(1, countContracts());
+    }
+
+    @Test
+    @DisplayName("Should read back a row committed concurrently after the insert took its snapshot")
+    void shouldReselectRowCommittedConcurrently() throws Exception {
+        CountDownLatch insertedByOther = new CountDownLatch(1);
+        CountDownLatch commitOther = new CountDownLatch(1);
+        CompletableFuture<Void> other = CompletableFuture.runAsync(() -> transaction.executeWithoutResult(status -> {
+            repository.insertIfAbsent(contract("CONTRACT-0000000A", "PR-1", "DEAL-1", null));
+            insertedByOther.countDown();
+            await(commitOther);
+        }));
+        assertTrue(insertedByOther.await(10, TimeUnit.SECONDS));
+
+        CompletableFuture<ContractInsertResult> result = CompletableFuture.supplyAsync(
+            () -> repository.insertIfAbsent(contract("CONTRACT-0000000B", "PR-1", "DEAL-2", null)));
+        awaitLockWait();
+        commitOther.countDown();
+        other.get(10, TimeUnit.SECONDS);
+
+        ContractInsertResult retried = result.get(10, TimeUnit.SECONDS);
+        assertFalse(retried.isInserted());
+        assertEquals("CONTRACT-0000000A", retried.getContractId());
+    }
+
+    @Test
+    @DisplayName("Should fail on the idempotency key constraint when a key is reused for another purchase request")
+    void shouldRejectReusedIdempotencyKey() {
+        repository.insertIfAbsent(contract("CONTRACT-0000000A", "PR-1", "DEAL-1", "key-1"));
+
+        DuplicateKeyException exception = assertThrows(DuplicateKeyException.class,
+            () -> repository.insertIfAbsent(contract("CONTRACT-0000000B", "PR-2", "DEAL-2", "key-1")));
+
+        PSQLException cause = assertInstanceOf(PSQLException.class, exception.getCause());
+        assertEquals("23505", cause.getSQLState());
+        assertEquals("uk_contracts_idempotency_key", cause.getServerErrorMessage().getConstraint());
+    }
+
+    @Test
+    @DisplayName("Should skip batch rows that clash on deal_id and report existing purchase requests as not inserted")
+    void shouldSkipBatchRowsConflictingOnDealId() {
+        repository.insertIfAbsent(contract("CONTRACT-0000000A", "PR-1", "DEAL-1", null));
+
+        List<ContractInsertResult> results = repository.insertAllIfAbsent(List.of(
+            contract("CONTRACT-0000000B", "PR-1", "DEAL-9", null),
+            contract("CONTRACT-0000000C", "PR-2", "DEAL-2", null),
+            contract("CONTRACT-0000000D", "PR-3", "DEAL-2", null)));
+
+        assertEquals(3, results.size());
+        assertFalse(results.get(0).isInserted());
+        assertEquals("CONTRACT-0000000A", results.get(0).getContractId());
+        assertTrue(results.get(1).isInserted());
+        assertEquals("CONTRACT-0000000C", results.get(1).getContractId());
+        assertNull(results.get(2), "PR-3 lost on deal_id and has no row");
+        assertEquals(2, countContracts());
+    }
+
+    @Test
+    @DisplayName("Should find an existing contract by purchase request first, then by idempotency key")
+    void shouldFindExistingByPurchaseRequestOrKey() {
+        repository.insertIfAbsent(contract("CONTRACT-0000000A", "PR-1", "DEAL-1", "key-1"));
+        repository.insertIfAbsent(contract("CONTRACT-0000000B", "PR-2", "DEAL-2", "key-2"));
+
+        assertEquals("CONTRACT-0000000A", repository.findExisting("PR-1", null).orElseThrow().getContractId());
+        assertEquals("CONTRACT-0000000A", repository.findExisting("PR-1", "key-2").orElseThrow().getContractId());
+        assertEquals("CONTRACT-0000000B", repository.findExisting("PR-3", "key-2").orElseThrow().getContractId());
+        assertTrue(repository.findExisting("PR-3", null).isEmpty());
+        assertTrue(repository.findExisting("PR-3", "key-3").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should claim stale PENDING contracts oldest first and not again within the stale window")
+    void shouldClaimStalePendingContracts() {
+        repository.insertIfAbsent(contract("CONTRACT-0000000A", "PR-1", "DEAL-1", null));
+        repository.insertIfAbsent(contract("CONTRACT-0000000B", "PR-2", "DEAL-2", null));
+        repository.insertIfAbsent(contract("CONTRACT-0000000C", "PR-3", "DEAL-3", null));
+        repository.insertIfAbsent(contract("CONTRACT-0000000D", "PR-4", "DEAL-4", null));
+        jdbc.update("UPDATE contracts SET created_at = CURRENT_TIMESTAMP - INTERVAL '10 minutes'"
+                    + " WHERE contract_id <> 'CONTRACT-0000000C'");
+        jdbc.update("UPDATE contracts SET created_at = created_at - INTERVAL '1 minute'"
+                    + " WHERE contract_id = 'CONTRACT-0000000B'");
+        jdbc.update("UPDATE contracts SET generation_status = 'PUBLISHED' WHERE contract_id = 'CONTRACT-0000000D'");
+
+        assertEquals(List.of("CONTRACT-0000000B"), repository.claimStalePending(Duration.ofMinutes(5), 1));
+        assertEquals(List.of("CONTRACT-0000000A"), repository.claimStalePending(Duration.ofMinutes(5), 10));
+        assertTrue(repository.claimStalePending(Duration.ofMinutes(5), 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should hand a PENDING contract to exactly one of two concurrent claims")
+    void shouldClaimForGenerationOnce() throws Exception {
+        repository.insertIfAbsent(contract("CONTRACT-0000000A", "PR-1", "DEAL-1", null));
+        CountDownLatch ready = new CountDownLatch(2);
+        List<CompletableFuture<Boolean>> claims = List.of(
+            CompletableFuture.supplyAsync(() -> claimWhenReady(ready, "CONTRACT-0000000A")),
+            CompletableFuture.supplyAsync(() -> claimWhenReady(ready, "CONTRACT-0000000A")));
+
+        long won = 0;
+        for (CompletableFuture<Boolean> claim : claims) {
+            won += claim.get(10, TimeUnit.SECONDS) ? 1 : 0;
+        }
+
+        assertEquals(1, won);
+        assertEquals("GENERATING", jdbc.queryForObject(
+            "SELECT generation_status FROM contracts WHERE contract_id = 'CONTRACT-0000000A'", String.class));
+        assertFalse(repository.claimForGeneration("CONTRACT-0000000A"));
+        assertFalse(repository.claimForGeneration("CONTRACT-MISSING0"));
+    }
+
+    @Test
+    @DisplayName("Should put abandoned GENERATING contracts back to PENDING when sweeping")
+    void shouldReclaimAbandonedGeneratingContracts() {
+        repository.insertIfAbsent(contract("CONTRACT-0000000A", "PR-1", "DEAL-1", null));
+        assertTrue(repository.claimForGeneration("CONTRACT-0000000A"));
+        assertTrue(repository.claimStalePending(Duration.ofMinutes(5), 10).isEmpty());
+
+        jdbc.update("UPDATE contracts SET updated_at = CURRENT_TIMESTAMP - INTERVAL '10 minutes'");
+
+        assertEquals(List.of("CONTRACT-0000000A"), repository.claimStalePending(Duration.ofMinutes(5), 10));
+        assertTrue(repository.claimForGeneration("CONTRACT-0000000A"));
+    }
+
+    private static boolean claimWhenReady(CountDownLatch ready, String contractId) {
+        ready.countDown();
+        await(ready);
+        return repository.claimForGeneration(contractId);
+    }
+
+    private static Contract contract(String contractId, String purchaseRequestId, String dealId, String idempotencyKey) {
+        Contract contract = new Contract(contractId, purchaseRequestId, dealId, Map.of("firstName", "John"),
+            Map.of("totalAmount", 60000), List.of(Map.of("vehicleModel", "C-Class")));
+        contract.setIdempotencyKey(idempotencyKey);
+        contract.setCreatedAt(LocalDateTime.now());
+        return contract;
+    }
+
+    private static int countContracts() {
+        return jdbc.queryForObject("SELECT count(*) FROM contracts", Integer.class);
+    }
+
+    /**
+     * Wait until some session is blocked on a lock, i.e. the second insert waits in ON CONFLICT
+     */
+    private static void awaitLockWait() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (jdbc.queryForObject("SELECT count(*) FROM pg_stat_activity WHERE wait_event_type = 'Lock'",
+                                   Integer.class) == 0) {
+            assertTrue(System.nanoTime() < deadline, "Second insert never waited for the first");
+            Thread.sleep(20);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package com.mercedes.contract.repository;
 
 import com.mercedes.contract.entity.Contract;
+import com.mercedes.contract.entity.ContractGenerationStatus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -377,6 +379,70 @@ class ContractRepositoryTest {
                     .findFirst();
         }
 
+        @Override
+        public ContractInsertResult insertIfAbsent(Contract contract) {
+            Contract existing = contracts.values().stream()
+                .filter(c -> contract.getPurchaseRequestId().equals(c.getPurchaseRequestId()))
+                .findFirst()
+                .orElse(null);
+            boolean inserted = existing == null;
+            if (inserted) {
+                contracts.put(contract.getContractId(), contract);
+                existing = contract;
+            }
+            return new ContractInsertResult(inserted, existing.getContractId(), existing.getPurchaseRequestId(),
+                existing.getIdempotencyKey(), existing.getPdfStorageLocation(), existing.getGenerationStatus(),
+                existing.getCreatedAt());
+        }
+
+        @Override
+        public List<ContractInsertResult> insertAllIfAbsent(List<Contract> batch) {
+            List<ContractInsertResult> results = new ArrayList<>();
+            for (Contract contract : batch) {
+                results.add(insertIfAbsent(contract));
+            }
+            return results;
+        }
+
+        @Override
+        public List<ContractInsertResult> findExistingByPurchaseRequestIds(Collection<String> purchaseRequestIds) {
+            List<ContractInsertResult> results = new ArrayList<>();
+            for (Contract c : contracts.values()) {
+                if (purchaseRequestIds.contains(c.getPurchaseRequestId())) {
+                    results.add(new ContractInsertResult(false, c.getContractId(), c.getPurchaseRequestId(),
+                        c.getIdempotencyKey(), c.getPdfStorageLocation(), c.getGenerationStatus(), c.getCreatedAt()));
+                }
+            }
+            return results;
+        }
+
+        @Override
+        public Optional<ContractInsertResult> findExisting(String purchaseRequestId, String idempotencyKey) {
+            return contracts.values().stream()
+                .filter(c -> purchaseRequestId.equals(c.getPurchaseRequestId()))
+                .findFirst()
+                .or(() -> contracts.values().stream()
+                    .filter(c -> idempotencyKey != null && idempotencyKey.equals(c.getIdempotencyKey()))
+                    .findFirst())
+                .map(c -> new ContractInsertResult(false, c.getContractId(), c.getPurchaseRequestId(),
+                    c.getIdempotencyKey(), c.getPdfStorageLocation(), c.getGenerationStatus(), c.getCreatedAt()));
+        }
+
+        @Override
+        public List<String> claimStalePending(Duration staleAfter, int limit) {
+            return List.of();
+        }
+
+        @Override
+        public boolean claimForGeneration(String contractId) {
+            Contract contract = contracts.get(contractId);
+            if (contract == null || contract.getGenerationStatus() != ContractGenerationStatus.PENDING) {
+                return false;
+            }
+            contract.setGenerationStatus(ContractGenerationStatus.GENERATING);
+            return true;
+        }
+
         @Override
         public boolean existsByPurchaseRequestId(String purchaseRequestId) {
             if (purchaseRequestId == null) {
@@ -0,0 +1,90 @@
+package com.mercedes.contract.service;
+
+import com.mercedes.contract.benchmark.JmhBenchmarks;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JMH benchmark of audit line formatting
+ * Measures what the audit writer does per event: timestamp formatting, masking and building
+ * the text or JSON line into a reused buffer, for a contract creation (three masked identifiers)
+ * and a retry attempt (operation plus attempt counters).
+ *
+ * Skipped by default; run with:
+ *   mvn test -Dtest=AuditFormattingBenchmarkTest -Dbenchmark=true
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@DisplayName("Audit formatting benchmark")
+public class AuditFormattingBenchmarkTest {
+
+    private final AuditService auditService = new AuditService(ContractPipelineMetrics.NOOP);
+    private final AuditEvent created = new AuditEvent();
+    private final AuditEvent retry = new AuditEvent();
+    private final StringBuilder line = new StringBuilder(256);
+
+    public AuditFormattingBenchmarkTest() {
+        long timestamp = System.currentTimeMillis();
+        created.set(AuditEvent.Type.CONTRACT_CREATED, timestamp, "4bf92f3577b34da6a3ce929d0e0e4736",
+                    "CONTRACT-BE7C4A01", "PR-2025-000123", "DEAL-2025-000456", null, 0, 0);
+        retry.set(AuditEvent.Type.RETRY_ATTEMPT, timestamp, "4bf92f3577b34da6a3ce929d0e0e4736",
+                  "publishContractCreatedEvent", "CONTRACT-BE7C4A01", null, null, 2, 3);
+    }
+
+    @Benchmark
+    public String contractCreatedText() {
+        line.setLength(0);
+        auditService.appendText(created, line);
+        return line.toString();
+    }
+
+    @Benchmark
+    public String contractCreatedJson() {
+        line.setLength(0);
+        auditService.appendJson(created, line);
+        return line.toString();
+    }
+
+    @Benchmark
+    public String retryAttemptText() {
+        line.setLength(0);
+        auditService.appendText(retry, line);
+        return line.toString();
+    }
+
+    @Benchmark
+    public String retryAttemptJson() {
+        line.setLength(0);
+        auditService.appendJson(retry, line);
+        return line.toString();
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @DisplayName("Measure text and JSON audit line formatting")
+    void measureAuditFormatting() throws Exception {
+        Collection<RunResult> results = JmhBenchmarks.run(AuditFormattingBenchmarkTest.class);
+
+        assertEquals(4, results.size());
+    }
+}
@@ -0,0 +1,162 @@
+package com.mercedes.contract.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AuditRingBuffer
+ * Tests ordering, both overflow policies, handler failures and draining on close
+ */
+@DisplayName("AuditRingBuffer Tests")
+class AuditRingBufferTest {
+
+    @Test
+    @DisplayName("Should hand every event to the writer in order across producers")
+    void shouldHandEveryEventToWriterInOrder() throws Exception {
+        List<String> written = Collections.synchronizedList(new ArrayList<>());
+        AuditRingBuffer buffer = new AuditRingBuffer(64, AuditRingBuffer.OverflowPolicy.BLOCK,
+                                                     event -> written.add(event.values[0] + ":" + event.values[1]),
+                                                     "audit-writer-test");
+        buffer.start();
+
+        int producers = 4;
+        int perProducer = 10_000;
+        List<CompletableFuture<Void>> runs = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            String producer = "p" + p;
+            runs.add(CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    publish(buffer, producer, String.valueOf(i));
+                }
+            }));
+        }
+        CompletableFuture.allOf(runs.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+        buffer.close(5000);
+
+        assertEquals(producers * perProducer, written.size());
+        Map<String, Integer> lastSeen = new HashMap<>();
+        for (String entry : written) {
+            String[] parts = entry.split(":");
+            int sequence = Integer.parseInt(parts[1]);
+            assertEquals(lastSeen.getOrDefault(parts[0], -1) + 1, sequence, "out of order for " + parts[0]);
+            lastSeen.put(parts[0], sequence);
+        }
+        assertEquals(0, buffer.droppedCount());
+    }
+
+    @Test
+    @DisplayName("Should drop and count events while the writer is behind")
+    void shouldDropAndCountWhenFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> written = Collections.synchronizedList(new ArrayList<>());
+        AuditRingBuffer buffer = new AuditRingBuffer(4, AuditRingBuffer.OverflowPolicy.DROP,
+                                                     event -> { await(release); written.add(event.values[0]); },
+                                                     "audit-writer-test");
+        buffer.start();
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(publish(buffer, "e" + i, null) >= 0);
+        }
+        assertEquals(AuditRingBuffer.DROPPED, publish(buffer, "e4", null));
+        assertEquals(AuditRingBuffer.DROPPED, publish(buffer, "e5", null));
+        assertEquals(2, buffer.droppedCount());
+
+        release.countDown();
+        buffer.close(5000);
+        assertEquals(List.of("e0", "e1", "e2", "e3"), written);
+    }
+
+    @Test
+    @DisplayName("Should make producers wait for a free slot with the block policy")
+    void shouldBlockProducersWhenFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> written = Collections.synchronizedList(new ArrayList<>());
+        AuditRingBuffer buffer = new AuditRingBuffer(4, AuditRingBuffer.OverflowPolicy.BLOCK,
+                                                     event -> { await(release); written.add(event.values[0]); },
+                                                     "audit-writer-test");
+        buffer.start();
+        for (int i = 0; i < 4; i++) {
+            publish(buffer, "e" + i, null);
+        }
+
+        CompletableFuture<Long> blocked = CompletableFuture.supplyAsync(() -> publish(buffer, "e4", null));
+        assertThrows(TimeoutException.class, () -> blocked.get(200, TimeUnit.MILLISECONDS));
+
+        release.countDown();
+        assertTrue(blocked.get(5, TimeUnit.SECONDS) >= 0);
+        buffer.close(5000);
+        assertEquals(List.of("e0", "e1", "e2", "e3", "e4"), written);
+        assertEquals(0, buffer.droppedCount());
+    }
+
+    @Test
+    @DisplayName("Should keep writing after the handler fails with an Error")
+    void shouldKeepWritingAfterHandlerError() throws Exception {
+        List<String> written = Collections.synchronizedList(new ArrayList<>());
+        AuditRingBuffer buffer = new AuditRingBuffer(4, AuditRingBuffer.OverflowPolicy.BLOCK, event -> {
+            if ("e1".equals(event.values[0])) {
+                throw new NoClassDefFoundError("com/example/MissingEncoder");
+            }
+            written.add(event.values[0]);
+        }, "audit-writer-test");
+        buffer.start();
+
+        // More events than slots, so the producer only gets through if the writer survived
+        CompletableFuture<Void> producer = CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < 10; i++) {
+                publish(buffer, "e" + i, null);
+            }
+        });
+        producer.get(5, TimeUnit.SECONDS);
+        buffer.close(5000);
+
+        assertEquals(List.of("e0", "e2", "e3", "e4", "e5", "e6", "e7", "e8", "e9"), written);
+    }
+
+    @Test
+    @DisplayName("Should report closed once shut down")
+    void shouldReportClosedOnceShutDown() throws Exception {
+        AuditRingBuffer buffer = new AuditRingBuffer(4, AuditRingBuffer.OverflowPolicy.BLOCK, event -> { },
+                                                     "audit-writer-test");
+        buffer.start();
+        buffer.close(5000);
+
+        assertEquals(AuditRingBuffer.CLOSED, buffer.claim());
+    }
+
+    @Test
+    @DisplayName("Should require a power of two capacity")
+    void shouldRequirePowerOfTwoCapacity() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new AuditRingBuffer(12, AuditRingBuffer.OverflowPolicy.BLOCK, event -> { }, "audit-writer-test"));
+    }
+
+    private static long publish(AuditRingBuffer buffer, String value0, String value1) {
+        long sequence = buffer.claim();
+        if (sequence >= 0) {
+            buffer.get(sequence).set(AuditEvent.Type.CONTRACT_RETRIEVED, 0, null, value0, value1, null, null, 0, 0);
+            buffer.publish(sequence);
+        }
+        return sequence;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
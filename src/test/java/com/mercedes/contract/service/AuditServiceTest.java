@@ -1,9 +1,18 @@
 package com.mercedes.contract.service;
 
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -16,10 +25,21 @@ import static org.junit.jupiter.api.Assertions.*;
 class AuditServiceTest {
 
     private AuditService auditService;
+    private ListAppender<ILoggingEvent> appender;
 
     @BeforeEach
     void setUp() {
-        auditService = new AuditService();
+        auditService = new AuditService(ContractPipelineMetrics.NOOP);
+        appender = new ListAppender<>();
+        appender.start();
+        ((Logger) LoggerFactory.getLogger("AUDIT")).addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        auditService.stop();
+        ((Logger) LoggerFactory.getLogger("AUDIT")).detachAppender(appender);
+        MDC.clear();
     }
 
     @Test
@@ -271,4 +291,91 @@ class AuditServiceTest {
             auditService.logContractRetrieved(contractId);
         });
     }
+
+    @Test
+    @DisplayName("Should keep the key=value line format with masked identifiers")
+    void shouldKeepTextLineFormat() {
+        MDC.put("traceId", "trace-1");
+
+        auditService.logContractCreated("CONTRACT-123", "PR-456", "DEAL");
+        auditService.logRetryAttempt("pdf-upload", "CONTRACT-123", 2, 3);
+
+        List<ILoggingEvent> events = appender.list;
+        assertTrue(events.get(0).getFormattedMessage().matches("CONTRACT_CREATED \\| timestamp=\\d{4}-\\d{2}-\\d{2} "
+            + "\\d{2}:\\d{2}:\\d{2}\\.\\d{3} \\| contractId=CONT\\*\\*\\*\\* \\| purchaseRequestId=PR-4\\*\\*\\*\\* "
+            + "\\| dealId=\\*\\*\\*\\* \\| traceId=trace-1 \\| status=SUCCESS"), events.get(0).getFormattedMessage());
+        assertTrue(events.get(1).getFormattedMessage().endsWith("| operation=pdf-upload | identifier=CONT**** "
+            + "| attempt=2/3 | traceId=trace-1 | status=RETRY"), events.get(1).getFormattedMessage());
+        assertEquals("WARN", events.get(1).getLevel().toString());
+    }
+
+    @Test
+    @DisplayName("Should write one JSON object per line in JSON mode")
+    void shouldWriteJsonLines() throws Exception {
+        setField("format", "json");
+        auditService.start();
+
+        auditService.logEventPublishingFailed("CONTRACT_CREATED", "CONTRACT-123", "contract-events",
+                                              "broker said \"no\"\nretrying");
+
+        JsonNode line = new ObjectMapper().readTree(appender.list.get(0).getFormattedMessage());
+        assertEquals("EVENT_PUBLISHING_FAILED", line.get("event").asText());
+        assertEquals("CONT****", line.get("contractId").asText());
+        assertEquals("contract-events", line.get("topic").asText());
+        assertEquals("broker said \"no\"\nretrying", line.get("reason").asText());
+        assertTrue(line.get("traceId").isNull());
+        assertEquals("FAILURE", line.get("status").asText());
+        assertTrue(line.get("timestamp").asText().endsWith("Z"));
+    }
+
+    @Test
+    @DisplayName("Should write asynchronously on the audit writer thread with the caller's traceId")
+    void shouldWriteAsynchronouslyWithCallerTraceId() throws Exception {
+        setField("async", true);
+        setField("bufferSize", 16);
+        auditService.start();
+
+        for (int i = 0; i < 100; i++) {
+            MDC.put("traceId", "trace-" + i);
+            auditService.logContractRetrieved("CONTRACT-" + i);
+        }
+        auditService.stop();
+
+        assertEquals(100, appender.list.size());
+        for (int i = 0; i < 100; i++) {
+            ILoggingEvent event = appender.list.get(i);
+            assertEquals("audit-writer", event.getThreadName());
+            assertEquals("trace-" + i, event.getMDCPropertyMap().get("traceId"));
+            assertTrue(event.getFormattedMessage().contains("traceId=trace-" + i + " "));
+        }
+        assertEquals(0, auditService.droppedEvents());
+    }
+
+    @Test
+    @DisplayName("Should write on the calling thread once stopped")
+    void shouldWriteSynchronouslyOnceStopped() throws Exception {
+        setField("async", true);
+        auditService.start();
+        auditService.stop();
+
+        auditService.logContractRetrieved("CONTRACT-123");
+
+        assertEquals(1, appender.list.size());
+        assertEquals(Thread.currentThread().getName(), appender.list.get(0).getThreadName());
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown overflow policy")
+    void shouldRejectUnknownOverflowPolicy() throws Exception {
+        setField("async", true);
+        setField("overflowPolicy", "spill");
+
+        assertThrows(IllegalArgumentException.class, () -> auditService.start());
+    }
+
+    private void setField(String name, Object value) throws Exception {
+        var field = AuditService.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(auditService, value);
+    }
 }
@@ -0,0 +1,118 @@
+package com.mercedes.contract.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CompiledTemplate
+ * Tests template parsing, field substitution, sections and escaping
+ */
+@DisplayName("CompiledTemplate Tests")
+class CompiledTemplateTest {
+
+    @Test
+    @DisplayName("Should substitute simple and dotted fields")
+    void shouldSubstituteSimpleAndDottedFields() {
+        CompiledTemplate template = CompiledTemplate.compile("<p>{{contractId}} / {{customer.customerName}}</p>");
+
+        Map<String, Object> model = new HashMap<>();
+        model.put("contractId", "CONTRACT-ABCD1234");
+        model.put("customer", Map.of("customerName", "Hilton Hotels"));
+
+        assertEquals("<p>CONTRACT-ABCD1234 / Hilton Hotels</p>", template.render(model));
+    }
+
+    @Test
+    @DisplayName("Should render missing fields as empty")
+    void shouldRenderMissingFieldsAsEmpty() {
+        CompiledTemplate template = CompiledTemplate.compile("[{{missing}}][{{customer.missing}}]");
+
+        assertEquals("[][]", template.render(new HashMap<>()));
+    }
+
+    @Test
+    @DisplayName("Should HTML-escape field values")
+    void shouldHtmlEscapeFieldValues() {
+        CompiledTemplate template = CompiledTemplate.compile("<span>{{name}}</span>");
+
+        String html = template.render(Map.of("name", "<b>Smith & \"Sons\"</b>"));
+
+        assertEquals("<span>&lt;b&gt;Smith &amp; &quot;Sons&quot;&lt;/b&gt;</span>", html);
+    }
+
+    @Test
+    @DisplayName("Should iterate list sections with 1-based index")
+    void shouldIterateListSectionsWithIndex() {
+        CompiledTemplate template = CompiledTemplate.compile("{{#orders}}<tr>{{@index}}:{{model}}</tr>{{/orders}}");
+
+        List<Map<String, Object>> orders = List.of(Map.of("model", "C300"), Map.of("model", "E200"));
+
+        assertEquals("<tr>1:C300</tr><tr>2:E200</tr>", template.render(Map.of("orders", orders)));
+    }
+
+    @Test
+    @DisplayName("Should skip sections for null, empty and blank values")
+    void shouldSkipSectionsForNullEmptyAndBlankValues() {
+        CompiledTemplate template = CompiledTemplate.compile("{{#a}}A{{/a}}{{#b}}B{{/b}}{{#c}}C{{/c}}{{#d}}D{{/d}}{{#e}}E{{/e}}");
+
+        Map<String, Object> model = new HashMap<>();
+        model.put("a", null);
+        model.put("b", "  ");
+        model.put("c", new ArrayList<>());
+        model.put("d", false);
+        model.put("e", 0);
+
+        assertEquals("E", template.render(model));
+    }
+
+    @Test
+    @DisplayName("Should render inverted sections when value is missing")
+    void shouldRenderInvertedSectionsWhenValueIsMissing() {
+        CompiledTemplate template = CompiledTemplate.compile("{{#price}}{{price}}{{/price}}{{^price}}n/a{{/price}}");
+
+        assertEquals("n/a", template.render(new HashMap<>()));
+        assertEquals("42", template.render(Map.of("price", 42)));
+    }
+
+    @Test
+    @DisplayName("Should resolve names from enclosing scopes inside sections")
+    void shouldResolveNamesFromEnclosingScopes() {
+        CompiledTemplate template = CompiledTemplate.compile("{{#customer}}{{name}} ({{contractId}}){{/customer}}");
+
+        Map<String, Object> model = Map.of("contractId", "CONTRACT-1", "customer", Map.of("name", "Doe"));
+
+        assertEquals("Doe (CONTRACT-1)", template.render(model));
+    }
+
+    @Test
+    @DisplayName("Should reject unbalanced sections")
+    void shouldRejectUnbalancedSections() {
+        assertThrows(IllegalArgumentException.class, () -> CompiledTemplate.compile("{{#a}}text"));
+        assertThrows(IllegalArgumentException.class, () -> CompiledTemplate.compile("{{#a}}text{{/b}}"));
+        assertThrows(IllegalArgumentException.class, () -> CompiledTemplate.compile("text{{/a}}"));
+        assertThrows(IllegalArgumentException.class, () -> CompiledTemplate.compile("{{unclosed"));
+    }
+
+    @Test
+    @DisplayName("Should size buffer by list item count")
+    void shouldSizeBufferByListItemCount() {
+        CompiledTemplate template = CompiledTemplate.compile("<table>{{#orders}}<tr><td>{{model}}</td></tr>{{/orders}}</table>");
+
+        List<Map<String, Object>> orders = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            orders.add(Map.of("model", "C300"));
+        }
+
+        int estimate = template.estimateCapacity(Map.of("orders", orders));
+        int actual = template.render(Map.of("orders", orders)).length();
+
+        assertTrue(estimate >= actual, "estimate " + estimate + " should cover " + actual);
+    }
+}
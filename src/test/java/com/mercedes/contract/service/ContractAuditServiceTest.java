@@ -0,0 +1,283 @@
+package com.mercedes.contract.service;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.mercedes.contract.dto.ContractAuditResponse;
+import com.mercedes.contract.exception.ContractNotFoundException;
+import com.mercedes.contract.repository.AuditEventRecord;
+import com.mercedes.contract.repository.AuditEventRepository;
+import com.mercedes.contract.repository.ContractRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ContractAuditService
+ * Tests the conversion of audit events, batched flushing, retry of failed batches,
+ * dropping on a full queue and the per-contract query
+ */
+@DisplayName("ContractAuditService Tests")
+class ContractAuditServiceTest {
+
+    private AuditEventRepository auditEventRepository;
+    private ContractRepository contractRepository;
+    private ContractAuditService contractAuditService;
+    private AuditService auditService;
+    // insertAll receives the pending list itself, so copy each batch when it is stored
+    private final List<List<AuditEventRecord>> storedBatches = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        auditEventRepository = mock(AuditEventRepository.class);
+        contractRepository = mock(ContractRepository.class);
+        doAnswer(invocation -> storedBatches.add(List.copyOf(invocation.getArgument(0))))
+            .when(auditEventRepository).insertAll(anyList());
+
+        contractAuditService = newService(10);
+
+        // Synchronous AuditService, so events reach the store on the calling thread
+        auditService = new AuditService(ContractPipelineMetrics.NOOP);
+        setField(auditService, AuditService.class, "contractAuditService", contractAuditService);
+        auditService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    @DisplayName("Should store identifiers unmasked in columns and other fields in details")
+    void shouldMapAuditEventToRecord() {
+        MDC.put("traceId", "trace-123");
+        auditService.logContractCreated("CONTRACT-12345678", "PR-12345678", "DEAL-12345678");
+        auditService.logPdfGenerated("CONTRACT-12345678", "contracts/contract-12345678.pdf");
+
+        contractAuditService.flush();
+
+        assertEquals(1, storedBatches.size());
+        AuditEventRecord created = storedBatches.get(0).get(0);
+        assertEquals("CONTRACT_CREATED", created.getEventType());
+        assertEquals("SUCCESS", created.getStatus());
+        assertEquals("CONTRACT-12345678", created.getContractId());
+        assertEquals("PR-12345678", created.getPurchaseRequestId());
+        assertEquals("DEAL-12345678", created.getDealId());
+        assertEquals("trace-123", created.getTraceId());
+        assertEquals(Map.of(), created.getDetails());
+
+        AuditEventRecord pdf = storedBatches.get(0).get(1);
+        assertEquals("PDF_GENERATED", pdf.getEventType());
+        assertEquals(Map.of("storageLocation", "contracts/contract-12345678.pdf"), pdf.getDetails());
+    }
+
+    @Test
+    @DisplayName("Should keep attempt counters of retry events in details")
+    void shouldKeepRetryCountersInDetails() {
+        auditService.logRetryAttempt("pdfUpload", "CONTRACT-12345678", 2, 3);
+
+        contractAuditService.flush();
+
+        AuditEventRecord retry = storedBatches.get(0).get(0);
+        assertEquals("RETRY", retry.getStatus());
+        assertNull(retry.getContractId());
+        assertEquals(Map.of("operation", "pdfUpload", "identifier", "CONTRACT-12345678",
+                            "attempt", 2, "maxAttempts", 3), retry.getDetails());
+    }
+
+    @Test
+    @DisplayName("Should store queued events in batches of the configured size")
+    void shouldFlushInBatches() {
+        for (int i = 0; i < 5; i++) {
+            auditService.logContractRetrieved("CONTRACT-" + i);
+        }
+
+        contractAuditService.flush();
+
+        assertEquals(List.of(2, 2, 1), storedBatches.stream().map(List::size).toList());
+        assertEquals("CONTRACT-0", storedBatches.get(0).get(0).getContractId());
+        assertEquals("CONTRACT-4", storedBatches.get(2).get(0).getContractId());
+    }
+
+    @Test
+    @DisplayName("Should retry a failed batch on the next flush without losing it")
+    void shouldRetryFailedBatch() {
+        auditService.logContractRetrieved("CONTRACT-1");
+        doThrow(new DataAccessResourceFailureException("database unavailable"))
+            .doAnswer(invocation -> storedBatches.add(List.copyOf(invocation.getArgument(0))))
+            .when(auditEventRepository).insertAll(anyList());
+
+        contractAuditService.flush();
+        assertTrue(storedBatches.isEmpty());
+
+        contractAuditService.flush();
+        assertEquals(1, storedBatches.size());
+        assertEquals("CONTRACT-1", storedBatches.get(0).get(0).getContractId());
+    }
+
+    @Test
+    @DisplayName("Should cut identifiers to the audit_events column widths")
+    void shouldTruncateIdentifiersToColumnWidths() {
+        MDC.put("traceId", "t".repeat(100));
+        auditService.logContractRetrievalFailed("C".repeat(80), "Contract not found");
+        auditService.logContractCreationFailed("P".repeat(150), "D".repeat(150), "size must be at most 100");
+
+        contractAuditService.flush();
+
+        AuditEventRecord retrieval = storedBatches.get(0).get(0);
+        assertEquals("C".repeat(ContractAuditService.CONTRACT_ID_LENGTH), retrieval.getContractId());
+        assertEquals(ContractAuditService.TRACE_ID_LENGTH, retrieval.getTraceId().length());
+        AuditEventRecord creation = storedBatches.get(0).get(1);
+        assertEquals(ContractAuditService.PURCHASE_REQUEST_ID_LENGTH, creation.getPurchaseRequestId().length());
+        assertEquals(ContractAuditService.DEAL_ID_LENGTH, creation.getDealId().length());
+    }
+
+    @Test
+    @DisplayName("Should store a rejected batch row by row and skip only the bad row")
+    void shouldSkipRowsRejectedByTheTable() {
+        auditService.logContractRetrieved("CONTRACT-1");
+        auditService.logContractRetrieved("CONTRACT-BAD");
+        auditService.logContractRetrieved("CONTRACT-3");
+        doAnswer(invocation -> {
+            List<AuditEventRecord> batch = invocation.getArgument(0);
+            if (batch.stream().anyMatch(event -> "CONTRACT-BAD".equals(event.getContractId()))) {
+                throw new DataIntegrityViolationException("value too long");
+            }
+            return storedBatches.add(List.copyOf(batch));
+        }).when(auditEventRepository).insertAll(anyList());
+
+        contractAuditService.flush();
+        contractAuditService.flush();
+
+        assertEquals(List.of("CONTRACT-1", "CONTRACT-3"), storedBatches.stream()
+            .flatMap(List::stream).map(AuditEventRecord::getContractId).toList());
+        verify(auditEventRepository, times(4)).insertAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Should store events even when the AUDIT log level is off")
+    void shouldStoreEventsWhenAuditLogIsOff() {
+        Logger auditLogger = (Logger) LoggerFactory.getLogger("AUDIT");
+        Level level = auditLogger.getLevel();
+        auditLogger.setLevel(Level.OFF);
+        try {
+            auditService.logContractRetrieved("CONTRACT-1");
+            auditService.logContractRetrievalFailed("CONTRACT-2", "Contract not found");
+        } finally {
+            auditLogger.setLevel(level);
+        }
+
+        contractAuditService.flush();
+
+        assertEquals(List.of("CONTRACT-1", "CONTRACT-2"), storedBatches.stream()
+            .flatMap(List::stream).map(AuditEventRecord::getContractId).toList());
+    }
+
+    @Test
+    @DisplayName("Should drop events from the store when the queue is full and keep logging them")
+    void shouldDropWhenQueueIsFull() throws Exception {
+        contractAuditService = newService(2);
+        setField(auditService, AuditService.class, "contractAuditService", contractAuditService);
+
+        for (int i = 0; i < 5; i++) {
+            auditService.logContractRetrieved("CONTRACT-" + i);
+        }
+        contractAuditService.flush();
+
+        assertEquals(2, storedBatches.stream().mapToInt(List::size).sum());
+    }
+
+    @Test
+    @DisplayName("Should not queue anything when the store is disabled")
+    void shouldIgnoreEventsWhenDisabled() throws Exception {
+        setField(contractAuditService, ContractAuditService.class, "storeEnabled", false);
+
+        auditService.logContractRetrieved("CONTRACT-1");
+        contractAuditService.flush();
+        contractAuditService.ensurePartitions();
+
+        verifyNoInteractions(auditEventRepository);
+    }
+
+    @Test
+    @DisplayName("Should create partitions for the current and upcoming months")
+    void shouldCreateUpcomingPartitions() {
+        contractAuditService.ensurePartitions();
+
+        YearMonth now = YearMonth.now();
+        verify(auditEventRepository).createMonthlyPartition(now);
+        verify(auditEventRepository).createMonthlyPartition(now.plusMonths(1));
+        verify(auditEventRepository).createMonthlyPartition(now.plusMonths(2));
+    }
+
+    @Test
+    @DisplayName("Should keep creating later partitions when one month fails")
+    void shouldCreateLaterPartitionsAfterFailure() {
+        YearMonth now = YearMonth.now();
+        doThrow(new DataAccessResourceFailureException("lock timeout"))
+            .when(auditEventRepository).createMonthlyPartition(now.plusMonths(1));
+
+        contractAuditService.ensurePartitions();
+
+        verify(auditEventRepository).createMonthlyPartition(now);
+        verify(auditEventRepository).createMonthlyPartition(now.plusMonths(2));
+    }
+
+    @Test
+    @DisplayName("Should return the audit trail of a contract with a bounded limit")
+    void shouldReturnContractAudit() {
+        LocalDateTime timestamp = LocalDateTime.of(2026, 10, 1, 10, 0);
+        when(auditEventRepository.findByContractId("CONTRACT-1", ContractAuditService.MAX_QUERY_LIMIT))
+            .thenReturn(List.of(new AuditEventRecord(7L, timestamp, "PDF_GENERATED", "SUCCESS", "CONTRACT-1",
+                                                     null, null, "trace-123", Map.of("storageLocation", "a.pdf"))));
+
+        ContractAuditResponse response = contractAuditService.getContractAudit("CONTRACT-1", 50_000);
+
+        assertEquals("CONTRACT-1", response.getContractId());
+        assertEquals(1, response.getEvents().size());
+        assertEquals("PDF_GENERATED", response.getEvents().get(0).getEventType());
+        assertEquals(timestamp, response.getEvents().get(0).getTimestamp());
+        assertEquals("a.pdf", response.getEvents().get(0).getDetails().get("storageLocation"));
+        verifyNoInteractions(contractRepository);
+    }
+
+    @Test
+    @DisplayName("Should distinguish unknown contracts from contracts without audit events")
+    void shouldThrowForUnknownContract() {
+        when(auditEventRepository.findByContractId(anyString(), anyInt())).thenReturn(List.of());
+        when(contractRepository.existsById("CONTRACT-1")).thenReturn(true);
+
+        assertTrue(contractAuditService.getContractAudit("CONTRACT-1", 100).getEvents().isEmpty());
+        assertThrows(ContractNotFoundException.class,
+                     () -> contractAuditService.getContractAudit("NON_EXISTENT", 100));
+    }
+
+    private ContractAuditService newService(int queueCapacity) throws Exception {
+        ContractAuditService service = new ContractAuditService(auditEventRepository, contractRepository, queueCapacity);
+        setField(service, ContractAuditService.class, "storeEnabled", true);
+        setField(service, ContractAuditService.class, "batchSize", 2);
+        setField(service, ContractAuditService.class, "monthsAhead", 2);
+        return service;
+    }
+
+    private static void setField(Object target, Class<?> type, String name, Object value) throws Exception {
+        var field = type.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+}
@@ -0,0 +1,288 @@
+package com.mercedes.contract.service;
+
+import com.mercedes.contract.dto.ContractBatchItemResult;
+import com.mercedes.contract.dto.ContractBatchResponse;
+import com.mercedes.contract.dto.ContractRequest;
+import com.mercedes.contract.entity.Contract;
+import com.mercedes.contract.entity.ContractGenerationStatus;
+import com.mercedes.contract.exception.PdfGenerationException;
+import com.mercedes.contract.repository.ContractInsertResult;
+import com.mercedes.contract.repository.ContractRepository;
+import com.mercedes.contract.storage.ContractDocumentStore;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ContractBatchService
+ * Tests per-item outcomes, the single lookup/insert/publish per batch and document cleanup
+ */
+@DisplayName("ContractBatchService Tests")
+class ContractBatchServiceTest {
+
+    private ContractRepository contractRepository;
+    private PdfGenerationService pdfGenerationService;
+    private EventPublishingService eventPublishingService;
+    private ContractDocumentStore contractDocumentStore;
+    private ContractBatchService batchService;
+
+    @BeforeEach
+    void setUp() {
+        contractRepository = mock(ContractRepository.class);
+        pdfGenerationService = mock(PdfGenerationService.class);
+        eventPublishingService = mock(EventPublishingService.class);
+        contractDocumentStore = mock(ContractDocumentStore.class);
+
+        when(pdfGenerationService.generatePdf(any(Contract.class)))
+            .thenAnswer(invocation -> "/tmp/contracts/" + invocation.<Contract>getArgument(0).getContractId() + ".pdf");
+        when(contractRepository.findExistingByPurchaseRequestIds(any())).thenReturn(List.of());
+        when(contractRepository.insertAllIfAbsent(anyList())).thenAnswer(invocation -> {
+            List<ContractInsertResult> results = new ArrayList<>();
+            for (Contract contract : invocation.<List<Contract>>getArgument(0)) {
+                results.add(row(true, contract.getContractId(), contract.getPurchaseRequestId()));
+            }
+            return results;
+        });
+
+        // Synchronous executor so renders complete within the test thread
+        batchService = newBatchService(Runnable::run);
+    }
+
+    @Test
+    @DisplayName("Should create all contracts with one insert batch and one publish")
+    void shouldCreateAllContractsWithOneInsertAndOnePublish() {
+        ContractBatchResponse response = batchService.generateContracts(List.of(request("PR-1"), request("PR-2"), request("PR-3")));
+
+        assertEquals(3, response.getCreated());
+        assertEquals(0, response.getFailed());
+        for (int i = 0; i < 3; i++) {
+            ContractBatchItemResult result = response.getResults().get(i);
+            assertEquals(i, result.getIndex());
+            assertEquals("PR-" + (i + 1), result.getPurchaseRequestId());
+            assertEquals(ContractBatchItemResult.Status.CREATED, result.getStatus());
+            assertEquals("SIGNED", result.getContractStatus());
+            assertEquals("/tmp/contracts/" + result.getContractId() + ".pdf", result.getContractUrl());
+        }
+
+        ArgumentCaptor<List<Contract>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(contractRepository, times(1)).insertAllIfAbsent(inserted.capture());
+        assertEquals(3, inserted.getValue().size());
+        assertTrue(inserted.getValue().stream().allMatch(c -> c.getGenerationStatus() == ContractGenerationStatus.PUBLISHED));
+        verify(contractRepository, times(1)).findExistingByPurchaseRequestIds(any());
+        verify(eventPublishingService, times(1)).publishContractCreatedEvents(argThat(list -> list.size() == 3));
+        verify(eventPublishingService, never()).publishContractCreatedEvent(any());
+    }
+
+    @Test
+    @DisplayName("Should fail invalid items without affecting the rest of the batch")
+    void shouldFailInvalidItemsOnly() {
+        ContractRequest invalid = request("PR-2");
+        invalid.setDealId("");
+
+        ContractBatchResponse response = batchService.generateContracts(List.of(request("PR-1"), invalid));
+
+        assertEquals(ContractBatchItemResult.Status.CREATED, response.getResults().get(0).getStatus());
+        ContractBatchItemResult failed = response.getResults().get(1);
+        assertEquals(ContractBatchItemResult.Status.FAILED, failed.getStatus());
+        assertTrue(failed.getError().contains("Deal ID is required"));
+        verify(pdfGenerationService, times(1)).generatePdf(any());
+    }
+
+    @Test
+    @DisplayName("Should return existing contracts without rendering them again")
+    void shouldReturnExistingContractsWithoutRendering() {
+        when(contractRepository.findExistingByPurchaseRequestIds(any()))
+            .thenReturn(List.of(row(false, "CONTRACT-EXIST001", "PR-1")));
+
+        ContractBatchResponse response = batchService.generateContracts(List.of(request("PR-1"), request("PR-2")));
+
+        ContractBatchItemResult existing = response.getResults().get(0);
+        assertEquals(ContractBatchItemResult.Status.EXISTING, existing.getStatus());
+        assertEquals("CONTRACT-EXIST001", existing.getContractId());
+        assertEquals(ContractBatchItemResult.Status.CREATED, response.getResults().get(1).getStatus());
+        verify(pdfGenerationService, times(1)).generatePdf(argThat(c -> "PR-2".equals(c.getPurchaseRequestId())));
+    }
+
+    @Test
+    @DisplayName("Should resolve a purchase request repeated within the batch to the first item")
+    void shouldResolveRepeatedPurchaseRequestToFirstItem() {
+        ContractBatchResponse response = batchService.generateContracts(List.of(request("PR-1"), request("PR-1")));
+
+        ContractBatchItemResult first = response.getResults().get(0);
+        ContractBatchItemResult repeat = response.getResults().get(1);
+        assertEquals(ContractBatchItemResult.Status.CREATED, first.getStatus());
+        assertEquals(ContractBatchItemResult.Status.EXISTING, repeat.getStatus());
+        assertEquals(1, repeat.getIndex());
+        assertEquals(first.getContractId(), repeat.getContractId());
+        verify(pdfGenerationService, times(1)).generatePdf(any());
+    }
+
+    @Test
+    @DisplayName("Should report render failures per item and leave them out of the insert")
+    void shouldReportRenderFailuresPerItem() {
+        when(pdfGenerationService.generatePdf(argThat(c -> c != null && "PR-2".equals(c.getPurchaseRequestId()))))
+            .thenThrow(new PdfGenerationException("CONTRACT-X", "template error"));
+
+        ContractBatchResponse response = batchService.generateContracts(List.of(request("PR-1"), request("PR-2")));
+
+        assertEquals(1, response.getCreated());
+        assertEquals(1, response.getFailed());
+        assertTrue(response.getResults().get(1).getError().contains("template error"));
+        verify(contractRepository).insertAllIfAbsent(argThat(list -> list.size() == 1));
+    }
+
+    @Test
+    @DisplayName("Should discard the rendered PDF when a concurrent request won the insert")
+    void shouldDiscardRenderedPdfWhenInsertLost() throws Exception {
+        when(contractRepository.insertAllIfAbsent(anyList()))
+            .thenReturn(List.of(row(false, "CONTRACT-WINNER01", "PR-1")));
+
+        ContractBatchResponse response = batchService.generateContracts(List.of(request("PR-1")));
+
+        ContractBatchItemResult result = response.getResults().get(0);
+        assertEquals(ContractBatchItemResult.Status.EXISTING, result.getStatus());
+        assertEquals("CONTRACT-WINNER01", result.getContractId());
+        verify(contractDocumentStore).delete(argThat(id -> !"CONTRACT-WINNER01".equals(id)));
+        verify(eventPublishingService).publishContractCreatedEvents(List.of());
+    }
+
+    @Test
+    @DisplayName("Should fail every rendered item when enqueueing the events rolls the batch back")
+    void shouldFailRenderedItemsWhenEnqueueFails() throws Exception {
+        doThrow(new RuntimeException("Failed to publish contract created event"))
+            .when(eventPublishingService).publishContractCreatedEvents(anyList());
+
+        ContractBatchResponse response = batchService.generateContracts(List.of(request("PR-1"), request("PR-2")));
+
+        assertEquals(0, response.getCreated());
+        assertEquals(2, response.getFailed());
+        verify(contractDocumentStore, times(2)).delete(anyString());
+    }
+
+    @Test
+    @DisplayName("Should fail rendered items and discard their PDFs when the batch insert fails")
+    void shouldFailRenderedItemsWhenBatchInsertFails() throws Exception {
+        when(contractRepository.insertAllIfAbsent(anyList()))
+            .thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+        ContractBatchResponse response = batchService.generateContracts(List.of(request("PR-1"), request("PR-2")));
+
+        assertEquals(2, response.getFailed());
+        verify(contractDocumentStore, times(2)).delete(anyString());
+    }
+
+    @Test
+    @DisplayName("Should keep no more than render-concurrency renders of a batch in flight")
+    void shouldLimitRendersInFlight() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            batchService = newBatchService(pool);
+            setField("renderConcurrency", 2);
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger maxRunning = new AtomicInteger();
+            when(pdfGenerationService.generatePdf(any(Contract.class))).thenAnswer(invocation -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.sleep(20);
+                running.decrementAndGet();
+                return "/tmp/contracts/" + invocation.<Contract>getArgument(0).getContractId() + ".pdf";
+            });
+
+            ContractBatchResponse response = batchService.generateContracts(List.of(request("PR-1"), request("PR-2"),
+                request("PR-3"), request("PR-4"), request("PR-5"), request("PR-6")));
+
+            assertEquals(6, response.getCreated());
+            assertTrue(maxRunning.get() <= 2, "At most 2 renders should run at once, saw " + maxRunning.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should wait for its own render and retry when the generation pool rejects an item")
+    void shouldRetryRejectedRenderOnceOwnRenderCompletes() throws Exception {
+        // One thread and no queue: every submission while a render runs is rejected
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new SynchronousQueue<>());
+        try {
+            batchService = newBatchService(pool);
+            setField("renderConcurrency", 8);
+            setField("renderWaitMs", 1000L);
+            when(pdfGenerationService.generatePdf(any(Contract.class))).thenAnswer(invocation -> {
+                Thread.sleep(20);
+                return "/tmp/contracts/" + invocation.<Contract>getArgument(0).getContractId() + ".pdf";
+            });
+
+            ContractBatchResponse response = batchService.generateContracts(List.of(request("PR-1"), request("PR-2"),
+                request("PR-3")));
+
+            assertEquals(3, response.getCreated());
+            assertEquals(0, response.getFailed());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should fail items per item instead of the whole batch when the pool stays busy with other work")
+    void shouldFailItemsRejectedByBusyPool() throws Exception {
+        batchService = newBatchService(task -> {
+            throw new TaskRejectedException("All 208 slots are in use");
+        });
+        setField("renderWaitMs", 50L);
+
+        ContractBatchResponse response = batchService.generateContracts(List.of(request("PR-1"), request("PR-2")));
+
+        assertEquals(2, response.getFailed());
+        assertTrue(response.getResults().get(0).getError().contains("at capacity"));
+        verify(pdfGenerationService, never()).generatePdf(any());
+        verify(contractRepository, never()).insertAllIfAbsent(anyList());
+    }
+
+    private ContractBatchService newBatchService(Executor executor) {
+        return new ContractBatchService(contractRepository, pdfGenerationService, eventPublishingService,
+            mock(AuditService.class), contractDocumentStore,
+            Validation.buildDefaultValidatorFactory().getValidator(), TransactionOperations.withoutTransaction(),
+            executor, ContractPipelineMetrics.NOOP);
+    }
+
+    private void setField(String name, Object value) throws Exception {
+        var field = ContractBatchService.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(batchService, value);
+    }
+
+    private static ContractInsertResult row(boolean inserted, String contractId, String purchaseRequestId) {
+        return new ContractInsertResult(inserted, contractId, purchaseRequestId, null,
+            "/tmp/contracts/" + contractId + ".pdf", ContractGenerationStatus.PUBLISHED, LocalDateTime.now());
+    }
+
+    private static ContractRequest request(String purchaseRequestId) {
+        ContractRequest.DealData dealData = new ContractRequest.DealData();
+        dealData.setDealId("DEAL-" + purchaseRequestId);
+        dealData.setCustomer(Map.of("customerName", "Hilton Hotels Deutschland GmbH"));
+        dealData.setCustomerFinanceDetails(Map.of("type", "Lease"));
+        dealData.setRetailerInfo(Map.of("name", "Mercedes-Benz Downtown"));
+        dealData.setMassOrders(List.of(Map.of("massOrderId", "MO-1")));
+        return new ContractRequest(purchaseRequestId, "DEAL-" + purchaseRequestId, dealData);
+    }
+}
@@ -0,0 +1,186 @@
+package com.mercedes.contract.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mercedes.contract.dto.ContractDetailsJson;
+import com.mercedes.contract.dto.ContractDetailsResponse;
+import com.mercedes.contract.entity.Contract;
+import com.mercedes.contract.entity.ContractGenerationStatus;
+import com.mercedes.contract.exception.ContractNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ContractDetailsCache and its entity listener
+ * Tests read-through loading, weight-based eviction, expiry, metrics and invalidation
+ */
+@DisplayName("ContractDetailsCache Tests")
+class ContractDetailsCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ContractDetailsCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ContractDetailsCache(new ObjectMapper().findAndRegisterModules(), meterRegistry, 64 * 1024, 600);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Should load once and record hits and misses")
+    void shouldLoadOnceAndRecordHitsAndMisses() {
+        ContractDetailsJson first = cache.get("CONTRACT-AAAAAAAA", this::load);
+        ContractDetailsJson second = cache.get("CONTRACT-AAAAAAAA", this::load);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "contractDetails").tag("result", "hit")
+            .functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "contractDetails").tag("result", "miss")
+            .functionCounter().count());
+        assertTrue(meterRegistry.get("contract.cache.details.weight").gauge().value() > 0);
+    }
+
+    @Test
+    @DisplayName("Should cache the serialized body with an ETag derived from it")
+    void shouldCacheSerializedBodyWithETag() throws Exception {
+        ContractDetailsJson details = cache.get("CONTRACT-AAAAAAAA", this::load);
+        ContractDetailsJson other = cache.get("CONTRACT-BBBBBBBB", this::load);
+
+        ContractDetailsResponse parsed = new ObjectMapper().findAndRegisterModules()
+            .readValue(details.getBody(), ContractDetailsResponse.class);
+        assertEquals("CONTRACT-AAAAAAAA", parsed.getContractId());
+        assertEquals(details.getBody().length, meterRegistry.get("contract.cache.details.weight").gauge().value()
+            - other.getBody().length, 0.0);
+        assertTrue(details.getETag().startsWith("\"") && details.getETag().endsWith("\""));
+        assertNotEquals(details.getETag(), other.getETag());
+    }
+
+    @Test
+    @DisplayName("Should not cache loader failures")
+    void shouldNotCacheLoaderFailures() {
+        assertThrows(ContractNotFoundException.class, () -> cache.get("CONTRACT-MISSING", id -> {
+            throw new ContractNotFoundException(id);
+        }));
+
+        assertNotNull(cache.get("CONTRACT-MISSING", this::load));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should not cache contracts whose generation is still in progress")
+    void shouldNotCacheContractsInProgress() {
+        for (ContractGenerationStatus status : List.of(ContractGenerationStatus.PENDING, ContractGenerationStatus.RENDERED)) {
+            cache.get("CONTRACT-AAAAAAAA", id -> load(id, 1, status));
+        }
+        cache.get("CONTRACT-AAAAAAAA", this::load);
+        cache.get("CONTRACT-AAAAAAAA", this::load);
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should expire entries after the configured time")
+    void shouldExpireEntriesAfterWrite() throws Exception {
+        cache = new ContractDetailsCache(new ObjectMapper().findAndRegisterModules(), new SimpleMeterRegistry(),
+                                         64 * 1024, 1);
+        cache.get("CONTRACT-AAAAAAAA", this::load);
+
+        Thread.sleep(1100);
+        cache.get("CONTRACT-AAAAAAAA", this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should evict by serialized size once the weight bound is exceeded")
+    void shouldEvictBySerializedSize() {
+        // Each response serializes to roughly 8 KiB, so at most ~8 fit into 64 KiB
+        for (int i = 0; i < 40; i++) {
+            cache.get(String.format("CONTRACT-%08d", i), id -> load(id, 40));
+        }
+        cache.cleanUp();
+
+        assertTrue(cache.estimatedSize() < 10, "cache should be bounded by weight, was " + cache.estimatedSize());
+        assertTrue(meterRegistry.get("cache.evictions").tag("cache", "contractDetails").functionCounter().count() > 0);
+    }
+
+    @Test
+    @DisplayName("Should invalidate cached details when the contract is updated")
+    void shouldInvalidateWhenContractUpdated() {
+        ContractDetailsCacheListener listener = new ContractDetailsCacheListener(cache);
+        cache.get("CONTRACT-AAAAAAAA", this::load);
+
+        listener.onContractChanged(contract("CONTRACT-AAAAAAAA"));
+        cache.get("CONTRACT-AAAAAAAA", this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should invalidate again after commit")
+    void shouldInvalidateAgainAfterCommit() {
+        ContractDetailsCacheListener listener = new ContractDetailsCacheListener(cache);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            listener.onContractChanged(contract("CONTRACT-AAAAAAAA"));
+            // A reader repopulates the entry from the pre-commit row before the transaction commits
+            cache.get("CONTRACT-AAAAAAAA", this::load);
+
+            List<TransactionSynchronization> synchronizations =
+                new ArrayList<>(TransactionSynchronizationManager.getSynchronizations());
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        cache.get("CONTRACT-AAAAAAAA", this::load);
+        assertEquals(2, loads.get());
+    }
+
+    private Contract load(String contractId) {
+        return load(contractId, 1);
+    }
+
+    private Contract load(String contractId, int massOrderCount) {
+        return load(contractId, massOrderCount, ContractGenerationStatus.PUBLISHED);
+    }
+
+    private Contract load(String contractId, int massOrderCount, ContractGenerationStatus status) {
+        loads.incrementAndGet();
+        List<Map<String, Object>> massOrders = new ArrayList<>();
+        for (int i = 0; i < massOrderCount; i++) {
+            Map<String, Object> order = new HashMap<>();
+            order.put("massOrderId", "MO-" + i);
+            order.put("vehicleConfiguration", Map.of("brand", "Mercedes-Benz", "model", "C300", "color", "Obsidian Black"));
+            order.put("priceBreakdown", Map.of("totalMsrp", 59300, "finalPrice", 54900));
+            massOrders.add(order);
+        }
+        Contract contract = new Contract(contractId, "PR-1", "DEAL-1",
+            Map.of("customerName", "Hilton Hotels Deutschland GmbH"), Map.of("type", "Lease"), massOrders);
+        contract.setPdfStorageLocation("/tmp/contracts/" + contractId.toLowerCase() + ".pdf");
+        contract.setGenerationStatus(status);
+        contract.setCreatedAt(LocalDateTime.of(2026, 10, 1, 10, 0));
+        return contract;
+    }
+
+    private Contract contract(String contractId) {
+        Contract contract = new Contract();
+        contract.setContractId(contractId);
+        return contract;
+    }
+}
@@ -0,0 +1,257 @@
+package com.mercedes.contract.service;
+
+import com.mercedes.contract.entity.Contract;
+import com.mercedes.contract.entity.ContractGenerationStatus;
+import com.mercedes.contract.exception.PdfGenerationException;
+import com.mercedes.contract.repository.ContractRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ContractGenerationPipeline
+ * Tests status transitions of background PDF rendering and event publishing
+ */
+@DisplayName("ContractGenerationPipeline Tests")
+class ContractGenerationPipelineTest {
+
+    private ContractRepository contractRepository;
+    private PdfGenerationService pdfGenerationService;
+    private EventPublishingService eventPublishingService;
+    private AuditService auditService;
+    private List<Runnable> submittedTasks;
+    private ContractGenerationPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        contractRepository = mock(ContractRepository.class);
+        pdfGenerationService = mock(PdfGenerationService.class);
+        eventPublishingService = mock(EventPublishingService.class);
+        auditService = mock(AuditService.class);
+        submittedTasks = new ArrayList<>();
+
+        when(contractRepository.save(any(Contract.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(contractRepository.claimForGeneration(anyString())).thenReturn(true);
+
+        pipeline = new ContractGenerationPipeline(contractRepository, pdfGenerationService,
+                eventPublishingService, auditService, TransactionOperations.withoutTransaction(),
+                submittedTasks::add);
+    }
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    @DisplayName("Should render, publish and mark contract PUBLISHED")
+    void shouldRenderPublishAndMarkContractPublished() {
+        Contract contract = createPendingContract();
+        when(contractRepository.findById("CONTRACT-ABCD1234")).thenReturn(Optional.of(contract));
+        when(pdfGenerationService.generatePdf(contract)).thenReturn("/tmp/contracts/contract-abcd1234.pdf");
+
+        pipeline.process("CONTRACT-ABCD1234");
+
+        assertEquals(ContractGenerationStatus.PUBLISHED, contract.getGenerationStatus());
+        assertEquals("/tmp/contracts/contract-abcd1234.pdf", contract.getPdfStorageLocation());
+        verify(eventPublishingService).publishContractCreatedEvent(contract);
+        verify(auditService).logContractCreated("CONTRACT-ABCD1234", "PR-001", "DEAL-001");
+    }
+
+    @Test
+    @DisplayName("Should mark contract FAILED when PDF rendering fails")
+    void shouldMarkContractFailedWhenPdfRenderingFails() {
+        Contract contract = createPendingContract();
+        when(contractRepository.findById("CONTRACT-ABCD1234")).thenReturn(Optional.of(contract));
+        when(pdfGenerationService.generatePdf(contract))
+            .thenThrow(new PdfGenerationException("CONTRACT-ABCD1234", "disk full"));
+
+        pipeline.process("CONTRACT-ABCD1234");
+
+        assertEquals(ContractGenerationStatus.FAILED, contract.getGenerationStatus());
+        assertEquals("disk full", contract.getFailureReason());
+        verify(eventPublishingService, never()).publishContractCreatedEvent(any());
+        verify(auditService).logContractCreationFailed("PR-001", "DEAL-001", "disk full");
+    }
+
+    @Test
+    @DisplayName("Should mark contract FAILED but keep PDF location when event publishing fails")
+    void shouldKeepRenderedLocationWhenEventPublishingFails() {
+        Contract contract = createPendingContract();
+        when(contractRepository.findById("CONTRACT-ABCD1234")).thenReturn(Optional.of(contract));
+        when(pdfGenerationService.generatePdf(contract)).thenReturn("/tmp/contracts/contract-abcd1234.pdf");
+        doThrow(new RuntimeException("broker unavailable"))
+            .when(eventPublishingService).publishContractCreatedEvent(contract);
+
+        pipeline.process("CONTRACT-ABCD1234");
+
+        assertEquals(ContractGenerationStatus.FAILED, contract.getGenerationStatus());
+        assertEquals("/tmp/contracts/contract-abcd1234.pdf", contract.getPdfStorageLocation());
+        assertEquals("broker unavailable", contract.getFailureReason());
+    }
+
+    @Test
+    @DisplayName("Should ignore contracts that no longer exist")
+    void shouldIgnoreContractsThatNoLongerExist() {
+        when(contractRepository.findById("CONTRACT-GONE0000")).thenReturn(Optional.empty());
+
+        assertDoesNotThrow(() -> pipeline.process("CONTRACT-GONE0000"));
+
+        verifyNoInteractions(pdfGenerationService, eventPublishingService);
+    }
+
+    @Test
+    @DisplayName("Should run submitted work on the executor with caller trace ID")
+    void shouldRunSubmittedWorkOnExecutorWithCallerTraceId() {
+        Contract contract = createPendingContract();
+        AtomicReference<String> traceIdDuringRender = new AtomicReference<>();
+        when(contractRepository.findById("CONTRACT-ABCD1234")).thenReturn(Optional.of(contract));
+        when(pdfGenerationService.generatePdf(contract)).thenAnswer(invocation -> {
+            traceIdDuringRender.set(MDC.get("traceId"));
+            return "/tmp/contracts/contract-abcd1234.pdf";
+        });
+
+        MDC.put("traceId", "trace-async-1");
+        pipeline.submit("CONTRACT-ABCD1234");
+        MDC.clear();
+
+        // Nothing happens until the executor runs the task
+        assertEquals(ContractGenerationStatus.PENDING, contract.getGenerationStatus());
+        assertEquals(1, submittedTasks.size());
+
+        submittedTasks.get(0).run();
+
+        assertEquals(ContractGenerationStatus.PUBLISHED, contract.getGenerationStatus());
+        assertEquals("trace-async-1", traceIdDuringRender.get());
+    }
+
+    @Test
+    @DisplayName("Should leave the contract PENDING instead of rendering on the caller when the pool is full")
+    void shouldLeaveContractPendingWhenPoolIsFull() {
+        ContractGenerationPipeline saturated = new ContractGenerationPipeline(contractRepository, pdfGenerationService,
+                eventPublishingService, auditService, TransactionOperations.withoutTransaction(),
+                task -> { throw new TaskRejectedException("queue full"); });
+
+        assertFalse(saturated.submit("CONTRACT-ABCD1234"));
+
+        verifyNoInteractions(contractRepository, pdfGenerationService, eventPublishingService);
+    }
+
+    @Test
+    @DisplayName("Should skip contracts it cannot claim because they are no longer PENDING")
+    void shouldSkipContractsThatWereAlreadyGenerated() {
+        when(contractRepository.claimForGeneration("CONTRACT-ABCD1234")).thenReturn(false);
+
+        pipeline.process("CONTRACT-ABCD1234");
+
+        verifyNoInteractions(pdfGenerationService, eventPublishingService);
+        verify(contractRepository, never()).findById(any());
+        verify(contractRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should render a contract once when two workers process it concurrently")
+    void shouldRenderOnceWhenProcessedConcurrently() throws Exception {
+        // The claim is a conditional UPDATE: only the first caller sees the row still PENDING
+        AtomicBoolean pending = new AtomicBoolean(true);
+        when(contractRepository.claimForGeneration("CONTRACT-ABCD1234"))
+            .thenAnswer(invocation -> pending.compareAndSet(true, false));
+        when(contractRepository.findById("CONTRACT-ABCD1234")).thenAnswer(invocation -> Optional.of(createPendingContract()));
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        when(pdfGenerationService.generatePdf(any(Contract.class))).thenReturn("/tmp/contracts/contract-abcd1234.pdf");
+
+        ExecutorService workers = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<?>> runs = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                runs.add(workers.submit(() -> {
+                    bothStarted.countDown();
+                    awaitQuietly(bothStarted);
+                    pipeline.process("CONTRACT-ABCD1234");
+                }));
+            }
+            for (Future<?> run : runs) {
+                run.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+
+        verify(contractRepository, times(2)).claimForGeneration("CONTRACT-ABCD1234");
+        verify(pdfGenerationService, times(1)).generatePdf(any(Contract.class));
+        verify(eventPublishingService, times(1)).publishContractCreatedEvent(any(Contract.class));
+    }
+
+    @Test
+    @DisplayName("Should resubmit stale PENDING contracts and stop at the first rejection")
+    void shouldResubmitStalePendingContracts() throws Exception {
+        List<String> accepted = new ArrayList<>();
+        ContractGenerationPipeline sweeper = new ContractGenerationPipeline(contractRepository, pdfGenerationService,
+                eventPublishingService, auditService, TransactionOperations.withoutTransaction(),
+                task -> {
+                    if (accepted.size() == 2) {
+                        throw new TaskRejectedException("queue full");
+                    }
+                    accepted.add("task");
+                });
+        setField(sweeper, "asyncGenerationEnabled", true);
+        setField(sweeper, "staleAfterMs", 300000L);
+        setField(sweeper, "batchSize", 50);
+        when(contractRepository.claimStalePending(Duration.ofMinutes(5), 50))
+            .thenReturn(List.of("CONTRACT-0000000A", "CONTRACT-0000000B", "CONTRACT-0000000C", "CONTRACT-0000000D"));
+
+        sweeper.resubmitStalePending();
+
+        assertEquals(2, accepted.size());
+        verify(contractRepository).claimStalePending(Duration.ofMinutes(5), 50);
+    }
+
+    @Test
+    @DisplayName("Should not sweep when generation is synchronous")
+    void shouldNotSweepWhenGenerationIsSynchronous() {
+        pipeline.resubmitStalePending();
+
+        verifyNoInteractions(contractRepository);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void setField(ContractGenerationPipeline target, String name, Object value) throws Exception {
+        var field = ContractGenerationPipeline.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+
+    private Contract createPendingContract() {
+        return new Contract("CONTRACT-ABCD1234", "PR-001", "DEAL-001",
+                new HashMap<>(), new HashMap<>(), new ArrayList<>());
+    }
+}
@@ -0,0 +1,157 @@
+package com.mercedes.contract.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mercedes.contract.dto.ContractBatchItemResult;
+import com.mercedes.contract.dto.ContractBatchResponse;
+import com.mercedes.contract.dto.ContractRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ContractImportService
+ * Tests chunking, per-line results and handling of malformed or over-long lines
+ */
+@DisplayName("ContractImportService Tests")
+class ContractImportServiceTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private ContractBatchService contractBatchService;
+    private AuditService auditService;
+    private ContractImportService importService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        contractBatchService = mock(ContractBatchService.class);
+        auditService = mock(AuditService.class);
+        // Every record is created; indexes are chunk-relative like the real batch service
+        when(contractBatchService.generateContracts(anyList())).thenAnswer(invocation -> {
+            List<ContractBatchItemResult> results = new ArrayList<>();
+            List<ContractRequest> requests = invocation.getArgument(0);
+            for (int i = 0; i < requests.size(); i++) {
+                String purchaseRequestId = requests.get(i).getPurchaseRequestId();
+                results.add(new ContractBatchItemResult(i, purchaseRequestId, ContractBatchItemResult.Status.CREATED,
+                    "CONTRACT-" + purchaseRequestId, null, "SIGNED", null));
+            }
+            return new ContractBatchResponse(results);
+        });
+
+        importService = new ContractImportService(contractBatchService, auditService, OBJECT_MAPPER);
+        setField("chunkSize", 2);
+        setField("maxLineLength", 200);
+    }
+
+    @Test
+    @DisplayName("Should process records in bounded chunks and write one result line per record")
+    void shouldProcessRecordsInChunks() throws Exception {
+        String input = line("PR-1") + line("PR-2") + line("PR-3") + line("PR-4") + line("PR-5");
+
+        List<JsonNode> results = runImport(input);
+
+        assertEquals(5, results.size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i, results.get(i).get("index").asInt());
+            assertEquals("PR-" + (i + 1), results.get(i).get("purchaseRequestId").asText());
+            assertEquals("CREATED", results.get(i).get("status").asText());
+        }
+        verify(contractBatchService, times(2)).generateContracts(argThat(chunk -> chunk.size() == 2));
+        verify(contractBatchService, times(1)).generateContracts(argThat(chunk -> chunk.size() == 1));
+    }
+
+    @Test
+    @DisplayName("Should fail malformed lines and skip blank lines without stopping the import")
+    void shouldFailMalformedLinesOnly() throws Exception {
+        String input = line("PR-1") + "\r\n" + "{\"purchaseRequestId\": \n" + "null\n" + line("PR-2");
+
+        List<JsonNode> results = runImport(input);
+
+        assertEquals(4, results.size());
+        assertEquals("CREATED", results.get(0).get("status").asText());
+        assertEquals("FAILED", results.get(1).get("status").asText());
+        assertEquals(1, results.get(1).get("index").asInt());
+        assertTrue(results.get(1).get("error").asText().startsWith("Invalid request"));
+        assertEquals("FAILED", results.get(2).get("status").asText());
+        assertEquals("CREATED", results.get(3).get("status").asText());
+        assertEquals(3, results.get(3).get("index").asInt());
+        assertEquals("PR-2", results.get(3).get("purchaseRequestId").asText());
+        verify(auditService, times(2)).logContractCreationFailed(isNull(), isNull(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should reject over-long lines without buffering them")
+    void shouldRejectOverLongLines() throws Exception {
+        String input = "{\"purchaseRequestId\": \"" + "X".repeat(500) + "\"}\n" + line("PR-1");
+
+        List<JsonNode> results = runImport(input);
+
+        assertEquals(2, results.size());
+        assertEquals("FAILED", results.get(0).get("status").asText());
+        assertTrue(results.get(0).get("error").asText().contains("exceeds 200 characters"));
+        assertEquals("CREATED", results.get(1).get("status").asText());
+    }
+
+    @Test
+    @DisplayName("Should write failed result lines for a chunk that cannot be generated and carry on")
+    void shouldFailChunkWithoutCuttingOffTheStream() throws Exception {
+        when(contractBatchService.generateContracts(argThat(chunk -> chunk != null
+                && "PR-3".equals(chunk.get(0).getPurchaseRequestId()))))
+            .thenThrow(new IllegalStateException("database unavailable"));
+        String input = line("PR-1") + line("PR-2") + line("PR-3") + line("PR-4") + line("PR-5");
+
+        List<JsonNode> results = runImport(input);
+
+        assertEquals(5, results.size());
+        assertEquals("CREATED", results.get(1).get("status").asText());
+        for (int i = 2; i < 4; i++) {
+            assertEquals(i, results.get(i).get("index").asInt());
+            assertEquals("PR-" + (i + 1), results.get(i).get("purchaseRequestId").asText());
+            assertEquals("FAILED", results.get(i).get("status").asText());
+            assertTrue(results.get(i).get("error").asText().contains("database unavailable"));
+        }
+        assertEquals("CREATED", results.get(4).get("status").asText());
+        verify(auditService).logContractCreationFailed(eq("PR-3"), anyString(), contains("database unavailable"));
+    }
+
+    @Test
+    @DisplayName("Should write nothing for an empty upload")
+    void shouldWriteNothingForEmptyUpload() throws Exception {
+        assertTrue(runImport("\n\n").isEmpty());
+        verify(contractBatchService, never()).generateContracts(anyList());
+    }
+
+    private List<JsonNode> runImport(String input) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        importService.importContracts(new StringReader(input), output);
+
+        List<JsonNode> results = new ArrayList<>();
+        for (String resultLine : output.toString(StandardCharsets.UTF_8).split("\n")) {
+            if (!resultLine.isEmpty()) {
+                results.add(OBJECT_MAPPER.readTree(resultLine));
+            }
+        }
+        return results;
+    }
+
+    private static String line(String purchaseRequestId) {
+        return "{\"purchaseRequestId\": \"" + purchaseRequestId + "\", \"dealId\": \"DEAL-" + purchaseRequestId
+            + "\", \"dealData\": {}}\n";
+    }
+
+    private void setField(String name, Object value) throws Exception {
+        var field = ContractImportService.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(importService, value);
+    }
+}
@@ -0,0 +1,269 @@
+package com.mercedes.contract.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mercedes.contract.event.ContractCreatedEvent;
+import com.mercedes.contract.event.ContractEventSerializer;
+import com.mercedes.contract.event.JsonContractEventSerializer;
+import com.mercedes.contract.repository.ContractOutboxEvent;
+import com.mercedes.contract.repository.ContractOutboxRepository;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ContractOutboxRelay
+ * Tests batch sending, record encoding, marking sent and failed rows and draining of the outbox
+ */
+@DisplayName("ContractOutboxRelay Tests")
+class ContractOutboxRelayTest {
+
+    private ContractOutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+    private AuditService auditService;
+    private ContractOutboxRelay relay;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        outboxRepository = mock(ContractOutboxRepository.class);
+        kafkaTemplate = mock(KafkaTemplate.class);
+        auditService = mock(AuditService.class);
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+            .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        relay = new ContractOutboxRelay(outboxRepository, kafkaTemplate, objectMapper,
+                                        new JsonContractEventSerializer(objectMapper), auditService,
+                                        TransactionOperations.withoutTransaction());
+        configure();
+    }
+
+    @Test
+    @DisplayName("Should send the whole batch before one flush and mark it sent")
+    void shouldSendBatchBeforeSingleFlushAndMarkSent() {
+        when(outboxRepository.claimNextBatch(eq(2), any())).thenReturn(List.of(event(1L, "CONTRACT-AAAA0001"),
+                                                                               event(2L, "CONTRACT-AAAA0002")));
+
+        assertEquals(2, relay.relayBatch());
+
+        InOrder inOrder = inOrder(kafkaTemplate, outboxRepository);
+        inOrder.verify(kafkaTemplate).send(recordFor("CONTRACT-AAAA0001"));
+        inOrder.verify(kafkaTemplate).send(recordFor("CONTRACT-AAAA0002"));
+        inOrder.verify(kafkaTemplate).flush();
+        inOrder.verify(outboxRepository).markSent(List.of(1L, 2L));
+        verify(outboxRepository).markFailed(eq(Map.of()), any(), any(), eq(5));
+        verify(auditService).logEventPublished("CONTRACT_CREATED", "CONTRACT-AAAA0001", "contract-events");
+    }
+
+    @Test
+    @DisplayName("Should wait for the broker outside any transaction and mark the batch in a short one")
+    void shouldMarkBatchInSeparateTransactionAfterSending() throws Exception {
+        List<String> steps = new ArrayList<>();
+        relay = new ContractOutboxRelay(outboxRepository, kafkaTemplate, objectMapper,
+                                        new JsonContractEventSerializer(objectMapper), auditService,
+                                        new TransactionOperations() {
+            @Override
+            public <T> T execute(TransactionCallback<T> action) {
+                steps.add("begin");
+                T result = action.doInTransaction(null);
+                steps.add("commit");
+                return result;
+            }
+        });
+        configure();
+        when(outboxRepository.claimNextBatch(eq(2), any())).thenAnswer(invocation -> {
+            steps.add("claim");
+            return List.of(event(1L, "CONTRACT-AAAA0001"));
+        });
+        doAnswer(invocation -> steps.add("flush")).when(kafkaTemplate).flush();
+        doAnswer(invocation -> steps.add("markSent")).when(outboxRepository).markSent(any());
+
+        relay.relayBatch();
+
+        assertEquals(List.of("claim", "flush", "begin", "markSent", "commit"), steps);
+        verify(outboxRepository).claimNextBatch(2, Duration.ofMinutes(2));
+    }
+
+    @Test
+    @DisplayName("Should send the stored payload keyed by contract and tagged with its content type")
+    @SuppressWarnings("unchecked")
+    void shouldEncodeStoredPayloadWithContentType() throws Exception {
+        when(outboxRepository.claimNextBatch(eq(2), any())).thenReturn(List.of(event(1L, "CONTRACT-AAAA0001")));
+
+        relay.relayBatch();
+
+        ArgumentCaptor<ProducerRecord<String, byte[]>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate).send(captor.capture());
+        ProducerRecord<String, byte[]> record = captor.getValue();
+        assertEquals("contract-events", record.topic());
+        assertEquals("CONTRACT-AAAA0001", record.key());
+        assertEquals("application/json", new String(record.headers()
+            .lastHeader(ContractOutboxRelay.CONTENT_TYPE_HEADER).value(), StandardCharsets.UTF_8));
+
+        JsonNode value = objectMapper.readTree(record.value());
+        assertEquals("event-1", value.get("eventId").asText());
+        assertEquals("2024-10-15T09:30:00.123456", value.get("eventTimestamp").asText());
+        assertEquals("CONTRACT-AAAA0001", value.get("data").get("contractId").asText());
+    }
+
+    @Test
+    @DisplayName("Should send the stored JSON payload as is without serializing it again")
+    @SuppressWarnings("unchecked")
+    void shouldSendStoredJsonPayloadAsIs() throws Exception {
+        JsonContractEventSerializer serializer = spy(new JsonContractEventSerializer(objectMapper));
+        relay = new ContractOutboxRelay(outboxRepository, kafkaTemplate, objectMapper, serializer, auditService,
+                                        TransactionOperations.withoutTransaction());
+        configure();
+        ContractOutboxEvent stored = event(1L, "CONTRACT-AAAA0001");
+        when(outboxRepository.claimNextBatch(eq(2), any())).thenReturn(List.of(stored));
+
+        relay.relayBatch();
+
+        ArgumentCaptor<ProducerRecord<String, byte[]>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate).send(captor.capture());
+        assertArrayEquals(stored.getPayload().getBytes(StandardCharsets.UTF_8), captor.getValue().value());
+        verify(serializer, never()).serialize(any());
+    }
+
+    @Test
+    @DisplayName("Should convert the stored payload when another format is configured")
+    @SuppressWarnings("unchecked")
+    void shouldConvertStoredPayloadForOtherFormats() throws Exception {
+        ContractEventSerializer serializer = mock(ContractEventSerializer.class);
+        when(serializer.contentType()).thenReturn("application/avro");
+        when(serializer.serialize(any())).thenReturn(new byte[] {1, 2, 3});
+        relay = new ContractOutboxRelay(outboxRepository, kafkaTemplate, objectMapper, serializer, auditService,
+                                        TransactionOperations.withoutTransaction());
+        configure();
+        when(outboxRepository.claimNextBatch(eq(2), any())).thenReturn(List.of(event(1L, "CONTRACT-AAAA0001")));
+
+        relay.relayBatch();
+
+        ArgumentCaptor<ContractCreatedEvent> converted = ArgumentCaptor.forClass(ContractCreatedEvent.class);
+        verify(serializer).serialize(converted.capture());
+        assertEquals("event-1", converted.getValue().eventId());
+        ArgumentCaptor<ProducerRecord<String, byte[]>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate).send(captor.capture());
+        assertArrayEquals(new byte[] {1, 2, 3}, captor.getValue().value());
+        assertEquals("application/avro", new String(captor.getValue().headers()
+            .lastHeader(ContractOutboxRelay.CONTENT_TYPE_HEADER).value(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should keep events of an unknown type for retry without sending them")
+    void shouldNotSendUnknownEventTypes() {
+        ContractOutboxEvent unknown = new ContractOutboxEvent(1L, "event-1", "CONTRACT_DELETED", "CONTRACT-AAAA0001",
+                                                              "contract-events", "{}", 0);
+        when(outboxRepository.claimNextBatch(eq(2), any())).thenReturn(List.of(unknown));
+
+        relay.relayBatch();
+
+        verify(kafkaTemplate, never()).send(any(ProducerRecord.class));
+        verify(outboxRepository).markFailed(eq(Map.of(1L, "Unsupported event type CONTRACT_DELETED")), any(), any(),
+                                            eq(5));
+    }
+
+    @Test
+    @DisplayName("Should keep failed events for retry with backoff and mark the others sent")
+    void shouldKeepFailedEventsForRetry() {
+        when(outboxRepository.claimNextBatch(eq(2), any())).thenReturn(List.of(event(1L, "CONTRACT-AAAA0001"),
+                                                                               event(2L, "CONTRACT-AAAA0002")));
+        when(kafkaTemplate.send(recordFor("CONTRACT-AAAA0002")))
+            .thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker unavailable")));
+
+        relay.relayBatch();
+
+        verify(outboxRepository).markSent(List.of(1L));
+        verify(outboxRepository).markFailed(Map.of(2L, "broker unavailable"),
+                                            Duration.ofMillis(1000), Duration.ofMillis(60000), 5);
+        verify(auditService).logEventPublishingFailed("CONTRACT_CREATED", "CONTRACT-AAAA0002",
+                                                      "contract-events", "broker unavailable");
+    }
+
+    @Test
+    @DisplayName("Should not touch the producer when nothing is due")
+    void shouldNotTouchProducerWhenNothingIsDue() {
+        when(outboxRepository.claimNextBatch(eq(2), any())).thenReturn(List.of());
+
+        assertEquals(0, relay.relayBatch());
+
+        verifyNoInteractions(kafkaTemplate);
+        verify(outboxRepository, never()).markSent(any());
+    }
+
+    @Test
+    @DisplayName("Should drain full batches until a short batch comes back")
+    void shouldDrainUntilShortBatch() {
+        when(outboxRepository.claimNextBatch(eq(2), any()))
+            .thenReturn(List.of(event(1L, "CONTRACT-AAAA0001"), event(2L, "CONTRACT-AAAA0002")))
+            .thenReturn(List.of(event(3L, "CONTRACT-AAAA0003"), event(4L, "CONTRACT-AAAA0004")))
+            .thenReturn(List.of(event(5L, "CONTRACT-AAAA0005")));
+
+        relay.relay();
+
+        verify(outboxRepository, times(3)).claimNextBatch(2, Duration.ofMinutes(2));
+        verify(kafkaTemplate, times(5)).send(any(ProducerRecord.class));
+        verify(kafkaTemplate, times(3)).flush();
+    }
+
+    @Test
+    @DisplayName("Should do nothing when the relay is disabled")
+    void shouldDoNothingWhenDisabled() throws Exception {
+        setField("relayEnabled", false);
+
+        relay.relay();
+        relay.purgeSent();
+
+        verifyNoInteractions(outboxRepository, kafkaTemplate);
+    }
+
+    private static ProducerRecord<String, byte[]> recordFor(String contractId) {
+        return argThat(record -> record != null && "contract-events".equals(record.topic())
+            && contractId.equals(record.key()));
+    }
+
+    private static ContractOutboxEvent event(long id, String contractId) {
+        String payload = "{\"eventId\":\"event-" + id + "\",\"eventType\":\"CONTRACT_CREATED\","
+            + "\"eventTimestamp\":\"2024-10-15T09:30:00.123456\","
+            + "\"data\":{\"contractId\":\"" + contractId + "\",\"purchaseRequestId\":\"PR-" + id + "\"}}";
+        return new ContractOutboxEvent(id, "event-" + id, "CONTRACT_CREATED", contractId, "contract-events",
+                                       payload, 0);
+    }
+
+    private void configure() throws Exception {
+        setField("relayEnabled", true);
+        setField("batchSize", 2);
+        setField("maxBatchesPerRun", 10);
+        setField("sendTimeoutMs", 1000L);
+        setField("retryBackoffMs", 1000L);
+        setField("maxRetryBackoffMs", 60000L);
+        setField("maxAttempts", 5);
+        setField("leaseMs", 120000L);
+    }
+
+    private void setField(String name, Object value) throws Exception {
+        var field = ContractOutboxRelay.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(relay, value);
+    }
+
+}
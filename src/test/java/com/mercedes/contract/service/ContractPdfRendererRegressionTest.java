@@ -0,0 +1,235 @@
+package com.mercedes.contract.service;
+
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
+import com.mercedes.contract.benchmark.ContractFixtures;
+import com.mercedes.contract.entity.Contract;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Regression tests between the HTML and direct layout PDF renderers
+ * Both renderers must produce the same contract content and structure; the text layer of each
+ * document is extracted and compared field by field, page by page and row by row.
+ * Throughput is measured in PdfRenderingBenchmarkTest
+ */
+@DisplayName("Contract PDF renderer regression Tests")
+class ContractPdfRendererRegressionTest {
+
+    private static final String TABLE_HEADER = "# Order ID Vehicle Configuration Qty Price";
+    private static final Pattern TABLE_ROW = Pattern.compile("^(\\d+) MO-\\d{4} ");
+
+    private static HtmlContractPdfRenderer htmlRenderer;
+    private static LayoutContractPdfRenderer layoutRenderer;
+
+    @BeforeAll
+    static void setUp() {
+        PdfConverterContext converterContext = new PdfConverterContext(new SimpleMeterRegistry(), false);
+        ContractTemplateEngine templateEngine = new ContractTemplateEngine(new DefaultResourceLoader(),
+                "classpath:templates/contract-template.html", 0);
+        templateEngine.init();
+
+        htmlRenderer = new HtmlContractPdfRenderer(templateEngine, converterContext, ContractPipelineMetrics.NOOP);
+        layoutRenderer = new LayoutContractPdfRenderer(converterContext);
+    }
+
+    @Test
+    @DisplayName("Should render the same contract content with both renderers")
+    void shouldRenderSameContractContentWithBothRenderers() throws IOException {
+        Contract contract = createContract(5);
+
+        String htmlText = extractText(render(htmlRenderer, contract));
+        String layoutText = extractText(render(layoutRenderer, contract));
+
+        for (String expected : expectedContent(contract)) {
+            assertTrue(htmlText.contains(expected), "HTML renderer is missing: " + expected);
+            assertTrue(layoutText.contains(expected), "Layout renderer is missing: " + expected);
+        }
+    }
+
+    @Test
+    @DisplayName("Should render every row of a large mass order with the layout renderer")
+    void shouldRenderEveryRowOfLargeMassOrderWithLayoutRenderer() throws IOException {
+        Contract contract = createContract(300);
+
+        String layoutText = extractText(render(layoutRenderer, contract));
+
+        assertTrue(layoutText.contains("Number of mass orders: 300"));
+        assertTrue(layoutText.contains("MO-0001"));
+        assertTrue(layoutText.contains("MO-0150"));
+        assertTrue(layoutText.contains("MO-0300"));
+    }
+
+    @Test
+    @DisplayName("Should render contracts without optional sections with both renderers")
+    void shouldRenderContractsWithoutOptionalSections() throws IOException {
+        Contract contract = createContract(0);
+        contract.setCustomerDetails(null);
+        contract.setFinanceDetails(null);
+        contract.setMassOrders(null);
+
+        String htmlText = extractText(render(htmlRenderer, contract));
+        String layoutText = extractText(render(layoutRenderer, contract));
+
+        assertTrue(htmlText.contains("CONTRACT-ABCD1234"));
+        assertTrue(layoutText.contains("CONTRACT-ABCD1234"));
+        assertFalse(layoutText.contains("Number of mass orders"));
+    }
+
+    @Test
+    @DisplayName("Should lay out the same pages, text and table rows with both renderers")
+    void shouldLayOutSameStructureWithBothRenderers() throws IOException {
+        for (int massOrders : new int[]{5, 60, 200}) {
+            Contract contract = ContractFixtures.contract(massOrders);
+
+            List<List<String>> htmlPages = pages(render(htmlRenderer, contract));
+            List<List<String>> layoutPages = pages(render(layoutRenderer, contract));
+
+            assertEquals(htmlPages.size(), layoutPages.size(), "Page count for " + massOrders + " mass orders");
+            assertEquals(documentText(htmlPages), documentText(layoutPages),
+                         "Document text for " + massOrders + " mass orders");
+            assertEquals(leadingSections(htmlPages.get(0)), leadingSections(layoutPages.get(0)),
+                         "First page sections for " + massOrders + " mass orders");
+            assertPagesInDocumentOrder(htmlPages, massOrders);
+            assertPagesInDocumentOrder(layoutPages, massOrders);
+
+            List<String> htmlRows = tableRows(htmlPages);
+            assertEquals(massOrders, htmlRows.size(), "Table rows of the HTML renderer");
+            assertEquals(htmlRows, tableRows(layoutPages), "Table rows for " + massOrders + " mass orders");
+        }
+    }
+
+    private byte[] render(ContractPdfRenderer renderer, Contract contract) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        renderer.render(contract, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Text lines per page without the generation timestamp and the repeated table header row,
+     * which differ between the renderers by design
+     */
+    private List<List<String>> pages(byte[] pdf) throws IOException {
+        List<List<String>> pages = new ArrayList<>();
+        try (PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf)))) {
+            for (int page = 1; page <= document.getNumberOfPages(); page++) {
+                List<String> lines = new ArrayList<>();
+                for (String line : PdfTextExtractor.getTextFromPage(document.getPage(page)).split("\n")) {
+                    String trimmed = line.trim();
+                    if (!trimmed.isEmpty() && !trimmed.startsWith("Generated: ") && !trimmed.equals(TABLE_HEADER)) {
+                        lines.add(trimmed);
+                    }
+                }
+                pages.add(lines);
+            }
+        }
+        return pages;
+    }
+
+    /**
+     * All pages joined with whitespace collapsed, so paragraphs wrapped at different widths compare equal
+     */
+    private String documentText(List<List<String>> pages) {
+        return pages.stream().map(lines -> String.join(" ", lines)).collect(Collectors.joining(" "))
+            .replaceAll("\\s+", " ");
+    }
+
+    private List<String> leadingSections(List<String> firstPage) {
+        return firstPage.stream().takeWhile(line -> !TABLE_ROW.matcher(line).find()).toList();
+    }
+
+    private List<String> tableRows(List<List<String>> pages) {
+        return pages.stream().flatMap(List::stream).filter(line -> TABLE_ROW.matcher(line).find()).toList();
+    }
+
+    /**
+     * Every page has content, page breaks keep rows consecutive and the terms close the last page
+     */
+    private void assertPagesInDocumentOrder(List<List<String>> pages, int massOrders) {
+        int expectedRow = 1;
+        for (List<String> page : pages) {
+            assertFalse(page.isEmpty(), "Blank page for " + massOrders + " mass orders");
+            for (String line : page) {
+                Matcher row = TABLE_ROW.matcher(line);
+                if (row.find()) {
+                    assertEquals(expectedRow++, Integer.parseInt(row.group(1)), "Row order for " + massOrders);
+                }
+            }
+        }
+        List<String> lastPage = pages.get(pages.size() - 1);
+        assertEquals("VEHICLE PURCHASE CONTRACT", pages.get(0).get(0));
+        assertTrue(lastPage.get(lastPage.size() - 1).startsWith("Purchase Request ID: "));
+    }
+
+    private String extractText(byte[] pdf) throws IOException {
+        StringBuilder text = new StringBuilder();
+        try (PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf)))) {
+            for (int page = 1; page <= document.getNumberOfPages(); page++) {
+                text.append(PdfTextExtractor.getTextFromPage(document.getPage(page))).append('\n');
+            }
+        }
+        return text.toString();
+    }
+
+    private List<String> expectedContent(Contract contract) {
+        List<String> expected = new ArrayList<>(List.of(
+            "VEHICLE PURCHASE CONTRACT",
+            "Contract ID: CONTRACT-ABCD1234",
+            "Customer Information",
+            "Hilton Hotels Deutschland GmbH",
+            "Leopoldstraße 45",
+            "Finance Details",
+            "Mercedes-Benz Financial",
+            "Vehicle Orders",
+            "Number of mass orders: " + contract.getMassOrders().size(),
+            "Contract Terms",
+            "Deal ID: DEAL-001",
+            "Purchase Request ID: PR-001"
+        ));
+        for (Map<String, Object> order : contract.getMassOrders()) {
+            expected.add((String) order.get("massOrderId"));
+        }
+        return expected;
+    }
+
+    private Contract createContract(int massOrderCount) {
+        Map<String, Object> customer = new HashMap<>();
+        customer.put("customerName", "Hilton Hotels Deutschland GmbH");
+        customer.put("customerAddress", "Leopoldstraße 45, 80802 München, Germany");
+        customer.put("customerEmail", "fleet@hilton.de");
+
+        Map<String, Object> finance = new HashMap<>();
+        finance.put("type", "Lease");
+        finance.put("provider", "Mercedes-Benz Financial");
+        finance.put("termsInMonths", 36);
+
+        List<Map<String, Object>> massOrders = new ArrayList<>();
+        for (int i = 1; i <= massOrderCount; i++) {
+            Map<String, Object> order = new HashMap<>();
+            order.put("massOrderId", String.format("MO-%04d", i));
+            order.put("quantity", 1);
+            order.put("vehicleConfiguration", Map.of("model", "C-Class", "variant", "C300"));
+            order.put("priceBreakdown", Map.of("totalMsrp", 59300));
+            massOrders.add(order);
+        }
+
+        return new Contract("CONTRACT-ABCD1234", "PR-001", "DEAL-001", customer, finance, massOrders);
+    }
+}
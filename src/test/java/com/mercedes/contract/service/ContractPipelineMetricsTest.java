@@ -0,0 +1,165 @@
+package com.mercedes.contract.service;
+
+import com.mercedes.contract.entity.Contract;
+import com.mercedes.contract.exception.PdfGenerationException;
+import com.mercedes.contract.service.ContractPipelineMetrics.Outcome;
+import com.mercedes.contract.service.ContractPipelineMetrics.Stage;
+import com.mercedes.contract.storage.ContractDocumentStore;
+import com.mercedes.contract.storage.DocumentUpload;
+import com.mercedes.contract.storage.LocalContractDocumentStore;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ContractPipelineMetrics
+ * Tests stage timer tagging and histograms, and how PdfGenerationService splits a render
+ * into pdf_convert and storage_write and records the document distributions
+ */
+@DisplayName("ContractPipelineMetrics Tests")
+class ContractPipelineMetricsTest {
+
+    private static final int PDF_BYTES = 20_000;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ContractPipelineMetrics metrics;
+
+    @TempDir
+    Path documentDir;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        metrics = new ContractPipelineMetrics(meterRegistry, " Tiered ");
+    }
+
+    @Test
+    @DisplayName("Should tag stage timers with stage, outcome and storage type and export histogram buckets")
+    void shouldTagStageTimersAndExportHistogramBuckets() {
+        PrometheusMeterRegistry prometheusRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        ContractPipelineMetrics prometheusMetrics = new ContractPipelineMetrics(prometheusRegistry, " Tiered ");
+
+        prometheusMetrics.recordNanos(Stage.EXISTENCE_CHECK, Outcome.SUCCESS, 2_000_000);
+        prometheusMetrics.recordDocument(Outcome.SUCCESS, PDF_BYTES, 3);
+
+        assertEquals(1, prometheusRegistry.get(ContractPipelineMetrics.STAGE_TIMER)
+            .tags("stage", "existence_check", "outcome", "success", "storage", "tiered").timer().count());
+        String scrape = prometheusRegistry.scrape();
+        assertTrue(scrape.contains("contract_generation_stage_seconds_bucket{outcome=\"success\","
+                                   + "stage=\"existence_check\",storage=\"tiered\",le=\"0.002097151\",} 1.0"));
+        assertTrue(scrape.contains("contract_pdf_size_bytes_bucket{outcome=\"success\",storage=\"tiered\","));
+        assertTrue(scrape.contains("contract_generation_mass_orders_bucket{outcome=\"success\",storage=\"tiered\","));
+    }
+
+    @Test
+    @DisplayName("Should only register stage and outcome pairs that were recorded")
+    void shouldOnlyRegisterRecordedPairs() {
+        metrics.record(Stage.INSERT, Outcome.SUCCESS, System.nanoTime());
+        metrics.record(Stage.INSERT, Outcome.SUCCESS, System.nanoTime());
+
+        assertEquals(2, meterRegistry.get(ContractPipelineMetrics.STAGE_TIMER)
+            .tags("stage", "insert", "outcome", "success").timer().count());
+        assertNull(meterRegistry.find(ContractPipelineMetrics.STAGE_TIMER).tags("outcome", "duplicate").timer());
+        assertEquals(1, meterRegistry.find(ContractPipelineMetrics.STAGE_TIMER).timers().size());
+    }
+
+    @Test
+    @DisplayName("Should record convert and storage time, PDF size and mass orders for a generated PDF")
+    void shouldRecordSuccessfulRender() throws Exception {
+        PdfGenerationService service = pdfGenerationService(
+            (contract, out) -> writeBytes(out), new LocalContractDocumentStore(documentDir.toString()));
+
+        service.generatePdf(contract(3));
+
+        assertEquals(1, stageTimer("pdf_convert", "success").count());
+        assertEquals(1, stageTimer("storage_write", "success").count());
+        DistributionSummary pdfSize = meterRegistry.get(ContractPipelineMetrics.PDF_SIZE)
+            .tags("outcome", "success", "storage", "tiered").summary();
+        assertEquals(1, pdfSize.count());
+        assertEquals(PDF_BYTES, pdfSize.totalAmount());
+        assertEquals(3, meterRegistry.get(ContractPipelineMetrics.MASS_ORDERS)
+            .tags("outcome", "success").summary().totalAmount());
+    }
+
+    @Test
+    @DisplayName("Should charge a renderer failure to pdf_convert")
+    void shouldChargeRendererFailureToPdfConvert() throws Exception {
+        PdfGenerationService service = pdfGenerationService((contract, out) -> {
+            throw new IllegalStateException("template error");
+        }, new LocalContractDocumentStore(documentDir.toString()));
+
+        assertThrows(PdfGenerationException.class, () -> service.generatePdf(contract(1)));
+
+        assertEquals(1, stageTimer("pdf_convert", "failure").count());
+        assertNull(meterRegistry.find(ContractPipelineMetrics.STAGE_TIMER).tags("stage", "storage_write").timer());
+        assertEquals(1, meterRegistry.get(ContractPipelineMetrics.MASS_ORDERS)
+            .tags("outcome", "failure").summary().count());
+    }
+
+    @Test
+    @DisplayName("Should charge a failed write into the upload stream to storage_write")
+    void shouldChargeStreamFailureToStorageWrite() throws Exception {
+        DocumentUpload upload = mock(DocumentUpload.class);
+        when(upload.getOutputStream()).thenReturn(new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("disk full");
+            }
+        });
+        ContractDocumentStore store = mock(ContractDocumentStore.class);
+        when(store.beginUpload(anyString())).thenReturn(upload);
+        PdfGenerationService service = pdfGenerationService((contract, out) -> writeBytes(out), store);
+
+        assertThrows(PdfGenerationException.class, () -> service.generatePdf(contract(1)));
+
+        assertEquals(1, stageTimer("storage_write", "failure").count());
+        assertNull(meterRegistry.find(ContractPipelineMetrics.STAGE_TIMER).tags("stage", "pdf_convert").timer());
+        verify(upload).close();
+    }
+
+    private Timer stageTimer(String stage, String outcome) {
+        return meterRegistry.get(ContractPipelineMetrics.STAGE_TIMER)
+            .tags("stage", stage, "outcome", outcome, "storage", "tiered").timer();
+    }
+
+    private PdfGenerationService pdfGenerationService(ContractPdfRenderer renderer, ContractDocumentStore store) {
+        return new PdfGenerationService(mock(AuditService.class), renderer, store, metrics);
+    }
+
+    private static void writeBytes(OutputStream out) {
+        try {
+            // Small writes, the way the PDF writer emits tokens
+            for (int i = 0; i < PDF_BYTES / 100; i++) {
+                out.write(new byte[100]);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Contract contract(int massOrders) {
+        List<Map<String, Object>> orders = new ArrayList<>();
+        for (int i = 0; i < massOrders; i++) {
+            orders.add(Map.of("orderId", "ORDER-" + i));
+        }
+        return new Contract("CONTRACT-0000000" + massOrders, "PR-" + massOrders, "DEAL-" + massOrders,
+                            Map.of(), Map.of(), orders);
+    }
+}
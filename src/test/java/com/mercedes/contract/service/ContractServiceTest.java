@@ -1,32 +1,62 @@
 package com.mercedes.contract.service;
 
+import com.mercedes.contract.dto.ContractDetailsJson;
 import com.mercedes.contract.dto.ContractDetailsResponse;
 import com.mercedes.contract.dto.ContractRequest;
 import com.mercedes.contract.dto.ContractResponse;
+import com.mercedes.contract.dto.ContractStatusResponse;
 import com.mercedes.contract.entity.Contract;
+import com.mercedes.contract.id.TimeOrderedIdGenerator;
+import com.mercedes.contract.entity.ContractGenerationStatus;
 import com.mercedes.contract.exception.ContractGenerationException;
 import com.mercedes.contract.exception.ContractNotFoundException;
+import com.mercedes.contract.exception.IdempotencyKeyReusedException;
+import com.mercedes.contract.repository.ContractInsertResult;
 import com.mercedes.contract.repository.ContractRepository;
-
+import com.mercedes.contract.storage.ContractDocument;
+import com.mercedes.contract.storage.DocumentUpload;
+import com.mercedes.contract.storage.LocalContractDocumentStore;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.postgresql.util.PSQLException;
+import org.postgresql.util.ServerErrorMessage;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.*;
 import org.springframework.data.repository.query.FluentQuery.FetchableFluentQuery;
 
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import org.springframework.transaction.support.TransactionOperations;
 import java.util.function.Function;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
 
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
 
 /**
  * Unit tests for ContractService
@@ -41,12 +71,17 @@ class ContractServiceTest {
     private PdfGenerationService pdfGenerationService;
     private EventPublishingService eventPublishingService;
     private AuditService auditService;
+    private LocalContractDocumentStore documentStore;
+
+    @TempDir
+    Path documentDir;
 
     @BeforeEach
     void setUp() {
         // Create mock implementations for testing
+        documentStore = new LocalContractDocumentStore(documentDir.toString());
         contractRepository = new MockContractRepository();
-        pdfGenerationService = new MockPdfGenerationService();
+        pdfGenerationService = new MockPdfGenerationService(documentStore);
         eventPublishingService = new MockEventPublishingService();
         auditService = new MockAuditService();
 
@@ -61,8 +96,7 @@ class ContractServiceTest {
         testContract.setCreatedAt(LocalDateTime.now());
         contractRepository.save(testContract);
 
-        contractService = new ContractService(contractRepository, pdfGenerationService,
-                                            eventPublishingService, auditService);
+        contractService = newContractService(ContractPipelineMetrics.NOOP);
     }
 
     @Test
@@ -82,6 +116,193 @@ class ContractServiceTest {
         assertNotNull(response.getSignedAt());
     }
 
+    @Test
+    @DisplayName("Should mark synchronously generated contract as published")
+    void shouldMarkSynchronouslyGeneratedContractAsPublished() {
+        ContractRequest request = createValidContractRequest();
+        request.setPurchaseRequestId("PR-SYNC-12345");
+
+        ContractResponse response = contractService.generateContract(request);
+
+        Contract stored = contractRepository.findById(response.getContractId()).orElseThrow();
+        assertEquals(ContractGenerationStatus.PUBLISHED, stored.getGenerationStatus());
+        assertNotNull(stored.getPdfStorageLocation());
+    }
+
+    @Test
+    @DisplayName("Should insert a synchronously generated contract once with its final state")
+    void shouldInsertSynchronouslyGeneratedContractOnce() {
+        MockContractRepository repository = (MockContractRepository) contractRepository;
+        int savesBefore = repository.saveCalls;
+        ContractRequest request = createValidContractRequest();
+        request.setPurchaseRequestId("PR-SINGLE-12345");
+
+        ContractResponse response = contractService.generateContract(request);
+
+        assertEquals(1, repository.insertCalls);
+        assertEquals(savesBefore, repository.saveCalls);
+        Contract stored = contractRepository.findById(response.getContractId()).orElseThrow();
+        assertEquals(response.getContractUrl(), stored.getPdfStorageLocation());
+        assertEquals(ContractGenerationStatus.PUBLISHED, stored.getGenerationStatus());
+    }
+
+    @Test
+    @DisplayName("Should return the existing contract for a duplicate purchase request")
+    void shouldReturnExistingContractForDuplicatePurchaseRequest() {
+        ContractRequest request = createValidContractRequest();
+        request.setPurchaseRequestId("PR-RETRY-12345");
+
+        ContractResponse first = contractService.generateContract(request, "key-1");
+        ContractResponse retry = contractService.generateContract(request, "key-1");
+
+        assertFalse(first.isReplayed());
+        assertTrue(retry.isReplayed());
+        assertEquals(first.getContractId(), retry.getContractId());
+        assertEquals(first.getContractUrl(), retry.getContractUrl());
+        assertEquals("SIGNED", retry.getContractStatus());
+        assertEquals(1, ((MockEventPublishingService) eventPublishingService).published);
+    }
+
+    @Test
+    @DisplayName("Should delete the uploaded PDF when the insert fails")
+    void shouldDiscardDocumentWhenInsertFails() throws Exception {
+        ((MockContractRepository) contractRepository).insertFailure =
+            new DuplicateKeyException("duplicate key", uniqueViolation("contracts_deal_id_key"));
+        ContractRequest request = createValidContractRequest();
+        request.setPurchaseRequestId("PR-INSERT-FAIL");
+
+        assertThrows(ContractGenerationException.class, () -> contractService.generateContract(request));
+
+        assertEquals(1, ((MockPdfGenerationService) pdfGenerationService).rendered);
+        try (var files = Files.walk(documentDir)) {
+            assertEquals(0, files.filter(Files::isRegularFile).count());
+        }
+    }
+
+    @Test
+    @DisplayName("Should answer a retried request from the existing row without rendering or inserting")
+    void shouldAnswerRetryWithoutRendering() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        contractService = newContractService(new ContractPipelineMetrics(meterRegistry, "local"));
+        MockContractRepository repository = (MockContractRepository) contractRepository;
+        ContractRequest request = createValidContractRequest();
+        request.setPurchaseRequestId("PR-METRICS-12345");
+
+        contractService.generateContract(request, "key-metrics");
+        ContractResponse retry = contractService.generateContract(request, "key-metrics");
+
+        assertTrue(retry.isReplayed());
+        assertEquals(1, ((MockPdfGenerationService) pdfGenerationService).rendered);
+        assertEquals(1, repository.insertCalls);
+        assertEquals(1, meterRegistry.get(ContractPipelineMetrics.STAGE_TIMER)
+            .tags("stage", "insert", "outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get(ContractPipelineMetrics.STAGE_TIMER)
+            .tags("stage", "existence_check", "outcome", "duplicate").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should discard its rendering when a concurrent first attempt inserted the contract")
+    void shouldDiscardRenderingWhenConcurrentInsertWon() throws Exception {
+        ContractRequest request = createValidContractRequest();
+        request.setPurchaseRequestId("PR-RACE-12345");
+        ContractResponse winner = contractService.generateContract(request);
+        ((MockContractRepository) contractRepository).hideFromExistenceCheck = true;
+
+        ContractResponse loser = contractService.generateContract(request);
+
+        assertTrue(loser.isReplayed());
+        assertEquals(winner.getContractId(), loser.getContractId());
+        assertEquals(2, ((MockPdfGenerationService) pdfGenerationService).rendered);
+        try (var files = Files.walk(documentDir)) {
+            assertEquals(1, files.filter(Files::isRegularFile).count());
+        }
+    }
+
+    @Test
+    @DisplayName("Should not resubmit a duplicate purchase request in asynchronous mode")
+    void shouldNotResubmitDuplicateInAsynchronousMode() throws Exception {
+        setAsyncGeneration(true);
+        ContractRequest request = createValidContractRequest();
+        request.setPurchaseRequestId("PR-ASYNC-RETRY");
+
+        ContractResponse first = contractService.generateContract(request);
+        ContractResponse retry = contractService.generateContract(request);
+
+        assertTrue(retry.isReplayed());
+        assertEquals(first.getContractId(), retry.getContractId());
+        assertEquals(1, ((MockEventPublishingService) eventPublishingService).published);
+    }
+
+    @Test
+    @DisplayName("Should reject an Idempotency-Key reused for another purchase request")
+    void shouldRejectIdempotencyKeyReusedForAnotherPurchaseRequest() {
+        ContractRequest request = createValidContractRequest();
+        request.setPurchaseRequestId("PR-KEY-1");
+        contractService.generateContract(request, "key-shared");
+
+        ContractRequest other = createValidContractRequest();
+        other.setPurchaseRequestId("PR-KEY-2");
+        other.setDealId("DEAL-KEY-2");
+
+        assertThrows(IdempotencyKeyReusedException.class, () -> contractService.generateContract(other, "key-shared"));
+        assertEquals(1, ((MockPdfGenerationService) pdfGenerationService).rendered);
+    }
+
+    @Test
+    @DisplayName("Should tell idempotency key violations from other unique violations by constraint name")
+    void shouldDetectIdempotencyKeyViolationByConstraint() {
+        assertTrue(ContractService.isIdempotencyKeyViolation(
+            new DuplicateKeyException("doppelter Schlüsselwert", uniqueViolation("uk_contracts_idempotency_key"))));
+        assertFalse(ContractService.isIdempotencyKeyViolation(
+            new DuplicateKeyException("duplicate key", uniqueViolation("contracts_deal_id_key"))));
+        assertFalse(ContractService.isIdempotencyKeyViolation(
+            new DuplicateKeyException("duplicate key value violates unique constraint \"uk_contracts_idempotency_key\"")));
+    }
+
+    @Test
+    @DisplayName("Should accept contract and return PENDING in asynchronous mode")
+    void shouldAcceptContractAndReturnPendingInAsynchronousMode() throws Exception {
+        setAsyncGeneration(true);
+        ContractRequest request = createValidContractRequest();
+        request.setPurchaseRequestId("PR-ASYNC-12345");
+
+        ContractResponse response = contractService.generateContract(request);
+
+        assertNotNull(response.getContractId());
+        assertEquals("PENDING", response.getContractStatus());
+        assertNull(response.getContractUrl());
+
+        // Synchronous test executor has already run the pipeline
+        ContractStatusResponse status = contractService.getContractStatus(response.getContractId());
+        assertEquals("PUBLISHED", status.getStatus());
+        assertNotNull(status.getContractUrl());
+        assertNull(status.getFailureReason());
+    }
+
+    @Test
+    @DisplayName("Should report FAILED status when asynchronous rendering fails")
+    void shouldReportFailedStatusWhenAsynchronousRenderingFails() throws Exception {
+        setAsyncGeneration(true);
+        ContractRequest request = createValidContractRequest();
+        request.setPurchaseRequestId("PR-ASYNC-FAIL");
+        request.setDealId("INVALID_DEAL");
+
+        ContractResponse response = contractService.generateContract(request);
+
+        ContractStatusResponse status = contractService.getContractStatus(response.getContractId());
+        assertEquals("FAILED", status.getStatus());
+        assertEquals("PDF generation failed", status.getFailureReason());
+        assertNull(status.getContractUrl());
+    }
+
+    @Test
+    @DisplayName("Should throw exception when status requested for unknown contract")
+    void shouldThrowExceptionWhenStatusRequestedForUnknownContract() {
+        assertThrows(ContractNotFoundException.class, () -> {
+            contractService.getContractStatus("NON_EXISTENT_CONTRACT");
+        });
+    }
+
     @Test
     @DisplayName("Should throw exception when contract generation fails")
     void shouldThrowExceptionWhenContractGenerationFails() {
@@ -109,6 +330,71 @@ class ContractServiceTest {
         assertNotNull(response.getCreatedAt());
     }
 
+    @Test
+    @DisplayName("Should serve repeated contract details reads from the cache")
+    void shouldServeRepeatedContractDetailsReadsFromCache() {
+        MockContractRepository repository = (MockContractRepository) contractRepository;
+        repository.findById("CONTRACT-123").orElseThrow().setGenerationStatus(ContractGenerationStatus.PUBLISHED);
+        int callsBefore = repository.findByIdCalls;
+
+        ContractDetailsJson first = contractService.getContractDetailsJson("CONTRACT-123");
+        ContractDetailsJson second = contractService.getContractDetailsJson("CONTRACT-123");
+
+        assertSame(first, second);
+        assertEquals(callsBefore + 1, repository.findByIdCalls);
+    }
+
+    @Test
+    @DisplayName("Should read contract details from the repository while generation is in progress")
+    void shouldNotCacheContractDetailsWhileGenerating() {
+        MockContractRepository repository = (MockContractRepository) contractRepository;
+        repository.findById("CONTRACT-123").orElseThrow().setGenerationStatus(ContractGenerationStatus.RENDERED);
+        int callsBefore = repository.findByIdCalls;
+
+        contractService.getContractDetailsJson("CONTRACT-123");
+        contractService.getContractDetailsJson("CONTRACT-123");
+
+        assertEquals(callsBefore + 2, repository.findByIdCalls);
+    }
+
+    @Test
+    @DisplayName("Should serve contract details as JSON bytes with a content ETag")
+    void shouldServeContractDetailsAsJsonWithETag() throws Exception {
+        ContractDetailsJson details = contractService.getContractDetailsJson("CONTRACT-123");
+
+        ContractDetailsResponse response = new ObjectMapper().findAndRegisterModules()
+            .readValue(details.getBody(), ContractDetailsResponse.class);
+        assertEquals("CONTRACT-123", response.getContractId());
+        assertTrue(details.getETag().matches("\"[0-9a-f]{64}\""));
+    }
+
+    @Test
+    @DisplayName("Should serve cached contract details without opening a transaction")
+    void shouldServeCachedContractDetailsWithoutTransaction() {
+        MockContractRepository repository = (MockContractRepository) contractRepository;
+        repository.findById("CONTRACT-123").orElseThrow().setGenerationStatus(ContractGenerationStatus.PUBLISHED);
+        int findsBefore = repository.findByIdCalls;
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        ProxyFactory proxyFactory = new ProxyFactory(contractService);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(new TransactionInterceptor(transactionManager, new AnnotationTransactionAttributeSource()));
+        ContractService transactional = (ContractService) proxyFactory.getProxy();
+
+        transactional.getContractDetailsJson("CONTRACT-123");
+        transactional.getContractDetailsJson("CONTRACT-123");
+
+        assertEquals(findsBefore + 1, repository.findByIdCalls);
+        verify(transactionManager, never()).getTransaction(
+            argThat(definition -> definition.getPropagationBehavior() != TransactionDefinition.PROPAGATION_NOT_SUPPORTED));
+    }
+
+    @Test
+    @DisplayName("Should not cache missing contract details")
+    void shouldNotCacheMissingContractDetails() {
+        assertThrows(ContractNotFoundException.class, () -> contractService.getContractDetailsJson("NON_EXISTENT_CONTRACT"));
+        assertThrows(ContractNotFoundException.class, () -> contractService.getContractDetailsJson("NON_EXISTENT_CONTRACT"));
+    }
+
     @Test
     @DisplayName("Should throw exception when contract not found")
     void shouldThrowExceptionWhenContractNotFound() {
@@ -143,6 +429,59 @@ class ContractServiceTest {
         });
     }
 
+    @Test
+    @DisplayName("Should read contract PDF through the document store")
+    void shouldReadContractPdfThroughDocumentStore() throws Exception {
+        Contract contract = contractRepository.findById("CONTRACT-123").orElseThrow();
+        contract.setPdfStorageLocation(documentStore.resolve("CONTRACT-123").toString());
+        contract.setPdfContentHash("abc123");
+        try (DocumentUpload upload = documentStore.beginUpload("CONTRACT-123")) {
+            upload.getOutputStream().write("%PDF-1.7".getBytes(StandardCharsets.US_ASCII));
+            upload.complete();
+        }
+
+        Optional<ContractDocument> document = contractService.getContractDocument("CONTRACT-123");
+
+        assertTrue(document.isPresent());
+        assertEquals(8, document.get().getResource().contentLength());
+        assertEquals("\"abc123\"", document.get().getETag());
+        assertNotNull(document.get().getLastModified());
+    }
+
+    @Test
+    @DisplayName("Should return empty when document store no longer holds the PDF")
+    void shouldReturnEmptyWhenDocumentStoreDoesNotHoldPdf() {
+        Contract contract = contractRepository.findById("CONTRACT-123").orElseThrow();
+        contract.setPdfStorageLocation(documentStore.resolve("CONTRACT-123").toString());
+
+        assertTrue(contractService.getContractDocument("CONTRACT-123").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should throw exception when contract has no PDF")
+    void shouldThrowExceptionWhenContractHasNoPdf() {
+        assertThrows(ContractNotFoundException.class, () -> contractService.getContractDocument("NON-EXISTENT"));
+    }
+
+    private void setAsyncGeneration(boolean enabled) throws Exception {
+        var field = ContractService.class.getDeclaredField("asyncGenerationEnabled");
+        field.setAccessible(true);
+        field.set(contractService, enabled);
+    }
+
+    private ContractService newContractService(ContractPipelineMetrics pipelineMetrics) {
+        // Synchronous executor so asynchronous generation completes within the test thread
+        ContractGenerationPipeline pipeline = new ContractGenerationPipeline(contractRepository,
+                pdfGenerationService, eventPublishingService, auditService,
+                TransactionOperations.withoutTransaction(), Runnable::run);
+
+        return new ContractService(contractRepository, pdfGenerationService,
+                                   eventPublishingService, auditService, pipeline, documentStore,
+                                   new ContractDetailsCache(new ObjectMapper().findAndRegisterModules(),
+                                                            new SimpleMeterRegistry(), 1024 * 1024, 600),
+                                   pipelineMetrics);
+    }
+
     // Helper methods for creating test data
     private ContractRequest createValidContractRequest() {
         ContractRequest.DealData dealData = new ContractRequest.DealData(
@@ -201,12 +540,22 @@ class ContractServiceTest {
         return Arrays.asList(massOrder);
     }
 
+    private static PSQLException uniqueViolation(String constraint) {
+        return new PSQLException(new ServerErrorMessage("SERROR\0C23505\0Mduplicate key value\0n" + constraint + "\0"));
+    }
+
     // Mock implementations for testing
     private static class MockContractRepository implements ContractRepository {
         private Map<String, Contract> contracts = new HashMap<>();
+        private int findByIdCalls;
+        private int saveCalls;
+        private int insertCalls;
+        private RuntimeException insertFailure;
+        private boolean hideFromExistenceCheck;
 
         @Override
         public Contract save(Contract contract) {
+            saveCalls++;
             if (contract.getContractId() == null) {
                 contract.setContractId("CONTRACT-123");
             }
@@ -217,6 +566,7 @@ class ContractServiceTest {
 
         @Override
         public Optional<Contract> findById(String contractId) {
+            findByIdCalls++;
             return Optional.ofNullable(contracts.get(contractId));
         }
 
@@ -234,6 +584,83 @@ class ContractServiceTest {
                 .findFirst();
         }
 
+        @Override
+        public ContractInsertResult insertIfAbsent(Contract contract) {
+            insertCalls++;
+            if (insertFailure != null) {
+                throw insertFailure;
+            }
+            boolean keyReused = contract.getIdempotencyKey() != null && contracts.values().stream()
+                .anyMatch(c -> contract.getIdempotencyKey().equals(c.getIdempotencyKey())
+                    && !contract.getPurchaseRequestId().equals(c.getPurchaseRequestId()));
+            if (keyReused) {
+                throw new DuplicateKeyException("duplicate key", uniqueViolation("uk_contracts_idempotency_key"));
+            }
+            Contract existing = contracts.values().stream()
+                .filter(c -> contract.getPurchaseRequestId().equals(c.getPurchaseRequestId()))
+                .findFirst()
+                .orElse(null);
+            boolean inserted = existing == null;
+            if (inserted) {
+                contracts.put(contract.getContractId(), contract);
+                existing = contract;
+            }
+            return new ContractInsertResult(inserted, existing.getContractId(), existing.getPurchaseRequestId(),
+                existing.getIdempotencyKey(), existing.getPdfStorageLocation(), existing.getGenerationStatus(),
+                existing.getCreatedAt());
+        }
+
+        @Override
+        public List<ContractInsertResult> insertAllIfAbsent(List<Contract> batch) {
+            List<ContractInsertResult> results = new ArrayList<>();
+            for (Contract contract : batch) {
+                results.add(insertIfAbsent(contract));
+            }
+            return results;
+        }
+
+        @Override
+        public List<ContractInsertResult> findExistingByPurchaseRequestIds(Collection<String> purchaseRequestIds) {
+            List<ContractInsertResult> results = new ArrayList<>();
+            for (Contract c : contracts.values()) {
+                if (purchaseRequestIds.contains(c.getPurchaseRequestId())) {
+                    results.add(new ContractInsertResult(false, c.getContractId(), c.getPurchaseRequestId(),
+                        c.getIdempotencyKey(), c.getPdfStorageLocation(), c.getGenerationStatus(), c.getCreatedAt()));
+                }
+            }
+            return results;
+        }
+
+        @Override
+        public Optional<ContractInsertResult> findExisting(String purchaseRequestId, String idempotencyKey) {
+            if (hideFromExistenceCheck) {
+                return Optional.empty();
+            }
+            return contracts.values().stream()
+                .filter(c -> purchaseRequestId.equals(c.getPurchaseRequestId()))
+                .findFirst()
+                .or(() -> contracts.values().stream()
+                    .filter(c -> idempotencyKey != null && idempotencyKey.equals(c.getIdempotencyKey()))
+                    .findFirst())
+                .map(c -> new ContractInsertResult(false, c.getContractId(), c.getPurchaseRequestId(),
+                    c.getIdempotencyKey(), c.getPdfStorageLocation(), c.getGenerationStatus(), c.getCreatedAt()));
+        }
+
+        @Override
+        public List<String> claimStalePending(Duration staleAfter, int limit) {
+            return List.of();
+        }
+
+        @Override
+        public boolean claimForGeneration(String contractId) {
+            Contract contract = contracts.get(contractId);
+            if (contract == null || contract.getGenerationStatus() != ContractGenerationStatus.PENDING) {
+                return false;
+            }
+            contract.setGenerationStatus(ContractGenerationStatus.GENERATING);
+            return true;
+        }
+
         @Override
         public boolean existsByPurchaseRequestId(String purchaseRequestId) {
             return contracts.values().stream()
@@ -340,8 +767,12 @@ class ContractServiceTest {
     }
 
     private static class MockPdfGenerationService extends PdfGenerationService {
-        public MockPdfGenerationService() {
-            super(new MockAuditService());
+        private final LocalContractDocumentStore store;
+        private int rendered;
+
+        public MockPdfGenerationService(LocalContractDocumentStore store) {
+            super(new MockAuditService(), null, null, ContractPipelineMetrics.NOOP);
+            this.store = store;
         }
 
         @Override
@@ -349,22 +780,36 @@ class ContractServiceTest {
             if (contract.getDealId().equals("INVALID_DEAL")) {
                 throw new RuntimeException("PDF generation failed");
             }
+            rendered++;
+            try (DocumentUpload upload = store.beginUpload(contract.getContractId())) {
+                upload.getOutputStream().write("%PDF-1.7".getBytes(StandardCharsets.US_ASCII));
+                upload.complete();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
             return "http://example.com/contracts/" + contract.getContractId() + ".pdf";
         }
     }
 
     private static class MockEventPublishingService extends EventPublishingService {
         public MockEventPublishingService() {
-            super(null, new MockAuditService());
+            super(null, new ObjectMapper(), new MockAuditService(), new TimeOrderedIdGenerator(),
+                  ContractPipelineMetrics.NOOP);
         }
 
+        private int published;
+
         @Override
         public void publishContractCreatedEvent(Contract contract) {
-            // Mock implementation - do nothing
+            published++;
         }
     }
 
     private static class MockAuditService extends AuditService {
+        MockAuditService() {
+            super(ContractPipelineMetrics.NOOP);
+        }
+
         @Override
         public void logContractCreated(String contractId, String purchaseRequestId, String dealId) {
             // Mock implementation - do nothing
@@ -0,0 +1,143 @@
+package com.mercedes.contract.service;
+
+import com.mercedes.contract.entity.Contract;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ContractTemplateEngine
+ * Tests rendering of the packaged contract template and template hot reload
+ */
+@DisplayName("ContractTemplateEngine Tests")
+class ContractTemplateEngineTest {
+
+    private static final String DEFAULT_TEMPLATE = "classpath:templates/contract-template.html";
+
+    @Test
+    @DisplayName("Should render all contract sections from packaged template")
+    void shouldRenderAllContractSectionsFromPackagedTemplate() {
+        ContractTemplateEngine engine = createEngine(DEFAULT_TEMPLATE, 0);
+
+        String html = engine.render(createContract(2));
+
+        assertTrue(html.contains("VEHICLE PURCHASE CONTRACT"));
+        assertTrue(html.contains("Contract ID: CONTRACT-ABCD1234"));
+        assertTrue(html.contains("Hilton Hotels Deutschland GmbH"));
+        assertTrue(html.contains("Mercedes-Benz Financial"));
+        assertTrue(html.contains("Deal ID: DEAL-001"));
+        assertTrue(html.contains("Purchase Request ID: PR-001"));
+        assertFalse(html.contains("{{"));
+    }
+
+    @Test
+    @DisplayName("Should render every mass order line item")
+    void shouldRenderEveryMassOrderLineItem() {
+        ContractTemplateEngine engine = createEngine(DEFAULT_TEMPLATE, 0);
+
+        String html = engine.render(createContract(3));
+
+        assertTrue(html.contains("Number of mass orders: 3"));
+        assertTrue(html.contains("MO-1"));
+        assertTrue(html.contains("MO-2"));
+        assertTrue(html.contains("MO-3"));
+        assertTrue(html.contains("C300"));
+        assertTrue(html.contains("54900"));
+    }
+
+    @Test
+    @DisplayName("Should omit empty fields and sections for null contract data")
+    void shouldOmitEmptyFieldsForNullContractData() {
+        ContractTemplateEngine engine = createEngine(DEFAULT_TEMPLATE, 0);
+        Contract contract = createContract(0);
+        contract.setCustomerDetails(null);
+        contract.setFinanceDetails(null);
+        contract.setMassOrders(null);
+
+        String html = engine.render(contract);
+
+        assertFalse(html.contains("Customer Name:"));
+        assertFalse(html.contains("Number of mass orders"));
+        assertFalse(html.contains("null"));
+    }
+
+    @Test
+    @DisplayName("Should recompile file template when it changes")
+    void shouldRecompileFileTemplateWhenItChanges(@TempDir Path tempDir) throws Exception {
+        Path templateFile = tempDir.resolve("contract.html");
+        Files.writeString(templateFile, "<p>v1 {{contractId}}</p>", StandardCharsets.UTF_8);
+        ContractTemplateEngine engine = createEngine(templateFile.toUri().toString(), 1);
+
+        assertEquals("<p>v1 CONTRACT-ABCD1234</p>", engine.render(createContract(0)));
+
+        Files.writeString(templateFile, "<p>v2 {{dealId}}</p>", StandardCharsets.UTF_8);
+        Files.setLastModifiedTime(templateFile, FileTime.fromMillis(System.currentTimeMillis() + 5000));
+        Thread.sleep(5);
+
+        assertEquals("<p>v2 DEAL-001</p>", engine.render(createContract(0)));
+    }
+
+    @Test
+    @DisplayName("Should keep last good template when reloaded template is invalid")
+    void shouldKeepLastGoodTemplateWhenReloadedTemplateIsInvalid(@TempDir Path tempDir) throws Exception {
+        Path templateFile = tempDir.resolve("contract.html");
+        Files.writeString(templateFile, "<p>{{contractId}}</p>", StandardCharsets.UTF_8);
+        ContractTemplateEngine engine = createEngine(templateFile.toUri().toString(), 1);
+
+        Files.writeString(templateFile, "<p>{{#broken}}</p>", StandardCharsets.UTF_8);
+        Files.setLastModifiedTime(templateFile, FileTime.fromMillis(System.currentTimeMillis() + 5000));
+        Thread.sleep(5);
+
+        assertEquals("<p>CONTRACT-ABCD1234</p>", engine.render(createContract(0)));
+    }
+
+    @Test
+    @DisplayName("Should fail fast when template cannot be loaded")
+    void shouldFailFastWhenTemplateCannotBeLoaded() {
+        ContractTemplateEngine engine = new ContractTemplateEngine(new DefaultResourceLoader(),
+                "classpath:templates/does-not-exist.html", 0);
+
+        assertThrows(IllegalStateException.class, engine::init);
+    }
+
+    private ContractTemplateEngine createEngine(String path, long reloadIntervalMs) {
+        ContractTemplateEngine engine = new ContractTemplateEngine(new DefaultResourceLoader(), path, reloadIntervalMs);
+        engine.init();
+        return engine;
+    }
+
+    private Contract createContract(int massOrderCount) {
+        Map<String, Object> customer = new HashMap<>();
+        customer.put("customerName", "Hilton Hotels Deutschland GmbH");
+        customer.put("customerEmail", "fleet@hilton.de");
+
+        Map<String, Object> finance = new HashMap<>();
+        finance.put("type", "Lease");
+        finance.put("provider", "Mercedes-Benz Financial");
+        finance.put("termsInMonths", 36);
+
+        List<Map<String, Object>> massOrders = new ArrayList<>();
+        for (int i = 1; i <= massOrderCount; i++) {
+            Map<String, Object> order = new HashMap<>();
+            order.put("massOrderId", "MO-" + i);
+            order.put("quantity", 1);
+            order.put("vehicleConfiguration", Map.of("brand", "Mercedes-Benz", "modelCode", "C300"));
+            order.put("priceBreakdown", Map.of("finalPrice", 54900));
+            massOrders.add(order);
+        }
+
+        return new Contract("CONTRACT-ABCD1234", "PR-001", "DEAL-001", customer, finance, massOrders);
+    }
+}
@@ -1,10 +1,17 @@
 package com.mercedes.contract.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mercedes.contract.entity.Contract;
+import com.mercedes.contract.id.TimeOrderedIdGenerator;
+import com.mercedes.contract.repository.ContractOutboxEvent;
+import com.mercedes.contract.repository.ContractOutboxRepository;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
 
 
 import java.time.LocalDateTime;
@@ -12,8 +19,11 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.List;
 import java.util.Arrays;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
 
 /**
  * Unit tests for EventPublishingService
@@ -284,10 +294,86 @@ class EventPublishingServiceTest {
         return contract;
     }
 
+    @Test
+    @DisplayName("Should enqueue one outbox event per contract with a single batch")
+    @SuppressWarnings("unchecked")
+    void shouldEnqueueOutboxEventsInSingleBatch() throws Exception {
+        ContractOutboxRepository outboxRepository = mock(ContractOutboxRepository.class);
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        EventPublishingService service = new EventPublishingService(outboxRepository, objectMapper, new AuditService(ContractPipelineMetrics.NOOP),
+                                                                    new TimeOrderedIdGenerator(),
+                                                                    ContractPipelineMetrics.NOOP);
+        setField(service, "contractEventsTopic", "contract-events");
+        setField(service, "eventPublishingEnabled", true);
+
+        Contract first = createValidContract();
+        first.setPdfStorageLocation("/tmp/contracts/contract-test-001.pdf");
+        Contract second = createValidContract();
+        second.setContractId("CONTRACT-87654321");
+
+        service.publishContractCreatedEvents(List.of(first, second));
+
+        ArgumentCaptor<List<ContractOutboxEvent>> captor = ArgumentCaptor.forClass(List.class);
+        verify(outboxRepository, times(1)).enqueueAll(captor.capture());
+        List<ContractOutboxEvent> events = captor.getValue();
+        assertEquals(2, events.size());
+        assertEquals("CONTRACT-TEST-001", events.get(0).getAggregateId());
+        assertEquals("CONTRACT-87654321", events.get(1).getAggregateId());
+        assertEquals("contract-events", events.get(0).getTopic());
+        assertNotEquals(events.get(0).getEventId(), events.get(1).getEventId());
+        // Time-ordered UUIDs
+        assertEquals(7, UUID.fromString(events.get(0).getEventId()).version());
+
+        JsonNode payload = objectMapper.readTree(events.get(0).getPayload());
+        assertEquals(events.get(0).getEventId(), payload.get("eventId").asText());
+        assertEquals("CONTRACT_CREATED", payload.get("eventType").asText());
+        assertEquals("CONTRACT-TEST-001", payload.get("data").get("contractId").asText());
+        assertEquals("PR-TEST-001", payload.get("data").get("purchaseRequestId").asText());
+        assertEquals("/tmp/contracts/contract-test-001.pdf", payload.get("data").get("contractPdfLocation").asText());
+        // Same ISO-8601 local date-time as the documented payload, not a numeric array
+        assertTrue(payload.get("eventTimestamp").isTextual());
+        LocalDateTime.parse(payload.get("eventTimestamp").asText());
+    }
+
+    @Test
+    @DisplayName("Should fail the caller's transaction when the outbox insert fails")
+    void shouldThrowWhenOutboxInsertFails() throws Exception {
+        ContractOutboxRepository outboxRepository = mock(ContractOutboxRepository.class);
+        doThrow(new DataAccessResourceFailureException("connection refused")).when(outboxRepository).enqueueAll(anyList());
+        EventPublishingService service = new EventPublishingService(outboxRepository, new ObjectMapper().findAndRegisterModules(),
+                                                                    new AuditService(ContractPipelineMetrics.NOOP), new TimeOrderedIdGenerator(),
+                                                                    ContractPipelineMetrics.NOOP);
+        setField(service, "contractEventsTopic", "contract-events");
+        setField(service, "eventPublishingEnabled", true);
+
+        assertThrows(RuntimeException.class, () -> service.publishContractCreatedEvent(createValidContract()));
+    }
+
+    @Test
+    @DisplayName("Should not enqueue anything when event publishing is disabled")
+    void shouldNotEnqueueWhenPublishingDisabled() throws Exception {
+        ContractOutboxRepository outboxRepository = mock(ContractOutboxRepository.class);
+        EventPublishingService service = new EventPublishingService(outboxRepository, new ObjectMapper().findAndRegisterModules(),
+                                                                    new AuditService(ContractPipelineMetrics.NOOP), new TimeOrderedIdGenerator(),
+                                                                    ContractPipelineMetrics.NOOP);
+        setField(service, "eventPublishingEnabled", false);
+
+        service.publishContractCreatedEvent(createValidContract());
+
+        verifyNoInteractions(outboxRepository);
+    }
+
+    private static void setField(Object target, String name, Object value) throws Exception {
+        var field = EventPublishingService.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+
     // Mock implementation for testing
     private static class MockEventPublishingService extends EventPublishingService {
         public MockEventPublishingService() {
-            super(null, new AuditService());
+            super(null, new ObjectMapper(), new AuditService(ContractPipelineMetrics.NOOP), new TimeOrderedIdGenerator(),
+                                                                    ContractPipelineMetrics.NOOP);
         }
 
         @Override
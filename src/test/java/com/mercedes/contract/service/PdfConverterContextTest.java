@@ -0,0 +1,71 @@
+package com.mercedes.contract.service;
+
+import com.itextpdf.html2pdf.ConverterProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PdfConverterContext
+ * Tests shared font set reuse, warm-up and render timing metrics
+ */
+@DisplayName("PdfConverterContext Tests")
+class PdfConverterContextTest {
+
+    private static final String HTML = "<html><body><h1>Contract</h1><p>Müller GmbH</p></body></html>";
+
+    private SimpleMeterRegistry meterRegistry;
+    private PdfConverterContext context;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        context = new PdfConverterContext(meterRegistry, false);
+    }
+
+    @Test
+    @DisplayName("Should preload fonts into shared font set")
+    void shouldPreloadFontsIntoSharedFontSet() {
+        assertFalse(context.getFontSet().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should convert HTML to a PDF document")
+    void shouldConvertHtmlToPdfDocument() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        context.convert(HTML, out);
+
+        String header = new String(out.toByteArray(), 0, 5, StandardCharsets.US_ASCII);
+        assertEquals("%PDF-", header);
+    }
+
+    @Test
+    @DisplayName("Should create a fresh font provider per document over the shared font set")
+    void shouldCreateFreshFontProviderPerDocument() {
+        ConverterProperties first = context.newConverterProperties();
+        ConverterProperties second = context.newConverterProperties();
+
+        assertNotSame(first.getFontProvider(), second.getFontProvider());
+        assertSame(first.getFontProvider().getFontSet(), second.getFontProvider().getFontSet());
+        assertSame(first.getCssApplierFactory(), second.getCssApplierFactory());
+        assertEquals("UTF-8", first.getCharset());
+    }
+
+    @Test
+    @DisplayName("Should record warm-up as cold render and later renders as steady")
+    void shouldRecordWarmUpAsColdRenderAndLaterRendersAsSteady() {
+        context.warmUp();
+        context.convert(HTML, new ByteArrayOutputStream());
+        context.convert(HTML, new ByteArrayOutputStream());
+
+        assertEquals(1, meterRegistry.get(PdfConverterContext.RENDER_TIMER).tag("phase", "cold").timer().count());
+        assertEquals(2, meterRegistry.get(PdfConverterContext.RENDER_TIMER).tag("phase", "steady").timer().count());
+    }
+}
@@ -2,17 +2,36 @@ package com.mercedes.contract.service;
 
 import com.mercedes.contract.entity.Contract;
 import com.mercedes.contract.exception.PdfGenerationException;
+import com.mercedes.contract.storage.ContractDocumentStore;
+import com.mercedes.contract.storage.DocumentUpload;
+import com.mercedes.contract.storage.LocalContractDocumentStore;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
 
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.List;
 import java.util.Arrays;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -217,6 +236,188 @@ class PdfGenerationServiceTest {
         });
     }
 
+    @Test
+    @DisplayName("Should render on the render executor when one is configured")
+    void shouldRenderOnRenderExecutorWhenConfigured(@TempDir Path documentDir) throws Exception {
+        List<String> renderThreads = new CopyOnWriteArrayList<>();
+        ExecutorService renderExecutor = Executors.newSingleThreadExecutor(task -> new Thread(task, "contract-render-1"));
+        try {
+            PdfGenerationService service = renderingService((contract, out) -> {
+                renderThreads.add(Thread.currentThread().getName());
+                try {
+                    out.write("%PDF-1.7".getBytes(StandardCharsets.US_ASCII));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, documentDir, renderExecutor);
+
+            Contract contract = createValidContract();
+            String location = service.generatePdf(contract);
+
+            assertEquals(List.of("contract-render-1"), renderThreads);
+            assertTrue(location.endsWith("contract-test-001.pdf"));
+            assertNotNull(contract.getPdfContentHash());
+        } finally {
+            renderExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should rethrow PdfGenerationException from the render executor unwrapped")
+    void shouldRethrowRenderFailureFromRenderExecutorUnwrapped(@TempDir Path documentDir) throws Exception {
+        ExecutorService renderExecutor = Executors.newSingleThreadExecutor();
+        try {
+            PdfGenerationService service = renderingService((contract, out) -> {
+                throw new IllegalStateException("template error");
+            }, documentDir, renderExecutor);
+
+            PdfGenerationException exception = assertThrows(PdfGenerationException.class,
+                () -> service.generatePdf(createValidContract()));
+            assertTrue(exception.getMessage().contains("template error"));
+        } finally {
+            renderExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should render on the render executor and write the upload on the calling thread")
+    void shouldWriteUploadOnCallingThreadWhileRenderingOnExecutor() throws Exception {
+        ExecutorService renderExecutor = Executors.newSingleThreadExecutor(task -> new Thread(task, "render-test"));
+        RecordingDocumentStore store = new RecordingDocumentStore(false);
+        List<String> renderThreads = new CopyOnWriteArrayList<>();
+        try {
+            PdfGenerationService service = renderingService((contract, out) -> {
+                renderThreads.add(Thread.currentThread().getName());
+                writeBytes(out, 3 * 1024 * 1024);
+            }, store, renderExecutor);
+
+            String location = service.generatePdf(createValidContract());
+
+            assertEquals("recorded://CONTRACT-TEST-001", location);
+            assertEquals(List.of("render-test"), renderThreads);
+            assertEquals(Set.of(Thread.currentThread().getName()), store.writeThreads);
+            assertEquals(3 * 1024 * 1024, store.bytes.size());
+        } finally {
+            renderExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should stop rendering and not complete the upload when the storage write fails")
+    void shouldStopRenderingWhenStorageWriteFails() {
+        ExecutorService renderExecutor = Executors.newSingleThreadExecutor();
+        RecordingDocumentStore store = new RecordingDocumentStore(true);
+        try {
+            PdfGenerationService service = renderingService((contract, out) -> writeBytes(out, 32 * 1024 * 1024),
+                                                            store, renderExecutor);
+
+            PdfGenerationException exception = assertTimeoutPreemptively(Duration.ofSeconds(10),
+                () -> assertThrows(PdfGenerationException.class, () -> service.generatePdf(createValidContract())));
+
+            assertTrue(exception.getMessage().contains("storage unavailable"));
+            assertFalse(store.completed);
+            assertTrue(store.aborted);
+        } finally {
+            renderExecutor.shutdownNow();
+        }
+    }
+
+    private static void writeBytes(OutputStream out, int total) {
+        try {
+            byte[] chunk = new byte[1000];
+            for (int written = 0; written < total; written += chunk.length) {
+                out.write(chunk, 0, Math.min(chunk.length, total - written));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static PdfGenerationService renderingService(ContractPdfRenderer renderer, Path documentDir,
+                                                         Executor renderExecutor) throws Exception {
+        return renderingService(renderer, new LocalContractDocumentStore(documentDir.toString()), renderExecutor);
+    }
+
+    private static PdfGenerationService renderingService(ContractPdfRenderer renderer, ContractDocumentStore store,
+                                                         Executor renderExecutor) {
+        PdfGenerationService service = new PdfGenerationService(new AuditService(ContractPipelineMetrics.NOOP), renderer,
+                                                                store, ContractPipelineMetrics.NOOP);
+        try {
+            var field = PdfGenerationService.class.getDeclaredField("renderExecutor");
+            field.setAccessible(true);
+            field.set(service, renderExecutor);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+        return service;
+    }
+
+    /**
+     * Keeps the uploaded bytes in memory and records which threads wrote them
+     */
+    private static class RecordingDocumentStore implements ContractDocumentStore {
+
+        private final boolean failWrites;
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final Set<String> writeThreads = ConcurrentHashMap.newKeySet();
+        private volatile boolean completed;
+        private volatile boolean aborted;
+
+        RecordingDocumentStore(boolean failWrites) {
+            this.failWrites = failWrites;
+        }
+
+        @Override
+        public DocumentUpload beginUpload(String contractId) {
+            OutputStream out = new OutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    write(new byte[] {(byte) b}, 0, 1);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    writeThreads.add(Thread.currentThread().getName());
+                    if (failWrites) {
+                        throw new IOException("storage unavailable");
+                    }
+                    bytes.write(b, off, len);
+                }
+            };
+            return new DocumentUpload() {
+                @Override
+                public OutputStream getOutputStream() {
+                    return out;
+                }
+
+                @Override
+                public String complete() {
+                    completed = true;
+                    return "recorded://" + contractId;
+                }
+
+                @Override
+                public void abort() {
+                    aborted = !completed;
+                }
+            };
+        }
+
+        @Override
+        public Optional<Resource> findDocument(String contractId) {
+            return Optional.empty();
+        }
+
+        @Override
+        public boolean delete(String contractId) {
+            return false;
+        }
+
+        @Override
+        public void checkAvailable() {
+        }
+    }
+
     // Helper method for creating test data
     private Contract createValidContract() {
         Contract contract = new Contract();
@@ -251,7 +452,7 @@ class PdfGenerationServiceTest {
     // Mock implementation for testing
     private static class MockPdfGenerationService extends PdfGenerationService {
         public MockPdfGenerationService() {
-            super(new AuditService());
+            super(new AuditService(ContractPipelineMetrics.NOOP), null, null, ContractPipelineMetrics.NOOP);
         }
 
         @Override
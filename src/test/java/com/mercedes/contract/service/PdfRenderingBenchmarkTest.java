@@ -0,0 +1,98 @@
+package com.mercedes.contract.service;
+
+import com.mercedes.contract.benchmark.ContractFixtures;
+import com.mercedes.contract.benchmark.JmhBenchmarks;
+import com.mercedes.contract.entity.Contract;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JMH benchmark of the PDF renderers by mass order count
+ * htmlBuild measures the compiled template (HtmlContractPdfRenderer.generateHtmlContent),
+ * htmlToPdf the iText conversion of the pre-built HTML into a discarding stream,
+ * htmlRender and layoutRender a full render with each renderer for comparison.
+ *
+ * Skipped by default; run with:
+ *   mvn test -Dtest=PdfRenderingBenchmarkTest -Dbenchmark=true
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@DisplayName("PDF rendering benchmark")
+public class PdfRenderingBenchmarkTest {
+
+    @Param({"1", "10", "100", "1000"})
+    public int massOrders;
+
+    private HtmlContractPdfRenderer renderer;
+    private LayoutContractPdfRenderer layoutRenderer;
+    private PdfConverterContext converterContext;
+    private Contract contract;
+    private String html;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        converterContext = new PdfConverterContext(new SimpleMeterRegistry(), false);
+        ContractTemplateEngine templateEngine = new ContractTemplateEngine(new DefaultResourceLoader(),
+                "classpath:templates/contract-template.html", 0);
+        templateEngine.init();
+        renderer = new HtmlContractPdfRenderer(templateEngine, converterContext, ContractPipelineMetrics.NOOP);
+        layoutRenderer = new LayoutContractPdfRenderer(converterContext);
+        contract = ContractFixtures.contract(massOrders);
+        html = renderer.generateHtmlContent(contract);
+    }
+
+    @Benchmark
+    public String htmlBuild() {
+        return renderer.generateHtmlContent(contract);
+    }
+
+    @Benchmark
+    public void htmlToPdf() {
+        converterContext.convert(html, OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public void htmlRender() {
+        renderer.render(contract, OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public void layoutRender() {
+        layoutRenderer.render(contract, OutputStream.nullOutputStream());
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @DisplayName("Measure the renderer stages and both renderers by mass order count")
+    void measurePdfRendering() throws Exception {
+        Collection<RunResult> results = JmhBenchmarks.run(PdfRenderingBenchmarkTest.class);
+
+        assertEquals(16, results.size());
+    }
+}
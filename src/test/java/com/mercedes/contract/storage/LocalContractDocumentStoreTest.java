@@ -0,0 +1,114 @@
+package com.mercedes.contract.storage;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LocalContractDocumentStore
+ * Tests temp file streaming, atomic publish and abort cleanup
+ */
+@DisplayName("LocalContractDocumentStore Tests")
+class LocalContractDocumentStoreTest {
+
+    @TempDir
+    Path baseDir;
+
+    @Test
+    @DisplayName("Should create a missing base directory when checked for availability")
+    void shouldCreateBaseDirectoryWhenChecked() throws Exception {
+        Path missing = baseDir.resolve("contracts");
+        LocalContractDocumentStore storage = new LocalContractDocumentStore(missing.toString());
+
+        storage.checkAvailable();
+
+        assertTrue(Files.isDirectory(missing));
+    }
+
+    @Test
+    @DisplayName("Should report unavailable storage when the base path is not a directory")
+    void shouldReportUnavailableWhenBasePathIsAFile() throws Exception {
+        Path file = Files.writeString(baseDir.resolve("not-a-directory"), "x");
+        LocalContractDocumentStore storage = new LocalContractDocumentStore(file.toString());
+
+        assertThrows(IOException.class, storage::checkAvailable);
+    }
+
+    @Test
+    @DisplayName("Should publish document only after complete")
+    void shouldPublishDocumentOnlyAfterComplete() throws Exception {
+        LocalContractDocumentStore storage = new LocalContractDocumentStore(baseDir.toString());
+        Path target = baseDir.resolve("contract-abc12345.pdf");
+
+        String location;
+        try (DocumentUpload upload = storage.beginUpload("CONTRACT-ABC12345")) {
+            OutputStream out = upload.getOutputStream();
+            out.write("%PDF-1.7".getBytes(StandardCharsets.US_ASCII));
+            // Renderers close the stream when the document ends; the upload must survive that
+            out.close();
+            assertFalse(Files.exists(target));
+
+            location = upload.complete();
+        }
+
+        assertEquals(target.toString(), location);
+        assertEquals("%PDF-1.7", Files.readString(target, StandardCharsets.US_ASCII));
+        assertEquals(1, countFiles());
+    }
+
+    @Test
+    @DisplayName("Should discard partial data when upload is not completed")
+    void shouldDiscardPartialDataWhenNotCompleted() throws Exception {
+        LocalContractDocumentStore storage = new LocalContractDocumentStore(baseDir.toString());
+
+        try (DocumentUpload upload = storage.beginUpload("CONTRACT-ABC12345")) {
+            upload.getOutputStream().write(new byte[1024]);
+        }
+
+        assertEquals(0, countFiles());
+    }
+
+    @Test
+    @DisplayName("Should replace existing document atomically")
+    void shouldReplaceExistingDocument() throws Exception {
+        LocalContractDocumentStore storage = new LocalContractDocumentStore(baseDir.toString());
+        Path target = storage.resolve("CONTRACT-ABC12345");
+        Files.writeString(target, "old");
+
+        try (DocumentUpload upload = storage.beginUpload("CONTRACT-ABC12345")) {
+            upload.getOutputStream().write("new".getBytes(StandardCharsets.US_ASCII));
+            upload.complete();
+        }
+
+        assertEquals("new", Files.readString(target));
+        assertEquals(1, countFiles());
+    }
+
+    @Test
+    @DisplayName("Should create base directory on first upload")
+    void shouldCreateBaseDirectory() throws Exception {
+        Path nested = baseDir.resolve("nested/contracts");
+        LocalContractDocumentStore storage = new LocalContractDocumentStore(nested.toString());
+
+        try (DocumentUpload upload = storage.beginUpload("CONTRACT-ABC12345")) {
+            upload.complete();
+        }
+
+        assertTrue(Files.exists(nested.resolve("contract-abc12345.pdf")));
+    }
+
+    private long countFiles() throws Exception {
+        try (Stream<Path> files = Files.list(baseDir)) {
+            return files.count();
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.mercedes.contract.storage;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Minimal in-process S3-compatible stand-in for tests
+ * Supports path-style PUT/GET/HEAD/DELETE object and the multipart upload calls, validates Content-MD5
+ * like the real service, and can act as an SSE-KMS bucket, whose ETags are not the MD5 of the content
+ */
+class LocalS3StandIn implements AutoCloseable {
+
+    private static final Pattern PART_NUMBER = Pattern.compile("<PartNumber>(\\d+)</PartNumber>");
+
+    private final HttpServer server;
+    private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+    private final Map<String, Map<Integer, byte[]>> uploads = new ConcurrentHashMap<>();
+    private final Set<String> abortedUploads = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger uploadIds = new AtomicInteger();
+    private final AtomicInteger partRequests = new AtomicInteger();
+    private volatile boolean kmsEncryption;
+
+    LocalS3StandIn() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(Executors.newFixedThreadPool(8));
+        server.start();
+    }
+
+    URI endpoint() {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    byte[] getObject(String bucket, String key) {
+        return objects.get(bucket + "/" + key);
+    }
+
+    int partRequests() {
+        return partRequests.get();
+    }
+
+    Set<String> abortedUploads() {
+        return abortedUploads;
+    }
+
+    Map<String, Map<Integer, byte[]>> openUploads() {
+        return uploads;
+    }
+
+    void reset() {
+        objects.clear();
+        uploads.clear();
+        abortedUploads.clear();
+        partRequests.set(0);
+        kmsEncryption = false;
+    }
+
+    void kmsEncryption(boolean enabled) {
+        this.kmsEncryption = enabled;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath().substring(1);
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            String method = exchange.getRequestMethod();
+
+            if ("POST".equals(method) && query.containsKey("uploads")) {
+                String uploadId = "upload-" + uploadIds.incrementAndGet();
+                uploads.put(uploadId, new TreeMap<>());
+                respond(exchange, 200, null, "<InitiateMultipartUploadResult><Bucket/><Key/><UploadId>"
+                    + uploadId + "</UploadId></InitiateMultipartUploadResult>");
+            } else if ("PUT".equals(method) && query.containsKey("partNumber")) {
+                partRequests.incrementAndGet();
+                byte[] body = readBody(exchange);
+                if (!digestMatches(exchange, body)) {
+                    respond(exchange, 400, null, "<Error><Code>BadDigest</Code></Error>");
+                    return;
+                }
+                uploads.get(query.get("uploadId")).put(Integer.parseInt(query.get("partNumber")), body);
+                respond(exchange, 200, eTag(md5(body)), "");
+            } else if ("POST".equals(method) && query.containsKey("uploadId")) {
+                String requestBody = new String(readBody(exchange), StandardCharsets.UTF_8);
+                Map<Integer, byte[]> parts = uploads.remove(query.get("uploadId"));
+                ByteArrayOutputStream assembled = new ByteArrayOutputStream();
+                MessageDigest digests = MessageDigest.getInstance("MD5");
+                Matcher matcher = PART_NUMBER.matcher(requestBody);
+                int count = 0;
+                while (matcher.find()) {
+                    byte[] part = parts.get(Integer.parseInt(matcher.group(1)));
+                    assembled.write(part);
+                    digests.update(MessageDigest.getInstance("MD5").digest(part));
+                    count++;
+                }
+                objects.put(path, assembled.toByteArray());
+                String eTag = eTag(HexFormat.of().formatHex(digests.digest()) + "-" + count);
+                respond(exchange, 200, null, "<CompleteMultipartUploadResult><ETag>" + eTag
+                    + "</ETag></CompleteMultipartUploadResult>");
+            } else if ("DELETE".equals(method) && query.containsKey("uploadId")) {
+                uploads.remove(query.get("uploadId"));
+                abortedUploads.add(query.get("uploadId"));
+                respond(exchange, 204, null, null);
+            } else if ("PUT".equals(method)) {
+                byte[] body = readBody(exchange);
+                if (!digestMatches(exchange, body)) {
+                    respond(exchange, 400, null, "<Error><Code>BadDigest</Code></Error>");
+                    return;
+                }
+                objects.put(path, body);
+                respond(exchange, 200, eTag(md5(body)), "");
+            } else if ("HEAD".equals(method) && objects.containsKey(path)) {
+                exchange.getResponseHeaders().add("Content-Length", String.valueOf(objects.get(path).length));
+                exchange.getResponseHeaders().add("Last-Modified", "Thu, 01 Oct 2026 10:00:00 GMT");
+                exchange.sendResponseHeaders(200, -1);
+                exchange.close();
+            } else if ("DELETE".equals(method)) {
+                objects.remove(path);
+                respond(exchange, 204, null, null);
+            } else if ("GET".equals(method) && objects.containsKey(path)) {
+                exchange.sendResponseHeaders(200, objects.get(path).length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(objects.get(path));
+                }
+            } else if ("HEAD".equals(method)) {
+                exchange.sendResponseHeaders(404, -1);
+                exchange.close();
+            } else {
+                respond(exchange, 404, null, "<Error><Code>NoSuchKey</Code></Error>");
+            }
+        } catch (Exception e) {
+            respond(exchange, 500, null, "<Error><Code>InternalError</Code><Message>" + e + "</Message></Error>");
+        }
+    }
+
+    private String eTag(String value) {
+        return "\"" + (kmsEncryption ? "0" + value.substring(1) : value) + "\"";
+    }
+
+    private boolean digestMatches(HttpExchange exchange, byte[] body) throws Exception {
+        String contentMd5 = exchange.getRequestHeaders().getFirst("Content-MD5");
+        return contentMd5 == null
+            || contentMd5.equals(Base64.getEncoder().encodeToString(MessageDigest.getInstance("MD5").digest(body)));
+    }
+
+    private static String md5(byte[] body) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(body));
+    }
+
+    /**
+     * Read the request payload, decoding aws-chunked framing when the client streams a signed body
+     */
+    private static byte[] readBody(HttpExchange exchange) throws IOException {
+        byte[] raw;
+        try (InputStream in = exchange.getRequestBody()) {
+            raw = in.readAllBytes();
+        }
+        String contentSha = exchange.getRequestHeaders().getFirst("x-amz-content-sha256");
+        if (contentSha == null || !contentSha.startsWith("STREAMING")) {
+            return raw;
+        }
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream(raw.length);
+        int position = 0;
+        while (position < raw.length) {
+            int lineEnd = indexOfCrlf(raw, position);
+            String header = new String(raw, position, lineEnd - position, StandardCharsets.US_ASCII);
+            int size = Integer.parseInt(header.split(";")[0].trim(), 16);
+            if (size == 0) {
+                break;
+            }
+            decoded.write(raw, lineEnd + 2, size);
+            position = lineEnd + 2 + size + 2;
+        }
+        return decoded.toByteArray();
+    }
+
+    private static int indexOfCrlf(byte[] bytes, int from) {
+        for (int i = from; i < bytes.length - 1; i++) {
+            if (bytes[i] == '\r' && bytes[i + 1] == '\n') {
+                return i;
+            }
+        }
+        return bytes.length;
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery != null) {
+            for (String pair : rawQuery.split("&")) {
+                int eq = pair.indexOf('=');
+                query.put(eq < 0 ? pair : pair.substring(0, eq), eq < 0 ? "" : pair.substring(eq + 1));
+            }
+        }
+        return query;
+    }
+
+    private void respond(HttpExchange exchange, int status, String eTag, String body) throws IOException {
+        if (eTag != null) {
+            exchange.getResponseHeaders().add("ETag", eTag);
+        }
+        if (kmsEncryption) {
+            exchange.getResponseHeaders().add("x-amz-server-side-encryption", "aws:kms");
+        }
+        byte[] bytes = body != null ? body.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        exchange.getResponseHeaders().add("Content-Type", "application/xml");
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        if (bytes.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } else {
+            exchange.close();
+        }
+    }
+}
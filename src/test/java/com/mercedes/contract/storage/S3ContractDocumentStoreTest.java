@@ -0,0 +1,182 @@
+package com.mercedes.contract.storage;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.Resource;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for S3ContractDocumentStore
+ * Runs the real async S3 client against an in-process S3-compatible stand-in
+ */
+@DisplayName("S3ContractDocumentStore Tests")
+class S3ContractDocumentStoreTest {
+
+    private static final String BUCKET = "contracts-bucket";
+    private static final String CONTRACT_ID = "CONTRACT-ABC12345";
+    private static final String KEY = "contracts/contract-abc12345.pdf";
+
+    private static LocalS3StandIn standIn;
+    private static S3AsyncClient s3AsyncClient;
+
+    @BeforeAll
+    static void startStandIn() throws IOException {
+        // Shared across tests: closing the Netty event loop takes a quiet period of a few seconds
+        standIn = new LocalS3StandIn();
+        s3AsyncClient = S3AsyncClient.builder()
+            .httpClientBuilder(NettyNioAsyncHttpClient.builder().maxConcurrency(8))
+            .endpointOverride(standIn.endpoint())
+            .forcePathStyle(true)
+            .region(Region.US_EAST_1)
+            .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("test", "test")))
+            .build();
+    }
+
+    @AfterAll
+    static void stopStandIn() {
+        s3AsyncClient.close();
+        standIn.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        standIn.reset();
+    }
+
+    @Test
+    @DisplayName("Should store small document with a single put")
+    void shouldStoreSmallDocumentWithSinglePut() throws Exception {
+        S3ContractDocumentStore storage = new S3ContractDocumentStore(s3AsyncClient, BUCKET, "contracts/", 1024, 2);
+        byte[] document = randomBytes(700);
+
+        String location;
+        try (DocumentUpload upload = storage.beginUpload(CONTRACT_ID)) {
+            writeAndClose(upload.getOutputStream(), document);
+            location = upload.complete();
+        }
+
+        assertEquals("s3://" + BUCKET + "/" + KEY, location);
+        assertArrayEquals(document, standIn.getObject(BUCKET, KEY));
+        assertEquals(0, standIn.partRequests());
+    }
+
+    @Test
+    @DisplayName("Should upload large document as parallel multipart upload")
+    void shouldUploadLargeDocumentAsMultipart() throws Exception {
+        S3ContractDocumentStore storage = new S3ContractDocumentStore(s3AsyncClient, BUCKET, "contracts/", 1024, 3);
+        byte[] document = randomBytes(10 * 1024 + 100);
+
+        try (DocumentUpload upload = storage.beginUpload(CONTRACT_ID)) {
+            writeAndClose(upload.getOutputStream(), document);
+            upload.complete();
+        }
+
+        assertArrayEquals(document, standIn.getObject(BUCKET, KEY));
+        assertEquals(11, standIn.partRequests());
+        assertTrue(standIn.openUploads().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should accept ETags that are not the MD5 of the content, as with SSE-KMS or SSE-C")
+    void shouldAcceptETagsThatAreNotContentDigests() throws Exception {
+        S3ContractDocumentStore storage = new S3ContractDocumentStore(s3AsyncClient, BUCKET, "contracts/", 1024, 2);
+        standIn.kmsEncryption(true);
+        byte[] multipart = randomBytes(4096);
+        byte[] single = randomBytes(512);
+
+        try (DocumentUpload upload = storage.beginUpload(CONTRACT_ID)) {
+            writeAndClose(upload.getOutputStream(), multipart);
+            upload.complete();
+        }
+        assertArrayEquals(multipart, standIn.getObject(BUCKET, KEY));
+
+        try (DocumentUpload upload = storage.beginUpload(CONTRACT_ID)) {
+            writeAndClose(upload.getOutputStream(), single);
+            upload.complete();
+        }
+        assertArrayEquals(single, standIn.getObject(BUCKET, KEY));
+        assertTrue(standIn.abortedUploads().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should abort multipart upload when not completed")
+    void shouldAbortMultipartUploadWhenNotCompleted() throws Exception {
+        S3ContractDocumentStore storage = new S3ContractDocumentStore(s3AsyncClient, BUCKET, "contracts/", 1024, 2);
+
+        try (DocumentUpload upload = storage.beginUpload(CONTRACT_ID)) {
+            upload.getOutputStream().write(randomBytes(3000));
+        }
+
+        assertNull(standIn.getObject(BUCKET, KEY));
+        assertEquals(1, standIn.abortedUploads().size());
+    }
+
+    @Test
+    @DisplayName("Should read stored document back as a resource")
+    void shouldReadStoredDocumentBackAsResource() throws Exception {
+        S3ContractDocumentStore store = new S3ContractDocumentStore(s3AsyncClient, BUCKET, "contracts/", 1024, 2);
+        byte[] document = randomBytes(5000);
+        try (DocumentUpload upload = store.beginUpload(CONTRACT_ID)) {
+            writeAndClose(upload.getOutputStream(), document);
+            upload.complete();
+        }
+
+        Optional<Resource> resource = store.findDocument(CONTRACT_ID);
+
+        assertTrue(resource.isPresent());
+        assertEquals(document.length, resource.get().contentLength());
+        assertEquals("contract-abc12345.pdf", resource.get().getFilename());
+        try (InputStream in = resource.get().getInputStream()) {
+            assertArrayEquals(document, in.readAllBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("Should return empty for missing document and delete stored one")
+    void shouldReturnEmptyForMissingDocumentAndDeleteStoredOne() throws Exception {
+        S3ContractDocumentStore store = new S3ContractDocumentStore(s3AsyncClient, BUCKET, "contracts/", 1024, 2);
+        assertTrue(store.findDocument(CONTRACT_ID).isEmpty());
+        assertFalse(store.delete(CONTRACT_ID));
+
+        try (DocumentUpload upload = store.beginUpload(CONTRACT_ID)) {
+            upload.complete();
+        }
+
+        assertTrue(store.delete(CONTRACT_ID));
+        assertTrue(store.findDocument(CONTRACT_ID).isEmpty());
+    }
+
+    private static void writeAndClose(OutputStream out, byte[] document) throws IOException {
+        // Write in uneven slices, like a PDF writer flushing objects
+        int offset = 0;
+        int slice = 1;
+        while (offset < document.length) {
+            int length = Math.min(slice, document.length - offset);
+            out.write(document, offset, length);
+            offset += length;
+            slice = slice * 3 % 997 + 1;
+        }
+        out.close();
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+        return bytes;
+    }
+}
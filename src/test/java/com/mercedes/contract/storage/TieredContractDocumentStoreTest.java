@@ -0,0 +1,146 @@
+package com.mercedes.contract.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TieredContractDocumentStore
+ * Tests write-through to the cold tier, the hot tier read cache and scheduled aging
+ */
+@DisplayName("TieredContractDocumentStore Tests")
+class TieredContractDocumentStoreTest {
+
+    @TempDir
+    Path hotDir;
+
+    @TempDir
+    Path coldDir;
+
+    private LocalContractDocumentStore hotTier;
+    private LocalContractDocumentStore coldTier;
+    private TieredContractDocumentStore store;
+
+    @BeforeEach
+    void setUp() {
+        hotTier = new LocalContractDocumentStore(hotDir.toString());
+        coldTier = new LocalContractDocumentStore(coldDir.toString());
+        store = new TieredContractDocumentStore(hotTier, coldTier, Duration.ofHours(24));
+    }
+
+    @Test
+    @DisplayName("Should write new documents through to the cold tier and publish its location")
+    void shouldWriteNewDocumentsThroughToColdTier() throws Exception {
+        String location = write("CONTRACT-AAAAAAAA", "fresh");
+
+        assertEquals(coldTier.resolve("CONTRACT-AAAAAAAA").toString(), location);
+        assertEquals("fresh", read(coldTier.findDocument("CONTRACT-AAAAAAAA")));
+        assertEquals("fresh", read(hotTier.findDocument("CONTRACT-AAAAAAAA")));
+    }
+
+    @Test
+    @DisplayName("Should serve documents written by another pod from the cold tier")
+    void shouldServeDocumentsFromOtherPodsFromColdTier() throws Exception {
+        Path otherPodHotDir = Files.createTempDirectory(coldDir.getParent(), "other-pod-");
+        TieredContractDocumentStore otherPod = new TieredContractDocumentStore(
+            new LocalContractDocumentStore(otherPodHotDir.toString()), coldTier, Duration.ofHours(24));
+        try (DocumentUpload upload = otherPod.beginUpload("CONTRACT-AAAAAAAA")) {
+            upload.getOutputStream().write("elsewhere".getBytes(StandardCharsets.UTF_8));
+            upload.complete();
+        }
+
+        assertEquals("elsewhere", read(store.findDocument("CONTRACT-AAAAAAAA")));
+    }
+
+    @Test
+    @DisplayName("Should leave nothing on either tier when the upload is aborted")
+    void shouldAbortBothTiers() throws Exception {
+        try (DocumentUpload upload = store.beginUpload("CONTRACT-AAAAAAAA")) {
+            upload.getOutputStream().write("partial".getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertTrue(hotTier.findDocument("CONTRACT-AAAAAAAA").isEmpty());
+        assertTrue(coldTier.findDocument("CONTRACT-AAAAAAAA").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should drop only hot copies past the retention")
+    void shouldDropOnlyAgedHotCopies() throws Exception {
+        write("CONTRACT-AAAAAAAA", "old");
+        write("CONTRACT-BBBBBBBB", "new");
+        Files.setLastModifiedTime(hotTier.resolve("CONTRACT-AAAAAAAA"),
+            FileTime.from(Instant.now().minus(Duration.ofHours(25))));
+
+        assertEquals(1, store.ageOutHotDocuments());
+
+        assertTrue(hotTier.findDocument("CONTRACT-AAAAAAAA").isEmpty());
+        assertEquals("old", read(coldTier.findDocument("CONTRACT-AAAAAAAA")));
+        assertTrue(hotTier.findDocument("CONTRACT-BBBBBBBB").isPresent());
+        assertTrue(coldTier.findDocument("CONTRACT-BBBBBBBB").isPresent());
+    }
+
+    @Test
+    @DisplayName("Should move aged hot-only documents to the cold tier before dropping them")
+    void shouldMoveAgedHotOnlyDocumentsToColdTier() throws Exception {
+        try (DocumentUpload upload = hotTier.beginUpload("CONTRACT-AAAAAAAA")) {
+            upload.getOutputStream().write("hot only".getBytes(StandardCharsets.UTF_8));
+            upload.complete();
+        }
+        Files.setLastModifiedTime(hotTier.resolve("CONTRACT-AAAAAAAA"),
+            FileTime.from(Instant.now().minus(Duration.ofHours(25))));
+
+        assertEquals(1, store.ageOutHotDocuments());
+
+        assertTrue(hotTier.findDocument("CONTRACT-AAAAAAAA").isEmpty());
+        assertEquals("hot only", read(coldTier.findDocument("CONTRACT-AAAAAAAA")));
+    }
+
+    @Test
+    @DisplayName("Should read through to the cold tier after aging")
+    void shouldReadThroughToColdTier() throws Exception {
+        write("CONTRACT-AAAAAAAA", "archived");
+        Files.setLastModifiedTime(hotTier.resolve("CONTRACT-AAAAAAAA"),
+            FileTime.from(Instant.now().minus(Duration.ofDays(2))));
+        store.ageOutHotDocuments();
+
+        assertEquals("archived", read(store.findDocument("CONTRACT-AAAAAAAA")));
+        assertTrue(store.findDocument("CONTRACT-CCCCCCCC").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should delete documents from both tiers")
+    void shouldDeleteDocumentsFromBothTiers() throws Exception {
+        write("CONTRACT-AAAAAAAA", "doc");
+
+        assertTrue(store.delete("CONTRACT-AAAAAAAA"));
+        assertFalse(store.delete("CONTRACT-AAAAAAAA"));
+        assertTrue(store.findDocument("CONTRACT-AAAAAAAA").isEmpty());
+    }
+
+    private String write(String contractId, String content) throws Exception {
+        try (DocumentUpload upload = store.beginUpload(contractId)) {
+            upload.getOutputStream().write(content.getBytes(StandardCharsets.UTF_8));
+            return upload.complete();
+        }
+    }
+
+    private String read(Optional<Resource> document) throws Exception {
+        assertTrue(document.isPresent());
+        try (InputStream in = document.get().getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}